@@ -0,0 +1,117 @@
+package com.group1.tipton_reservations.bulkhead;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A concurrency limit on one dependency, adjusted AIMD-style from how the calls go.
+ * <p>
+ * A call that finds {@code inFlight} at the limit is refused at once with
+ * {@link BulkheadFullException} rather than queued. A call that succeeds under the latency
+ * threshold while the bulkhead is at least half busy raises the limit by one; a slow call or
+ * an overload failure (a timeout, a refused connection) cuts it by {@code backoff}. So when the
+ * dependency slows down, fewer request threads are allowed to wait on it, and the rest fail
+ * fast instead of piling up behind them.
+ * </p>
+ */
+public final class Bulkhead {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Throwable> {
+        T execute() throws E;
+    }
+
+    // set by BulkheadFilter for the request thread, so a rejection swallowed into a 500 can be reported as a 503
+    static final ThreadLocal<boolean[]> REJECTED_IN_REQUEST = new ThreadLocal<>();
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoff;
+    private final Predicate<Throwable> overload;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    // the limit as Double.doubleToLongBits, so every call can update it without taking a lock
+    private final AtomicLong limitBits;
+
+    Bulkhead(String name, int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoff,
+             Predicate<Throwable> overload) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoff = backoff;
+        this.overload = overload;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    public <T, E extends Throwable> T call(Call<T, E> call) throws E {
+        int atStart = acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return call.execute();
+        } catch (Throwable e) {
+            dropped = overload.test(e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            adjust(atStart, System.nanoTime() - start, dropped);
+        }
+    }
+
+    private int acquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                rejected.incrementAndGet();
+                boolean[] marker = REJECTED_IN_REQUEST.get();
+                if (marker != null) {
+                    marker[0] = true;
+                }
+                throw new BulkheadFullException(name);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private void adjust(int inFlightAtStart, long elapsedNanos, boolean dropped) {
+        boolean cut = dropped || elapsedNanos > latencyThresholdNanos;
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (cut) {
+                next = Math.max(minLimit, limit * backoff);
+            } else if (inFlightAtStart * 2 >= limit) {
+                // only grow when the limit is actually being used, or an idle bulkhead would creep up to max
+                next = Math.min(maxLimit, limit + 1);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int rejected() {
+        return rejected.get();
+    }
+}
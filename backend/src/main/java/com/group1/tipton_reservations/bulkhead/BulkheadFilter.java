@@ -0,0 +1,93 @@
+package com.group1.tipton_reservations.bulkhead;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reports a request that failed because a bulkhead refused one of its calls as {@code 503}
+ * with {@code Retry-After}, even where a controller's catch-all turned the
+ * {@link BulkheadFullException} into a 500. The status is switched just before the response
+ * is committed, while the 500 body is still in the servlet buffer and can be dropped.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    static final String BUSY_MESSAGE = "Service is busy, try again shortly";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean[] rejected = new boolean[1];
+        Bulkhead.REJECTED_IN_REQUEST.set(rejected);
+        RejectionAwareResponse guarded = new RejectionAwareResponse(response, rejected);
+        try {
+            filterChain.doFilter(request, guarded);
+        } finally {
+            Bulkhead.REJECTED_IN_REQUEST.remove();
+        }
+        guarded.reportRejection(); // nothing was flushed during the request
+    }
+
+    private static final class RejectionAwareResponse extends OnCommittedResponseWrapper {
+
+        private final boolean[] rejected;
+        private boolean usedWriter;
+
+        RejectionAwareResponse(HttpServletResponse response, boolean[] rejected) {
+            super(response);
+            this.rejected = rejected;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            usedWriter = true;
+            return super.getWriter();
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            try {
+                reportRejection();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void reportRejection() throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            // a request that recovered from the rejection keeps its own answer
+            if (!rejected[0] || response.getStatus() < 500 || response.isCommitted()) {
+                return;
+            }
+            response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            if (response.getStatus() != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                // keeps headers (CORS, trace id) and drops only the 500 body
+                response.resetBuffer();
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setContentType("text/plain");
+                if (usedWriter) {
+                    response.getWriter().write(BUSY_MESSAGE);
+                } else {
+                    response.getOutputStream().write(BUSY_MESSAGE.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+}
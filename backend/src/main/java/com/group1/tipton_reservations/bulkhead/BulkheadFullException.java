@@ -0,0 +1,17 @@
+package com.group1.tipton_reservations.bulkhead;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A call was refused because its dependency's bulkhead was at its concurrency limit.
+ * The dependency was never called, so retrying later is always safe.
+ */
+public class BulkheadFullException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(String bulkhead) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too busy to reach " + bulkhead + ", try again shortly");
+    }
+}
@@ -0,0 +1,45 @@
+package com.group1.tipton_reservations.bulkhead;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+
+/**
+ * Runs every Mongo repository call through the bulkhead for its domain type.
+ * <p>
+ * The interceptor is added to Spring Data's own repository proxies, so repositories need
+ * no changes; custom fragments such as {@code PaymentRepositoryImpl} are called through the
+ * same proxy and are covered too. Direct {@code MongoTemplate} use is not intercepted.
+ * The request paths that use it wrap their calls in {@link Bulkheads} themselves
+ * ({@code BookingStateMachine}, {@code RoomLocks}, {@code VersionedPatcher} and a few
+ * single writes). The rest of the direct calls belong to the scheduled sweeps, the outbox
+ * relay and the stats rebuild, which run on their own small pools and cannot tie up
+ * request threads.
+ * </p>
+ */
+@Configuration
+public class BulkheadRepositoryConfig {
+
+    // static and lazy: post-processors are created before ordinary beans such as Bulkheads
+    @Bean
+    static BeanPostProcessor bulkheadRepositoryPostProcessor(ObjectProvider<Bulkheads> bulkheads) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof MongoRepositoryFactoryBean<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(
+                                    interceptor(bulkheads, repository.getDomainType()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor interceptor(ObjectProvider<Bulkheads> bulkheads, Class<?> domainType) {
+        return invocation -> bulkheads.getObject().forDomainType(domainType).call(invocation::proceed);
+    }
+}
@@ -0,0 +1,100 @@
+package com.group1.tipton_reservations.bulkhead;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.Amenity;
+import com.group1.tipton_reservations.model.Property;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The bulkheads, one per dependency and kind of work, so one saturating cannot take the others down:
+ * <ul>
+ *   <li>{@code catalog}: Mongo calls for room types, rooms, amenities and properties</li>
+ *   <li>{@code bookings}: every other Mongo call made for a request (bookings, users, waitlist, ...)</li>
+ *   <li>{@code stripe}: calls made through {@code StripeService}</li>
+ * </ul>
+ * Each is configured under {@code tipton.bulkheads.<name>}.
+ */
+@Component
+public class Bulkheads {
+
+    private static final Set<Class<?>> CATALOG_TYPES = Set.of(RoomType.class, Room.class, Amenity.class, Property.class);
+
+    private static final Predicate<Throwable> MONGO_OVERLOAD = e -> e instanceof TransientDataAccessException
+            || e instanceof DataAccessResourceFailureException
+            || e instanceof MongoTimeoutException || e instanceof MongoSocketException;
+
+    private static final Predicate<Throwable> STRIPE_OVERLOAD = e -> e instanceof ApiConnectionException
+            || e instanceof RateLimitException;
+
+    private final Bulkhead catalog;
+    private final Bulkhead bookings;
+    private final Bulkhead stripe;
+
+    public Bulkheads(Environment environment, MeterRegistry meterRegistry) {
+        this.catalog = create(environment, "catalog", "500ms", MONGO_OVERLOAD);
+        this.bookings = create(environment, "bookings", "500ms", MONGO_OVERLOAD);
+        this.stripe = create(environment, "stripe", "5s", STRIPE_OVERLOAD);
+        for (Bulkhead bulkhead : List.of(catalog, bookings, stripe)) {
+            Gauge.builder("tipton.bulkhead.limit", bulkhead, Bulkhead::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("bulkhead", bulkhead.name())
+                    .register(meterRegistry);
+            Gauge.builder("tipton.bulkhead.in_flight", bulkhead, Bulkhead::inFlight)
+                    .description("Calls currently running through the bulkhead")
+                    .tag("bulkhead", bulkhead.name())
+                    .register(meterRegistry);
+            FunctionCounter.builder("tipton.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                    .description("Calls refused because the bulkhead was full")
+                    .tag("bulkhead", bulkhead.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Bulkhead create(Environment environment, String name, String defaultThreshold,
+                                   Predicate<Throwable> overload) {
+        String prefix = "tipton.bulkheads." + name + ".";
+        Duration threshold = DurationStyle.detectAndParse(environment.getProperty(prefix + "latency-threshold", defaultThreshold));
+        return new Bulkhead(name,
+                environment.getProperty(prefix + "initial-limit", Integer.class, 20),
+                environment.getProperty(prefix + "min-limit", Integer.class, 4),
+                environment.getProperty(prefix + "max-limit", Integer.class, 200),
+                threshold.toNanos(),
+                environment.getProperty(prefix + "backoff", Double.class, 0.9),
+                overload);
+    }
+
+    public Bulkhead catalog() {
+        return catalog;
+    }
+
+    public Bulkhead bookings() {
+        return bookings;
+    }
+
+    public Bulkhead stripe() {
+        return stripe;
+    }
+
+    public Bulkhead forDomainType(Class<?> domainType) {
+        return CATALOG_TYPES.contains(domainType) ? catalog : bookings;
+    }
+}
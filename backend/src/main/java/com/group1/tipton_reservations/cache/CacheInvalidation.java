@@ -0,0 +1,16 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.Set;
+
+/**
+ * One coalesced invalidation message: either specific keys of a cache or, with
+ * {@code allKeys}, the whole cache.
+ *
+ * @param cache the cache name
+ * @param keys invalidated keys (their {@code toString()} form)
+ * @param allKeys whether the whole cache is invalidated
+ * @param version version of the newest change covered by this message
+ * @param origin id of the node that published it
+ */
+public record CacheInvalidation(String cache, Set<String> keys, boolean allKeys, long version, String origin) {
+}
@@ -0,0 +1,35 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every backend instance.
+ * <p>
+ * Publishing is fire-and-forget and coalesced: all keys invalidated within a short window
+ * travel in one message per cache. Subscribers only receive messages from <em>other</em>
+ * nodes; the publishing node has already applied the change locally.
+ * </p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Queues an invalidation of one key.
+     *
+     * @param cache the cache name
+     * @param key the cache key
+     * @param version version of the change; receivers ignore versions they have already applied
+     */
+    void publish(String cache, Object key, long version);
+
+    /**
+     * Queues an invalidation of a whole cache.
+     */
+    void publishAll(String cache, long version);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+
+    /**
+     * Id of this node, carried as {@link CacheInvalidation#origin()}.
+     */
+    String nodeId();
+}
@@ -0,0 +1,120 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batches invalidations for {@code windowMillis} and hands one message per cache to
+ * {@link #send(List)}. Subclasses only move messages between nodes.
+ */
+@Slf4j
+public abstract class CoalescingCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long windowMillis;
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+
+    // guarded by "this"
+    private final Map<String, Pending> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    protected CoalescingCacheInvalidationBus(long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void publish(String cache, Object key, long version) {
+        enqueue(cache, key.toString(), version);
+    }
+
+    @Override
+    public void publishAll(String cache, long version) {
+        enqueue(cache, null, version);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    private synchronized void enqueue(String cache, String key, long version) {
+        Pending batch = pending.computeIfAbsent(cache, name -> new Pending());
+        if (key == null) {
+            batch.allKeys = true;
+            batch.keys.clear();
+        } else if (!batch.allKeys) {
+            batch.keys.add(key);
+        }
+        batch.version = Math.max(batch.version, version);
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            flusher.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        List<CacheInvalidation> messages;
+        synchronized (this) {
+            messages = pending.entrySet().stream()
+                    .map(e -> new CacheInvalidation(e.getKey(), Set.copyOf(e.getValue().keys),
+                            e.getValue().allKeys, e.getValue().version, nodeId))
+                    .toList();
+            pending.clear();
+            flushScheduled = false;
+        }
+        try {
+            send(messages);
+        } catch (RuntimeException e) {
+            // peers keep stale entries until their TTL; nothing better to do without a bus
+            log.warn("Could not broadcast {} cache invalidations: {}", messages.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Delivers a message from another node to the local subscribers.
+     */
+    protected void deliver(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        for (Consumer<CacheInvalidation> subscriber : subscribers) {
+            subscriber.accept(invalidation);
+        }
+    }
+
+    protected abstract void send(List<CacheInvalidation> messages);
+
+    protected void shutdownFlusher() {
+        flush();
+        flusher.shutdown();
+    }
+
+    private static final class Pending {
+        private final Set<String> keys = new HashSet<>();
+        private boolean allKeys;
+        private long version;
+    }
+}
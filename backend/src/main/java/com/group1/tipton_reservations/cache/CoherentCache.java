@@ -0,0 +1,177 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Local cache that stays coherent with its copies on other nodes.
+ * <p>
+ * Local evictions and clears (e.g. from {@code @CacheEvict}) are applied at once and
+ * published on the {@link CacheInvalidationBus}; invalidations from peers arrive through
+ * {@link #apply(CacheInvalidation)}. Each key remembers the highest version applied to it so
+ * duplicate or reordered messages are ignored.
+ * </p>
+ * <p>
+ * Fills stay local: a {@code put} only stores what this node just read, which can't make a
+ * peer's copy stale, so it publishes nothing. A load that overlaps an invalidation is
+ * returned to its caller but not stored, so a value read before a peer's write can never be
+ * cached after that write's invalidation. {@code @Cacheable} misses go through
+ * {@link #get(Object)} and then {@link #put}, so the miss remembers the generation it saw on
+ * the calling thread and the {@code put} that follows checks against it.
+ * </p>
+ * Keys are compared by their {@code toString()} form, the form in which they travel.
+ */
+public class CoherentCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheInvalidationBus bus;
+    private final VersionClock clock;
+
+    private final Map<String, Long> appliedVersions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+    private volatile long clearedVersion;
+
+    public CoherentCache(Cache delegate, CacheInvalidationBus bus, VersionClock clock) {
+        this.delegate = delegate;
+        this.bus = bus;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String cacheKey = key.toString();
+        long before = generation.get();
+        ValueWrapper cached = delegate.get(cacheKey);
+        if (cached == null) {
+            lastMiss.set(new Miss(cacheKey, before));
+        }
+        return cached;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key.toString(), type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long before = generation.get();
+        ValueWrapper cached = delegate.get(key.toString());
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // something was invalidated while we loaded; the value may predate it
+        if (generation.get() == before) {
+            delegate.put(key.toString(), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = key.toString();
+        if (loadedBeforeInvalidation(cacheKey)) {
+            return;
+        }
+        delegate.put(cacheKey, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String cacheKey = key.toString();
+        if (loadedBeforeInvalidation(cacheKey)) {
+            return delegate.get(cacheKey);
+        }
+        return delegate.putIfAbsent(cacheKey, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        long version = clock.next();
+        evictLocally(key.toString(), version);
+        bus.publish(getName(), key, version);
+    }
+
+    @Override
+    public void clear() {
+        long version = clock.next();
+        clearLocally(version);
+        bus.publishAll(getName(), version);
+    }
+
+    /**
+     * Applies an invalidation received from another node.
+     */
+    void apply(CacheInvalidation invalidation) {
+        clock.observe(invalidation.version());
+        if (invalidation.allKeys()) {
+            if (invalidation.version() > clearedVersion) {
+                clearLocally(invalidation.version());
+            }
+            return;
+        }
+        for (String key : invalidation.keys()) {
+            evictLocally(key, invalidation.version());
+        }
+    }
+
+    void clearLocally(long version) {
+        generation.incrementAndGet();
+        clearedVersion = Math.max(clearedVersion, version);
+        appliedVersions.clear();
+        delegate.clear();
+    }
+
+    /**
+     * Whether the value about to be stored was loaded after a miss on this thread and
+     * something was invalidated since; the value may predate that invalidation.
+     */
+    private boolean loadedBeforeInvalidation(String key) {
+        Miss miss = lastMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            return false;
+        }
+        lastMiss.remove();
+        return generation.get() != miss.generation();
+    }
+
+    private void evictLocally(String key, long version) {
+        if (version <= clearedVersion) {
+            return;
+        }
+        long[] applied = { 0 };
+        appliedVersions.compute(key, (k, current) -> {
+            applied[0] = current != null && current >= version ? 0 : version;
+            return current != null ? Math.max(current, version) : version;
+        });
+        if (applied[0] != 0) {
+            generation.incrementAndGet();
+            delegate.evict(key);
+        }
+    }
+
+    private record Miss(String key, long generation) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.group1.tipton_reservations.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Creates bounded Caffeine caches wrapped in {@link CoherentCache} and routes bus messages
+ * to them. The expiry is only a safety net for a lost message; normal convergence comes from
+ * the bus.
+ */
+public class CoherentCacheManager implements CacheManager {
+
+    private final Map<String, CoherentCache> caches = new ConcurrentHashMap<>();
+    private final VersionClock clock = new VersionClock();
+    private final CacheInvalidationBus bus;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+
+    public CoherentCacheManager(CacheInvalidationBus bus, long maximumSize, Duration expireAfterWrite) {
+        this.bus = bus;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        bus.subscribe(invalidation -> {
+            CoherentCache cache = caches.get(invalidation.cache());
+            if (cache != null) {
+                cache.apply(invalidation);
+            } else {
+                clock.observe(invalidation.version());
+            }
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new CoherentCache(
+                new CaffeineCache(cacheName, Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .build(), false),
+                bus, clock));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * Drops every local entry without telling peers; used when invalidations may have been missed.
+     */
+    public void clearAllLocally() {
+        long version = clock.next();
+        caches.values().forEach(cache -> cache.clearLocally(version));
+    }
+}
@@ -0,0 +1,33 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidation bus that only reaches buses sharing the same {@link Network}; used for single
+ * instance runs and for tests that put several "nodes" in one JVM.
+ */
+public class InMemoryCacheInvalidationBus extends CoalescingCacheInvalidationBus {
+
+    private final Network network;
+
+    public InMemoryCacheInvalidationBus(Network network, long windowMillis) {
+        super(windowMillis);
+        this.network = network;
+        network.members.add(this);
+    }
+
+    @Override
+    protected void send(List<CacheInvalidation> messages) {
+        for (InMemoryCacheInvalidationBus member : network.members) {
+            messages.forEach(member::deliver);
+        }
+    }
+
+    /**
+     * A set of in-memory buses that see each other's messages.
+     */
+    public static class Network {
+        private final List<InMemoryCacheInvalidationBus> members = new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,158 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Invalidation bus over a {@code cache_invalidations} collection: every node inserts its
+ * coalesced messages there and tails the collection with a change stream, so peers hear about
+ * a change as soon as the insert is majority-committed, without polling.
+ * <p>
+ * Messages expire after an hour via a TTL index. If the watcher falls so far behind that its
+ * resume token is gone, it cannot know what it missed and clears every local cache instead.
+ * Requires a replica set (or DocumentDB with change streams enabled on the collection).
+ * </p>
+ */
+@Slf4j
+public class MongoChangeStreamInvalidationBus extends CoalescingCacheInvalidationBus implements SmartLifecycle {
+
+    static final String COLLECTION = "cache_invalidations";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final Runnable onHistoryLost;
+
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread watcher;
+    private BsonDocument resumeToken;
+
+    /**
+     * @param onHistoryLost called when invalidations may have been missed; should clear all local caches
+     */
+    public MongoChangeStreamInvalidationBus(MongoTemplate mongoTemplate, long windowMillis, Runnable onHistoryLost) {
+        super(windowMillis);
+        this.mongoTemplate = mongoTemplate;
+        this.onHistoryLost = onHistoryLost;
+    }
+
+    @Override
+    protected void send(List<CacheInvalidation> messages) {
+        List<Document> documents = messages.stream()
+                .map(message -> new Document("cache", message.cache())
+                        .append("keys", List.copyOf(message.keys()))
+                        .append("allKeys", message.allKeys())
+                        .append("version", message.version())
+                        .append("origin", message.origin())
+                        .append("at", new Date()))
+                .toList();
+        if (!documents.isEmpty()) {
+            mongoTemplate.getCollection(COLLECTION).insertMany(documents);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        watcher = new Thread(this::watch, "cache-invalidation-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null) {
+            current.close();
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+        shutdownFlusher();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch() {
+        long backoffMillis = 100;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> stream = openStream()) {
+                cursor = stream;
+                backoffMillis = 100;
+                while (running) {
+                    ChangeStreamDocument<Document> change = stream.next();
+                    resumeToken = change.getResumeToken();
+                    Document message = change.getFullDocument();
+                    if (message != null) {
+                        deliver(toInvalidation(message));
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Cache invalidation stream lost its position, clearing local caches");
+                    resumeToken = null;
+                    onHistoryLost.run();
+                } else if (running) {
+                    log.warn("Cache invalidation stream failed, retrying in {} ms: {}", backoffMillis, e.getMessage());
+                    backoffMillis = sleep(backoffMillis);
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Cache invalidation stream failed, retrying in {} ms: {}", backoffMillis, e.getMessage());
+                    backoffMillis = sleep(backoffMillis);
+                }
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openStream() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(COLLECTION)
+                .watch(List.of(Aggregates.match(Filters.eq("operationType", "insert"))))
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheInvalidation toInvalidation(Document message) {
+        List<String> keys = message.get("keys", List.class);
+        return new CacheInvalidation(
+                message.getString("cache"),
+                keys != null ? new HashSet<>(keys) : new HashSet<>(),
+                message.getBoolean("allKeys", false),
+                message.getLong("version"),
+                message.getString("origin"));
+    }
+
+    private long sleep(long backoffMillis) {
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(backoffMillis * 2, 10_000);
+    }
+}
@@ -0,0 +1,23 @@
+package com.group1.tipton_reservations.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hybrid logical clock for invalidation versions: wall-clock milliseconds in the high bits,
+ * a counter in the low bits, and never behind any version seen from a peer. Versions from
+ * different nodes are therefore ordered by real time (give or take clock skew) and a node's
+ * own versions are strictly increasing.
+ */
+public class VersionClock {
+
+    private final AtomicLong last = new AtomicLong();
+
+    public long next() {
+        long wall = System.currentTimeMillis() << 16;
+        return last.updateAndGet(previous -> Math.max(previous + 1, wall));
+    }
+
+    public void observe(long version) {
+        last.accumulateAndGet(version, Math::max);
+    }
+}
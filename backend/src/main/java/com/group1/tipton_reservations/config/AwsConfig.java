@@ -1,19 +1,59 @@
 package com.group1.tipton_reservations.config;
 
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+/**
+ * S3 clients for the asset bucket. Setting {@code tipton.images.endpoint} points both at an
+ * S3-compatible stand-in (MinIO, LocalStack) with path-style addressing.
+ * <p>
+ * Both are lazy and injected as {@code @Lazy} proxies: resolving credentials and building the
+ * SDK clients takes a noticeable part of startup, and nothing needs S3 until an upload or an
+ * image job arrives.
+ * </p>
+ */
 @Configuration
 public class AwsConfig {
+
+    @Value("${tipton.images.region:us-east-1}")
+    private String region;
+
+    @Value("${tipton.images.endpoint:}")
+    private String endpoint;
+
     @Bean
+    @Lazy
     public S3Presigner s3Presigner() {
-        return S3Presigner.builder()
-            .region(Region.US_EAST_1)
-            .credentialsProvider(DefaultCredentialsProvider.create())
-            .build();
+        S3Presigner.Builder builder = S3Presigner.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.create());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Lazy
+    public S3Client s3Client() {
+        S3ClientBuilder builder = S3Client.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.create());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
     }
 }
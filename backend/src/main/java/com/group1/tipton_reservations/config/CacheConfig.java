@@ -0,0 +1,50 @@
+package com.group1.tipton_reservations.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.group1.tipton_reservations.cache.CacheInvalidationBus;
+import com.group1.tipton_reservations.cache.CoherentCacheManager;
+import com.group1.tipton_reservations.cache.InMemoryCacheInvalidationBus;
+import com.group1.tipton_reservations.cache.MongoChangeStreamInvalidationBus;
+
+/**
+ * Local read-through caches for catalog and user lookups, kept coherent across instances
+ * by a {@link CacheInvalidationBus}. {@code tipton.cache.bus} picks the transport:
+ * {@code mongo} (change stream, the default) or {@code memory} (single instance only).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${tipton.cache.coalesce-window-ms:10}")
+    private long coalesceWindowMs;
+
+    @Bean
+    @ConditionalOnProperty(name = "tipton.cache.bus", havingValue = "mongo", matchIfMissing = true)
+    public MongoChangeStreamInvalidationBus mongoCacheInvalidationBus(MongoTemplate mongoTemplate,
+            ObjectProvider<CoherentCacheManager> cacheManager) {
+        return new MongoChangeStreamInvalidationBus(mongoTemplate, coalesceWindowMs,
+                () -> cacheManager.getObject().clearAllLocally());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tipton.cache.bus", havingValue = "memory")
+    public InMemoryCacheInvalidationBus inMemoryCacheInvalidationBus() {
+        return new InMemoryCacheInvalidationBus(new InMemoryCacheInvalidationBus.Network(), coalesceWindowMs);
+    }
+
+    @Bean
+    public CoherentCacheManager cacheManager(CacheInvalidationBus bus,
+            @Value("${tipton.cache.max-size:10000}") long maxSize,
+            @Value("${tipton.cache.ttl:10m}") Duration ttl) {
+        return new CoherentCacheManager(bus, maxSize, ttl);
+    }
+}
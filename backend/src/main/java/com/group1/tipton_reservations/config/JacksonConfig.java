@@ -0,0 +1,22 @@
+package com.group1.tipton_reservations.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Response classes that support {@code fields=} carry a {@code @JsonFilter}. Jackson refuses
+ * to write a filtered class without a filter provider, so the application mapper gets an empty
+ * one that lets every property through; {@code SparseFieldsets} supplies the real filters
+ * per request.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer passThroughFilters() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,43 @@
+package com.group1.tipton_reservations.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group1.tipton_reservations.metrics.MongoQueryShapeTagsProvider;
+import com.group1.tipton_reservations.metrics.RequestCostCommandListener;
+import com.group1.tipton_reservations.metrics.TimedJacksonHttpMessageConverter;
+
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Spring Boot's default tags provider so every Mongo command timer
+     * also carries the shape of its query.
+     */
+    @Bean
+    public MongoCommandTagsProvider mongoCommandTagsProvider() {
+        return new MongoQueryShapeTagsProvider();
+    }
+
+    /**
+     * Adds Mongo command time to the per-request Server-Timing breakdown.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer requestCostMongoCustomizer() {
+        return settings -> settings.addCommandListener(new RequestCostCommandListener());
+    }
+
+    /**
+     * Takes the place of Boot's default Jackson converter so serialization time
+     * shows up in the Server-Timing breakdown.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
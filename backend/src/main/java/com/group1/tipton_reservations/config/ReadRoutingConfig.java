@@ -0,0 +1,46 @@
+package com.group1.tipton_reservations.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+
+import com.group1.tipton_reservations.reads.ReadTokenFallback;
+import com.group1.tipton_reservations.reads.SessionBindingMongoDatabaseFactory;
+
+/**
+ * Lets repositories join the per-request causal session opened by
+ * {@link com.group1.tipton_reservations.reads.ReadYourWritesFilter}. Which reads may go to a
+ * secondary is declared on the repositories with {@code @ReadPreference}; a repository read that
+ * cannot honour the client's read token is retried without it by {@link ReadTokenFallback}.
+ */
+@Configuration
+public class ReadRoutingConfig {
+
+    @Bean
+    public static BeanPostProcessor sessionBindingMongoDatabaseFactory() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof MongoDatabaseFactory factory && !(bean instanceof SessionBindingMongoDatabaseFactory)
+                        ? new SessionBindingMongoDatabaseFactory(factory)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor readTokenFallbackPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof MongoRepositoryFactoryBean<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(new ReadTokenFallback())));
+                }
+                return bean;
+            }
+        };
+    }
+}
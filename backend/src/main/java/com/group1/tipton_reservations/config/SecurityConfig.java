@@ -2,6 +2,7 @@ package com.group1.tipton_reservations.config;
 
 import java.util.List;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -23,6 +24,10 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.group1.tipton_reservations.metrics.RequestCostFilter;
+import com.group1.tipton_reservations.metrics.TimedPasswordEncoder;
+import com.group1.tipton_reservations.ratelimit.RateLimitFilter;
+import com.group1.tipton_reservations.reads.ReadYourWritesFilter;
 import com.group1.tipton_reservations.security.AuthEntryPointJwt;
 import com.group1.tipton_reservations.security.AuthTokenFilter;
 import com.group1.tipton_reservations.service.CustomUserDetailsService;
@@ -38,13 +43,18 @@ public class SecurityConfig {
     private final AuthEntryPointJwt unauthorizedHandler; 
     private final AuthTokenFilter authTokenFilter;       
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
+    private final RequestCostFilter requestCostFilter;
+    private final RateLimitFilter rateLimitFilter;
     public SecurityConfig(CustomUserDetailsService userService, 
                           AuthEntryPointJwt unauthorizedHandler,      
-                          AuthTokenFilter authTokenFilter, OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler) {
+                          AuthTokenFilter authTokenFilter, OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler,
+                          RequestCostFilter requestCostFilter, RateLimitFilter rateLimitFilter) {
         this.userService = userService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.authTokenFilter = authTokenFilter;
         this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
+        this.requestCostFilter = requestCostFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -66,11 +76,14 @@ public class SecurityConfig {
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/room-types/**").permitAll()
                 .requestMatchers("/rooms/**").permitAll()
+                .requestMatchers("/properties/**").permitAll()
                 .requestMatchers("/amenities/**").permitAll()
                 .requestMatchers("/payments/**").authenticated() // Requires auth for payment processing
                 .requestMatchers("/bookings/**").authenticated() // Requires auth for booking operations
+                .requestMatchers("/waitlist/**").authenticated()
                 .requestMatchers("/oauth2/", "/login/").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll() // management port only
                 .anyRequest().authenticated()
             )
             .oauth2Login(oauth2 -> oauth2
@@ -78,9 +91,29 @@ public class SecurityConfig {
             );
 
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // ahead of the JWT filter, so JWT lookups are counted
+        http.addFilterBefore(requestCostFilter, AuthTokenFilter.class);
+        // after the JWT is read, so per-user limits know who is calling
+        http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
         
         return http.build();
     }
+
+    // only runs inside the security chain; as a plain servlet filter it would run before the user is known
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // only runs inside the security chain, so every request is timed once
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilterRegistration(RequestCostFilter filter) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
     
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
@@ -89,6 +122,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:5173", "http://tipton-frontend-app.s3-website-us-east-1.amazonaws.com", "http://group3-frontend-hosting.s3-website-us-east-1.amazonaws.com", "https://dsl77ny0dhn06.cloudfront.net")); 
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(RequestCostFilter.SERVER_TIMING_HEADER, RequestCostFilter.TRACE_ID_HEADER,
+                ReadYourWritesFilter.READ_TOKEN_HEADER, RateLimitFilter.RETRY_AFTER_HEADER));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -97,7 +132,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     /**
@@ -107,10 +142,8 @@ public class SecurityConfig {
      */
     @Bean
     public RoleHierarchy roleHierarchy() {
-        RoleHierarchyImpl roleHierarchy = new RoleHierarchyImpl();
         // ADMIN automatically includes all CUSTOMER permissions
-        roleHierarchy.setHierarchy("ROLE_ADMIN > ROLE_CUSTOMER");
-        return roleHierarchy;
+        return RoleHierarchyImpl.fromHierarchy("ROLE_ADMIN > ROLE_CUSTOMER");
     }
 
     /**
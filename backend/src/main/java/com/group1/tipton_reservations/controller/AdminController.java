@@ -0,0 +1,62 @@
+package com.group1.tipton_reservations.controller;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.group1.tipton_reservations.dto.stats.OccupancyStatsResponse;
+import com.group1.tipton_reservations.service.BookingStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for admin dashboard endpoints.
+ */
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin("http://localhost:5173/")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final BookingStatsService bookingStatsService;
+
+    /**
+     * Occupancy, ADR, RevPAR, bookings and cancellations for a date range.
+     * Admin-only operation.
+     *
+     * @param from first night (inclusive)
+     * @param to last night (inclusive)
+     * @param roomTypeId optional room type filter
+     * @return per room type and per day statistics
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OccupancyStatsResponse> getStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String roomTypeId) {
+        return ResponseEntity.ok(bookingStatsService.getStats(from, to, roomTypeId));
+    }
+
+    /**
+     * Recomputes all daily statistics from the booking history in the background.
+     * Admin-only operation.
+     *
+     * @return 202 if a rebuild was started, 409 if one is already running
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildStats() {
+        if (!bookingStatsService.requestRebuild()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "A rebuild is already running"));
+        }
+        return ResponseEntity.accepted().body(Map.of("message", "Rebuild started"));
+    }
+}
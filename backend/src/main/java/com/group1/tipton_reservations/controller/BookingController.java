@@ -6,6 +6,8 @@ import com.group1.tipton_reservations.dto.booking.CreateBookingRequest;
 import com.group1.tipton_reservations.dto.booking.ModifyBookingRequest;
 import com.group1.tipton_reservations.dto.booking.ModifyBookingPaymentIntentRequest;
 import com.group1.tipton_reservations.dto.payment.PaymentIntentResponse;
+import com.group1.tipton_reservations.fields.FieldSelection;
+import com.group1.tipton_reservations.fields.SparseFieldsets;
 import com.group1.tipton_reservations.security.HotelUserPrincipal;
 import com.group1.tipton_reservations.service.BookingService;
 import jakarta.validation.Valid;
@@ -16,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -32,6 +35,7 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final SparseFieldsets sparseFieldsets;
 
     /**
      * Creates a new booking.
@@ -53,42 +57,50 @@ public class BookingController {
      * Retrieves all bookings.
      * Admin-only operation.
      *
+     * @param fields optional comma separated response fields to return (e.g. {@code id,status,checkInDate})
      * @return list of booking responses
      */
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getAllBookings() {
-        List<BookingResponse> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<MappingJacksonValue> getAllBookings(@RequestParam(required = false) String fields) {
+        FieldSelection selection = bookingFields(fields);
+        List<BookingResponse> bookings = bookingService.getAllBookings(selection);
+        return ResponseEntity.ok(sparseFieldsets.render(bookings, selection));
     }
 
     /**
      * Retrieves a booking by its ID.
      *
      * @param id the booking ID
+     * @param fields optional comma separated response fields to return
      * @param authentication the authenticated user (injected by Spring Security)
      * @return the booking response
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BookingResponse> getBookingById(
+    public ResponseEntity<MappingJacksonValue> getBookingById(
             @PathVariable String id,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
-        BookingResponse response = bookingService.getBookingById(id);
-        return ResponseEntity.ok(response);
+        FieldSelection selection = bookingFields(fields);
+        BookingResponse response = bookingService.getBookingById(id, selection);
+        return ResponseEntity.ok(sparseFieldsets.render(response, selection));
     }
 
     /**
      * Retrieves a booking by its confirmation number.
      *
      * @param confirmationNumber the booking confirmation number
+     * @param fields optional comma separated response fields to return
      * @param authentication the authenticated user (injected by Spring Security)
      * @return the booking response
      */
     @GetMapping("/confirmation/{confirmationNumber}")
-    public ResponseEntity<BookingResponse> getBookingByConfirmationNumber(
+    public ResponseEntity<MappingJacksonValue> getBookingByConfirmationNumber(
             @PathVariable String confirmationNumber,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
-        BookingResponse response = bookingService.getBookingByConfirmationNumber(confirmationNumber);
-        return ResponseEntity.ok(response);
+        FieldSelection selection = bookingFields(fields);
+        BookingResponse response = bookingService.getBookingByConfirmationNumber(confirmationNumber, selection);
+        return ResponseEntity.ok(sparseFieldsets.render(response, selection));
     }
 
     /**
@@ -96,19 +108,22 @@ public class BookingController {
      *
      * @param page the page number (default: 0)
      * @param size the page size (default: 10)
+     * @param fields optional comma separated response fields to return, applied to each booking
      * @param authentication the authenticated user (injected by Spring Security)
      * @return page of booking responses for the authenticated user
      */
     @GetMapping("/user")
-    public ResponseEntity<Page<BookingResponse>> getUserBookings(
+    public ResponseEntity<MappingJacksonValue> getUserBookings(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
             Authentication authentication) {
         String userId = ((HotelUserPrincipal) authentication.getPrincipal()).getUser().getId();
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<BookingResponse> bookings = bookingService.getUserBookings(userId, pageable);
+        FieldSelection selection = bookingFields(fields);
+        Page<BookingResponse> bookings = bookingService.getUserBookings(userId, pageable, selection);
 
-        return ResponseEntity.ok(bookings);
+        return ResponseEntity.ok(sparseFieldsets.render(bookings, selection));
     }
 
     /**
@@ -213,4 +228,12 @@ public class BookingController {
         BookingResponse response = bookingService.confirmBooking(id, request.getPaymentIntentId());
         return ResponseEntity.ok(response);
     }
+
+    private static FieldSelection bookingFields(String fields) {
+        try {
+            return FieldSelection.parse(fields, SparseFieldsets.BOOKING);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
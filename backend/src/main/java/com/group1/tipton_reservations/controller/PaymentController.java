@@ -1,5 +1,6 @@
 package com.group1.tipton_reservations.controller;
 
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
 import com.group1.tipton_reservations.dto.payment.PaymentIntentRequest;
 import com.group1.tipton_reservations.dto.payment.PaymentIntentResponse;
 import com.group1.tipton_reservations.model.Booking;
@@ -11,25 +12,37 @@ import com.stripe.model.PaymentIntent;
 
 import java.math.BigDecimal;
 
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Controller for handling payment-related operations
  */
 @RestController
 @RequestMapping("/payments")
 @CrossOrigin("http://localhost:5173/")
+@Slf4j
 public class PaymentController {
 
     private final StripeService stripeService;
     private final BookingRepository bookingRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Bulkheads bulkheads;
 
-    public PaymentController(StripeService stripeService, BookingRepository bookingRepository) {
+    public PaymentController(StripeService stripeService, BookingRepository bookingRepository,
+            MongoTemplate mongoTemplate, Bulkheads bulkheads) {
         this.stripeService = stripeService;
         this.bookingRepository = bookingRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.bulkheads = bulkheads;
     }
 
     /**
@@ -54,12 +67,24 @@ public class PaymentController {
                 );
             }
             PaymentIntent intent = stripeService.createPaymentIntent(booking, "usd");
-            System.out.println("Payment intent created successfully");
+            log.debug("Payment intent {} created for booking {}", intent.getId(), booking.getId());
 
-            booking.setPaymentId(intent.getId());
-            bookingRepository.save(booking);
+            // only the intent ID is written, and only while the booking is still PENDING, so a
+            // confirmation, expiry or void that landed during the Stripe call is never overwritten
+            boolean recorded = bulkheads.bookings().call(() -> mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(booking.getId()).and("status").is(BookingStatus.PENDING)),
+                    new Update().set("paymentId", intent.getId()),
+                    Booking.class)).getMatchedCount() > 0;
+            if (!recorded) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Booking is no longer PENDING"
+                );
+            }
 
             return ResponseEntity.ok(new PaymentIntentResponse(intent.getClientSecret()));
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (StripeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Stripe error: " + e.getMessage());
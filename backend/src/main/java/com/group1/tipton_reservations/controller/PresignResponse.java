@@ -3,10 +3,12 @@ package com.group1.tipton_reservations.controller;
 public class PresignResponse {
     private final String uploadUrl;
     private final String key;
+    private final String fileUrl;
 
-    public PresignResponse(String uploadUrl, String key) {
+    public PresignResponse(String uploadUrl, String key, String fileUrl) {
         this.uploadUrl = uploadUrl;
         this.key = key;
+        this.fileUrl = fileUrl;
     }
 
     public String getUploadUrl() {
@@ -16,4 +18,8 @@ public class PresignResponse {
     public String getKey() {
         return key;
     }
+
+    public String getFileUrl() {
+        return fileUrl;
+    }
 }
@@ -0,0 +1,75 @@
+package com.group1.tipton_reservations.controller;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.group1.tipton_reservations.model.Property;
+import com.group1.tipton_reservations.service.PropertyService;
+
+@RestController
+@RequestMapping("/properties")
+@CrossOrigin("http://localhost:5173/")
+public class PropertyController {
+    private final PropertyService propertyService;
+
+    public PropertyController(PropertyService propertyService) {
+        this.propertyService = propertyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Property>> findAllProperties() {
+        return ResponseEntity.ok(propertyService.findAllProperties());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Property> findPropertyById(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(propertyService.findPropertyById(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .header("Message", "property not found")
+                .build();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<Property> createProperty(@RequestBody Property property) {
+        try {
+            return ResponseEntity.ok(propertyService.createProperty(property));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("Message", e.getMessage())
+                .build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Message", e.getMessage())
+                .build();
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Property> updateProperty(@PathVariable String id, @RequestBody Property property) {
+        try {
+            return ResponseEntity.ok(propertyService.updateProperty(id, property));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("Message", e.getMessage())
+                .build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .header("Message", "property not found")
+                .build();
+        }
+    }
+}
@@ -28,24 +28,24 @@ public class RewardController {
         //We have userprincipal already but getting the more updated data is better. 
         User user = userService.findUserById(userPrincipal.getUser().getId());
         
-        if (user.getRewardsPoints() < 100) {
+        // 1. Deduct Points first, only if the balance still covers them, so two redeems cannot both spend it
+        if (!userService.redeemRewardPoints(user.getId(), 100)) {
             return ResponseEntity.badRequest().body(Map.of("message", "Insufficient points. You need 100 points to redeem."));
         }
 
         try {
-            // 1. Generate Stripe Code
+            // 2. Generate Stripe Code
             String code = stripeService.createRewardCoupon(user.getId());
-            
-            // 2. Deduct Points (using your existing addRewardPoints with a negative value)
-            userService.addRewardPoints(user.getId(), -100);
 
             // 3. Return the code and the new balance
-            // We verify the math here for the return value: (current - 100)
+            User updated = userService.findUserById(user.getId());
             return ResponseEntity.ok(Map.of(
                 "code", code, 
-                "remainingPoints", user.getRewardsPoints() - 100
+                "remainingPoints", updated.getRewardsPoints()
             ));
         } catch (Exception e) {
+            // give the points back, no code was issued for them
+            userService.addRewardPoints(user.getId(), 100);
             return ResponseEntity.internalServerError().body(Map.of("message", "Error generating reward: " + e.getMessage()));
         }
     }
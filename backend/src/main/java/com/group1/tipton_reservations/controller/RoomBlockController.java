@@ -0,0 +1,98 @@
+package com.group1.tipton_reservations.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.group1.tipton_reservations.dto.room.RoomBlockRequest;
+import com.group1.tipton_reservations.dto.room.RoomBlockResult;
+import com.group1.tipton_reservations.model.RoomBlock;
+import com.group1.tipton_reservations.service.RoomBlockService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller for taking rooms out of order (maintenance, renovation).
+ * All operations are admin-only.
+ */
+@RestController
+@RequestMapping("/room-blocks")
+@CrossOrigin("http://localhost:5173/")
+@RequiredArgsConstructor
+public class RoomBlockController {
+
+    private final RoomBlockService roomBlockService;
+
+    /**
+     * Lists the blocks of a property that overlap a date range.
+     *
+     * @param propertyId the property, or the default property if omitted
+     * @param from first night (inclusive)
+     * @param to the morning after the last night
+     * @return the blocks, earliest first
+     */
+    @GetMapping
+    public ResponseEntity<List<RoomBlock>> findBlocks(
+            @RequestParam(required = false) String propertyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(roomBlockService.findBlocks(propertyId, from, to));
+    }
+
+    /**
+     * Blocks one room, or every room on a floor, for a range of nights.
+     *
+     * @param request the room or floor and the nights
+     * @return the blocks made and the rooms skipped for holding bookings, with 201 status
+     */
+    @PostMapping
+    public ResponseEntity<RoomBlockResult> block(@Valid @RequestBody RoomBlockRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(roomBlockService.block(request));
+    }
+
+    /**
+     * Puts one room, or every room on a floor, back in service for a range of nights.
+     *
+     * @param propertyId the property of the floor, or the default property if omitted
+     * @param roomId the room, if not a floor
+     * @param floor the floor, if not a room
+     * @param from first night (inclusive)
+     * @param to the morning after the last night
+     * @return how many rooms got nights back
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> unblock(
+            @RequestParam(required = false) String propertyId,
+            @RequestParam(required = false) String roomId,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(Map.of("roomsUnblocked", roomBlockService.unblock(propertyId, roomId, floor, from, to)));
+    }
+
+    /**
+     * Removes one block entirely.
+     *
+     * @param id the block ID
+     * @return 204 on success
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBlock(@PathVariable String id) {
+        roomBlockService.deleteBlock(id);
+        return ResponseEntity.noContent().build();
+    }
+}
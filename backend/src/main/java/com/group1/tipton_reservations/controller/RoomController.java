@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.group1.tipton_reservations.model.Room;
@@ -32,9 +33,9 @@ public class RoomController {
     }
 
     @GetMapping 
-    public ResponseEntity<List<Room>> findAllRooms() {
+    public ResponseEntity<List<Room>> findAllRooms(@RequestParam(required = false) String propertyId) {
         try {
-            List<Room> rooms = roomService.findAllRooms();
+            List<Room> rooms = roomService.findAllRooms(propertyId);
             return new ResponseEntity<>(rooms, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().header("Message", "error fetching rooms").build(); 
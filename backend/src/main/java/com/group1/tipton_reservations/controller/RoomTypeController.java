@@ -1,11 +1,13 @@
 package com.group1.tipton_reservations.controller;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,7 +20,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.group1.tipton_reservations.dto.roomType.RoomTypeAvailabilityResponse;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeSearchResponse;
+import com.group1.tipton_reservations.fields.FieldSelection;
+import com.group1.tipton_reservations.fields.SparseFieldsets;
 import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.service.RoomTypeSearchService;
 import com.group1.tipton_reservations.service.RoomTypeService;
 
 @RestController
@@ -26,15 +32,20 @@ import com.group1.tipton_reservations.service.RoomTypeService;
 @CrossOrigin("http://localhost:5173/")
 public class RoomTypeController {
     private final RoomTypeService roomTypeService;
+    private final RoomTypeSearchService roomTypeSearchService;
+    private final SparseFieldsets sparseFieldsets;
 
-    public RoomTypeController(RoomTypeService roomTypeService) {
+    public RoomTypeController(RoomTypeService roomTypeService, RoomTypeSearchService roomTypeSearchService,
+            SparseFieldsets sparseFieldsets) {
         this.roomTypeService = roomTypeService;
+        this.roomTypeSearchService = roomTypeSearchService;
+        this.sparseFieldsets = sparseFieldsets;
     }
 
     @GetMapping
-    public ResponseEntity<List<RoomType>> findAllRoomTypes() {
+    public ResponseEntity<List<RoomType>> findAllRoomTypes(@RequestParam(required = false) String propertyId) {
         try {
-            List<RoomType> roomTypes = roomTypeService.findAllRoomTypes();
+            List<RoomType> roomTypes = roomTypeService.findAllRoomTypes(propertyId);
             return new ResponseEntity<>(roomTypes, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -60,13 +71,16 @@ public class RoomTypeController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<RoomTypeAvailabilityResponse>> findAvailableRoomTypes(
+    public ResponseEntity<MappingJacksonValue> findAvailableRoomTypes(
             @RequestParam("checkInDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
             @RequestParam("checkOutDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate, 
-            @RequestParam("guests") Integer guests) {
+            @RequestParam("guests") Integer guests,
+            @RequestParam(required = false) String propertyId,
+            @RequestParam(required = false) String fields) {
         try {
-            List<RoomTypeAvailabilityResponse> availableRoomTypes = roomTypeService.findAvailableRoomTypes(checkInDate, checkOutDate, guests);
-            return new ResponseEntity<>(availableRoomTypes, HttpStatus.OK);
+            FieldSelection selection = FieldSelection.parse(fields, SparseFieldsets.AVAILABILITY);
+            List<RoomTypeAvailabilityResponse> availableRoomTypes = roomTypeService.findAvailableRoomTypes(propertyId, checkInDate, checkOutDate, guests, selection);
+            return new ResponseEntity<>(sparseFieldsets.render(availableRoomTypes, selection), HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .header("Message", e.getMessage()).build();
@@ -76,6 +90,36 @@ public class RoomTypeController {
         }
     }
 
+    /**
+     * Faceted search: available room types filtered by amenities (all of them), capacity and
+     * base price, sorted, with a count for every amenity, price band and capacity.
+     * {@code fields=} trims each result the same way as {@code /available}; facets are always complete.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<MappingJacksonValue> searchRoomTypes(
+            @RequestParam("checkInDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam("checkOutDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) List<String> amenityIds,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String propertyId,
+            @RequestParam(required = false) String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields, SparseFieldsets.AVAILABILITY);
+            RoomTypeSearchResponse response = roomTypeSearchService.search(propertyId, checkInDate, checkOutDate, guests,
+                    amenityIds, minPrice, maxPrice, sort);
+            return ResponseEntity.ok(sparseFieldsets.render(response, selection));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("Message", e.getMessage()).build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .header("Message", "error searching room types").build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<RoomType> createRoomType(@RequestBody RoomType roomType) {
         try {
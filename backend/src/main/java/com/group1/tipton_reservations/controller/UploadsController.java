@@ -3,9 +3,13 @@ package com.group1.tipton_reservations.controller;
 import java.time.Duration;
 import java.util.UUID;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+
+import com.group1.tipton_reservations.images.ImageStore;
+
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
@@ -14,10 +18,11 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequ
 @RestController
 public class UploadsController {
     private final S3Presigner presigner;
-    private final String bucketName = "20251117-ey-project2-group3-assets";
+    private final ImageStore imageStore;
 
-    public UploadsController(S3Presigner presigner) {
+    public UploadsController(@Lazy S3Presigner presigner, ImageStore imageStore) {
         this.presigner = presigner;
+        this.imageStore = imageStore;
     }
 
 
@@ -28,7 +33,7 @@ public class UploadsController {
         String key = "images/" + UUID.randomUUID();
 
         PutObjectRequest objectRequest = PutObjectRequest.builder()
-            .bucket(bucketName)
+            .bucket(imageStore.bucket())
             .key(key)
             .contentType(req.getContentType())
             .build();
@@ -42,7 +47,8 @@ public class UploadsController {
         PresignedPutObjectRequest presigned =
             presigner.presignPutObject(presignRequest);
 
-        return new PresignResponse(presigned.url().toString(), key);
+        // fileUrl is what goes into RoomType.imageUrls; the image pipeline maps it back to the key
+        return new PresignResponse(presigned.url().toString(), key, imageStore.urlFor(key));
     }
 
 }
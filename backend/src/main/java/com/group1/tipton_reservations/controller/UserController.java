@@ -1,7 +1,5 @@
 package com.group1.tipton_reservations.controller;
 
-import java.util.List;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -10,8 +8,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.group1.tipton_reservations.dto.user.UserDirectoryPage;
 import com.group1.tipton_reservations.model.User;
 import com.group1.tipton_reservations.service.UserService;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -28,15 +28,20 @@ public class UserController {
         this.userService = userService;
     }
 
+    /**
+     * Lists users a page at a time, in email order, with optional prefix search on email and name.
+     * Pass the returned {@code next} as {@code after}, with the same {@code q}, to get the following page.
+     */
     @GetMapping
-    public ResponseEntity<List<User>> findAllUsers() {
+    public ResponseEntity<UserDirectoryPage> findUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<User> users = userService.findAllUsers();
-            return new ResponseEntity<>(users, HttpStatus.OK);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header("Message", "Error fetching users")
-                    .build();
+            return ResponseEntity.ok(userService.findUsers(q, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .header("Message", e.getMessage()).build();
         }
     }
 
@@ -0,0 +1,65 @@
+package com.group1.tipton_reservations.controller;
+
+import com.group1.tipton_reservations.dto.waitlist.JoinWaitlistRequest;
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.security.HotelUserPrincipal;
+import com.group1.tipton_reservations.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the waitlist of sold-out room types.
+ */
+@RestController
+@RequestMapping("/waitlist")
+@CrossOrigin("http://localhost:5173/")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Joins the waitlist for a sold-out stay.
+     *
+     * @param request the stay to wait for
+     * @param authentication the authenticated user (injected by Spring Security)
+     * @return the new entry with 201 status
+     */
+    @PostMapping
+    public ResponseEntity<WaitlistEntry> join(
+            @Valid @RequestBody JoinWaitlistRequest request,
+            Authentication authentication) {
+        String userId = ((HotelUserPrincipal) authentication.getPrincipal()).getUser().getId();
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(request, userId));
+    }
+
+    /**
+     * Lists the authenticated user's waitlist entries, newest first.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<List<WaitlistEntry>> getMyEntries(Authentication authentication) {
+        String userId = ((HotelUserPrincipal) authentication.getPrincipal()).getUser().getId();
+        return ResponseEntity.ok(waitlistService.findUserEntries(userId));
+    }
+
+    /**
+     * Leaves the waitlist.
+     *
+     * @param id the entry ID
+     * @param authentication the authenticated user (injected by Spring Security)
+     * @return the cancelled entry
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<WaitlistEntry> leave(@PathVariable String id, Authentication authentication) {
+        String userId = ((HotelUserPrincipal) authentication.getPrincipal()).getUser().getId();
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        return ResponseEntity.ok(waitlistService.leave(id, userId, admin));
+    }
+}
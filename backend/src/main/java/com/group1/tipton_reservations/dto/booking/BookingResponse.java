@@ -1,5 +1,7 @@
 package com.group1.tipton_reservations.dto.booking;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.group1.tipton_reservations.fields.SparseFieldsets;
 import com.group1.tipton_reservations.model.enums.BookingStatus;
 import lombok.Data;
 
@@ -11,8 +13,10 @@ import java.util.List;
 /**
  * DTO for booking response data.
  * Returned to clients when retrieving booking information.
+ * Read endpoints accept {@code fields=} to return only some of these properties.
  */
 @Data
+@JsonFilter(SparseFieldsets.BOOKING_FILTER)
 public class BookingResponse {
 
     // Unique booking ID
@@ -33,6 +37,9 @@ public class BookingResponse {
     // Assigned room ID
     private String roomId;
 
+    // Property (hotel) ID
+    private String propertyId;
+
     // Room type ID
     private String roomTypeId;
 
@@ -67,6 +74,12 @@ public class BookingResponse {
     // Associated payment ID (if payment exists)
     private String paymentId;
 
+    // When an unpaid PENDING booking will be voided (PENDING only)
+    private LocalDateTime holdExpiresAt;
+
+    // Waitlist entry this booking was offered to (if any)
+    private String waitlistEntryId;
+
     // Timestamp when the booking was created
     private LocalDateTime createdAt;
 
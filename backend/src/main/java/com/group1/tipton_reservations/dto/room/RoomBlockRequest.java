@@ -0,0 +1,32 @@
+package com.group1.tipton_reservations.dto.room;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for taking rooms out of order.
+ * Names either one room or a whole floor of a property.
+ */
+@Data
+public class RoomBlockRequest {
+
+    // the property of the floor; ignored for a single room, which knows its property
+    private String propertyId;
+
+    // either a room ...
+    private String roomId;
+
+    // ... or every room on a floor
+    private Integer floor;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    // the morning after the last blocked night
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private String reason;
+}
@@ -0,0 +1,16 @@
+package com.group1.tipton_reservations.dto.room;
+
+import java.util.List;
+
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomBlock;
+
+/**
+ * Outcome of a block request.
+ *
+ * @param blocked the blocks created, one per room
+ * @param skipped rooms left in service because a booking holds some of the nights, or was being assigned
+ *                them at that moment; move those bookings and block again
+ */
+public record RoomBlockResult(List<RoomBlock> blocked, List<Room> skipped) {
+}
@@ -1,11 +1,15 @@
 package com.group1.tipton_reservations.dto.roomType;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.group1.tipton_reservations.fields.SparseFieldsets;
 import com.group1.tipton_reservations.model.RoomType;
 
 /**
  * Response DTO for available room types.
  * Contains the room type details and the count of available rooms for a specific date range.
+ * Search endpoints accept {@code fields=} (e.g. {@code roomType.name,roomType.basePrice,availableCount}) to trim it.
  */
+@JsonFilter(SparseFieldsets.AVAILABILITY_FILTER)
 public record RoomTypeAvailabilityResponse(
     RoomType roomType,
     int availableCount
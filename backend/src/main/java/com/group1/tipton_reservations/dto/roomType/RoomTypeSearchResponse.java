@@ -0,0 +1,31 @@
+package com.group1.tipton_reservations.dto.roomType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for the faceted room-type search: the matching room types plus, for each
+ * facet value, how many available room types the search would return if it were selected.
+ * Each facet is counted with every other filter applied but its own, so a price band or
+ * capacity count is what clicking it would give; amenity counts keep the selected amenities,
+ * since amenities narrow rather than replace each other.
+ */
+public record RoomTypeSearchResponse(
+    List<RoomTypeAvailabilityResponse> results,
+    List<AmenityFacet> amenities,
+    List<PriceBandFacet> priceBands,
+    List<CapacityFacet> capacities
+) {
+
+    public record AmenityFacet(String amenityId, String name, int count, boolean selected) {}
+
+    /**
+     * Base prices in {@code [min, max)}; a null bound is open.
+     */
+    public record PriceBandFacet(BigDecimal min, BigDecimal max, int count) {}
+
+    /**
+     * Room types that sleep at least {@code guests}.
+     */
+    public record CapacityFacet(int guests, int count) {}
+}
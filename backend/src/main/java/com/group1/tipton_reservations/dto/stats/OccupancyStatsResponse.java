@@ -0,0 +1,15 @@
+package com.group1.tipton_reservations.dto.stats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy and revenue for a date range, answered from {@code daily_room_type_stats}.
+ */
+public record OccupancyStatsResponse(
+    LocalDate from,
+    LocalDate to,
+    StatsLine total,
+    List<StatsLine> roomTypes,
+    List<StatsLine> daily
+) {}
@@ -0,0 +1,23 @@
+package com.group1.tipton_reservations.dto.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of {@link OccupancyStatsResponse}: either a room type over the whole range
+ * ({@code roomTypeId} set) or the whole hotel on one day ({@code date} set).
+ * ADR = revenue / occupied nights, RevPAR = revenue / available room nights.
+ */
+public record StatsLine(
+    String roomTypeId,
+    String roomTypeName,
+    LocalDate date,
+    long availableRoomNights,
+    long occupiedNights,
+    BigDecimal occupancyRate,
+    BigDecimal revenue,
+    BigDecimal adr,
+    BigDecimal revPar,
+    long bookings,
+    long cancellations
+) {}
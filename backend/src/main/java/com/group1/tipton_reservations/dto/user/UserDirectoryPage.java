@@ -0,0 +1,11 @@
+package com.group1.tipton_reservations.dto.user;
+
+import java.util.List;
+
+/**
+ * One page of the user directory, in email order or, when searching, by matching term and email.
+ *
+ * @param users the users on this page
+ * @param next the {@code after} cursor for the following page, or null if this is the last one
+ */
+public record UserDirectoryPage(List<UserSummary> users, String next) {}
@@ -0,0 +1,16 @@
+package com.group1.tipton_reservations.dto.user;
+
+import java.util.Set;
+
+/**
+ * A user as listed in the directory: profile fields only, never credentials or connected accounts.
+ */
+public record UserSummary(
+        String id,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        Set<String> roles,
+        Boolean isActive,
+        Integer rewardsPoints) {}
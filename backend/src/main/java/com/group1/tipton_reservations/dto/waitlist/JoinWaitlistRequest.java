@@ -0,0 +1,31 @@
+package com.group1.tipton_reservations.dto.waitlist;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for joining the waitlist of a sold-out room type.
+ * Same stay details as a booking request.
+ */
+@Data
+public class JoinWaitlistRequest {
+
+    // ID of the sold-out room type
+    @NotNull(message = "Room type ID is required")
+    private String roomTypeId;
+
+    @NotNull(message = "Check-in date is required")
+    @FutureOrPresent(message = "Check-in date must be today or in the future")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOutDate;
+
+    @NotNull(message = "Number of guests is required")
+    @Positive(message = "Number of guests must be at least 1")
+    private Integer numberOfGuests;
+}
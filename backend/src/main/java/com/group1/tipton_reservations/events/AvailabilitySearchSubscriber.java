@@ -0,0 +1,49 @@
+package com.group1.tipton_reservations.events;
+
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+import com.group1.tipton_reservations.search.AvailabilitySearchCoalescer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Drops coalesced availability searches for the nights a booking took or gave back.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilitySearchSubscriber implements BookingEventSubscriber {
+
+    // CONFIRMED keeps the room a PENDING hold already had
+    private static final Set<BookingEventType> HANDLED = Set.of(BookingEventType.CREATED, BookingEventType.MODIFIED,
+            BookingEventType.CANCELLED, BookingEventType.VOIDED);
+
+    private final AvailabilitySearchCoalescer coalescer;
+
+    @Override
+    public String name() {
+        return "availability-search";
+    }
+
+    @Override
+    public boolean handles(BookingEventType type) {
+        return HANDLED.contains(type);
+    }
+
+    @Override
+    public void handle(String bookingId, BookingEvent event) {
+        if (event.getCheckInDate() == null) {
+            return; // a VOIDED event queued before it carried a snapshot
+        }
+        switch (event.getType()) {
+            case MODIFIED -> {
+                coalescer.invalidate(event.getPropertyId(), event.getPreviousCheckInDate(), event.getPreviousCheckOutDate());
+                coalescer.invalidate(event.getPropertyId(), event.getCheckInDate(), event.getCheckOutDate());
+            }
+            default -> coalescer.invalidate(event.getPropertyId(), event.getCheckInDate(), event.getCheckOutDate());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.group1.tipton_reservations.events;
+
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+
+/**
+ * Reacts to booking events off the request thread.
+ * <p>
+ * Delivery is at least once. The relay records each (subscriber, event) pair it hands over
+ * and skips pairs it has already seen, so a handler only runs again after it threw.
+ * A handler that throws is retried on the next relay pass, as are all later events of the
+ * same booking.
+ * </p>
+ */
+public interface BookingEventSubscriber {
+
+    /**
+     * Stable name, part of the key that makes delivery idempotent; renaming re-delivers pending events.
+     */
+    String name();
+
+    boolean handles(BookingEventType type);
+
+    void handle(String bookingId, BookingEvent event);
+}
@@ -0,0 +1,215 @@
+package com.group1.tipton_reservations.events;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.BookingEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers events from booking outboxes to the {@link BookingEventSubscriber}s.
+ * <p>
+ * After a write the request thread only calls {@link #wake(String)}; the booking is drained
+ * on the relay pool, each subscriber running on its own bounded pool so a slow one cannot
+ * hold up the others or the requests. An event is pulled from the outbox once every
+ * subscriber has handled it. Anything missed (a full queue, a failed handler, a restart) is
+ * picked up by the periodic sweep, so a booking's events are delivered in order and none is
+ * lost; a subscriber can see an event twice and must make that harmless.
+ * </p>
+ */
+@Component
+@Slf4j
+public class BookingOutboxRelay {
+
+    static final String BOOKINGS = "bookings";
+    static final String PROCESSED_COLLECTION = "processed_booking_events";
+    private static final int MAX_ROUNDS = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final List<BookingEventSubscriber> subscribers;
+    private final Map<String, ThreadPoolExecutor> subscriberPools = new LinkedHashMap<>();
+    private final ThreadPoolExecutor relayPool;
+    private final Set<String> draining = ConcurrentHashMap.newKeySet();
+
+    @Value("${tipton.events.sweep-grace-ms:2000}")
+    private long sweepGraceMs;
+
+    @Value("${tipton.events.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    @Value("${tipton.events.handler-timeout-ms:30000}")
+    private long handlerTimeoutMs;
+
+    @Value("${tipton.events.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    public BookingOutboxRelay(MongoTemplate mongoTemplate, List<BookingEventSubscriber> subscribers,
+                              @Value("${tipton.events.relay-threads:2}") int relayThreads,
+                              @Value("${tipton.events.subscriber-threads:2}") int subscriberThreads,
+                              @Value("${tipton.events.queue-capacity:1000}") int queueCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.subscribers = subscribers;
+        this.relayPool = boundedPool("outbox-relay-", relayThreads, queueCapacity);
+        for (BookingEventSubscriber subscriber : subscribers) {
+            subscriberPools.put(subscriber.name(), boundedPool("event-" + subscriber.name() + "-", subscriberThreads, queueCapacity));
+        }
+    }
+
+    private static ThreadPoolExecutor boundedPool(String prefix, int threads, int capacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Schedules delivery of a booking's pending events. Never blocks; if the relay is saturated
+     * the sweep delivers them later.
+     */
+    public void wake(String bookingId) {
+        if (!draining.add(bookingId)) {
+            return; // the running drain re-reads the outbox until it is empty
+        }
+        try {
+            relayPool.execute(() -> {
+                try {
+                    drain(bookingId);
+                } catch (RuntimeException e) {
+                    log.warn("Could not drain outbox of booking {}, left for the sweep: {}", bookingId, e.getMessage());
+                } finally {
+                    draining.remove(bookingId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            draining.remove(bookingId);
+            log.debug("Outbox relay saturated, booking {} left for the sweep", bookingId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tipton.events.sweep-interval-ms:5000}")
+    public void sweep() {
+        Query query = Query.query(Criteria.where("outbox.0").exists(true)
+                        .and("outbox.occurredAt").lt(LocalDateTime.now().minusNanos(sweepGraceMs * 1_000_000)))
+                .limit(sweepBatchSize);
+        query.fields().include("_id");
+        try {
+            for (Document booking : mongoTemplate.find(query, Document.class, BOOKINGS)) {
+                wake(booking.get("_id").toString());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void drain(String bookingId) {
+        Query byId = Query.query(Criteria.where("_id").is(bookingId));
+        byId.fields().include("outbox");
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            Booking booking = mongoTemplate.findOne(byId, Booking.class);
+            if (booking == null || booking.getOutbox() == null || booking.getOutbox().isEmpty()) {
+                return;
+            }
+            for (BookingEvent event : booking.getOutbox()) {
+                // stop at the first failure so the booking's later events wait behind it
+                if (!deliver(bookingId, event)) {
+                    return;
+                }
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(bookingId)),
+                        new Update().pull("outbox", Query.query(Criteria.where("eventId").is(event.getEventId()))),
+                        Booking.class);
+            }
+        }
+    }
+
+    private boolean deliver(String bookingId, BookingEvent event) {
+        List<Future<?>> handled = new ArrayList<>();
+        for (BookingEventSubscriber subscriber : subscribers) {
+            if (!subscriber.handles(event.getType())) {
+                continue;
+            }
+            try {
+                handled.add(subscriberPools.get(subscriber.name()).submit(() -> handleOnce(subscriber, bookingId, event)));
+            } catch (RejectedExecutionException e) {
+                log.debug("Subscriber {} saturated, event {} left for the sweep", subscriber.name(), event.getEventId());
+                return false;
+            }
+        }
+
+        boolean delivered = true;
+        for (Future<?> future : handled) {
+            try {
+                future.get(handlerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                log.warn("{} event {} for booking {} not handled yet: {}",
+                        event.getType(), event.getEventId(), bookingId, cause.toString());
+                delivered = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return delivered;
+    }
+
+    // the marker is written only after the handler succeeds, so a crash in between means the
+    // event is handled again; subscribers make their side effects idempotent for that
+    private void handleOnce(BookingEventSubscriber subscriber, String bookingId, BookingEvent event) {
+        String key = subscriber.name() + ":" + event.getEventId();
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(key)), PROCESSED_COLLECTION)) {
+            return; // handled on an earlier pass
+        }
+        subscriber.handle(bookingId, event);
+        try {
+            mongoTemplate.insert(new Document("_id", key).append("at", new Date()), PROCESSED_COLLECTION);
+        } catch (DuplicateKeyException e) {
+            // another relay handled it too
+        }
+    }
+
+    /**
+     * Stops taking work and waits for running drains and handlers before the Mongo client
+     * closes; whatever is still queued after that is left for the sweep of the next start.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        relayPool.shutdown();
+        subscriberPools.values().forEach(ThreadPoolExecutor::shutdown);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        if (!relayPool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            relayPool.shutdownNow();
+        }
+        for (ThreadPoolExecutor pool : subscriberPools.values()) {
+            if (!pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                pool.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.group1.tipton_reservations.events;
+
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+import com.group1.tipton_reservations.service.BookingStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the daily occupancy and revenue rows in step with confirmed stays.
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyStatsSubscriber implements BookingEventSubscriber {
+
+    private final BookingStatsService bookingStatsService;
+
+    @Override
+    public String name() {
+        return "occupancy-stats";
+    }
+
+    @Override
+    public boolean handles(BookingEventType type) {
+        return switch (type) {
+            case CONFIRMED, MODIFIED, CANCELLED -> true;
+            case CREATED, VOIDED -> false;
+        };
+    }
+
+    @Override
+    public void handle(String bookingId, BookingEvent event) {
+        bookingStatsService.record(event);
+    }
+}
@@ -0,0 +1,42 @@
+package com.group1.tipton_reservations.events;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+import com.group1.tipton_reservations.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Awards one reward point per $10 of a confirmed booking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RewardPointsSubscriber implements BookingEventSubscriber {
+
+    private final UserService userService;
+
+    @Override
+    public String name() {
+        return "reward-points";
+    }
+
+    @Override
+    public boolean handles(BookingEventType type) {
+        return type == BookingEventType.CONFIRMED;
+    }
+
+    @Override
+    public void handle(String bookingId, BookingEvent event) {
+        BigDecimal pointsEarned = event.getTotalPrice().divide(new BigDecimal("10"), 0, RoundingMode.FLOOR);
+        if (userService.addRewardPoints(event.getUserId(), bookingId, pointsEarned.intValue())) {
+            log.info("Awarded {} points to user {} for booking {}", pointsEarned, event.getUserId(), bookingId);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.group1.tipton_reservations.events;
+
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+import com.group1.tipton_reservations.waitlist.WaitlistMatcher;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Offers released nights to the waitlist and follows offers through to payment or expiry.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistSubscriber implements BookingEventSubscriber {
+
+    private static final Set<BookingEventType> HANDLED = Set.of(
+            BookingEventType.CONFIRMED, BookingEventType.CANCELLED, BookingEventType.MODIFIED, BookingEventType.VOIDED);
+
+    private final WaitlistMatcher waitlistMatcher;
+
+    @Override
+    public String name() {
+        return "waitlist";
+    }
+
+    @Override
+    public boolean handles(BookingEventType type) {
+        return HANDLED.contains(type);
+    }
+
+    @Override
+    public void handle(String bookingId, BookingEvent event) {
+        switch (event.getType()) {
+            case CONFIRMED -> waitlistMatcher.offerAccepted(bookingId);
+            case CANCELLED -> waitlistMatcher.released(event.getPropertyId(), event.getRoomTypeId(),
+                    event.getCheckInDate(), event.getCheckOutDate());
+            // nights of the old stay the new one no longer covers; the matcher re-checks what is actually free
+            case MODIFIED -> waitlistMatcher.released(event.getPropertyId(), event.getRoomTypeId(),
+                    event.getPreviousCheckInDate(), event.getPreviousCheckOutDate());
+            case VOIDED -> {
+                waitlistMatcher.offerLapsed(bookingId);
+                if (event.getCheckInDate() != null) { // VOIDED events queued before the snapshot have none
+                    waitlistMatcher.released(event.getPropertyId(), event.getRoomTypeId(),
+                            event.getCheckInDate(), event.getCheckOutDate());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.group1.tipton_reservations.fields;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What a {@code fields=} parameter may select for one response type.
+ * <p>
+ * Selectable paths are the property names of the response class plus, for each nested
+ * object that has its own {@code @JsonFilter}, {@code parent.child} for the properties of
+ * the nested class. {@code alwaysIncluded} paths (ids) are added to every selection that
+ * includes their parent, so clients can always key what they get back.
+ * </p>
+ *
+ * @param rootFilter the {@code @JsonFilter} id on the response class
+ * @param nestedFilters nested property name to the {@code @JsonFilter} id on its class
+ */
+public record FieldSchema(
+    String rootFilter,
+    Map<String, String> nestedFilters,
+    Set<String> allowed,
+    Set<String> alwaysIncluded
+) {
+
+    /**
+     * Builds a schema from the declared fields of {@code root} and of each nested class.
+     *
+     * @param nested property name to its class and filter id, e.g. {@code "roomType" -> (RoomType.class, "roomTypeFields")}
+     */
+    public static FieldSchema of(String rootFilter, Class<?> root, Map<String, Nested> nested, String... alwaysIncluded) {
+        Set<String> allowed = new LinkedHashSet<>(propertiesOf(root));
+        Map<String, String> nestedFilters = new HashMap<>();
+        nested.forEach((name, type) -> {
+            nestedFilters.put(name, type.filterId());
+            propertiesOf(type.type()).forEach(child -> allowed.add(name + "." + child));
+        });
+        return new FieldSchema(rootFilter, Map.copyOf(nestedFilters), Set.copyOf(allowed), Set.of(alwaysIncluded));
+    }
+
+    public record Nested(Class<?> type, String filterId) {}
+
+    private static Set<String> propertiesOf(Class<?> type) {
+        Set<String> names = new LinkedHashSet<>();
+        if (type.isRecord()) {
+            Arrays.stream(type.getRecordComponents()).forEach(component -> names.add(component.getName()));
+            return names;
+        }
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,139 @@
+package com.group1.tipton_reservations.fields;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A parsed {@code fields=} parameter: the dotted paths a client asked for, validated against
+ * a {@link FieldSchema}. Selecting {@code roomType} means the whole nested object;
+ * {@code roomType.name} means only that property of it (and implies {@code roomType}).
+ * <p>
+ * Services use {@link #includes} to skip loading what nobody will see; {@link SparseFieldsets}
+ * turns the same selection into Jackson filters so it is not serialized either.
+ * </p>
+ */
+public final class FieldSelection {
+
+    private static final FieldSelection ALL = new FieldSelection(null, null);
+
+    private final FieldSchema schema;
+    private final TreeSet<String> paths; // null = everything
+
+    private FieldSelection(FieldSchema schema, TreeSet<String> paths) {
+        this.schema = schema;
+        this.paths = paths;
+    }
+
+    /**
+     * The selection that leaves a response untouched.
+     */
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma separated list of paths; blank means everything.
+     *
+     * @throws IllegalArgumentException if a path is not in the schema
+     */
+    public static FieldSelection parse(String fields, FieldSchema schema) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        TreeSet<String> paths = new TreeSet<>();
+        for (String raw : fields.split(",")) {
+            String path = raw.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (!schema.allowed().contains(path)) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            paths.add(path);
+        }
+        if (paths.isEmpty()) {
+            return ALL;
+        }
+        FieldSelection selection = new FieldSelection(schema, paths);
+        for (String always : schema.alwaysIncluded()) {
+            int dot = always.indexOf('.');
+            if (dot < 0 || selection.includes(always.substring(0, dot))) {
+                paths.add(always);
+            }
+        }
+        return selection;
+    }
+
+    public boolean isAll() {
+        return paths == null;
+    }
+
+    FieldSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Whether {@code path} will be in the response: selected itself, inside a selected object,
+     * or the parent of a selected property.
+     */
+    public boolean includes(String path) {
+        if (paths == null || paths.contains(path)) {
+            return true;
+        }
+        int dot = path.indexOf('.');
+        if (dot >= 0 && paths.contains(path.substring(0, dot))) {
+            return true;
+        }
+        String prefix = path + ".";
+        String next = paths.ceiling(prefix);
+        return next != null && next.startsWith(prefix);
+    }
+
+    /**
+     * Whether any of {@code paths} will be in the response.
+     */
+    public boolean includesAny(String... candidates) {
+        for (String path : candidates) {
+            if (includes(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Top-level property names in the response.
+     */
+    public Set<String> topLevel() {
+        Set<String> names = new TreeSet<>();
+        if (paths != null) {
+            paths.forEach(path -> names.add(path.contains(".") ? path.substring(0, path.indexOf('.')) : path));
+        }
+        return names;
+    }
+
+    /**
+     * Properties kept inside {@code parent}, or null if the whole object is kept.
+     */
+    public Set<String> children(String parent) {
+        if (paths == null || paths.contains(parent)) {
+            return null;
+        }
+        Set<String> names = new TreeSet<>();
+        String prefix = parent + ".";
+        for (String path : paths.tailSet(prefix)) {
+            if (!path.startsWith(prefix)) {
+                break;
+            }
+            names.add(path.substring(prefix.length()));
+        }
+        return names;
+    }
+
+    /**
+     * Canonical form, equal for equal selections however they were written.
+     */
+    public String key() {
+        return paths == null ? "*" : schema.rootFilter() + ":" + String.join(",", paths);
+    }
+}
@@ -0,0 +1,70 @@
+package com.group1.tipton_reservations.fields;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.group1.tipton_reservations.dto.booking.BookingResponse;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeAvailabilityResponse;
+import com.group1.tipton_reservations.model.RoomType;
+
+/**
+ * {@code fields=} support for the booking and availability responses.
+ * <p>
+ * The response classes carry {@code @JsonFilter} ids. A selection is rendered by wrapping the
+ * body in a {@link MappingJacksonValue} whose filters keep only the selected properties. The
+ * filter set for each distinct selection is built once and kept in a bounded cache, so clients
+ * that always ask for the same few shapes share them. Without {@code fields=} nothing is wrapped
+ * and the default provider (see {@code JacksonConfig}) writes everything.
+ * </p>
+ */
+@Component
+public class SparseFieldsets {
+
+    public static final String BOOKING_FILTER = "bookingFields";
+    public static final String AVAILABILITY_FILTER = "availabilityFields";
+    public static final String ROOM_TYPE_FILTER = "roomTypeFields";
+
+    public static final FieldSchema BOOKING = FieldSchema.of(BOOKING_FILTER, BookingResponse.class, Map.of(), "id");
+
+    public static final FieldSchema AVAILABILITY = FieldSchema.of(AVAILABILITY_FILTER, RoomTypeAvailabilityResponse.class,
+            Map.of("roomType", new FieldSchema.Nested(RoomType.class, ROOM_TYPE_FILTER)), "roomType.id");
+
+    private final Cache<String, FilterProvider> filters;
+
+    public SparseFieldsets(@Value("${tipton.fields.max-shapes:256}") long maxShapes) {
+        this.filters = Caffeine.newBuilder().maximumSize(maxShapes).build();
+    }
+
+    /**
+     * Wraps a response body so only the selected fields are serialized.
+     */
+    public MappingJacksonValue render(Object body, FieldSelection selection) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!selection.isAll()) {
+            value.setFilters(filters.get(selection.key(), key -> build(selection)));
+        }
+        return value;
+    }
+
+    private static FilterProvider build(FieldSelection selection) {
+        SimpleFilterProvider provider = new SimpleFilterProvider().setFailOnUnknownId(false);
+        FieldSchema schema = selection.schema();
+        provider.addFilter(schema.rootFilter(), SimpleBeanPropertyFilter.filterOutAllExcept(selection.topLevel()));
+        schema.nestedFilters().forEach((parent, filterId) -> {
+            Set<String> children = selection.children(parent);
+            provider.addFilter(filterId, children == null
+                    ? SimpleBeanPropertyFilter.serializeAll()
+                    : SimpleBeanPropertyFilter.filterOutAllExcept(children));
+        });
+        return provider;
+    }
+}
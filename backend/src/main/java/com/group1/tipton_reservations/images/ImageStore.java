@@ -0,0 +1,102 @@
+package com.group1.tipton_reservations.images;
+
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * The asset bucket, as seen by the image pipeline: originals are read from it and variants
+ * written next to them. Works against S3 or any S3-compatible stand-in (MinIO, LocalStack)
+ * via {@code tipton.images.endpoint}.
+ */
+@Component
+public class ImageStore {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String publicBaseUrl;
+
+    public ImageStore(@Lazy S3Client s3, // built on first use, see AwsConfig
+                      @Value("${tipton.images.bucket:20251117-ey-project2-group3-assets}") String bucket,
+                      @Value("${tipton.images.public-base-url:}") String publicBaseUrl) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.publicBaseUrl = publicBaseUrl.isBlank()
+                ? "https://" + bucket + ".s3.amazonaws.com"
+                : publicBaseUrl.replaceAll("/+$", "");
+    }
+
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * Size of an object in bytes, read without downloading it.
+     */
+    public long size(String key) {
+        return s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()).contentLength();
+    }
+
+    public byte[] get(String key) {
+        return s3.getObjectAsBytes(GetObjectRequest.builder().bucket(bucket).key(key).build()).asByteArray();
+    }
+
+    public void put(String key, byte[] bytes, String contentType) {
+        s3.putObject(PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .cacheControl("public, max-age=31536000, immutable") // variant keys are never rewritten
+                .build(), RequestBody.fromBytes(bytes));
+    }
+
+    /**
+     * Where clients fetch an object from.
+     */
+    public String urlFor(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    /**
+     * The key of an object in our bucket given any URL clients may have stored for it: the
+     * public URL, a virtual-hosted or path-style S3 URL, or an upload URL with its signature
+     * still attached.
+     *
+     * @return the key, or null if the URL points somewhere else
+     */
+    public String keyFor(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String bare = url.split("[?#]", 2)[0];
+        if (bare.startsWith(publicBaseUrl + "/")) {
+            return emptyToNull(bare.substring(publicBaseUrl.length() + 1));
+        }
+        try {
+            URI uri = URI.create(bare);
+            String host = uri.getHost();
+            String path = uri.getPath() == null ? "" : uri.getPath();
+            if (host != null && host.startsWith(bucket + ".")) {
+                return emptyToNull(path.replaceFirst("^/", ""));
+            }
+            if (path.startsWith("/" + bucket + "/")) {
+                return emptyToNull(path.substring(bucket.length() + 2));
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static String emptyToNull(String key) {
+        return key.isEmpty() ? null : key;
+    }
+}
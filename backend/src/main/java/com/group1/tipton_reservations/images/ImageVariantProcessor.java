@@ -0,0 +1,172 @@
+package com.group1.tipton_reservations.images;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.ImageManifest;
+import com.group1.tipton_reservations.model.ImageVariant;
+
+/**
+ * Turns one original into resized JPEG variants and a blurhash. CPU and memory heavy, so it
+ * only ever runs on the {@link ImageVariantWorker} pool.
+ */
+@Component
+class ImageVariantProcessor {
+
+    static final String CONTENT_TYPE = "image/jpeg";
+    private static final int BLURHASH_SAMPLE = 32;
+
+    private final ImageStore store;
+    private final List<Integer> widths;
+    private final float quality;
+    private final long maxSourcePixels;
+    private final long maxSourceBytes;
+
+    ImageVariantProcessor(ImageStore store,
+                          @Value("${tipton.images.widths:320,640,1280}") List<Integer> widths,
+                          @Value("${tipton.images.jpeg-quality:0.8}") float quality,
+                          @Value("${tipton.images.max-source-pixels:40000000}") long maxSourcePixels,
+                          @Value("${tipton.images.max-source-bytes:26214400}") long maxSourceBytes) {
+        this.store = store;
+        this.widths = widths.stream().filter(w -> w > 0).distinct().sorted().toList();
+        this.quality = quality;
+        this.maxSourcePixels = maxSourcePixels;
+        this.maxSourceBytes = maxSourceBytes;
+    }
+
+    /**
+     * Builds and uploads the variants of the object at {@code key}.
+     *
+     * @throws UnusableImageException if the original is not an image we can or should decode; retrying won't help
+     * @throws IOException if encoding fails
+     * @throws RuntimeException from the store; worth retrying
+     */
+    ImageManifest process(String originalUrl, String key) throws IOException {
+        if (store.size(key) > maxSourceBytes) {
+            throw new UnusableImageException("larger than " + maxSourceBytes + " bytes");
+        }
+        BufferedImage original = decode(store.get(key));
+        int width = original.getWidth();
+        int height = original.getHeight();
+
+        List<ImageVariant> variants = new ArrayList<>();
+        for (int target : widths) {
+            if (target >= width) {
+                break; // never upscale; the original serves larger viewports
+            }
+            variants.add(storeVariant(key, resize(original, target), target));
+        }
+        if (variants.isEmpty() || variants.get(variants.size() - 1).getWidth() < width) {
+            // a re-encoded full size copy is usually much smaller than an upload straight off a camera
+            variants.add(storeVariant(key, resize(original, width), width));
+        }
+
+        String blurhash = Blurhash.encode(resize(original, Math.min(BLURHASH_SAMPLE, width)), 4, 3);
+        return new ImageManifest(originalUrl, width, height, blurhash, variants);
+    }
+
+    private ImageVariant storeVariant(String key, BufferedImage image, int width) throws IOException {
+        String variantKey = "variants/" + key + "/" + width + ".jpg";
+        store.put(variantKey, encodeJpeg(image), CONTENT_TYPE);
+        return new ImageVariant(image.getWidth(), image.getHeight(), store.urlFor(variantKey), CONTENT_TYPE);
+    }
+
+    // checks the header before decoding so a small file that claims huge dimensions is never expanded
+    private BufferedImage decode(byte[] bytes) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new UnusableImageException("not a supported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxSourcePixels) {
+                    throw new UnusableImageException(reader.getWidth(0) + "x" + reader.getHeight(0) + " is too large");
+                }
+                return reader.read(0);
+            } catch (UnusableImageException e) {
+                throw e;
+            } catch (IOException | IllegalArgumentException e) {
+                throw new UnusableImageException("could not decode: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales to {@code width} keeping the aspect ratio, halving step by step so bilinear
+     * filtering never skips source pixels; flattens transparency onto white for JPEG.
+     */
+    static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = nextWidth == width ? height : Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * The original will never produce variants (not an image, too large, corrupt).
+     */
+    static class UnusableImageException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        UnusableImageException(String message) {
+            super(message);
+        }
+    }
+}
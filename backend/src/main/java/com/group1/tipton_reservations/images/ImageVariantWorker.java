@@ -0,0 +1,167 @@
+package com.group1.tipton_reservations.images;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.ImageManifest;
+import com.group1.tipton_reservations.model.RoomType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@link RoomType#getImages()} in step with {@link RoomType#getImageUrls()}.
+ * <p>
+ * Room type writes that change the photos set {@code imagesPending} and call {@link #submit};
+ * the room type is then processed on a small bounded pool, off the request thread. Work that
+ * does not fit in the queue, failed on a transient error, or was lost to a restart is picked
+ * up by the sweep, which looks for room types still pending. Manifests already built for a
+ * URL are reused, so editing a room type only processes its new photos.
+ * </p>
+ * The result is written only if {@code imageUrls} is still what was processed; if an admin
+ * changed the photos meanwhile, the newer write's own submission takes over.
+ */
+@Component
+@Slf4j
+public class ImageVariantWorker {
+
+    private static final String ROOM_TYPES = "room_types";
+
+    private final MongoTemplate mongoTemplate;
+    private final ImageStore store;
+    private final ImageVariantProcessor processor;
+    private final CacheManager cacheManager;
+    private final ThreadPoolExecutor pool;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    @Value("${tipton.images.sweep-batch-size:50}")
+    private int sweepBatchSize;
+
+    public ImageVariantWorker(MongoTemplate mongoTemplate, ImageStore store, ImageVariantProcessor processor,
+                              CacheManager cacheManager,
+                              @Value("${tipton.images.worker-threads:2}") int threads,
+                              @Value("${tipton.images.queue-capacity:100}") int queueCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.store = store;
+        this.processor = processor;
+        this.cacheManager = cacheManager;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("image-variants-");
+        threadFactory.setDaemon(true);
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Schedules a room type's photos for processing. Never blocks; if the queue is full the
+     * sweep picks it up later.
+     */
+    public void submit(String roomTypeId) {
+        if (roomTypeId == null || !queued.add(roomTypeId)) {
+            return;
+        }
+        try {
+            pool.execute(() -> {
+                queued.remove(roomTypeId); // a write during processing must be able to queue again
+                process(roomTypeId);
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(roomTypeId);
+            log.debug("Image queue full, room type {} left for the sweep", roomTypeId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tipton.images.sweep-interval-ms:60000}")
+    public void sweep() {
+        Query query = Query.query(Criteria.where("imagesPending").is(true)).limit(sweepBatchSize);
+        query.fields().include("_id");
+        try {
+            mongoTemplate.find(query, RoomType.class).forEach(roomType -> submit(roomType.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Image sweep failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    void process(String roomTypeId) {
+        RoomType roomType = mongoTemplate.findById(roomTypeId, RoomType.class);
+        if (roomType == null || !Boolean.TRUE.equals(roomType.getImagesPending())) {
+            return;
+        }
+        List<String> urls = roomType.getImageUrls() == null ? List.of() : roomType.getImageUrls();
+
+        Map<String, ImageManifest> existing = new HashMap<>();
+        if (roomType.getImages() != null) {
+            roomType.getImages().forEach(manifest -> existing.put(manifest.getOriginalUrl(), manifest));
+        }
+
+        List<ImageManifest> manifests = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            ImageManifest manifest = existing.get(url);
+            if (manifest == null) {
+                manifest = build(url);
+                if (manifest == null) {
+                    return; // transient failure; stays pending for the sweep
+                }
+            }
+            manifests.add(manifest);
+        }
+
+        Query unchanged = Query.query(Criteria.where("_id").is(roomTypeId).and("imageUrls").is(roomType.getImageUrls()));
+        Update update = new Update().set("images", manifests).unset("imagesPending").inc("version", 1);
+        if (mongoTemplate.updateFirst(unchanged, update, RoomType.class).getModifiedCount() > 0) {
+            evict(roomTypeId);
+            log.info("Processed {} photo(s) of room type {}", manifests.size(), roomTypeId);
+        }
+    }
+
+    // null means try again later
+    private ImageManifest build(String url) {
+        String key = store.keyFor(url);
+        if (key == null) {
+            return new ImageManifest(url, null, null, null, List.of()); // hosted elsewhere; served as is
+        }
+        try {
+            return processor.process(url, key);
+        } catch (ImageVariantProcessor.UnusableImageException e) {
+            log.warn("Image {} will be served without variants: {}", url, e.getMessage());
+            return new ImageManifest(url, null, null, null, List.of());
+        } catch (Exception e) {
+            log.warn("Could not process image {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private void evict(String roomTypeId) {
+        Cache roomTypes = cacheManager.getCache("roomTypes");
+        if (roomTypes != null) {
+            roomTypes.evict(roomTypeId);
+        }
+        Cache facets = cacheManager.getCache("roomTypeFacets");
+        if (facets != null) {
+            facets.clear();
+        }
+    }
+}
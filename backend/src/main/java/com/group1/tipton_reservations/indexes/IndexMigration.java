@@ -0,0 +1,30 @@
+package com.group1.tipton_reservations.indexes;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.core.index.Index;
+
+/**
+ * One versioned step of {@link IndexMigrations}: indexes to create on one or more collections.
+ * Once a version has been applied and recorded it is never run again, so a released migration
+ * must not be edited; change an index by adding a migration that {@link #replace replaces} it.
+ */
+public record IndexMigration(int version, String description, List<CollectionIndex> indexes) {
+
+    /**
+     * @param replace drop an existing index on the same keys under another name first, e.g. to make it unique
+     */
+    public record CollectionIndex(String collection, Index index, boolean replace) {
+    }
+
+    public static CollectionIndex on(String collection, Index index) {
+        return new CollectionIndex(collection, index, false);
+    }
+
+    /**
+     * An index that takes the place of one with the same keys; the new index must be named.
+     */
+    public static CollectionIndex replace(String collection, Index index) {
+        return new CollectionIndex(collection, index, true);
+    }
+}
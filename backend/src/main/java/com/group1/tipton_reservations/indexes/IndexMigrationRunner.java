@@ -0,0 +1,117 @@
+package com.group1.tipton_reservations.indexes;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies the {@link IndexMigrations} not yet recorded in {@code index_migrations}, in order.
+ * <p>
+ * Runs as an {@link ApplicationRunner}, so a freshly deployed instance reports ready only after
+ * its indexes exist. Creating an index whose keys an existing index already has is skipped
+ * whatever that index is called, unless it is a replacement, and two instances starting together may both run a migration;
+ * the first to record it wins. A migration that fails (e.g. duplicates under a new unique index)
+ * is logged, left unrecorded and retried on the next start, and later migrations wait for it,
+ * unless {@code tipton.indexes.fail-on-error} stops startup instead.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    static final String COLLECTION = "index_migrations";
+
+    private final MongoTemplate mongoTemplate;
+    private final Environment environment;
+
+    @Value("${tipton.indexes.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Value("${tipton.indexes.fail-on-error:false}")
+    private boolean failOnError;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (migrateOnStartup) {
+            migrate(IndexMigrations.all(environment));
+        }
+    }
+
+    void migrate(List<IndexMigration> migrations) {
+        Set<Object> applied = new HashSet<>();
+        for (Document done : mongoTemplate.getCollection(COLLECTION).find()) {
+            applied.add(done.get("_id"));
+        }
+
+        for (IndexMigration migration : migrations) {
+            if (applied.contains(migration.version())) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                for (IndexMigration.CollectionIndex index : migration.indexes()) {
+                    ensure(mongoTemplate.indexOps(index.collection()), index);
+                }
+            } catch (RuntimeException e) {
+                if (failOnError) {
+                    throw new IllegalStateException("Index migration " + migration.version() + " failed", e);
+                }
+                log.error("Index migration {} ({}) failed, will retry on next start: {}",
+                        migration.version(), migration.description(), e.getMessage());
+                return;
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            try {
+                mongoTemplate.insert(new Document("_id", migration.version())
+                        .append("description", migration.description())
+                        .append("appliedAt", new Date())
+                        .append("durationMs", millis), COLLECTION);
+                log.info("Applied index migration {} ({}) in {} ms", migration.version(), migration.description(), millis);
+            } catch (DuplicateKeyException e) {
+                log.debug("Index migration {} was recorded by another instance", migration.version());
+            }
+        }
+    }
+
+    private static void ensure(IndexOperations indexOps, IndexMigration.CollectionIndex index) {
+        List<IndexField> wanted = fieldsOf(index);
+        String name = (String) index.index().getIndexOptions().get("name");
+        for (IndexInfo existing : indexOps.getIndexInfo()) {
+            if (!existing.getIndexFields().equals(wanted)) {
+                continue;
+            }
+            if (!index.replace() || existing.getName().equals(name)) {
+                return;
+            }
+            // Mongo refuses two indexes on the same keys, so the old one goes first
+            indexOps.dropIndex(existing.getName());
+        }
+        indexOps.createIndex(index.index());
+    }
+
+    private static List<IndexField> fieldsOf(IndexMigration.CollectionIndex index) {
+        Document keys = index.index().getIndexKeys();
+        return keys.entrySet().stream()
+                .map(key -> IndexField.create(key.getKey(),
+                        ((Number) key.getValue()).intValue() < 0 ? Sort.Direction.DESC : Sort.Direction.ASC))
+                .toList();
+    }
+}
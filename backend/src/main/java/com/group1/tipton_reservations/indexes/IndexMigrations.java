@@ -0,0 +1,120 @@
+package com.group1.tipton_reservations.indexes;
+
+import static com.group1.tipton_reservations.indexes.IndexMigration.on;
+import static com.group1.tipton_reservations.indexes.IndexMigration.replace;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+
+/**
+ * The index changelog, in version order. Append only; see {@link IndexMigration}.
+ * <p>
+ * Every index the application relies on is created here, the ones repository queries use as
+ * well as those a feature's sweep, purge or lease depends on; no feature creates its own.
+ * TTL indexes take their lifetime from configuration when their migration first runs; a later
+ * change of that setting needs a new migration that replaces the index.
+ * {@code spring.data.mongodb.auto-index-creation} stays off, so {@code @Indexed} on the model
+ * classes documents intent but creates nothing.
+ * </p>
+ */
+final class IndexMigrations {
+
+    /**
+     * The migrations, with TTLs resolved from {@code settings}.
+     */
+    static List<IndexMigration> all(PropertyResolver settings) {
+        Duration processedTtl = Duration.ofDays(settings.getProperty("tipton.events.processed-ttl-days", Long.class, 7L));
+        Duration voidedTtl = Duration.ofDays(settings.getProperty("tipton.archive.voided-ttl-days", Long.class, 90L));
+        return List.of(
+            new IndexMigration(1, "Indexes for repository lookups that were collection scans", List.of(
+                    // the @Indexed uniqueness constraints, which were never created; a unique
+                    // confirmationNumber keeps bookings unsharded (see Property)
+                    on("bookings", new Index().on("confirmationNumber", Sort.Direction.ASC).unique()),
+                    on("users", new Index().on("email", Sort.Direction.ASC).unique()),
+                    // BookingRepository.findByUserId, newest first
+                    on("bookings", new Index().on("userId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)),
+                    // BookingRepository.countByStatus (pending backlog gauge)
+                    on("bookings", new Index().on("status", Sort.Direction.ASC)),
+                    // PaymentRepository
+                    on("payments", new Index().on("bookingId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)),
+                    on("payments", new Index().on("userId", Sort.Direction.ASC)),
+                    on("payments", new Index().on("stripePaymentIntentId", Sort.Direction.ASC)),
+                    // UserRepository
+                    on("users", new Index().on("roles", Sort.Direction.ASC)),
+                    on("users", new Index().on("connectedAccounts.provider", Sort.Direction.ASC)
+                            .on("connectedAccounts.providerId", Sort.Direction.ASC)))),
+            new IndexMigration(2, "User directory prefix search", List.of(
+                    // UserRepositoryCustom.findDirectoryPage with a search prefix; without one it walks the email index
+                    on("users", new Index().on("searchTerms", Sort.Direction.ASC).on("email", Sort.Direction.ASC)))),
+            new IndexMigration(3, "Room blocks", List.of(
+                    // RoomBlockRepository.existsOverlapping and findOverlapping, under a room's lease
+                    on("room_blocks", new Index().on("propertyId", Sort.Direction.ASC).on("roomId", Sort.Direction.ASC)
+                            .on("startDate", Sort.Direction.ASC)),
+                    // the per-property calendar and the admin listing
+                    on("room_blocks", new Index().on("propertyId", Sort.Direction.ASC).on("endDate", Sort.Direction.ASC)))),
+            new IndexMigration(4, "One payment per Stripe payment intent", List.of(
+                    // PaymentRepositoryCustom.insertIfAbsent upserts on it; replaces the plain index from version 1
+                    replace("payments", new Index().on("stripePaymentIntentId", Sort.Direction.ASC)
+                            .named("stripePaymentIntentId_unique").unique().sparse()))),
+            new IndexMigration(5, "Feature indexes formerly ensured by each feature on startup", List.of(
+                    // availability per property: equality on room type or room, then the stay range
+                    on("bookings", new Index().on("propertyId", Sort.Direction.ASC)
+                            .on("roomTypeId", Sort.Direction.ASC).on("checkInDate", Sort.Direction.ASC)),
+                    on("bookings", new Index().on("propertyId", Sort.Direction.ASC)
+                            .on("roomId", Sort.Direction.ASC).on("checkInDate", Sort.Direction.ASC)),
+                    on("rooms", new Index().on("propertyId", Sort.Direction.ASC).on("roomTypeId", Sort.Direction.ASC)),
+                    // BookingOutboxRelay.sweep, and its delivery receipts
+                    on("bookings", new Index().on("outbox.occurredAt", Sort.Direction.ASC)
+                            .named("outbox_pending")
+                            .partial(PartialIndexFilter.of(Criteria.where("outbox.0").exists(true)))),
+                    on("processed_booking_events", new Index().on("at", Sort.Direction.ASC).expire(processedTtl)),
+                    // PendingHoldSweeper
+                    on("bookings", new Index().on("holdExpiresAt", Sort.Direction.ASC)
+                            .named("pending_hold_expiry")
+                            .partial(PartialIndexFilter.of(Criteria.where("status").is(BookingStatus.PENDING.name())))),
+                    // WaitlistIndex catch-up reads, a guest's entries, and offers by their hold
+                    on("waitlist", new Index().on("propertyId", Sort.Direction.ASC).on("roomTypeId", Sort.Direction.ASC)
+                            .on("status", Sort.Direction.ASC).on("createdAt", Sort.Direction.ASC)),
+                    on("waitlist", new Index().on("userId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)),
+                    on("waitlist", new Index().on("offerBookingId", Sort.Direction.ASC)
+                            .partial(PartialIndexFilter.of(Criteria.where("offerBookingId").exists(true)))),
+                    // DailyRoomTypeStatsRepository date ranges; a stats rebuild copies it onto its staging collection
+                    on("daily_room_type_stats", new Index().on("date", Sort.Direction.ASC).on("roomTypeId", Sort.Direction.ASC)),
+                    // ArchivedBookingRepository.findByUserId, and the purge of old VOIDED holds from both tiers
+                    on("bookings_archive", new Index().on("userId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)),
+                    on("bookings_archive", voidedTtlIndex(voidedTtl)),
+                    on("bookings", voidedTtlIndex(voidedTtl)),
+                    // ImageVariantWorker sweep
+                    on("room_types", new Index().on("imagesPending", Sort.Direction.ASC)
+                            .named("images_pending")
+                            .partial(PartialIndexFilter.of(Criteria.where("imagesPending").is(true)))),
+                    // MongoChangeStreamInvalidationBus messages only need to outlive the change stream's lag
+                    on("cache_invalidations", new Index().on("at", Sort.Direction.ASC).expire(Duration.ofHours(1))))),
+            // kept apart so duplicates under one of them (fixed by hand) hold back nothing else
+            new IndexMigration(6, "Uniqueness per property and in the booking archive", List.of(
+                    on("room_types", new Index().on("propertyId", Sort.Direction.ASC).on("name", Sort.Direction.ASC)
+                            .named("property_name_idx").unique()),
+                    on("rooms", new Index().on("propertyId", Sort.Direction.ASC)
+                            .on("roomNumber", Sort.Direction.ASC).on("floor", Sort.Direction.ASC)
+                            .named("property_room_floor_idx").unique()),
+                    on("bookings_archive", new Index().on("confirmationNumber", Sort.Direction.ASC).unique()))));
+    }
+
+    private static Index voidedTtlIndex(Duration ttl) {
+        return new Index().on("updatedAt", Sort.Direction.ASC)
+                .named("voided_ttl")
+                .expire(ttl)
+                .partial(PartialIndexFilter.of(Criteria.where("status").is(BookingStatus.VOIDED.name())));
+    }
+
+    private IndexMigrations() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.group1.tipton_reservations.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Caps how many warnings a noisy code path can emit per window.
+ * <p>
+ * Meant for paths a client controls, such as bad or expired JWTs on every request, where
+ * logging each occurrence would let one misbehaving client flood the log. Once the budget
+ * for a window is spent, further calls only bump a counter; the first call of the next
+ * window reports how many were dropped.
+ * </p>
+ */
+public class RateLimitedLogger {
+
+    private final Logger delegate;
+    private final int permitsPerWindow;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong usedInWindow = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger delegate, int permitsPerWindow, long windowMillis) {
+        this.delegate = delegate;
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (!delegate.isWarnEnabled()) {
+            return;
+        }
+        if (!tryAcquire()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        long dropped = suppressed.getAndSet(0);
+        if (dropped > 0) {
+            delegate.warn("Suppressed {} similar messages in the last window", dropped);
+        }
+        delegate.warn(format, arguments);
+    }
+
+    private boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            usedInWindow.set(0);
+        }
+        return usedInWindow.incrementAndGet() <= permitsPerWindow;
+    }
+}
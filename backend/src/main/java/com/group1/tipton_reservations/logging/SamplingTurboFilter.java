@@ -0,0 +1,60 @@
+package com.group1.tipton_reservations.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Keeps one in {@code oneIn} events from a logger (and its children) at or below
+ * {@code maxLevel}; anything more severe always passes.
+ * <p>
+ * Configured from {@code logback-spring.xml}. As a turbo filter it runs before Logback
+ * builds the logging event, so dropped lines cost a counter increment and nothing else.
+ * </p>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong seen = new AtomicLong();
+
+    private String logger;
+    private Level maxLevel = Level.INFO;
+    private int oneIn = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger target, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not consume samples
+        if (!isStarted() || oneIn <= 1 || format == null || level.toInt() > maxLevel.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!target.getName().startsWith(logger)) {
+            return FilterReply.NEUTRAL;
+        }
+        return seen.getAndIncrement() % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (logger == null || logger.isBlank()) {
+            addError("No logger set for SamplingTurboFilter " + getName());
+            return;
+        }
+        super.start();
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = oneIn;
+    }
+}
@@ -0,0 +1,63 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.repository.BookingRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Business-level meters for the booking flow.
+ * <p>
+ * Bookings per minute is exported as a counter ({@code tipton.bookings.created}) and
+ * read with {@code rate(...[1m])} on the Prometheus side; a counter survives scrape
+ * gaps and restarts where a home-grown per-minute gauge would not.
+ * </p>
+ */
+@Component
+@Slf4j
+public class BookingMetrics {
+
+    private final BookingRepository bookingRepository;
+    private final AtomicLong pendingBacklog = new AtomicLong();
+    private final Counter bookingsCreated;
+    private final Counter refundFailures;
+
+    public BookingMetrics(BookingRepository bookingRepository, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.bookingsCreated = Counter.builder("tipton.bookings.created")
+                .description("Bookings created (PENDING holds)")
+                .register(meterRegistry);
+        this.refundFailures = Counter.builder("tipton.refunds.failed")
+                .description("Refunds that could not be processed by Stripe")
+                .register(meterRegistry);
+        Gauge.builder("tipton.bookings.pending", pendingBacklog, AtomicLong::get)
+                .description("Bookings waiting in PENDING status")
+                .register(meterRegistry);
+    }
+
+    public void bookingCreated() {
+        bookingsCreated.increment();
+    }
+
+    public void refundFailed() {
+        refundFailures.increment();
+    }
+
+    // counted on a schedule so a scrape never turns into a Mongo query
+    @Scheduled(fixedDelayString = "${tipton.metrics.pending-refresh-ms:30000}")
+    public void refreshPendingBacklog() {
+        try {
+            pendingBacklog.set(bookingRepository.countByStatus(BookingStatus.PENDING));
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh pending booking backlog: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandEvent;
+import com.mongodb.event.CommandStartedEvent;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.mongodb.DefaultMongoCommandTagsProvider;
+import io.micrometer.core.instrument.binder.mongodb.MongoCommandTagsProvider;
+
+/**
+ * Adds a {@code query.shape} tag to every {@code mongodb.driver.commands} timer.
+ * <p>
+ * The shape is built from the field names and operators of the filter (and sort),
+ * never from the values, so cardinality is bounded by the queries in the code base.
+ * Example: {@code roomTypeId,status:$in,$or[checkInDate:$lt,checkOutDate:$gt]}.
+ * </p>
+ */
+public class MongoQueryShapeTagsProvider implements MongoCommandTagsProvider {
+
+    private static final int MAX_SHAPE_LENGTH = 200;
+
+    private final MongoCommandTagsProvider delegate = new DefaultMongoCommandTagsProvider();
+
+    // the succeeded/failed events do not carry the command, so remember the shape by request id
+    private final Map<Integer, String> shapesByRequestId = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        delegate.commandStarted(event);
+        shapesByRequestId.put(event.getRequestId(), shapeOf(event.getCommandName(), event.getCommand()));
+    }
+
+    @Override
+    public Iterable<Tag> commandTags(CommandEvent event) {
+        String shape = shapesByRequestId.remove(event.getRequestId());
+        return Tags.concat(delegate.commandTags(event), "query.shape", shape != null ? shape : "unknown");
+    }
+
+    static String shapeOf(String commandName, BsonDocument command) {
+        String shape = switch (commandName) {
+            case "find" -> withSort(describe(command.get("filter")), command.get("sort"));
+            case "count", "distinct", "findAndModify" -> describe(command.get("query"));
+            case "aggregate" -> describePipeline(command.get("pipeline"));
+            case "update" -> describeFirst(command.get("updates"), "q");
+            case "delete" -> describeFirst(command.get("deletes"), "q");
+            default -> "-";
+        };
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+    }
+
+    private static String withSort(String filterShape, BsonValue sort) {
+        if (sort == null || !sort.isDocument() || sort.asDocument().isEmpty()) {
+            return filterShape;
+        }
+        return filterShape + " sort(" + String.join(",", sort.asDocument().keySet()) + ")";
+    }
+
+    private static String describeFirst(BsonValue statements, String filterKey) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return "{}";
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? describe(first.asDocument().get(filterKey)) : "{}";
+    }
+
+    private static String describePipeline(BsonValue pipeline) {
+        if (pipeline == null || !pipeline.isArray()) {
+            return "[]";
+        }
+        StringJoiner stages = new StringJoiner(",", "[", "]");
+        for (BsonValue stage : pipeline.asArray()) {
+            if (!stage.isDocument() || stage.asDocument().isEmpty()) {
+                continue;
+            }
+            String stageName = stage.asDocument().getFirstKey();
+            BsonValue body = stage.asDocument().get(stageName);
+            stages.add("$match".equals(stageName) ? stageName + describe(body) : stageName);
+        }
+        return stages.toString();
+    }
+
+    private static String describe(BsonValue filter) {
+        if (filter == null || !filter.isDocument() || filter.asDocument().isEmpty()) {
+            return "{}";
+        }
+        StringJoiner fields = new StringJoiner(",");
+        for (Map.Entry<String, BsonValue> entry : filter.asDocument().entrySet()) {
+            String key = entry.getKey();
+            BsonValue value = entry.getValue();
+            if (value.isArray() && key.startsWith("$")) {
+                fields.add(key + describeClauses(value.asArray()));
+            } else if (value.isDocument() && !value.asDocument().isEmpty()
+                    && value.asDocument().getFirstKey().startsWith("$")) {
+                fields.add(key + ":" + String.join("|", value.asDocument().keySet()));
+            } else {
+                fields.add(key);
+            }
+        }
+        return fields.toString();
+    }
+
+    private static String describeClauses(BsonArray clauses) {
+        StringJoiner joiner = new StringJoiner(";", "[", "]");
+        for (BsonValue clause : clauses) {
+            joiner.add(describe(clause));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Per-request tally of where the time went: Mongo commands, Stripe calls, password hashing
+ * and response serialization.
+ * <p>
+ * Bound to the request thread by {@link RequestCostFilter}; recording from any other thread
+ * (or outside a request) is a no-op. The sync Mongo driver and Stripe SDK both run on the
+ * calling thread, so nothing is lost for the blocking code paths this app uses.
+ * </p>
+ */
+public final class RequestCost {
+
+    public enum Component {
+        DB("db", "Mongo"),
+        STRIPE("stripe", "Stripe"),
+        HASH("hash", "BCrypt"),
+        SERIALIZE("ser", "JSON");
+
+        private final String metric;
+        private final String description;
+
+        Component(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final long startNanos = System.nanoTime();
+    private final int[] counts = new int[Component.values().length];
+    private final long[] nanos = new long[Component.values().length];
+
+    private RequestCost(String traceId) {
+        this.traceId = traceId;
+    }
+
+    static RequestCost begin(String traceId) {
+        RequestCost cost = new RequestCost(traceId);
+        CURRENT.set(cost);
+        return cost;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds one call of the given component to the current request, if there is one.
+     */
+    public static void record(Component component, long elapsedNanos) {
+        RequestCost cost = CURRENT.get();
+        if (cost != null) {
+            cost.counts[component.ordinal()]++;
+            cost.nanos[component.ordinal()] += elapsedNanos;
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public int count(Component component) {
+        return counts[component.ordinal()];
+    }
+
+    public double millis(Component component) {
+        return nanos[component.ordinal()] / 1_000_000.0;
+    }
+
+    public double totalMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Renders the tally as a {@code Server-Timing} header value, e.g.
+     * {@code db;dur=12.4;desc="Mongo x3", stripe;dur=210.0;desc="Stripe x1", total;dur=231.9}.
+     * Components that were not used are left out.
+     */
+    String toServerTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        for (Component component : Component.values()) {
+            if (count(component) > 0) {
+                header.add(String.format(Locale.ROOT, "%s;dur=%.1f;desc=\"%s x%d\"",
+                        component.metric, millis(component), component.description, count(component)));
+            }
+        }
+        header.add(String.format(Locale.ROOT, "total;dur=%.1f", totalMillis()));
+        return header.toString();
+    }
+
+    /**
+     * Renders the tally as logfmt-style {@code key=value} pairs for the request log line;
+     * only called if the line is actually logged.
+     */
+    @Override
+    public String toString() {
+        StringJoiner fields = new StringJoiner(" ");
+        for (Component component : Component.values()) {
+            fields.add(String.format(Locale.ROOT, "%s_count=%d %s_ms=%.1f",
+                    component.metric, count(component), component.metric, millis(component)));
+        }
+        fields.add(String.format(Locale.ROOT, "total_ms=%.1f", totalMillis()));
+        return fields.toString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Charges every Mongo command to the {@link RequestCost} of the request that issued it.
+ */
+public class RequestCostCommandListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RequestCost.record(RequestCost.Component.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RequestCost.record(RequestCost.Component.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
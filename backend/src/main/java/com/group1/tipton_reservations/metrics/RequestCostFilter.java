@@ -0,0 +1,93 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens a {@link RequestCost} for every request and reports it as a {@code Server-Timing}
+ * header plus one log line, both carrying the request's trace id.
+ * <p>
+ * The header is set just before the response is committed, which for a body that fits the
+ * servlet buffer is when Jackson flushes it, so serialization time is counted; a larger body
+ * reports the cost up to its first full buffer. A caller-supplied {@code X-Trace-Id} is
+ * reused so a trace can be followed from the frontend. Runs in the security chain, ahead of
+ * the JWT filter so JWT lookups are counted too.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+
+    @Value("${tipton.request-cost.log-threshold-ms:500}")
+    private long logThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String traceId = traceIdOf(request);
+        RequestCost cost = RequestCost.begin(traceId);
+        MDC.put(TRACE_ID_MDC_KEY, traceId);
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        HttpServletResponse timed = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                setHeader(SERVER_TIMING_HEADER, cost.toServerTiming());
+            }
+        };
+        try {
+            filterChain.doFilter(request, timed);
+        } finally {
+            try {
+                if (!response.isCommitted()) {
+                    // nothing was flushed; the container commits after this filter returns
+                    response.setHeader(SERVER_TIMING_HEADER, cost.toServerTiming());
+                }
+                logCost(request, response.getStatus(), cost);
+            } finally {
+                RequestCost.end();
+                MDC.remove(TRACE_ID_MDC_KEY);
+            }
+        }
+    }
+
+    private void logCost(HttpServletRequest request, int status, RequestCost cost) {
+        boolean slow = cost.totalMillis() >= logThresholdMs;
+        if (slow ? !log.isInfoEnabled() : !log.isDebugEnabled()) {
+            return;
+        }
+        String format = "request_cost trace_id={} method={} path={} status={} {}";
+        if (slow) {
+            log.info(format, cost.getTraceId(), request.getMethod(), request.getRequestURI(), status, cost);
+        } else {
+            log.debug(format, cost.getTraceId(), request.getMethod(), request.getRequestURI(), status, cost);
+        }
+    }
+
+    private static String traceIdOf(HttpServletRequest request) {
+        String supplied = request.getHeader(TRACE_ID_HEADER);
+        if (supplied != null && VALID_TRACE_ID.matcher(supplied).matches()) {
+            return supplied;
+        }
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,83 @@
+package com.group1.tipton_reservations.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson converter that charges response serialization to the current {@link RequestCost}.
+ * <p>
+ * The time is recorded at the first flush, before it reaches the response, so it is already
+ * counted when {@link RequestCostFilter} writes {@code Server-Timing} as the response commits.
+ * </p>
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        TimedBody body = new TimedBody(outputMessage.getBody(), System.nanoTime());
+        try {
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+        } finally {
+            body.record();
+        }
+    }
+
+    private static final class TimedBody extends FilterOutputStream {
+
+        private final long start;
+        private boolean recorded;
+
+        TimedBody(OutputStream out, long start) {
+            super(out);
+            this.start = start;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            record();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            record();
+            out.close();
+        }
+
+        void record() {
+            if (!recorded) {
+                recorded = true;
+                RequestCost.record(RequestCost.Component.SERIALIZE, System.nanoTime() - start);
+            }
+        }
+    }
+}
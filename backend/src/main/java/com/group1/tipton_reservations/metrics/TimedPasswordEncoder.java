@@ -0,0 +1,41 @@
+package com.group1.tipton_reservations.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Charges password hashing and checks to the current {@link RequestCost}; BCrypt is
+ * deliberately slow, so logins and registrations should show it.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            RequestCost.record(RequestCost.Component.HASH, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            RequestCost.record(RequestCost.Component.HASH, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
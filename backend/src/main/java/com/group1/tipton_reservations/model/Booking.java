@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 /**
@@ -28,6 +29,8 @@ public class Booking {
     @Indexed(unique = true)
     private String confirmationNumber;
 
+    private String propertyId; // taken from the room type; never changes
+
     private String userId;
     
     private String roomId;
@@ -45,9 +48,23 @@ public class Booking {
 
     private Integer numberOfGuests;
 
+    // an unpaid PENDING booking is voided after this, releasing its room
+    private LocalDateTime holdExpiresAt;
+
+    // when the cancellation was claimed, or last taken over by CancellationSweeper; only set while CANCELLING
+    private LocalDateTime cancellingSince;
+
+    // set when the booking is an offer made to a waitlist entry
+    private String waitlistEntryId;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    /**
+     * Events not yet delivered to subscribers; drained by the outbox relay.
+     */
+    private List<BookingEvent> outbox;
 }
\ No newline at end of file
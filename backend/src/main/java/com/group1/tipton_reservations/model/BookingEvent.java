@@ -0,0 +1,78 @@
+package com.group1.tipton_reservations.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A booking domain event, stored in the booking's own {@code outbox} array by the same write
+ * that makes the change, so the change and its event are committed together.
+ * <p>
+ * The event carries a snapshot of the booking as of the change; subscribers must not read
+ * the booking instead, since it may have moved on by the time they run.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class BookingEvent {
+
+    private String eventId;
+    private BookingEventType type;
+    private LocalDateTime occurredAt;
+
+    private String propertyId;
+    private String userId;
+    private String roomTypeId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private BigDecimal totalPrice;
+    private LocalDateTime bookedAt;
+
+    // MODIFIED only: the stay before the change
+    private LocalDate previousCheckInDate;
+    private LocalDate previousCheckOutDate;
+    private BigDecimal previousTotalPrice;
+
+    private static BookingEvent of(BookingEventType type) {
+        BookingEvent event = new BookingEvent();
+        event.eventId = UUID.randomUUID().toString();
+        event.type = type;
+        event.occurredAt = LocalDateTime.now();
+        return event;
+    }
+
+    /**
+     * An event of the given type with a snapshot of {@code booking}.
+     */
+    public static BookingEvent of(BookingEventType type, Booking booking) {
+        BookingEvent event = of(type);
+        event.propertyId = booking.getPropertyId();
+        event.userId = booking.getUserId();
+        event.roomTypeId = booking.getRoomTypeId();
+        event.checkInDate = booking.getCheckInDate();
+        event.checkOutDate = booking.getCheckOutDate();
+        event.totalPrice = booking.getTotalPrice();
+        event.bookedAt = booking.getCreatedAt() != null ? booking.getCreatedAt() : event.occurredAt;
+        return event;
+    }
+
+    /**
+     * A MODIFIED event: {@code booking} holds the stay before the change, the arguments the stay after it.
+     */
+    public static BookingEvent modified(Booking booking, LocalDate checkInDate, LocalDate checkOutDate, BigDecimal totalPrice) {
+        BookingEvent event = of(BookingEventType.MODIFIED, booking);
+        event.previousCheckInDate = booking.getCheckInDate();
+        event.previousCheckOutDate = booking.getCheckOutDate();
+        event.previousTotalPrice = booking.getTotalPrice();
+        event.checkInDate = checkInDate;
+        event.checkOutDate = checkOutDate;
+        event.totalPrice = totalPrice;
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.group1.tipton_reservations.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pre-aggregated occupancy and revenue for one {@link RoomType} on one night.
+ * <p>
+ * Nights and revenue are attributed to the stay date, bookings to the day they were made and
+ * cancellations to the day they happened. Revenue is kept in cents so rows can be updated
+ * with {@code $inc}. ADR and RevPAR are derived from these counters when read.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "daily_room_type_stats")
+public class DailyRoomTypeStats {
+
+    // "<roomTypeId>:<yyyy-MM-dd>", so every update is a single-document upsert
+    @Id
+    private String id;
+
+    private String roomTypeId;
+
+    @Indexed
+    private LocalDate date;
+
+    private long occupiedNights;
+
+    private long revenueCents;
+
+    private long bookings;
+
+    private long cancellations;
+
+    // the latest events counted in this row, oldest first, so a redelivered one is skipped
+    private List<String> appliedEvents;
+
+    public DailyRoomTypeStats(String roomTypeId, LocalDate date) {
+        this.id = idFor(roomTypeId, date);
+        this.roomTypeId = roomTypeId;
+        this.date = date;
+    }
+
+    public static String idFor(String roomTypeId, LocalDate date) {
+        return roomTypeId + ":" + date;
+    }
+}
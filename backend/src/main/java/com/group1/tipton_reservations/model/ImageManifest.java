@@ -0,0 +1,28 @@
+package com.group1.tipton_reservations.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What the image pipeline made of one entry of {@link RoomType#getImageUrls()}: the
+ * original's size, a blurhash placeholder to paint while loading, and resized variants
+ * (smallest first) for clients to pick from by viewport width.
+ * <p>
+ * Images that are not in our bucket, or that could not be decoded, get a manifest with
+ * no variants so clients fall back to the original.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageManifest {
+
+    private String originalUrl;
+    private Integer width;
+    private Integer height;
+    private String blurhash;
+    private List<ImageVariant> variants;
+}
@@ -0,0 +1,19 @@
+package com.group1.tipton_reservations.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One resized copy of a room-type photo, stored next to the original.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariant {
+
+    private int width;
+    private int height;
+    private String url;
+    private String contentType;
+}
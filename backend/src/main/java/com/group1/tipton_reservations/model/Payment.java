@@ -5,6 +5,7 @@ import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -38,6 +39,9 @@ public class Payment {
 
     private LocalDateTime refundedAt;
 
+    @Version
+    private Long version;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,38 @@
+package com.group1.tipton_reservations.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+
+/**
+ * A hotel. Every {@link RoomType}, {@link Room} and {@link Booking} belongs to exactly one
+ * property through its {@code propertyId}, and booking policy times resolve in the
+ * property's own timezone.
+ * <p>
+ * {@code propertyId} never changes once a document is written, and every catalog query
+ * filters on it, so room_types and rooms can be sharded on {@code { propertyId: "hashed" }}
+ * with each request landing on a single shard. bookings (and bookings_archive) stay
+ * unsharded: confirmation numbers are unique across all properties and guests look them up
+ * without one, which a unique index can only enforce on an unsharded collection or one
+ * sharded on the confirmation number itself.
+ * </p>
+ */
+@Data
+@Document(collection = "properties")
+public class Property {
+    @Id
+    private String id;
+
+    private String name;
+
+    private String timezone; // IANA zone id, e.g. America/Los_Angeles
+
+    private Integer checkInHour; // local hour of day, 0-23
+
+    private Integer changeNoticeHours; // cancellations and modifications close this long before check-in
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,29 @@
+package com.group1.tipton_reservations.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * The reward points a booking earned, keyed by the booking so it earns them once.
+ * {@code applied} is set once the points are on the user's balance.
+ */
+@Data
+@Document(collection = "reward_receipts")
+public class RewardReceipt {
+    @Id
+    private String bookingId;
+
+    private String userId;
+
+    private int points;
+
+    private boolean applied;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -3,6 +3,7 @@ package com.group1.tipton_reservations.model;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -18,15 +19,20 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Data 
 @NoArgsConstructor
 @Document(collection = "rooms")
-@CompoundIndex(name = "room_floor_idx", def = "{'roomNumber': 1, 'floor': 1}", unique = true)
+@CompoundIndex(name = "property_room_floor_idx", def = "{'propertyId': 1, 'roomNumber': 1, 'floor': 1}", unique = true)
 public class Room {
     @Id
     private String id;
 
+    private String propertyId; // always the property of its room type
+
     private String roomTypeId;
 
     private String roomNumber;
     private Integer floor;
+
+    @Version
+    private Long version;
     
 
 
@@ -0,0 +1,40 @@
+package com.group1.tipton_reservations.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+/**
+ * A {@link Room} taken out of order for a range of nights (maintenance, renovation, damage).
+ * <p>
+ * A blocked night is unavailable exactly like a booked one: searches don't count the room and
+ * no booking, offer hold or date change can be assigned to it. Blocks never hold a booking
+ * reference, so rooms keep theirs and removing a block just frees the nights again.
+ * </p>
+ */
+@Data
+@Document(collection = "room_blocks")
+public class RoomBlock {
+    @Id
+    private String id;
+
+    private String propertyId;
+
+    private String roomId;
+
+    // copied from the room, for floor-wide unblocking and waitlist offers when freed
+    private String roomTypeId;
+    private Integer floor;
+
+    private LocalDate startDate; // first blocked night
+    private LocalDate endDate; // the morning after the last blocked night
+
+    private String reason;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+}
@@ -1,8 +1,11 @@
 package com.group1.tipton_reservations.model;
 
 import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.group1.tipton_reservations.fields.SparseFieldsets;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
 import java.util.List;
@@ -13,15 +16,19 @@ import java.util.List;
  * <p>
  * Specific physical {@link Room}s link to this
  * to inherit their pricing, amenities, and description.
+ * Names are unique within a {@link Property}.
  * </p>
  */
 @Data
+@JsonFilter(SparseFieldsets.ROOM_TYPE_FILTER) // only narrows anything in search responses with fields=
 @Document(collection = "room_types")
+@CompoundIndex(name = "property_name_idx", def = "{'propertyId': 1, 'name': 1}", unique = true)
 public class RoomType {
     @Id
     private String id;
 
-    @Indexed(unique = true)
+    private String propertyId;
+
     private String name;
 
     private String description;
@@ -33,4 +40,13 @@ public class RoomType {
     private List<String> imageUrls; //TODO: We might consider storing images in s3 buckets
                                     //Then, we can have these imageUrls be the urls of the s3 buckets
     private List<String> amenityIds;
+
+    // written by the image pipeline, one per imageUrls entry; never taken from clients
+    private List<ImageManifest> images;
+
+    // imageUrls changed and the pipeline has not caught up yet
+    private Boolean imagesPending;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.group1.tipton_reservations.model;
+
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How many rooms a {@link RoomType} had from a given day on, until its next entry.
+ * <p>
+ * Written whenever rooms are added, removed or moved to another type, so the stats dashboard
+ * can size each night's inventory without reading the rooms themselves.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "room_type_room_counts")
+public class RoomTypeRoomCount {
+
+    // "<roomTypeId>:<yyyy-MM-dd>"; later changes on the same day overwrite the entry
+    @Id
+    private String id;
+
+    private String roomTypeId;
+
+    private LocalDate since;
+
+    private long rooms;
+
+    public static String idFor(String roomTypeId, LocalDate since) {
+        return roomTypeId + ":" + since;
+    }
+}
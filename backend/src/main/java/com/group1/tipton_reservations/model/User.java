@@ -5,9 +5,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.Email;
 
 import java.time.LocalDateTime;
@@ -50,6 +53,17 @@ public class User {
     private boolean isActive = true;
 
     private int rewardsPoints = 0;
+
+    // bookings whose reward points are being credited; each leaves once its RewardReceipt is applied
+    @JsonIgnore
+    private Set<String> pendingRewardBookingIds;
+
+    // normalized email and name forms the user directory prefix-searches; kept current by UserSearchTerms
+    @JsonIgnore
+    private List<String> searchTerms;
+
+    @Version
+    private Long version;
  
 
     @Data
@@ -0,0 +1,48 @@
+package com.group1.tipton_reservations.model;
+
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+
+/**
+ * A guest waiting for a sold-out {@link RoomType} over a stay.
+ * <p>
+ * When nights of that room type are released (a cancellation, a voided or expired hold, a
+ * shortened stay) waiting entries are offered the room in the order they joined, as a
+ * PENDING {@link Booking} the guest then pays for like any other.
+ * </p>
+ */
+@Data
+@Document(collection = "waitlist")
+public class WaitlistEntry {
+    @Id
+    private String id;
+
+    private String propertyId;
+
+    private String roomTypeId;
+
+    private String userId;
+
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    private Integer numberOfGuests;
+
+    private WaitlistStatus status;
+
+    // the PENDING booking holding a room for this entry, once OFFERED
+    private String offerBookingId;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
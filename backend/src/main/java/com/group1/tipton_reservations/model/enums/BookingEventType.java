@@ -0,0 +1,22 @@
+package com.group1.tipton_reservations.model.enums;
+
+/**
+ * Kinds of booking domain events carried in a booking's outbox.
+ */
+public enum BookingEventType {
+    // A PENDING booking was created.
+    CREATED,
+
+    // Payment was verified and the booking became CONFIRMED.
+    CONFIRMED,
+
+    // Dates, guests or price of a CONFIRMED booking changed.
+    MODIFIED,
+
+    // A CONFIRMED booking was cancelled. A cancellation rolled back from CANCELLING emits nothing:
+    // CANCELLING still holds the stay, so nothing downstream saw it go.
+    CANCELLED,
+
+    // A PENDING booking was abandoned.
+    VOIDED
+}
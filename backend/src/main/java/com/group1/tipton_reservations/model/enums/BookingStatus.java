@@ -10,6 +10,9 @@ public enum BookingStatus {
     // Payment has been confirmed and booking is active.
     CONFIRMED,
 
+    // Cancellation claimed, refund in progress; still holds its nights until the refund succeeds.
+    CANCELLING,
+
     // Booking has been cancelled by the guest or admin.
     CANCELLED,
 
@@ -0,0 +1,21 @@
+package com.group1.tipton_reservations.model.enums;
+
+/**
+ * Lifecycle of a waitlist entry.
+ */
+public enum WaitlistStatus {
+    // Waiting for a room of its type to free up for the whole stay.
+    WAITING,
+
+    // A room was released and is held for the guest as a PENDING booking.
+    OFFERED,
+
+    // The guest paid for the offered hold.
+    ACCEPTED,
+
+    // The offer hold lapsed unpaid, or the stay started before anything freed up.
+    EXPIRED,
+
+    // The guest left the waitlist.
+    CANCELLED
+}
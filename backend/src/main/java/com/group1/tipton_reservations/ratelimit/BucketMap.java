@@ -0,0 +1,77 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets by key, split over independent stripes so eviction never scans the whole map.
+ * <p>
+ * Lookups are plain {@link ConcurrentHashMap} reads and buckets are lock-free, so the hot path
+ * takes no lock. Eviction is lazy: every {@code sweepEvery} acquisitions one stripe, in turn,
+ * drops its full buckets, and a stripe that reaches its share of {@code maxKeys} does the same
+ * before adding a key. A full bucket is the same as a missing one, so eviction never forgives
+ * a client anything. If a stripe is still at capacity after that (a flood of distinct keys, all
+ * of them active), new keys are let through unthrottled and counted rather than pushing out
+ * buckets that are holding someone back.
+ * </p>
+ */
+final class BucketMap {
+
+    private static final int SWEEP_EVERY = 1024;
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final int maxPerStripe;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicInteger nextSweep = new AtomicInteger();
+
+    @SuppressWarnings({ "unchecked", "rawtypes" }) // no generic array creation
+    BucketMap(int stripeCount, int maxKeys) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1; // next power of two
+        this.stripes = new ConcurrentHashMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.maxPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    /**
+     * Takes a token from the bucket for {@code key}, creating it if needed.
+     *
+     * @return 0 if allowed, nanoseconds until a token otherwise, or -1 if there was no room to track the key
+     */
+    long tryAcquire(String key, RateLimit limit, long now) {
+        if ((acquisitions.incrementAndGet() & (SWEEP_EVERY - 1)) == 0) {
+            evictFull(stripes[nextSweep.getAndIncrement() & (stripes.length - 1)], now);
+        }
+
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            if (stripe.size() >= maxPerStripe) {
+                evictFull(stripe, now);
+                if (stripe.size() >= maxPerStripe) {
+                    return -1;
+                }
+            }
+            bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(now));
+        }
+        return bucket.tryAcquire(now, limit);
+    }
+
+    int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static void evictFull(ConcurrentHashMap<String, TokenBucket> stripe, long now) {
+        stripe.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,41 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * {@code capacity} requests per {@code period}, with bursts of up to {@code capacity}.
+ * Written in config as {@code 10/1m}.
+ */
+record RateLimit(int capacity, Duration period) {
+
+    RateLimit {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    /**
+     * @return the limit, or null for a blank spec (no limit)
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    static RateLimit parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        String[] parts = spec.trim().split("/", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit must look like 10/1m: " + spec);
+        }
+        return new RateLimit(Integer.parseInt(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()));
+    }
+
+    long intervalNanos() {
+        return period.toNanos() / capacity;
+    }
+
+    long burstNanos() {
+        return intervalNanos() * capacity;
+    }
+}
@@ -0,0 +1,170 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.group1.tipton_reservations.security.HotelUserPrincipal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-route token-bucket limits on the endpoints that are expensive or worth abusing:
+ * login and registration (BCrypt), the availability searches, and booking creation.
+ * <p>
+ * Each route can be limited per client IP, per signed-in user, or both, with
+ * {@code tipton.rate-limit.routes.<route>.per-ip} / {@code .per-user} set to e.g. {@code 10/1m};
+ * an unset limit is not enforced. The filter sits in the security chain right after
+ * {@link com.group1.tipton_reservations.security.AuthTokenFilter} so the user is known, and is
+ * kept out of the plain servlet chain in {@code SecurityConfig}. A throttled request gets a
+ * {@code 429} with {@code Retry-After} in whole seconds and is counted in
+ * {@code tipton.ratelimit.throttled}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final String PER_IP = "ip";
+    private static final String PER_USER = "user";
+
+    private final List<Route> routes;
+    private final BucketMap buckets;
+    private final MeterRegistry meterRegistry;
+    private final Counter untracked;
+    private final boolean enabled;
+
+    @Value("${tipton.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    public RateLimitFilter(Environment environment, MeterRegistry meterRegistry,
+                           @Value("${tipton.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${tipton.rate-limit.stripes:64}") int stripes,
+                           @Value("${tipton.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+        this.buckets = new BucketMap(stripes, maxKeys);
+        this.routes = List.of(
+                route(environment, "login", HttpMethod.POST, "/auth/login", "/auth/register"),
+                route(environment, "search", HttpMethod.GET, "/room-types/available", "/room-types/search"),
+                route(environment, "booking", HttpMethod.POST, "/bookings"));
+        this.untracked = Counter.builder("tipton.ratelimit.untracked")
+                .description("Requests let through because the rate limiter had no room left to track the client")
+                .register(meterRegistry);
+        Gauge.builder("tipton.ratelimit.buckets", buckets, BucketMap::size)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    private static Route route(Environment environment, String name, HttpMethod method, String... paths) {
+        String prefix = "tipton.rate-limit.routes." + name + ".";
+        return new Route(name, method, List.of(paths),
+                RateLimit.parse(environment.getProperty(prefix + "per-ip")),
+                RateLimit.parse(environment.getProperty(prefix + "per-user")));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routeFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = routeFor(request);
+        long now = System.nanoTime();
+
+        long waitNanos = acquire(route, PER_IP, route.perIp(), clientIp(request), now);
+        if (waitNanos == 0) {
+            waitNanos = acquire(route, PER_USER, route.perUser(), currentUserId(), now);
+        }
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private long acquire(Route route, String scope, RateLimit limit, String client, long now) {
+        if (limit == null || client == null) {
+            return 0;
+        }
+        long waitNanos = buckets.tryAcquire(route.name() + '|' + scope + '|' + client, limit, now);
+        if (waitNanos < 0) {
+            untracked.increment();
+            return 0;
+        }
+        if (waitNanos > 0) {
+            meterRegistry.counter("tipton.ratelimit.throttled", "route", route.name(), "scope", scope).increment();
+            log.debug("Throttled {} request from {} {}", route.name(), scope, client);
+        }
+        return waitNanos;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(RETRY_AFTER_HEADER, Long.toString(seconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests, retry in " + seconds + "s");
+    }
+
+    private Route routeFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.matches(request.getMethod(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                // the last hop is the one our load balancer appended; earlier entries are client-supplied
+                String[] hops = forwarded.split(",");
+                return hops[hops.length - 1].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof HotelUserPrincipal principal) {
+            return principal.getUser().getId();
+        }
+        return null;
+    }
+
+    private record Route(String name, HttpMethod method, List<String> paths, RateLimit perIp, RateLimit perUser) {
+
+        boolean matches(String requestMethod, String path) {
+            if (!method.matches(requestMethod)) {
+                return false;
+            }
+            String trimmed = path.endsWith("/") && path.length() > 1 ? path.substring(0, path.length() - 1) : path;
+            return paths.contains(trimmed);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket held in a single {@link AtomicLong}, updated with compare-and-set.
+ * <p>
+ * Rather than a token count plus a refill timestamp (two fields, so a lock), it stores the
+ * time at which the bucket will be full again (the "theoretical arrival time" of GCRA, which
+ * is the same algorithm). Taking a token pushes that time one refill interval further; the
+ * request is refused if it would land more than a full bucket's worth of intervals ahead.
+ * A bucket whose time is in the past is full and indistinguishable from a new one, which is
+ * what lets {@link BucketMap} drop it without losing anything.
+ * </p>
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until one is available
+     */
+    long tryAcquire(long now, RateLimit limit) {
+        long interval = limit.intervalNanos();
+        long burst = limit.burstNanos();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
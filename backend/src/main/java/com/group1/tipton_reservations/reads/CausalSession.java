@@ -0,0 +1,91 @@
+package com.group1.tipton_reservations.reads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.mongodb.client.ClientSession;
+
+/**
+ * The causally consistent Mongo session bound to the current request thread, if any.
+ * {@link SessionBindingMongoDatabaseFactory} routes every template and repository call made
+ * on the thread through it.
+ * <p>
+ * A session advanced to a client's read token can be swapped for a fresh one mid-request by
+ * {@link ReadTokenFallback} when the token cannot be honoured; the request carries on without it.
+ * </p>
+ */
+public final class CausalSession {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private CausalSession() {
+    }
+
+    public static ClientSession current() {
+        Binding binding = CURRENT.get();
+        return binding != null ? binding.session : null;
+    }
+
+    /** How long an operation in the current session may run, or 0 for no limit. */
+    static long timeoutMillis() {
+        Binding binding = CURRENT.get();
+        return binding != null ? binding.timeoutMillis : 0;
+    }
+
+    /**
+     * Replaces a session that was advanced to the client's read token with a fresh causal one,
+     * without a time limit. Returns false if the current session carries no token, in which case
+     * nothing changes.
+     */
+    static boolean dropReadToken() {
+        Binding binding = CURRENT.get();
+        if (binding == null || !binding.afterToken) {
+            return false;
+        }
+        binding.afterToken = false;
+        binding.timeoutMillis = 0;
+        binding.session = binding.restart.get();
+        if (binding.session != null) {
+            binding.opened.add(binding.session);
+        }
+        return true;
+    }
+
+    static Binding bind(ClientSession session, boolean afterToken, long timeoutMillis, Supplier<ClientSession> restart) {
+        Binding binding = new Binding(session, afterToken, timeoutMillis, restart);
+        CURRENT.set(binding);
+        return binding;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /** One request's sessions: the one in use and every one it has replaced. */
+    static final class Binding {
+
+        private final Supplier<ClientSession> restart;
+        private final List<ClientSession> opened = new ArrayList<>(1);
+        private ClientSession session;
+        private boolean afterToken;
+        private long timeoutMillis;
+
+        private Binding(ClientSession session, boolean afterToken, long timeoutMillis, Supplier<ClientSession> restart) {
+            this.session = session;
+            this.afterToken = afterToken;
+            this.timeoutMillis = timeoutMillis;
+            this.restart = restart;
+            opened.add(session);
+        }
+
+        /** The session the request ended on, or null if a replacement could not be started. */
+        ClientSession session() {
+            return session;
+        }
+
+        List<ClientSession> opened() {
+            return opened;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.group1.tipton_reservations.reads;
+
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Retries a read without the client's read token when the token cannot be honoured: the read
+ * timed out waiting for a secondary to catch up to it, or the server rejected it as ahead of
+ * the cluster time. The rest of the request then runs in a fresh causal session, so the caller
+ * gets a possibly stale answer instead of an error. Reads in a session without a token are
+ * not retried.
+ */
+@Slf4j
+public class ReadTokenFallback implements MethodInterceptor {
+
+    private static final int MAX_TIME_MS_EXPIRED = 50;
+    private static final int EXCEEDED_TIME_LIMIT = 262;
+    private static final int INVALID_OPTIONS = 72; // afterClusterTime greater than the cluster time
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        // a clone per attempt, so the retry runs the rest of the interceptor chain again
+        ProxyMethodInvocation proxied = (ProxyMethodInvocation) invocation;
+        try {
+            return proxied.invocableClone().proceed();
+        } catch (RuntimeException e) {
+            if (!dropReadToken(e)) {
+                throw e;
+            }
+            return proxied.invocableClone().proceed();
+        }
+    }
+
+    /** For reads made directly on {@code MongoTemplate} rather than through a repository. */
+    public static <T> T call(Supplier<T> read) {
+        try {
+            return read.get();
+        } catch (RuntimeException e) {
+            if (!dropReadToken(e)) {
+                throw e;
+            }
+            return read.get();
+        }
+    }
+
+    private static boolean dropReadToken(RuntimeException e) {
+        if (!readConcernFailure(e) || !CausalSession.dropReadToken()) {
+            return false;
+        }
+        log.debug("Read token could not be honoured, reading without it: {}", e.getMessage());
+        return true;
+    }
+
+    private static boolean readConcernFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoOperationTimeoutException || cause instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+            if (cause instanceof MongoException mongo) {
+                int code = mongo.getCode();
+                if (code == MAX_TIME_MS_EXPIRED || code == EXCEEDED_TIME_LIMIT || code == INVALID_OPTIONS) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+package com.group1.tipton_reservations.reads;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoClientException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives a client read-your-writes consistency while catalog and search reads go to secondaries.
+ * <p>
+ * Writes, and any request carrying an {@code X-Read-Token}, run in a causally consistent Mongo
+ * session. The token is the cluster time of the caller's last operation; the session is
+ * advanced to it, so a secondary read waits until the secondary has caught up to that point.
+ * The session's operation time is sent back as the next token. Anonymous reads without a
+ * token stay sessionless and cost nothing extra.
+ * </p>
+ * <p>
+ * The token comes from the client, so it is checked before use: one ahead of the highest
+ * cluster time this instance has seen, after one refresh from the server, is ignored. A
+ * read under a token is limited to {@code tipton.reads.causal-read-timeout-ms}, and one that
+ * times out or is refused falls back to reading without the token ({@link ReadTokenFallback}).
+ * </p>
+ * If the deployment does not support sessions (e.g. a standalone server) the filter turns itself off.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@Slf4j
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String READ_TOKEN_HEADER = "X-Read-Token";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final MongoClient mongoClient;
+
+    /** Highest cluster time seen in this instance's sessions, as a timestamp value. */
+    private final AtomicLong knownClusterTime = new AtomicLong();
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime() - REFRESH_INTERVAL_NANOS);
+
+    @Value("${tipton.reads.causal-sessions:true}")
+    private volatile boolean enabled;
+
+    @Value("${tipton.reads.causal-read-timeout-ms:2000}")
+    private long readTimeoutMillis;
+
+    public ReadYourWritesFilter(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        BsonTimestamp token = parse(request.getHeader(READ_TOKEN_HEADER));
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        ClientSession session = enabled && (write || token != null) ? startSession() : null;
+        if (session == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BsonTimestamp after = token != null && issuable(token) ? token : null;
+        if (after != null) {
+            session.advanceOperationTime(after);
+        }
+        CausalSession.Binding binding = CausalSession.bind(session, after != null,
+                after != null && !write ? readTimeoutMillis : 0, this::startSession);
+
+        // the token goes out just before the response is committed, once the handler's writes are done
+        HttpServletResponse tokened = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                setReadToken(response, binding.session());
+            }
+        };
+        try {
+            filterChain.doFilter(request, tokened);
+        } finally {
+            CausalSession.unbind();
+            if (!response.isCommitted()) {
+                setReadToken(response, binding.session());
+            }
+            for (ClientSession opened : binding.opened()) {
+                observe(opened);
+                opened.close();
+            }
+        }
+    }
+
+    private static void setReadToken(HttpServletResponse response, ClientSession session) {
+        BsonTimestamp operationTime = session != null ? session.getOperationTime() : null;
+        if (operationTime != null) {
+            response.setHeader(READ_TOKEN_HEADER, Long.toHexString(operationTime.getValue()));
+        }
+    }
+
+    /**
+     * Whether the token could have been handed out by this cluster: it is no later than the
+     * highest cluster time known here, refreshed from the server at most every 100ms when it
+     * looks too new (another instance may have issued it).
+     */
+    private boolean issuable(BsonTimestamp token) {
+        if (Long.compareUnsigned(token.getValue(), knownClusterTime.get()) <= 0) {
+            return true;
+        }
+        long last = lastRefreshNanos.get();
+        long now = System.nanoTime();
+        if (now - last >= REFRESH_INTERVAL_NANOS && lastRefreshNanos.compareAndSet(last, now)) {
+            try (ClientSession probe = mongoClient.startSession()) {
+                mongoClient.getDatabase("admin").runCommand(probe, new Document("ping", 1));
+                observe(probe);
+            } catch (MongoException e) {
+                log.debug("Could not refresh the cluster time: {}", e.getMessage());
+            }
+        }
+        if (Long.compareUnsigned(token.getValue(), knownClusterTime.get()) <= 0) {
+            return true;
+        }
+        log.debug("Ignoring read token {} ahead of the cluster time", Long.toHexString(token.getValue()));
+        return false;
+    }
+
+    private void observe(ClientSession session) {
+        long seen = 0;
+        BsonDocument clusterTime = session.getClusterTime();
+        if (clusterTime != null && clusterTime.isTimestamp("clusterTime")) {
+            seen = clusterTime.getTimestamp("clusterTime").getValue();
+        }
+        BsonTimestamp operationTime = session.getOperationTime();
+        if (operationTime != null && Long.compareUnsigned(operationTime.getValue(), seen) > 0) {
+            seen = operationTime.getValue();
+        }
+        knownClusterTime.accumulateAndGet(seen, (known, next) -> Long.compareUnsigned(next, known) > 0 ? next : known);
+    }
+
+    private ClientSession startSession() {
+        ClusterDescription cluster = mongoClient.getClusterDescription();
+        if (cluster.getLogicalSessionTimeoutMinutes() == null) {
+            if (cluster.getServerDescriptions().stream().anyMatch(ServerDescription::isOk)) {
+                log.warn("Mongo deployment does not support sessions, read-your-writes tokens disabled");
+                enabled = false;
+            }
+            return null; // or not connected yet
+        }
+        try {
+            return mongoClient.startSession(ClientSessionOptions.builder().causallyConsistent(true).build());
+        } catch (MongoClientException e) {
+            log.warn("Could not start a causal session: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static BsonTimestamp parse(String token) {
+        if (token == null || token.isBlank() || token.length() > 16) {
+            return null;
+        }
+        try {
+            return new BsonTimestamp(Long.parseUnsignedLong(token, 16));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.group1.tipton_reservations.reads;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Hands out databases bound to the request's {@link CausalSession} when there is one, so
+ * repositories and {@code MongoTemplate} take part in it without being session-aware. A
+ * session that waits on a client's read token also gets a time limit, sent to the server as
+ * {@code maxTimeMS}, so a lagging secondary fails the read instead of holding the request.
+ * Everything else goes straight to the wrapped factory.
+ */
+public class SessionBindingMongoDatabaseFactory implements MongoDatabaseFactory {
+
+    private final MongoDatabaseFactory delegate;
+
+    public SessionBindingMongoDatabaseFactory(MongoDatabaseFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        ClientSession session = CausalSession.current();
+        return session != null ? limited(delegate.withSession(session).getMongoDatabase()) : delegate.getMongoDatabase();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        ClientSession session = CausalSession.current();
+        return session != null ? limited(delegate.withSession(session).getMongoDatabase(dbName)) : delegate.getMongoDatabase(dbName);
+    }
+
+    private static MongoDatabase limited(MongoDatabase database) {
+        long timeoutMillis = CausalSession.timeoutMillis();
+        return timeoutMillis > 0 ? database.withTimeout(timeoutMillis, TimeUnit.MILLISECONDS) : database;
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return delegate.getExceptionTranslator();
+    }
+
+    @Override
+    public CodecRegistry getCodecRegistry() {
+        return delegate.getCodecRegistry();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return delegate.getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return delegate.withSession(session);
+    }
+
+    @Override
+    public boolean isTransactionActive() {
+        return delegate.isTransactionActive();
+    }
+}
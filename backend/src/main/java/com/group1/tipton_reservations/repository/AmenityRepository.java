@@ -1,10 +1,15 @@
 package com.group1.tipton_reservations.repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
 import com.group1.tipton_reservations.model.Amenity;
 
+/**
+ * Catalog reads tolerate replication lag, so they are served by secondaries when available.
+ */
 @Repository
+@ReadPreference("secondaryPreferred")
 public interface AmenityRepository extends MongoRepository<Amenity, String> {
 }
@@ -0,0 +1,87 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import com.group1.tipton_reservations.model.Booking;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read access to the cold booking tier ({@code bookings_archive}).
+ * <p>
+ * Archived documents are verbatim copies of {@link Booking} documents (plus an
+ * {@code archivedAt} timestamp), so they map back to the same class. The archive is
+ * read-only for the application; only {@code BookingArchiveService} writes to it.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchivedBookingRepository {
+
+    public static final String COLLECTION = "bookings_archive";
+
+    private final MongoTemplate mongoTemplate;
+
+    public Optional<Booking> findById(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, Booking.class, COLLECTION));
+    }
+
+    public Optional<Booking> findByConfirmationNumber(String confirmationNumber) {
+        Query query = Query.query(Criteria.where("confirmationNumber").is(confirmationNumber));
+        return Optional.ofNullable(mongoTemplate.findOne(query, Booking.class, COLLECTION));
+    }
+
+    public boolean existsByConfirmationNumber(String confirmationNumber) {
+        return mongoTemplate.exists(Query.query(Criteria.where("confirmationNumber").is(confirmationNumber)), COLLECTION);
+    }
+
+    /**
+     * Returns the first {@code limit} archived bookings of a user in the given order.
+     *
+     * @param userId the user ID
+     * @param sort the sort order
+     * @param limit maximum number of bookings to return
+     * @return the user's archived bookings
+     */
+    public List<Booking> findByUserId(String userId, Sort sort, int limit) {
+        return findByUserId(userId, sort, limit, null);
+    }
+
+    /**
+     * Same as {@link #findByUserId(String, Sort, int)}, loading only {@code fields}.
+     *
+     * @param fields the fields to load, or null for whole documents
+     */
+    public List<Booking> findByUserId(String userId, Sort sort, int limit, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("userId").is(userId)).with(sort).limit(limit);
+        if (fields != null) {
+            query.fields().include(fields.toArray(String[]::new));
+        }
+        return mongoTemplate.find(query, Booking.class, COLLECTION);
+    }
+
+    public long countByUserId(String userId) {
+        return mongoTemplate.count(Query.query(Criteria.where("userId").is(userId)), COLLECTION);
+    }
+
+    public List<Booking> findAll() {
+        return mongoTemplate.findAll(Booking.class, COLLECTION);
+    }
+
+    /**
+     * Every archived booking, loading only {@code fields}.
+     */
+    public List<Booking> findAll(Collection<String> fields) {
+        Query query = new Query();
+        query.fields().include(fields.toArray(String[]::new));
+        return mongoTemplate.find(query, Booking.class, COLLECTION);
+    }
+}
@@ -1,10 +1,12 @@
 package com.group1.tipton_reservations.repository;
 
 import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -14,9 +16,10 @@ import java.util.Optional;
 /**
  * Repository interface for Booking entity operations.
  * Provides custom queries for booking management, availability checks, and user bookings.
+ * A booking holds its room's nights while PENDING, CONFIRMED or CANCELLING (refund still in flight).
  */
 @Repository
-public interface BookingRepository extends MongoRepository<Booking, String> {
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
 
     /**
      * Find a booking by its unique confirmation number.
@@ -38,33 +41,69 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
     /**
      * Find all bookings for a specific room within a date range.
      * Used for availability checks for a room.
+     * Availability queries all lead with the property so each one targets a single partition.
      *
+     * @param propertyId the property the room belongs to
      * @param roomId the room ID
      * @param checkInDate the start of the date range
      * @param checkOutDate the end of the date range
      * @return list of bookings for the room in the date range
      */
-    @Query("{ 'roomId': ?0, 'status': { $in: ['PENDING', 'CONFIRMED'] }, " +
+    @Query("{ 'propertyId': ?0, 'roomId': ?1, 'status': { $in: ['PENDING', 'CONFIRMED', 'CANCELLING'] }, " +
            "$or: [ " +
-           "  { 'checkInDate': { $lt: ?2 }, 'checkOutDate': { $gt: ?1 } } " +
+           "  { 'checkInDate': { $lt: ?3 }, 'checkOutDate': { $gt: ?2 } } " +
            "] }")
-    List<Booking> findOverlappingBookings(String roomId, LocalDate checkInDate, LocalDate checkOutDate);
+    List<Booking> findOverlappingBookings(String propertyId, String roomId, LocalDate checkInDate, LocalDate checkOutDate);
 
     /**
      * Find all room IDs that have overlapping bookings for a given room type and date range.
      * Used to filter out unavailable rooms when searching for available rooms.
      *
+     * @param propertyId the property the room type belongs to
      * @param roomTypeId the room type ID
      * @param checkInDate the start of the date range
      * @param checkOutDate the end of the date range
      * @return list of room IDs that are booked during the date range
      */
-    @Query(value = "{ 'roomTypeId': ?0, 'status': { $in: ['PENDING', 'CONFIRMED'] }, " +
+    @Query(value = "{ 'propertyId': ?0, 'roomTypeId': ?1, 'status': { $in: ['PENDING', 'CONFIRMED', 'CANCELLING'] }, " +
                    "$or: [ " +
-                   "  { 'checkInDate': { $lt: ?2 }, 'checkOutDate': { $gt: ?1 } } " +
+                   "  { 'checkInDate': { $lt: ?3 }, 'checkOutDate': { $gt: ?2 } } " +
                    "] }",
            fields = "{ 'roomId': 1 }")
-    List<Booking> findBookedRoomIdsByRoomTypeAndDateRange(String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate);
+    List<Booking> findBookedRoomIdsByRoomTypeAndDateRange(String propertyId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    /**
+     * Same as {@link #findBookedRoomIdsByRoomTypeAndDateRange}, but may be served by a secondary.
+     * Only for the availability search, which is advisory; booking creation re-checks on the primary.
+     *
+     * @param propertyId the property the room type belongs to
+     * @param roomTypeId the room type ID
+     * @param checkInDate the start of the date range
+     * @param checkOutDate the end of the date range
+     * @return list of room IDs that are booked during the date range
+     */
+    @ReadPreference("secondaryPreferred")
+    @Query(value = "{ 'propertyId': ?0, 'roomTypeId': ?1, 'status': { $in: ['PENDING', 'CONFIRMED', 'CANCELLING'] }, " +
+                   "$or: [ " +
+                   "  { 'checkInDate': { $lt: ?3 }, 'checkOutDate': { $gt: ?2 } } " +
+                   "] }",
+           fields = "{ 'roomId': 1 }")
+    List<Booking> searchBookedRoomIdsByRoomTypeAndDateRange(String propertyId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    /**
+     * Every booked room in a property for a date range, in one query, for the faceted search.
+     * May be served by a secondary for the same reason as {@link #searchBookedRoomIdsByRoomTypeAndDateRange}.
+     *
+     * @param propertyId the property
+     * @param checkInDate the start of the date range
+     * @param checkOutDate the end of the date range
+     * @return bookings with only roomId and roomTypeId set
+     */
+    @ReadPreference("secondaryPreferred")
+    @Query(value = "{ 'propertyId': ?0, 'status': { $in: ['PENDING', 'CONFIRMED', 'CANCELLING'] }, " +
+                   "  'checkInDate': { $lt: ?2 }, 'checkOutDate': { $gt: ?1 } }",
+           fields = "{ 'roomId': 1, 'roomTypeId': 1 }")
+    List<Booking> searchBookedRoomIdsByDateRange(String propertyId, LocalDate checkInDate, LocalDate checkOutDate);
 
     /**
      * Check if a confirmation number already exists.
@@ -74,4 +113,13 @@ public interface BookingRepository extends MongoRepository<Booking, String> {
      */
     boolean existsByConfirmationNumber(String confirmationNumber);
 
+    /**
+     * Count bookings in a given status.
+     * Used by the metrics backlog gauge.
+     *
+     * @param status the booking status
+     * @return number of bookings in that status
+     */
+    long countByStatus(BookingStatus status);
+
 }
@@ -0,0 +1,26 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.group1.tipton_reservations.model.Booking;
+
+/**
+ * Booking reads that load only some fields, for {@code fields=} requests.
+ * Unloaded fields are left null on the returned bookings.
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Same as {@link BookingRepository#findByUserId}, loading only {@code fields} ({@code _id} is always loaded).
+     */
+    Page<Booking> findByUserId(String userId, Pageable pageable, Collection<String> fields);
+
+    /**
+     * Every live booking, loading only {@code fields}.
+     */
+    List<Booking> findAll(Collection<String> fields);
+}
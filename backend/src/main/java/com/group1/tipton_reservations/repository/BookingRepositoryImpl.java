@@ -0,0 +1,40 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.group1.tipton_reservations.model.Booking;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Projected reads backing {@link BookingRepositoryCustom}; picked up by Spring Data by name.
+ */
+@RequiredArgsConstructor
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<Booking> findByUserId(String userId, Pageable pageable, Collection<String> fields) {
+        Query query = Query.query(Criteria.where("userId").is(userId)).with(pageable);
+        query.fields().include(fields.toArray(String[]::new));
+        List<Booking> content = mongoTemplate.find(query, Booking.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.query(Criteria.where("userId").is(userId)), Booking.class));
+    }
+
+    @Override
+    public List<Booking> findAll(Collection<String> fields) {
+        Query query = new Query();
+        query.fields().include(fields.toArray(String[]::new));
+        return mongoTemplate.find(query, Booking.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.group1.tipton_reservations.repository;
+
+import com.group1.tipton_reservations.model.DailyRoomTypeStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reporting reads; served by secondaries when available.
+ */
+@Repository
+@ReadPreference("secondaryPreferred")
+public interface DailyRoomTypeStatsRepository extends MongoRepository<DailyRoomTypeStats, String> {
+
+    /**
+     * Find all rows for the given dates (both inclusive).
+     *
+     * @param from first date
+     * @param to last date
+     * @return matching daily rows
+     */
+    @Query("{ 'date': { $gte: ?0, $lte: ?1 } }")
+    List<DailyRoomTypeStats> findByDateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Find all rows of one room type for the given dates (both inclusive).
+     *
+     * @param roomTypeId the room type ID
+     * @param from first date
+     * @param to last date
+     * @return matching daily rows
+     */
+    @Query("{ 'roomTypeId': ?0, 'date': { $gte: ?1, $lte: ?2 } }")
+    List<DailyRoomTypeStats> findByRoomTypeIdAndDateRange(String roomTypeId, LocalDate from, LocalDate to);
+}
@@ -8,7 +8,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PaymentRepository extends MongoRepository<Payment, String> {
+public interface PaymentRepository extends MongoRepository<Payment, String>, PaymentRepositoryCustom {
     List<Payment> findByBookingIdOrderByCreatedAtDesc(String bookingId);
     Optional<Payment> findByStripePaymentIntentId(String stripePaymentIntentId);
+    long deleteByStripePaymentIntentId(String stripePaymentIntentId);
 }
@@ -0,0 +1,17 @@
+package com.group1.tipton_reservations.repository;
+
+import com.group1.tipton_reservations.model.Payment;
+
+/**
+ * Payment writes that must happen once per Stripe payment intent.
+ */
+public interface PaymentRepositoryCustom {
+
+    /**
+     * Inserts the payment unless one with the same {@code stripePaymentIntentId} exists, in one
+     * upsert; the unique index on that field settles two concurrent calls.
+     *
+     * @return true if this call inserted it
+     */
+    boolean insertIfAbsent(Payment payment);
+}
@@ -0,0 +1,44 @@
+package com.group1.tipton_reservations.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.group1.tipton_reservations.model.Payment;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Upserts backing {@link PaymentRepositoryCustom}; picked up by Spring Data by name.
+ */
+@RequiredArgsConstructor
+class PaymentRepositoryImpl implements PaymentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean insertIfAbsent(Payment payment) {
+        LocalDateTime now = LocalDateTime.now();
+        // upserts bypass auditing and versioning, so those fields are set here
+        Update insert = new Update()
+                .setOnInsert("bookingId", payment.getBookingId())
+                .setOnInsert("userId", payment.getUserId())
+                .setOnInsert("amount", payment.getAmount())
+                .setOnInsert("currency", payment.getCurrency())
+                .setOnInsert("status", payment.getStatus())
+                .setOnInsert("version", 0L)
+                .setOnInsert("createdAt", now)
+                .setOnInsert("updatedAt", now);
+        try {
+            return mongoTemplate.upsert(
+                    Query.query(Criteria.where("stripePaymentIntentId").is(payment.getStripePaymentIntentId())),
+                    insert, Payment.class).getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false; // a concurrent call inserted it first
+        }
+    }
+}
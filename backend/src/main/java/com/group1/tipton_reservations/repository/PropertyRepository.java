@@ -0,0 +1,14 @@
+package com.group1.tipton_reservations.repository;
+
+import com.group1.tipton_reservations.model.Property;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Catalog reads tolerate replication lag, so they are served by secondaries when available.
+ */
+@Repository
+@ReadPreference("secondaryPreferred")
+public interface PropertyRepository extends MongoRepository<Property, String> {
+}
@@ -0,0 +1,10 @@
+package com.group1.tipton_reservations.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.group1.tipton_reservations.model.RewardReceipt;
+
+@Repository
+public interface RewardReceiptRepository extends MongoRepository<RewardReceipt, String> {
+}
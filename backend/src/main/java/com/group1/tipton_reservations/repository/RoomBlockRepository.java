@@ -0,0 +1,63 @@
+package com.group1.tipton_reservations.repository;
+
+import com.group1.tipton_reservations.model.RoomBlock;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for RoomBlock entity operations.
+ * Availability searches read blocks through the cached calendar; these queries are for
+ * building it and for the checks made under a room's lease.
+ */
+@Repository
+public interface RoomBlockRepository extends MongoRepository<RoomBlock, String> {
+
+    /**
+     * Every block of a property that still has nights after a date, for the calendar.
+     *
+     * @param propertyId the property
+     * @param date blocks ending on or before this date are left out
+     * @return the blocks, in no particular order
+     */
+    List<RoomBlock> findByPropertyIdAndEndDateAfter(String propertyId, LocalDate date);
+
+    /**
+     * Every block of a property that overlaps a date range, for the admin listing.
+     *
+     * @param propertyId the property
+     * @param endDate the end of the date range
+     * @param startDate the start of the date range
+     * @return the overlapping blocks, earliest first
+     */
+    List<RoomBlock> findByPropertyIdAndStartDateBeforeAndEndDateAfterOrderByStartDate(
+            String propertyId, LocalDate endDate, LocalDate startDate);
+
+    /**
+     * Whether any night of a date range is blocked for a room.
+     *
+     * @param propertyId the property the room belongs to
+     * @param roomId the room ID
+     * @param startDate the start of the date range
+     * @param endDate the end of the date range
+     * @return true if a block overlaps the range
+     */
+    @Query(value = "{ 'propertyId': ?0, 'roomId': ?1, 'startDate': { $lt: ?3 }, 'endDate': { $gt: ?2 } }", exists = true)
+    boolean existsOverlapping(String propertyId, String roomId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * The blocks of some rooms that overlap a date range.
+     *
+     * @param propertyId the property the rooms belong to
+     * @param roomIds the room IDs
+     * @param startDate the start of the date range
+     * @param endDate the end of the date range
+     * @return the overlapping blocks
+     */
+    @Query("{ 'propertyId': ?0, 'roomId': { $in: ?1 }, 'startDate': { $lt: ?3 }, 'endDate': { $gt: ?2 } }")
+    List<RoomBlock> findOverlapping(String propertyId, Collection<String> roomIds, LocalDate startDate, LocalDate endDate);
+}
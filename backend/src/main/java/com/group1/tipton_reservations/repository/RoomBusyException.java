@@ -0,0 +1,17 @@
+package com.group1.tipton_reservations.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A room's lease stayed held by someone else for longer than {@code tipton.room-locks.wait-ms}.
+ * Nothing was checked or written, so retrying later is always safe; the room may well be free.
+ */
+public class RoomBusyException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RoomBusyException(String roomId) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Room " + roomId + " is busy, try again shortly");
+    }
+}
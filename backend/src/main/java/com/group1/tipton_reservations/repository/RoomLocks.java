@@ -0,0 +1,107 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Short leases that serialize the check-then-write on a room's nights.
+ * <p>
+ * Availability is a query over other bookings, so two requests can both see a night free and
+ * both write it. Whoever assigns nights to a room (a new booking, an offer hold, new dates)
+ * does the overlap check and the write while holding the room's lease: one document per room
+ * in {@code room_locks}, taken with an upsert that only matches an expired lease, so a held
+ * lease makes the upsert collide on {@code _id}. A lease left by a crashed instance is taken
+ * over once it expires. Taking the lease goes through the {@code bookings} bulkhead, one
+ * attempt at a time, so the waits between attempts hold no slot.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class RoomLocks {
+
+    static final String COLLECTION = "room_locks";
+
+    private final MongoTemplate mongoTemplate;
+    private final Bulkheads bulkheads;
+
+    @Value("${tipton.room-locks.lease-ms:10000}")
+    private long leaseMs;
+
+    @Value("${tipton.room-locks.wait-ms:500}")
+    private long waitMs;
+
+    /**
+     * Runs {@code work} holding the room's lease, waiting up to {@code tipton.room-locks.wait-ms} for it.
+     *
+     * @param work the overlap check and write; returns empty if the room turned out to be taken
+     * @return the result of {@code work}, or empty if the lease could not be had in time
+     */
+    public <T> Optional<T> withRoom(String roomId, Supplier<Optional<T>> work) {
+        try {
+            return withRoomOrFail(roomId, work);
+        } catch (RoomBusyException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Like {@link #withRoom}, for callers that must not take a busy room for a taken one.
+     *
+     * @return the result of {@code work}
+     * @throws RoomBusyException if the lease could not be had in time
+     */
+    public <T> Optional<T> withRoomOrFail(String roomId, Supplier<Optional<T>> work) {
+        String owner = UUID.randomUUID().toString();
+        if (!acquire(roomId, owner)) {
+            log.debug("Room {} still busy after {} ms", roomId, waitMs);
+            throw new RoomBusyException(roomId);
+        }
+        try {
+            return work.get();
+        } finally {
+            // not through the bulkhead: a refused release would keep the room locked until the lease expires
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(roomId).and("owner").is(owner)), COLLECTION);
+        }
+    }
+
+    private boolean acquire(String roomId, String owner) {
+        long deadline = System.nanoTime() + waitMs * 1_000_000;
+        for (int attempt = 0; ; attempt++) {
+            long now = System.currentTimeMillis();
+            try {
+                bulkheads.bookings().call(() -> mongoTemplate.upsert(
+                        Query.query(Criteria.where("_id").is(roomId).and("expiresAt").lt(new Date(now))),
+                        new Update().set("owner", owner).set("expiresAt", new Date(now + leaseMs)),
+                        COLLECTION));
+                return true;
+            } catch (DuplicateKeyException e) {
+                // held by someone else
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(Math.min(1L << Math.min(attempt, 5), 20L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -5,14 +5,23 @@ import com.group1.tipton_reservations.model.Room;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Catalog reads tolerate replication lag, so they are served by secondaries when available.
+ * Room numbers are still guarded by the unique property_room_floor_idx on the primary.
+ * Rooms are only ever looked up within one property.
+ */
 @Repository
+@ReadPreference("secondaryPreferred")
 public interface RoomRepository extends MongoRepository<Room, String> {
 
-    boolean existsByRoomNumber(String roomNumber); //exists = Boolean return type. for checking if exists 
+    boolean existsByPropertyIdAndRoomNumber(String propertyId, String roomNumber); //exists = Boolean return type. for checking if exists 
 
-    List<Room> findByRoomTypeId(String roomTypeId); // find all rooms of a specified roomTypeId
+    List<Room> findByPropertyId(String propertyId);
+
+    List<Room> findByPropertyIdAndRoomTypeId(String propertyId, String roomTypeId); // find all rooms of a specified roomTypeId
 }
 
 // import com.group1.tipton_reservations.model.User;
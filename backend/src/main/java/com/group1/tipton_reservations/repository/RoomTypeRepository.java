@@ -3,9 +3,18 @@ package com.group1.tipton_reservations.repository;
 
 import com.group1.tipton_reservations.model.RoomType;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
+/**
+ * Catalog reads tolerate replication lag, so they are served by secondaries when available.
+ */
 @Repository
+@ReadPreference("secondaryPreferred")
 public interface RoomTypeRepository extends MongoRepository<RoomType, String> {
-    boolean existsByName(String name);
+    boolean existsByPropertyIdAndName(String propertyId, String name);
+
+    List<RoomType> findByPropertyId(String propertyId);
 }
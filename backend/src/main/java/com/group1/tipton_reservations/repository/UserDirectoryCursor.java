@@ -0,0 +1,42 @@
+package com.group1.tipton_reservations.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Where a user directory page ended: the last user's email and, for a prefix search, the search
+ * term it was found under. A prefix search walks the {@code (searchTerms, email)} index, so both
+ * are needed to carry on from the same index key. Sent to clients as an opaque string.
+ *
+ * @param term the matching search term; empty when the directory was listed without a prefix
+ * @param email the last user's email
+ */
+public record UserDirectoryCursor(String term, String email) {
+
+    /**
+     * The cursor as handed to clients.
+     */
+    public String encode() {
+        // terms never contain a line break: UserSearchTerms collapses whitespace to a single space
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((term + "\n" + email).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor returned by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the text is not such a cursor
+     */
+    public static UserDirectoryCursor decode(String text) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed directory cursor");
+        }
+        int separator = decoded.indexOf('\n');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed directory cursor");
+        }
+        return new UserDirectoryCursor(decoded.substring(0, separator), decoded.substring(separator + 1));
+    }
+}
@@ -6,7 +6,7 @@ import org.springframework.data.mongodb.repository.Query;
 import java.util.Optional;
 import java.util.List;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
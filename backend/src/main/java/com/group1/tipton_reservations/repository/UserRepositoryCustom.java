@@ -0,0 +1,37 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.group1.tipton_reservations.dto.user.UserDirectoryPage;
+import com.group1.tipton_reservations.model.User;
+
+/**
+ * User reads that never load credentials, for listings and lookups by the batch.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Up to {@code limit} users, starting after {@code after}. Everyone is listed in email order;
+     * a prefix search lists users by their first matching search term, then email, which is the
+     * order of the index it walks.
+     *
+     * @param termPrefix only users with a {@link UserSearchTerms search term} starting with this; null for everyone
+     * @param after the {@code next} cursor of the previous page, from the same search; null for the first page
+     * @throws IllegalArgumentException if {@code after} is not a cursor from this search
+     */
+    UserDirectoryPage findDirectoryPage(String termPrefix, String after, int limit);
+
+    /**
+     * The users with the given ids, loading only their profile fields; password and connected
+     * accounts are left empty. One {@code $in} query, so callers bound the number of ids.
+     */
+    List<User> findProfilesByIds(Collection<String> ids);
+
+    /**
+     * Sets the search terms of up to {@code batchSize} users saved before they existed.
+     *
+     * @return how many users were updated
+     */
+    int backfillSearchTerms(int batchSize);
+}
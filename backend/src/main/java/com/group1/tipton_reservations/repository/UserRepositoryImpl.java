@@ -0,0 +1,123 @@
+package com.group1.tipton_reservations.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.MinKey;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.group1.tipton_reservations.dto.user.UserDirectoryPage;
+import com.group1.tipton_reservations.dto.user.UserSummary;
+import com.group1.tipton_reservations.model.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Projected reads backing {@link UserRepositoryCustom}; picked up by Spring Data by name.
+ */
+@RequiredArgsConstructor
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String[] PROFILE_FIELDS = {
+            "email", "firstName", "lastName", "phoneNumber", "roles", "isActive", "rewardsPoints" };
+
+    private static final String COLLECTION = "users";
+    private static final Document SEARCH_TERMS_INDEX = new Document("searchTerms", 1).append("email", 1);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public UserDirectoryPage findDirectoryPage(String termPrefix, String after, int limit) {
+        UserDirectoryCursor cursor = after != null ? UserDirectoryCursor.decode(after) : null;
+        if (cursor != null && (termPrefix == null ? !cursor.term().isEmpty() : !cursor.term().startsWith(termPrefix))) {
+            throw new IllegalArgumentException("Directory cursor belongs to a different search");
+        }
+        return termPrefix == null ? findByEmail(cursor, limit) : findByTerm(termPrefix, cursor, limit);
+    }
+
+    private UserDirectoryPage findByEmail(UserDirectoryCursor cursor, int limit) {
+        Criteria criteria = new Criteria();
+        if (cursor != null) {
+            criteria.and("email").gt(cursor.email());
+        }
+        // one extra row tells us whether there is a next page without counting
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "email")).limit(limit + 1);
+        query.fields().include(PROFILE_FIELDS);
+        List<UserSummary> users = mongoTemplate.find(query, UserSummary.class, COLLECTION);
+        if (users.size() <= limit) {
+            return new UserDirectoryPage(users, null);
+        }
+        List<UserSummary> page = List.copyOf(users.subList(0, limit));
+        return new UserDirectoryPage(page, new UserDirectoryCursor("", page.get(limit - 1).email()).encode());
+    }
+
+    /**
+     * Walks the {@code (searchTerms, email)} index in key order, so the page comes off the index
+     * without a sort. Sorting on {@code searchTerms} itself would not do: a sort on an array
+     * orders by its smallest element, not the one in the searched range, so the planner adds a
+     * blocking sort. A user with several matching terms is returned under the first of them; the
+     * scan skips its other keys, and later pages leave out anyone with a key before the cursor.
+     */
+    private UserDirectoryPage findByTerm(String termPrefix, UserDirectoryCursor cursor, int limit) {
+        String end = termPrefix + Character.MAX_VALUE;
+        Criteria criteria = Criteria.where("searchTerms").elemMatch(new Criteria().gte(termPrefix).lt(end));
+        if (cursor != null) {
+            criteria.norOperator(
+                    Criteria.where("searchTerms").elemMatch(new Criteria().gte(termPrefix).lt(cursor.term())),
+                    Criteria.where("searchTerms").is(cursor.term()).and("email").lte(cursor.email()));
+        }
+        Document fields = new Document("searchTerms", 1);
+        for (String field : PROFILE_FIELDS) {
+            fields.append(field, 1);
+        }
+        // min and max make the index bounds the exact (term, email) range left to walk; they need the hint
+        List<Document> found = mongoTemplate.execute(COLLECTION, collection -> collection
+                .find(criteria.getCriteriaObject())
+                .projection(fields)
+                .hint(SEARCH_TERMS_INDEX)
+                .min(new Document("searchTerms", cursor != null ? cursor.term() : termPrefix)
+                        .append("email", cursor != null ? cursor.email() : new MinKey()))
+                .max(new Document("searchTerms", end).append("email", new MinKey()))
+                .limit(limit + 1)
+                .into(new ArrayList<>()));
+        List<UserSummary> users = new ArrayList<>(Math.min(found.size(), limit));
+        for (Document document : found.subList(0, Math.min(found.size(), limit))) {
+            users.add(mongoTemplate.getConverter().read(UserSummary.class, document));
+        }
+        if (found.size() <= limit) {
+            return new UserDirectoryPage(users, null);
+        }
+        Document last = found.get(limit - 1);
+        String term = last.getList("searchTerms", String.class).stream()
+                .filter(candidate -> candidate.startsWith(termPrefix))
+                .min(String::compareTo)
+                .orElseThrow();
+        return new UserDirectoryPage(users, new UserDirectoryCursor(term, last.getString("email")).encode());
+    }
+
+    @Override
+    public List<User> findProfilesByIds(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include(PROFILE_FIELDS);
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @Override
+    public int backfillSearchTerms(int batchSize) {
+        Query query = Query.query(Criteria.where("searchTerms").exists(false)).limit(batchSize);
+        query.fields().include("email", "firstName", "lastName");
+        List<User> missing = mongoTemplate.find(query, User.class);
+        for (User user : missing) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(user.getId())),
+                    new Update().set("searchTerms", UserSearchTerms.of(user.getEmail(), user.getFirstName(), user.getLastName())),
+                    User.class);
+        }
+        return missing.size();
+    }
+}
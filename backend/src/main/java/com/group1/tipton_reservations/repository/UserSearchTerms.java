@@ -0,0 +1,69 @@
+package com.group1.tipton_reservations.repository;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.User;
+
+/**
+ * Keeps {@link User#getSearchTerms()} in step with the user's email and name on every save.
+ * <p>
+ * The terms are the lower-cased, accent-stripped email, first name, last name and full name, so
+ * a directory search is an index range over one multikey field instead of a case-insensitive
+ * regex over several. Partial updates that change a name must set the terms themselves with
+ * {@link #of(String, String, String)}; documents saved before the field existed are filled in
+ * on startup.
+ * </p>
+ */
+@Component
+public class UserSearchTerms implements BeforeConvertCallback<User> {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Override
+    public User onBeforeConvert(User user, String collection) {
+        user.setSearchTerms(of(user.getEmail(), user.getFirstName(), user.getLastName()));
+        return user;
+    }
+
+    /**
+     * The search terms for a user, sorted and without duplicates.
+     */
+    public static List<String> of(String email, String firstName, String lastName) {
+        TreeSet<String> terms = new TreeSet<>();
+        add(terms, email);
+        add(terms, firstName);
+        add(terms, lastName);
+        if (firstName != null && lastName != null) {
+            add(terms, firstName + " " + lastName);
+        }
+        return List.copyOf(terms);
+    }
+
+    /**
+     * Normalizes text the way the terms are stored, for searching them.
+     *
+     * @return the normalized text, empty if there is nothing left of it
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(stripped.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static void add(TreeSet<String> terms, String text) {
+        String term = normalize(text);
+        if (!term.isEmpty()) {
+            terms.add(term);
+        }
+    }
+}
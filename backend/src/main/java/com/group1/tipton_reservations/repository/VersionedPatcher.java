@@ -0,0 +1,126 @@
+package com.group1.tipton_reservations.repository;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.group1.tipton_reservations.bulkhead.Bulkhead;
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Partial, version-checked updates for documents with an {@code @Version} field.
+ * <p>
+ * A patch is a function from the current document to the {@code $set}s it needs. It is
+ * applied with a single {@code findAndModify} that only matches the version it was computed
+ * from and bumps that version. If another writer got there first the document is re-read
+ * and the patch recomputed, up to {@code tipton.versioning.max-attempts} times, so concurrent
+ * edits to different fields both land and edits to the same field are last-writer-wins on
+ * fresh data rather than on a stale copy.
+ * </p>
+ * Documents written before versioning have no version field; they match a {@code null}
+ * version and get their first one from the {@code $inc}. Every read and write goes through
+ * the bulkhead for the document's type, as repository calls do.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class VersionedPatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final Bulkheads bulkheads;
+
+    @Value("${tipton.versioning.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Applies a patch to the document with the given id.
+     *
+     * @param patch builds the update from the current document; an empty update means nothing to change
+     * @return the updated document, or empty if there is no document with that id
+     * @throws OptimisticLockingFailureException if every attempt lost to a concurrent writer
+     */
+    public <T> Optional<T> patch(Class<T> type, String id, Function<T, Update> patch) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        MongoPersistentProperty versionProperty = entity.getRequiredVersionProperty();
+        MongoPersistentProperty lastModified = entity.getPersistentProperty(LastModifiedDate.class);
+
+        Bulkhead bulkhead = bulkheads.forDomainType(type);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            T current = bulkhead.call(() -> mongoTemplate.findById(id, type));
+            if (current == null) {
+                return Optional.empty();
+            }
+
+            Update update = patch.apply(current);
+            if (update == null || update.getUpdateObject().isEmpty()) {
+                return Optional.of(current);
+            }
+
+            Object version = entity.getPropertyAccessor(current).getProperty(versionProperty);
+            update.inc(versionProperty.getName(), 1);
+            if (lastModified != null) {
+                // findAndModify bypasses auditing
+                update.set(lastModified.getName(), LocalDateTime.now());
+            }
+
+            T updated = bulkhead.call(() -> mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(id).and(versionProperty.getName()).is(version)),
+                    update,
+                    FindAndModifyOptions.options().returnNew(true),
+                    type));
+            if (updated != null) {
+                return Optional.of(updated);
+            }
+            log.debug("Version conflict patching {} {} (attempt {})", type.getSimpleName(), id, attempt);
+        }
+
+        throw new OptimisticLockingFailureException(
+                type.getSimpleName() + " " + id + " is being changed concurrently, please try again");
+    }
+
+    /**
+     * Atomically adds {@code delta} to a numeric field without reading the document first.
+     * Increments commute, so they need no version check, but they still bump the version so a
+     * stale copy can no longer be saved over them.
+     *
+     * @param guard extra conditions the document must meet, or {@code null}
+     * @return whether a document matched
+     */
+    public <T> boolean increment(Class<T> type, String id, String field, long delta, Criteria guard) {
+        return increment(type, id, field, delta, guard, new Update());
+    }
+
+    /**
+     * Like {@link #increment(Class, String, String, long, Criteria)}, applying {@code also} in the same write.
+     */
+    public <T> boolean increment(Class<T> type, String id, String field, long delta, Criteria guard, Update also) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        Criteria criteria = Criteria.where("_id").is(id);
+        Query query = Query.query(guard != null ? new Criteria().andOperator(criteria, guard) : criteria);
+        Update update = also.inc(field, delta).inc(entity.getRequiredVersionProperty().getName(), 1);
+        return bulkheads.forDomainType(type).call(() -> mongoTemplate.updateFirst(query, update, type)).getMatchedCount() > 0;
+    }
+
+    /**
+     * Adds {@code $set key = value} to the update when the value actually changes.
+     */
+    public static Update setIfChanged(Update update, String key, Object current, Object value) {
+        return Objects.equals(current, value) ? update : update.set(key, value);
+    }
+}
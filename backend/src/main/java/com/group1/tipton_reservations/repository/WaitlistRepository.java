@@ -0,0 +1,46 @@
+package com.group1.tipton_reservations.repository;
+
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for waitlist entries.
+ */
+@Repository
+public interface WaitlistRepository extends MongoRepository<WaitlistEntry, String> {
+
+    /**
+     * Find a user's entries, newest first.
+     *
+     * @param userId the user ID
+     * @return the user's waitlist entries
+     */
+    List<WaitlistEntry> findByUserIdOrderByCreatedAtDesc(String userId);
+
+    /**
+     * Check whether a user already has an active entry for the same stay.
+     */
+    boolean existsByUserIdAndRoomTypeIdAndCheckInDateAndCheckOutDateAndStatusIn(
+            String userId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate,
+            Collection<WaitlistStatus> statuses);
+
+    /**
+     * Find the waiting entries of one room type that joined at or after a point in time.
+     * Used to bring an instance's in-memory waitlist index up to date.
+     *
+     * @param propertyId the property the room type belongs to
+     * @param roomTypeId the room type ID
+     * @param status the entry status (WAITING)
+     * @param createdAt the earliest join time to return
+     * @return matching entries
+     */
+    List<WaitlistEntry> findByPropertyIdAndRoomTypeIdAndStatusAndCreatedAtGreaterThanEqual(
+            String propertyId, String roomTypeId, WaitlistStatus status, LocalDateTime createdAt);
+}
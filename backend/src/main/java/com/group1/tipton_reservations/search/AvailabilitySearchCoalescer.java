@@ -0,0 +1,99 @@
+package com.group1.tipton_reservations.search;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeAvailabilityResponse;
+import com.group1.tipton_reservations.reads.CausalSession;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lets identical availability searches share one computation.
+ * <p>
+ * The first request for a (property, dates, guests, fields) combination computes the result on
+ * its own thread; requests for the same combination that arrive meanwhile wait for it instead
+ * of querying again, and for {@code tipton.search.coalesce-ttl-ms} afterwards they get the
+ * finished result straight away. A booking event drops every entry whose stay overlaps it, via
+ * {@link #invalidate}, so the window only bounds staleness on other instances.
+ * </p>
+ * Requests in a causal session skip all this: they were promised their own writes, which a
+ * result computed for someone else cannot guarantee.
+ */
+@Component
+@Slf4j
+public class AvailabilitySearchCoalescer {
+
+    private final AsyncCache<Key, List<RoomTypeAvailabilityResponse>> results;
+    private final Counter shared;
+
+    public AvailabilitySearchCoalescer(MeterRegistry meterRegistry,
+                                       @Value("${tipton.search.coalesce-ttl-ms:300}") long ttlMs,
+                                       @Value("${tipton.search.coalesce-max-entries:10000}") long maxEntries) {
+        // an in-flight future never expires; the window starts when it completes
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxEntries)
+                .buildAsync();
+        this.shared = Counter.builder("tipton.search.coalesced")
+                .description("Availability searches answered by another request's computation")
+                .register(meterRegistry);
+    }
+
+    public List<RoomTypeAvailabilityResponse> search(String propertyId, LocalDate checkInDate, LocalDate checkOutDate,
+                                                     int guests, String fieldsKey,
+                                                     Supplier<List<RoomTypeAvailabilityResponse>> compute) {
+        if (CausalSession.current() != null) {
+            return compute.get();
+        }
+
+        Key key = new Key(propertyId, checkInDate, checkOutDate, guests, fieldsKey);
+        CompletableFuture<List<RoomTypeAvailabilityResponse>> mine = new CompletableFuture<>();
+        CompletableFuture<List<RoomTypeAvailabilityResponse>> running = results.asMap().putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            try {
+                return running.join();
+            } catch (CancellationException | CompletionException e) {
+                // the leader's failure is the leader's to report; try on our own
+                log.debug("Coalesced availability search failed, recomputing");
+                return compute.get();
+            }
+        }
+
+        try {
+            List<RoomTypeAvailabilityResponse> result = List.copyOf(compute.get());
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.cancel(false); // dropped from the cache; cancelling rather than failing keeps Caffeine from logging it
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached searches of a property whose stay overlaps {@code [checkInDate, checkOutDate)}.
+     */
+    public void invalidate(String propertyId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (propertyId == null || checkInDate == null || checkOutDate == null) {
+            return;
+        }
+        results.asMap().keySet().removeIf(key -> key.propertyId().equals(propertyId)
+                && key.checkInDate().isBefore(checkOutDate) && key.checkOutDate().isAfter(checkInDate));
+    }
+
+    private record Key(String propertyId, LocalDate checkInDate, LocalDate checkOutDate, int guests, String fieldsKey) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.group1.tipton_reservations.search;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.group1.tipton_reservations.model.RoomBlock;
+
+/**
+ * Immutable view of one property's current and future room blocks.
+ * <p>
+ * Blocks are sorted by first night, so a lookup stops at the first block that starts after the
+ * stay; there are few of them per property, so that beats anything cleverer. Built by
+ * {@link RoomBlockIndex}; availability checks add {@link #blockedRoomIds} to the rooms they
+ * found booked, so a blocked room drops out in the same pass.
+ * </p>
+ */
+public final class RoomBlockCalendar {
+
+    static final RoomBlockCalendar EMPTY = new RoomBlockCalendar(List.of());
+
+    private final List<RoomBlock> blocks;
+
+    RoomBlockCalendar(Collection<RoomBlock> blocks) {
+        this.blocks = blocks.stream()
+            .sorted(Comparator.comparing(RoomBlock::getStartDate))
+            .toList();
+    }
+
+    /**
+     * Rooms with at least one blocked night in {@code [checkInDate, checkOutDate)}.
+     */
+    public Set<String> blockedRoomIds(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (blocks.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> blocked = new HashSet<>();
+        for (RoomBlock block : blocks) {
+            if (!block.getStartDate().isBefore(checkOutDate)) {
+                break;
+            }
+            if (block.getEndDate().isAfter(checkInDate)) {
+                blocked.add(block.getRoomId());
+            }
+        }
+        return blocked;
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.group1.tipton_reservations.search;
+
+import java.util.List;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.RoomBlock;
+import com.group1.tipton_reservations.repository.RoomBlockRepository;
+import com.group1.tipton_reservations.service.PropertyService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds and caches one {@link RoomBlockCalendar} per property.
+ * <p>
+ * Rooms are taken out of order rarely, so the calendar is loaded with one query on a miss and
+ * then served from the {@code roomBlocks} cache; availability searches never query blocks
+ * themselves. Every block write evicts the property's entry through {@link #evict}, which the
+ * cache bus carries to the other instances. Assigning a room re-checks the blocks on the
+ * primary under the room's lease, so a stale calendar can only make a search optimistic.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomBlockIndex {
+
+    private final RoomBlockRepository roomBlockRepository;
+    private final PropertyService propertyService;
+
+    /**
+     * @param propertyId an already resolved property id
+     */
+    @Cacheable(cacheNames = "roomBlocks", key = "#propertyId")
+    public RoomBlockCalendar forProperty(String propertyId) {
+        // a stay can't start before today, so blocks that ended by then never matter again
+        List<RoomBlock> blocks = roomBlockRepository.findByPropertyIdAndEndDateAfter(
+            propertyId, propertyService.policyFor(propertyId).today());
+        return blocks.isEmpty() ? RoomBlockCalendar.EMPTY : new RoomBlockCalendar(blocks);
+    }
+
+    /**
+     * Drops the property's calendar after its blocks changed.
+     *
+     * @param propertyId an already resolved property id
+     */
+    @CacheEvict(cacheNames = "roomBlocks", key = "#propertyId")
+    public void evict(String propertyId) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.group1.tipton_reservations.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.repository.AmenityRepository;
+import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.repository.RoomTypeRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds and caches one {@link RoomTypeFacets} per property.
+ * <p>
+ * The catalog changes rarely, so the index is rebuilt from three queries on a miss and then
+ * served from the {@code roomTypeFacets} cache. Every room type and room write evicts the
+ * whole cache, which the cache bus carries to the other instances.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomTypeFacetIndex {
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomRepository roomRepository;
+    private final AmenityRepository amenityRepository;
+
+    @Value("${tipton.search.price-bands:100,150,200,300}")
+    private List<BigDecimal> priceBands;
+
+    /**
+     * @param propertyId an already resolved property id
+     */
+    @Cacheable(cacheNames = "roomTypeFacets", key = "#propertyId")
+    public RoomTypeFacets forProperty(String propertyId) {
+        List<RoomType> roomTypes = new ArrayList<>(roomTypeRepository.findByPropertyId(propertyId));
+        roomTypes.sort(Comparator.comparing(RoomType::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        Map<String, Set<String>> roomIdsByType = new HashMap<>();
+        for (Room room : roomRepository.findByPropertyId(propertyId)) {
+            roomIdsByType.computeIfAbsent(room.getRoomTypeId(), id -> new HashSet<>()).add(room.getId());
+        }
+        List<Set<String>> roomIds = roomTypes.stream()
+            .map(roomType -> Set.copyOf(roomIdsByType.getOrDefault(roomType.getId(), Set.of())))
+            .toList();
+
+        List<BigDecimal> edges = priceBands.stream().distinct().sorted().toList();
+        return new RoomTypeFacets(roomTypes, roomIds, amenityRepository.findAll(), edges);
+    }
+}
@@ -0,0 +1,231 @@
+package com.group1.tipton_reservations.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.group1.tipton_reservations.model.Amenity;
+import com.group1.tipton_reservations.model.RoomType;
+
+/**
+ * Immutable bitset index over one property's room types.
+ * <p>
+ * Room types are numbered 0..n-1 (their ordinals, in name order) and every facet value is
+ * a {@link BitSet} over those ordinals: one per amenity, one per price band and one per
+ * "sleeps at least n" capacity. A search is then an intersection of masks and every facet
+ * count a cardinality, with no per-room-type work beyond the final page. Built from the
+ * catalog by {@link RoomTypeFacetIndex}; callers must not modify the masks it hands out.
+ * </p>
+ */
+public final class RoomTypeFacets {
+
+    private final List<RoomType> roomTypes;
+    private final List<Set<String>> roomIds;
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Amenity> amenities;
+    private final Map<String, BitSet> amenityMasks = new HashMap<>();
+    private final List<BigDecimal> bandEdges;
+    private final BitSet[] priceBandMasks;
+    private final BitSet[] capacityMasks; // [n] = sleeps at least n
+    private final int[] byPrice;
+    private final int[] byCapacity;
+    private final BitSet all;
+
+    RoomTypeFacets(List<RoomType> roomTypes, List<Set<String>> roomIds, List<Amenity> amenities, List<BigDecimal> bandEdges) {
+        this.roomTypes = List.copyOf(roomTypes);
+        this.roomIds = List.copyOf(roomIds);
+        this.bandEdges = List.copyOf(bandEdges);
+        int n = roomTypes.size();
+        this.all = new BitSet(n);
+        all.set(0, n);
+
+        int maxCapacity = 0;
+        for (int o = 0; o < n; o++) {
+            RoomType roomType = roomTypes.get(o);
+            ordinals.put(roomType.getId(), o);
+            for (String amenityId : roomType.getAmenityIds() == null ? List.<String>of() : roomType.getAmenityIds()) {
+                amenityMasks.computeIfAbsent(amenityId, id -> new BitSet(n)).set(o);
+            }
+            maxCapacity = Math.max(maxCapacity, capacity(roomType));
+        }
+
+        // only amenities some room type here actually has are facets
+        this.amenities = amenities.stream().filter(a -> amenityMasks.containsKey(a.getId())).toList();
+
+        this.priceBandMasks = new BitSet[bandEdges.size() + 1];
+        for (int b = 0; b < priceBandMasks.length; b++) {
+            priceBandMasks[b] = new BitSet(n);
+        }
+        for (int o = 0; o < n; o++) {
+            priceBandMasks[band(price(roomTypes.get(o)))].set(o);
+        }
+
+        this.capacityMasks = new BitSet[maxCapacity + 1];
+        for (int c = 0; c <= maxCapacity; c++) {
+            capacityMasks[c] = new BitSet(n);
+            for (int o = 0; o < n; o++) {
+                if (capacity(roomTypes.get(o)) >= c) {
+                    capacityMasks[c].set(o);
+                }
+            }
+        }
+
+        this.byPrice = ordinalsSortedBy(Comparator.comparing(RoomTypeFacets::price));
+        this.byCapacity = ordinalsSortedBy(Comparator.comparingInt(RoomTypeFacets::capacity).reversed());
+    }
+
+    public int size() {
+        return roomTypes.size();
+    }
+
+    public RoomType roomType(int ordinal) {
+        return roomTypes.get(ordinal);
+    }
+
+    public Set<String> roomIds(int ordinal) {
+        return roomIds.get(ordinal);
+    }
+
+    public Integer ordinalOf(String roomTypeId) {
+        return ordinals.get(roomTypeId);
+    }
+
+    public List<Amenity> amenities() {
+        return amenities;
+    }
+
+    public List<BigDecimal> bandEdges() {
+        return bandEdges;
+    }
+
+    public int maxCapacity() {
+        return capacityMasks.length - 1;
+    }
+
+    public BitSet all() {
+        return (BitSet) all.clone();
+    }
+
+    /**
+     * Room types that have every one of the amenities.
+     */
+    public BitSet withAmenities(Collection<String> amenityIds) {
+        BitSet mask = all();
+        for (String amenityId : amenityIds) {
+            mask.and(amenityMask(amenityId));
+        }
+        return mask;
+    }
+
+    public BitSet amenityMask(String amenityId) {
+        return amenityMasks.getOrDefault(amenityId, new BitSet());
+    }
+
+    /**
+     * Room types sleeping at least {@code guests}.
+     */
+    public BitSet capacityMask(int guests) {
+        if (guests <= 0) {
+            return all;
+        }
+        return guests < capacityMasks.length ? capacityMasks[guests] : new BitSet();
+    }
+
+    /**
+     * Room types whose base price is in band {@code b}: {@code [edge(b-1), edge(b))}, open-ended at both ends.
+     */
+    public BitSet priceBandMask(int band) {
+        return priceBandMasks[band];
+    }
+
+    public int priceBands() {
+        return priceBandMasks.length;
+    }
+
+    /**
+     * Room types priced within {@code [min, max]}; either bound may be null. Found by binary
+     * search over the price order, so arbitrary bounds need no band alignment.
+     */
+    public BitSet priceMask(BigDecimal min, BigDecimal max) {
+        if (min == null && max == null) {
+            return all;
+        }
+        int from = min == null ? 0 : firstPriceAtLeast(min, false);
+        int to = max == null ? byPrice.length : firstPriceAtLeast(max, true);
+        BitSet mask = new BitSet(size());
+        for (int i = from; i < to; i++) {
+            mask.set(byPrice[i]);
+        }
+        return mask;
+    }
+
+    /**
+     * The set ordinals of {@code mask}, in the given order.
+     */
+    public List<Integer> ordered(BitSet mask, RoomTypeSort sort) {
+        List<Integer> result = new ArrayList<>(mask.cardinality());
+        switch (sort) {
+            case PRICE_ASC -> collect(byPrice, mask, result, false);
+            case PRICE_DESC -> collect(byPrice, mask, result, true);
+            case CAPACITY_DESC -> collect(byCapacity, mask, result, false);
+            case NAME -> mask.stream().forEach(result::add);
+        }
+        return result;
+    }
+
+    private static void collect(int[] order, BitSet mask, List<Integer> result, boolean reversed) {
+        for (int i = 0; i < order.length; i++) {
+            int ordinal = order[reversed ? order.length - 1 - i : i];
+            if (mask.get(ordinal)) {
+                result.add(ordinal);
+            }
+        }
+    }
+
+    // index of the first room type (in price order) priced >= bound, or > bound when exclusive
+    private int firstPriceAtLeast(BigDecimal bound, boolean exclusive) {
+        int lo = 0;
+        int hi = byPrice.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = price(roomTypes.get(byPrice[mid])).compareTo(bound);
+            if (c < 0 || (exclusive && c == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int band(BigDecimal price) {
+        int b = 0;
+        while (b < bandEdges.size() && price.compareTo(bandEdges.get(b)) >= 0) {
+            b++;
+        }
+        return b;
+    }
+
+    private int[] ordinalsSortedBy(Comparator<RoomType> comparator) {
+        List<Integer> order = new ArrayList<>(size());
+        for (int o = 0; o < size(); o++) {
+            order.add(o);
+        }
+        order.sort(Comparator.comparing(roomTypes::get, comparator));
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static BigDecimal price(RoomType roomType) {
+        return roomType.getBasePrice() != null ? roomType.getBasePrice() : BigDecimal.ZERO;
+    }
+
+    private static int capacity(RoomType roomType) {
+        return roomType.getMaxOccupancy() != null ? roomType.getMaxOccupancy() : 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.group1.tipton_reservations.search;
+
+/**
+ * Result orders for the room-type search.
+ */
+public enum RoomTypeSort {
+    PRICE_ASC,
+    PRICE_DESC,
+    CAPACITY_DESC,
+    NAME;
+
+    /**
+     * Parses {@code price_asc}, {@code price-desc}, {@code NAME}, ...; null means the default order.
+     *
+     * @throws IllegalArgumentException for an unknown order
+     */
+    public static RoomTypeSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return PRICE_ASC;
+        }
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.group1.tipton_reservations.security;
 
+import com.group1.tipton_reservations.logging.RateLimitedLogger;
 import com.group1.tipton_reservations.service.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,6 +21,8 @@ import java.io.IOException;
 @Component 
 public class AuthTokenFilter extends OncePerRequestFilter {
 
+    private final RateLimitedLogger authFailures = new RateLimitedLogger(LoggerFactory.getLogger(AuthTokenFilter.class), 20, 60_000);
+
     @Autowired
     private JwtUtils jwtUtils;
 
@@ -47,7 +51,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            System.err.println("Cannot set user authentication: " + e);
+            authFailures.warn("Cannot set user authentication: {}", e.toString());
         }
 
         filterChain.doFilter(request, response);
@@ -1,5 +1,6 @@
 package com.group1.tipton_reservations.security;
 
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
 import com.group1.tipton_reservations.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Component;
 public class BookingSecurity {
 
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
 
     /**
      * Checks if the current authenticated user owns the specified booking.
@@ -46,6 +48,7 @@ public class BookingSecurity {
         String currentUserId = principal.getUser().getId();
 
         return bookingRepository.findById(bookingId)
+                .or(() -> archivedBookingRepository.findById(bookingId))
                 .map(booking -> booking.getUserId().equals(currentUserId))
                 .orElse(false);
     }
@@ -77,6 +80,7 @@ public class BookingSecurity {
         String currentUserId = principal.getUser().getId();
 
         return bookingRepository.findByConfirmationNumber(confirmationNumber)
+                .or(() -> archivedBookingRepository.findByConfirmationNumber(confirmationNumber))
                 .map(booking -> booking.getUserId().equals(currentUserId))
                 .orElse(false);
     }
@@ -12,6 +12,8 @@ import java.util.stream.Collectors;
 
 public class HotelUserPrincipal implements UserDetails, OAuth2User {
 
+    private static final long serialVersionUID = 1L;
+
     private final User user;
     private Map<String, Object> attributes;
 
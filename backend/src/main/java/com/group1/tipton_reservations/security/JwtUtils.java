@@ -3,11 +3,13 @@ package com.group1.tipton_reservations.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import com.group1.tipton_reservations.logging.RateLimitedLogger;
 import com.group1.tipton_reservations.model.User;
 
 import java.security.Key;
@@ -19,6 +21,9 @@ import java.util.stream.Collectors;
 @Component
 public class JwtUtils {
 
+    // any client can send a bad token on every request, so cap how much of the log that can claim
+    private final RateLimitedLogger authFailures = new RateLimitedLogger(LoggerFactory.getLogger(JwtUtils.class), 20, 60_000);
+
     @Value("${tipton.app.jwtSecret}")
     private String jwtSecret;
 
@@ -75,13 +80,13 @@ public class JwtUtils {
             Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
             return true;
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
+            authFailures.warn("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
+            authFailures.warn("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            authFailures.warn("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            authFailures.warn("JWT claims string is empty: {}", e.getMessage());
         }
 
         return false;
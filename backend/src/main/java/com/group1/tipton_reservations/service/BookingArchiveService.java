@@ -0,0 +1,159 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
+import com.mongodb.client.result.DeleteResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves finished bookings from {@code bookings} to {@code bookings_archive} so the live
+ * collection (and the indexes every availability query uses) only holds current stays.
+ * <p>
+ * A booking is archived once its check-out date is more than {@code checkout-grace-days}
+ * behind, or once it has sat in a terminal state for {@code terminal-age-days}. Work is done
+ * in small batches with a pause in between so the job never competes with booking traffic.
+ * Each batch is copy-then-delete with an idempotent upsert, so a run that dies half way
+ * simply picks up the remaining documents next time.
+ * </p>
+ */
+@Service
+@Slf4j
+public class BookingArchiveService {
+
+    static final String LIVE_COLLECTION = "bookings";
+    private static final List<String> TERMINAL_STATUSES = List.of(
+            BookingStatus.COMPLETED.name(), BookingStatus.CANCELLED.name(), BookingStatus.VOIDED.name());
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${tipton.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${tipton.archive.checkout-grace-days:1}")
+    private int checkoutGraceDays;
+
+    @Value("${tipton.archive.terminal-age-days:30}")
+    private int terminalAgeDays;
+
+    @Value("${tipton.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${tipton.archive.pause-ms:250}")
+    private long pauseMs;
+
+    @Value("${tipton.archive.max-batches-per-run:400}")
+    private int maxBatchesPerRun;
+
+    public BookingArchiveService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Scheduled(cron = "${tipton.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveEligibleBookings();
+        }
+    }
+
+    /**
+     * Archives eligible bookings until none are left or the per-run batch budget is spent.
+     *
+     * @return number of bookings moved to the archive
+     */
+    public long archiveEligibleBookings() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Booking archival already running, skipping");
+            return 0;
+        }
+        long moved = 0;
+        long start = System.nanoTime();
+        try {
+            Criteria eligible = eligibleCriteria();
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int movedInBatch = archiveBatch(eligible);
+                moved += movedInBatch;
+                if (movedInBatch == 0) {
+                    break;
+                }
+                pause();
+            }
+        } catch (RuntimeException e) {
+            log.error("Booking archival stopped after {} bookings: {}", moved, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        log.info("Archived {} bookings in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+        return moved;
+    }
+
+    private Criteria eligibleCriteria() {
+        LocalDate checkoutCutoff = LocalDate.now().minusDays(checkoutGraceDays);
+        LocalDateTime terminalCutoff = LocalDateTime.now().minusDays(terminalAgeDays);
+        // bookings with undelivered events stay live until the outbox relay has drained them
+        return new Criteria().andOperator(
+                new Criteria().orOperator(
+                        Criteria.where("checkOutDate").lt(checkoutCutoff),
+                        Criteria.where("status").in(TERMINAL_STATUSES).and("updatedAt").lt(terminalCutoff)),
+                Criteria.where("outbox.0").exists(false));
+    }
+
+    private int archiveBatch(Criteria eligible) {
+        Query query = Query.query(eligible).with(Sort.by("_id")).limit(batchSize);
+        List<Document> bookings = mongoTemplate.find(query, Document.class, LIVE_COLLECTION);
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        Date archivedAt = new Date();
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ArchivedBookingRepository.COLLECTION);
+        for (Document booking : bookings) {
+            booking.put("archivedAt", archivedAt);
+            copy.replaceOne(Query.query(Criteria.where("_id").is(booking.get("_id"))), booking,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        copy.execute();
+
+        List<Object> ids = bookings.stream().map(booking -> booking.get("_id")).toList();
+        // re-check eligibility so a booking touched since it was read stays live
+        DeleteResult deleted = mongoTemplate.remove(
+                Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), eligible)), LIVE_COLLECTION);
+
+        if (deleted.getDeletedCount() < ids.size()) {
+            List<Object> stillLive = mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), Document.class, LIVE_COLLECTION)
+                    .stream().map(booking -> booking.get("_id")).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(stillLive)), ArchivedBookingRepository.COLLECTION);
+        }
+        return (int) deleted.getDeletedCount();
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while archiving bookings", e);
+        }
+    }
+}
@@ -5,39 +5,59 @@ import com.group1.tipton_reservations.dto.booking.CreateBookingRequest;
 import com.group1.tipton_reservations.dto.booking.ModifyBookingPaymentIntentRequest;
 import com.group1.tipton_reservations.dto.booking.ModifyBookingRequest;
 import com.group1.tipton_reservations.dto.payment.PaymentIntentResponse;
+import com.group1.tipton_reservations.events.BookingOutboxRelay;
+import com.group1.tipton_reservations.fields.FieldSelection;
+import com.group1.tipton_reservations.metrics.BookingMetrics;
 import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.BookingEvent;
 import com.group1.tipton_reservations.model.Payment;
 import com.group1.tipton_reservations.model.Room;
 import com.group1.tipton_reservations.model.RoomType;
 import com.group1.tipton_reservations.model.User;
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
 import com.group1.tipton_reservations.model.enums.BookingStatus;
 import com.group1.tipton_reservations.model.enums.PaymentStatus;
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
 import com.group1.tipton_reservations.repository.BookingRepository;
 import com.group1.tipton_reservations.repository.PaymentRepository;
+import com.group1.tipton_reservations.repository.RoomBlockRepository;
+import com.group1.tipton_reservations.repository.RoomBusyException;
+import com.group1.tipton_reservations.repository.RoomLocks;
+import com.group1.tipton_reservations.repository.VersionedPatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import java.math.RoundingMode;
 import com.stripe.model.PromotionCode;
 
 
@@ -47,27 +67,61 @@ import com.stripe.model.PromotionCode;
 @Slf4j
 public class BookingService {
 
-    // Hotel timezone - all booking operations use this timezone for consistency
-    private static final ZoneId HOTEL_TIMEZONE = ZoneId.of("America/Los_Angeles"); // Pacific Standard Time (for CA)
-    private static final int CHECK_IN_HOUR = 15; // 3:00 PM check-in time
-
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final PaymentRepository paymentRepository;
     private final UserService userService;
     private final RoomTypeService roomTypeService;
     private final RoomService roomService;
     private final StripeService stripeService;
+    private final BookingMetrics bookingMetrics;
+    private final BookingStateMachine bookingStateMachine;
+    private final VersionedPatcher versionedPatcher;
+    private final BookingOutboxRelay bookingOutboxRelay;
+    private final RoomLocks roomLocks;
+    private final RoomBlockRepository roomBlockRepository;
+    private final PropertyService propertyService; // timezone and check-in time per hotel
+
+    private static final String[] GUEST_FIELDS = { "guestFirstName", "guestLastName", "guestEmail" };
+    private static final String[] ROOM_TYPE_FIELDS = { "roomTypeName", "roomTypeImageUrls", "roomTypeMaxOccupancy" };
+
+    // response fields that are not copied from a booking field of the same name
+    private static final Map<String, List<String>> DOCUMENT_SOURCES = Map.of(
+            "guestFirstName", List.of("userId"),
+            "guestLastName", List.of("userId"),
+            "guestEmail", List.of("userId"),
+            "roomTypeName", List.of("roomTypeId"),
+            "roomTypeImageUrls", List.of("roomTypeId"),
+            "roomTypeMaxOccupancy", List.of("roomTypeId"),
+            "roomNumber", List.of("roomId"),
+            "holdExpiresAt", List.of("holdExpiresAt", "status"));
+
+    // booking fields a page may be sorted by, and how to read them when merging the tiers in memory
+    private static final Map<String, Function<Booking, Comparable<?>>> SORT_KEYS = Map.of(
+            "createdAt", Booking::getCreatedAt,
+            "updatedAt", Booking::getUpdatedAt,
+            "checkInDate", Booking::getCheckInDate,
+            "checkOutDate", Booking::getCheckOutDate,
+            "totalPrice", Booking::getTotalPrice,
+            "status", Booking::getStatus,
+            "confirmationNumber", Booking::getConfirmationNumber,
+            "numberOfGuests", Booking::getNumberOfGuests);
+
+    @Value("${tipton.holds.pending-minutes:30}")
+    private long pendingHoldMinutes;
+
+    @Value("${tipton.holds.offer-minutes:120}")
+    private long offerHoldMinutes;
 
     /**
      * Creates a new booking.
-     * Uses @Transactional to prevent race conditions and ensure atomicity.
+     * The room is assigned under its {@link RoomLocks} lease, so concurrent requests cannot both take the same nights.
      *
      * @param request the booking creation request
      * @param userId the authenticated user's ID
      * @return the created booking response
      * @throws ResponseStatusException if validation fails or room is unavailable
      */
-    @Transactional
     public BookingResponse createBooking(CreateBookingRequest request, String userId) {
         // validate date range
         validateDateRange(request.getCheckInDate(), request.getCheckOutDate());
@@ -109,20 +163,8 @@ public class BookingService {
             );
         }
 
-        // find and assign an available room of this type
-        Room assignedRoom;
-        try {
-            assignedRoom = roomService.findAvailableRoom(
-                    request.getRoomTypeId(),
-                    request.getCheckInDate(),
-                    request.getCheckOutDate()
-            );
-        } catch (RuntimeException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.CONFLICT,
-                    "No rooms available for this room type during the selected dates"
-            );
-        }
+        // the booking lives in the property of its room type
+        String propertyId = propertyService.resolveId(roomType.getPropertyId());
 
         // calculate total price based on room type and number of nights
         BigDecimal totalPrice = calculateTotalPrice(
@@ -163,81 +205,208 @@ public class BookingService {
 
         // create booking entity
         Booking booking = new Booking();
+        booking.setPropertyId(propertyId);
         booking.setUserId(userId);
         booking.setRoomTypeId(request.getRoomTypeId());
-        booking.setRoomId(assignedRoom.getId());
         booking.setCheckInDate(request.getCheckInDate());
         booking.setCheckOutDate(request.getCheckOutDate());
         booking.setNumberOfGuests(request.getNumberOfGuests());
         booking.setStatus(BookingStatus.PENDING);  // Booking starts as PENDING until payment is confirmed
         booking.setConfirmationNumber(generateConfirmationNumber());
         booking.setTotalPrice(totalPrice);
-
-        // save booking (within transaction - ensures atomicity)
-        Booking savedBooking = bookingRepository.save(booking);
+        booking.setHoldExpiresAt(LocalDateTime.now().plusMinutes(pendingHoldMinutes));
+        booking.setOutbox(new ArrayList<>(List.of(BookingEvent.of(BookingEventType.CREATED, booking))));
+
+        // assign the first room of this type that is still free once we hold it
+        Booking savedBooking = roomService.findAvailableRooms(
+                        propertyId,
+                        request.getRoomTypeId(),
+                        request.getCheckInDate(),
+                        request.getCheckOutDate())
+                .stream()
+                .map(room -> {
+                    try {
+                        return insertIfFree(booking, room);
+                    } catch (RoomBusyException e) {
+                        return Optional.<Booking>empty(); // most likely being booked right now; try the next room
+                    }
+                })
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "No rooms available for this room type during the selected dates"
+                ));
+        bookingMetrics.bookingCreated();
+        bookingOutboxRelay.wake(savedBooking.getId());
 
         return mapToResponse(savedBooking);
     }
 
     /**
-     * Retrieves a booking by its ID.
+     * Inserts {@code booking} into {@code room} if none of its nights are held or blocked there
+     * yet, checked and written under the room's lease.
+     *
+     * @return the saved booking, or empty if the room is taken or out of order
+     * @throws RoomBusyException if the room's lease stayed busy, so it is not known whether it is free
+     */
+    private Optional<Booking> insertIfFree(Booking booking, Room room) {
+        return roomLocks.withRoomOrFail(room.getId(), () -> {
+            if (!bookingRepository.findOverlappingBookings(booking.getPropertyId(), room.getId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate()).isEmpty()
+                    || roomBlockRepository.existsOverlapping(booking.getPropertyId(), room.getId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate())) {
+                return Optional.empty();
+            }
+            booking.setRoomId(room.getId());
+            return Optional.of(bookingRepository.insert(booking));
+        });
+    }
+
+    /**
+     * Holds a released room for a waitlist entry as a PENDING booking at the room type's base
+     * price. The guest confirms it with a payment like any other booking; unpaid, it is voided
+     * when the offer window ends.
+     * Internal operation for the waitlist matcher; the entry must already be claimed as OFFERED.
+     *
+     * @param bookingId the id reserved for the hold when the entry was claimed
+     * @return the saved hold, or empty if the room was taken in the meantime
+     * @throws RoomBusyException if the room's lease stayed busy; the room may still be free, so try again later
+     */
+    public Optional<Booking> createOfferHold(String bookingId, WaitlistEntry entry, RoomType roomType, Room room) {
+        Booking booking = new Booking();
+        booking.setId(bookingId);
+        booking.setPropertyId(entry.getPropertyId());
+        booking.setUserId(entry.getUserId());
+        booking.setRoomTypeId(entry.getRoomTypeId());
+        booking.setCheckInDate(entry.getCheckInDate());
+        booking.setCheckOutDate(entry.getCheckOutDate());
+        booking.setNumberOfGuests(entry.getNumberOfGuests());
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setConfirmationNumber(generateConfirmationNumber());
+        booking.setTotalPrice(calculateTotalPrice(roomType.getBasePrice(), entry.getCheckInDate(), entry.getCheckOutDate()));
+        booking.setHoldExpiresAt(LocalDateTime.now().plusMinutes(offerHoldMinutes));
+        booking.setWaitlistEntryId(entry.getId());
+        booking.setOutbox(new ArrayList<>(List.of(BookingEvent.of(BookingEventType.CREATED, booking))));
+
+        Optional<Booking> savedBooking = insertIfFree(booking, room);
+        savedBooking.ifPresent(saved -> {
+            bookingMetrics.bookingCreated();
+            bookingOutboxRelay.wake(saved.getId());
+        });
+        return savedBooking;
+    }
+
+    /**
+     * Retrieves a booking by its ID, from the live or the archive tier.
      * Requires user to own the booking or be an admin
      *
      * @param bookingId the booking ID
+     * @param fields the response fields the caller wants; lookups for the others are skipped
      * @return the booking response
      * @throws ResponseStatusException if booking not found or unauthorized
      */
     @PreAuthorize("@bookingSecurity.isOwner(#bookingId)")
-    public BookingResponse getBookingById(String bookingId) {
+    public BookingResponse getBookingById(String bookingId, FieldSelection fields) {
         Booking booking = bookingRepository.findById(bookingId)
+                .or(() -> archivedBookingRepository.findById(bookingId))
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND,
                         "Booking not found with ID: " + bookingId
                 ));
 
-        return mapToResponse(booking);
+        return mapToResponse(booking, null, fields);
     }
 
     /**
-     * Retrieves a booking by its confirmation number.
+     * Retrieves a booking by its confirmation number, from the live or the archive tier.
      * Requires user to own the booking or be an admin
      *
      * @param confirmationNumber the booking confirmation number
+     * @param fields the response fields the caller wants; lookups for the others are skipped
      * @return the booking response
      * @throws ResponseStatusException if booking not found or unauthorized
      */
     @PreAuthorize("@bookingSecurity.isOwnerByConfirmation(#confirmationNumber)")
-    public BookingResponse getBookingByConfirmationNumber(String confirmationNumber) {
+    public BookingResponse getBookingByConfirmationNumber(String confirmationNumber, FieldSelection fields) {
         Booking booking = bookingRepository.findByConfirmationNumber(confirmationNumber)
+                .or(() -> archivedBookingRepository.findByConfirmationNumber(confirmationNumber))
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND,
                         "Booking not found with confirmation number: " + confirmationNumber
                 ));
 
-        return mapToResponse(booking);
+        return mapToResponse(booking, null, fields);
     }
 
     /**
-     * Retrieves all bookings for a user with pagination.
+     * Retrieves all bookings for a user with pagination, across the live and archive tiers.
+     * Users without archived bookings are served straight from the live collection.
      *
      * @param userId the user ID
      * @param pageable pagination information
+     * @param fields the response fields the caller wants; only the booking fields behind them are loaded
      * @return page of booking responses
      */
-    public Page<BookingResponse> getUserBookings(String userId, Pageable pageable) {
-        Page<Booking> bookings = bookingRepository.findByUserId(userId, pageable);
-        return bookings.map(this::mapToResponse);
+    public Page<BookingResponse> getUserBookings(String userId, Pageable pageable, FieldSelection fields) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORT_KEYS.containsKey(order.getProperty())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot sort bookings by " + order.getProperty());
+            }
+        }
+        long archived = archivedBookingRepository.countByUserId(userId);
+        if (archived == 0) {
+            Page<Booking> page = fields.isAll()
+                    ? bookingRepository.findByUserId(userId, pageable)
+                    : bookingRepository.findByUserId(userId, pageable, documentFields(fields, pageable.getSort()));
+            return page.map(booking -> mapToResponse(booking, null, fields));
+        }
+
+        // both tiers are read in page order up to the end of the requested page, then merged
+        int window = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("createdAt").descending();
+        Set<String> loaded = fields.isAll() ? null : documentFields(fields, sort);
+        Page<Booking> live = loaded == null
+                ? bookingRepository.findByUserId(userId, PageRequest.of(0, window, sort))
+                : bookingRepository.findByUserId(userId, PageRequest.of(0, window, sort), loaded);
+
+        List<Booking> merged = new ArrayList<>(live.getContent());
+        Set<String> liveIds = new HashSet<>();
+        live.forEach(booking -> liveIds.add(booking.getId()));
+        archivedBookingRepository.findByUserId(userId, sort, window, loaded).stream()
+                .filter(booking -> !liveIds.contains(booking.getId()))
+                .forEach(merged::add);
+        merged.sort(comparatorFor(sort));
+
+        List<BookingResponse> content = merged.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(booking -> mapToResponse(booking, null, fields))
+                .toList();
+        return new PageImpl<>(content, pageable, live.getTotalElements() + archived);
     }
 
     /**
      * Retrieves all bookings.
      * Admin-only operation.
      *
+     * @param fields the response fields the caller wants; only the booking fields behind them are loaded
      * @return list of booking responses
      */
     @PreAuthorize("hasRole('ADMIN')")
-    public List<BookingResponse> getAllBookings() {
-        List<Booking> bookings = bookingRepository.findAll();
+    public List<BookingResponse> getAllBookings(FieldSelection fields) {
+        List<Booking> bookings;
+        if (fields.isAll()) {
+            bookings = new ArrayList<>(bookingRepository.findAll());
+            bookings.addAll(archivedBookingRepository.findAll());
+        } else {
+            Set<String> loaded = documentFields(fields, Sort.unsorted());
+            bookings = new ArrayList<>(bookingRepository.findAll(loaded));
+            bookings.addAll(archivedBookingRepository.findAll(loaded));
+        }
+        if (!fields.includesAny(GUEST_FIELDS)) {
+            return bookings.stream().map(booking -> mapToResponse(booking, null, fields)).toList();
+        }
 
         List<String> userIds = bookings.stream()
                 .map(Booking::getUserId)
@@ -251,7 +420,7 @@ public class BookingService {
 
         // Map bookings to response, passing the specific user object
         return bookings.stream()
-                .map(booking -> mapToResponse(booking, userMap.get(booking.getUserId())))
+                .map(booking -> mapToResponse(booking, userMap.get(booking.getUserId()), fields))
                 .toList();
     }
 
@@ -281,65 +450,133 @@ public class BookingService {
                 request.getNumberOfGuests()
         );
 
-        // update booking dates
-        booking.setCheckInDate(request.getCheckInDate());
-        booking.setCheckOutDate(request.getCheckOutDate());
-        booking.setNumberOfGuests(request.getNumberOfGuests());
-
-        // recalculate total price based on new dates
+        LocalDate previousCheckIn = booking.getCheckInDate();
+        LocalDate previousCheckOut = booking.getCheckOutDate();
+        Integer previousGuests = booking.getNumberOfGuests();
         BigDecimal oldTotalPrice = booking.getTotalPrice();
-        booking.setTotalPrice(newTotalPrice);
-
-        // Handle price differences with Stripe
-        if (!newTotalPrice.equals(oldTotalPrice)) {
-            BigDecimal priceDifference = newTotalPrice.subtract(oldTotalPrice);
-
-            if (priceDifference.compareTo(BigDecimal.ZERO) < 0) {
-                // Price decreased - issue partial refund across payments
-                refundPaymentsForBooking(booking, priceDifference.abs());
-                log.info("Partial refund of ${} issued for booking {}",
-                        priceDifference.abs(), bookingId);
-            } else if (priceDifference.compareTo(BigDecimal.ZERO) > 0) {
-                // Price increased - require payment intent and verify
-                String paymentIntentId = request.getPaymentIntentId();
-                if (paymentIntentId == null || paymentIntentId.isBlank()) {
-                    throw new ResponseStatusException(
-                            HttpStatus.BAD_REQUEST,
-                            "Additional payment is required to extend this booking"
-                    );
-                }
+        BigDecimal priceDifference = newTotalPrice.subtract(oldTotalPrice);
+
+        // Price increased - require payment intent, verify it and claim it before touching the booking,
+        // so one payment can never pay for two modifications
+        String paymentIntentId = request.getPaymentIntentId();
+        boolean paymentClaimed = false;
+        if (priceDifference.compareTo(BigDecimal.ZERO) > 0) {
+            if (paymentIntentId == null || paymentIntentId.isBlank()) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Additional payment is required to extend this booking"
+                );
+            }
+            verifyPaymentIntentAmount(paymentIntentId, bookingId, priceDifference);
+            claimModificationPayment(booking, paymentIntentId, priceDifference);
+            paymentClaimed = true;
+        }
 
-                verifyPaymentIntentAmount(paymentIntentId, priceDifference);
+        // apply the new dates only if nobody modified or cancelled the booking since we read it;
+        // the room is checked again under its lease so a concurrent booking cannot take the new nights
+        Supplier<Optional<Booking>> applyNewDates = () -> {
+            ensureRoomFreeForModification(booking, request.getCheckInDate(), request.getCheckOutDate());
+            return bookingStateMachine.transition(
+                    bookingId,
+                    BookingStatus.CONFIRMED,
+                    BookingStatus.CONFIRMED,
+                    bookingValues(previousCheckIn, previousCheckOut, oldTotalPrice),
+                    new Update()
+                            .set("checkInDate", request.getCheckInDate())
+                            .set("checkOutDate", request.getCheckOutDate())
+                            .set("numberOfGuests", request.getNumberOfGuests())
+                            .set("totalPrice", newTotalPrice)
+                            .push("outbox", BookingEvent.modified(booking,
+                                    request.getCheckInDate(), request.getCheckOutDate(), newTotalPrice)));
+        };
+        Booking updatedBooking;
+        try {
+            updatedBooking = (booking.getRoomId() != null
+                    ? roomLocks.withRoom(booking.getRoomId(), applyNewDates)
+                    : applyNewDates.get()
+            ).orElseThrow(() -> new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Booking was changed by another request. Please reload it and try again"
+            ));
+        } catch (RuntimeException e) {
+            if (paymentClaimed) {
+                // the dates were not changed, so the payment is free to pay for another attempt
+                paymentRepository.deleteByStripePaymentIntentId(paymentIntentId);
+            }
+            throw e;
+        }
 
-                Payment payment = new Payment();
-                payment.setBookingId(booking.getId());
-                payment.setUserId(booking.getUserId());
-                payment.setStripePaymentIntentId(paymentIntentId);
-                payment.setAmount(priceDifference);
-                payment.setCurrency("usd");
-                payment.setStatus(PaymentStatus.COMPLETED);
-                paymentRepository.save(payment);
+        // Handle price differences with Stripe
+        if (priceDifference.compareTo(BigDecimal.ZERO) < 0) {
+            // Price decreased - issue partial refund across payments
+            try {
+                refundPaymentsForBooking(updatedBooking, priceDifference.abs());
+            } catch (RuntimeException e) {
+                restoreStayAfterFailedRefund(updatedBooking, previousCheckIn, previousCheckOut, previousGuests, oldTotalPrice);
+                throw e;
             }
+            log.info("Partial refund of ${} issued for booking {}",
+                    priceDifference.abs(), bookingId);
         }
 
-        // save updated booking
-        Booking updatedBooking = saveBookingWithRetry(
-                booking,
-                "Failed to update booking after processing modification payments. Please contact support with booking confirmation: " +
-                        booking.getConfirmationNumber()
-        );
+        bookingOutboxRelay.wake(bookingId);
 
         return mapToResponse(updatedBooking);
     }
 
+    /**
+     * Puts the old stay back after the refund for a shortened stay failed, rather than keep a
+     * shorter one that was never refunded. The old nights were released by the modification, so
+     * they are re-checked under the room's lease like any other assignment; if another booking
+     * took them meanwhile the shorter stay is kept and the conflict reported.
+     *
+     * @throws ResponseStatusException if the old stay could not be restored
+     */
+    private void restoreStayAfterFailedRefund(Booking modified, LocalDate previousCheckIn, LocalDate previousCheckOut,
+                                              Integer previousGuests, BigDecimal oldTotalPrice) {
+        String bookingId = modified.getId();
+        Supplier<Optional<Booking>> restore = () -> {
+            ensureRoomFreeForModification(modified, previousCheckIn, previousCheckOut);
+            return bookingStateMachine.revert(
+                    bookingId,
+                    BookingStatus.CONFIRMED,
+                    BookingStatus.CONFIRMED,
+                    bookingValues(modified.getCheckInDate(), modified.getCheckOutDate(), modified.getTotalPrice()),
+                    new Update()
+                            .set("checkInDate", previousCheckIn)
+                            .set("checkOutDate", previousCheckOut)
+                            .set("numberOfGuests", previousGuests)
+                            .set("totalPrice", oldTotalPrice)
+                            .push("outbox", BookingEvent.modified(modified,
+                                    previousCheckIn, previousCheckOut, oldTotalPrice)));
+        };
+
+        Optional<Booking> restored;
+        try {
+            restored = modified.getRoomId() != null ? roomLocks.withRoom(modified.getRoomId(), restore) : restore.get();
+        } catch (ResponseStatusException taken) {
+            restored = Optional.empty();
+        }
+        if (restored.isEmpty()) {
+            log.error("Modification of booking {} could not be rolled back after refund failure; "
+                    + "{} is owed for the shortened stay", bookingId, oldTotalPrice.subtract(modified.getTotalPrice()));
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "Your dates were changed but the refund failed and the original dates are no longer available. "
+                            + "Please contact support with booking confirmation: " + modified.getConfirmationNumber());
+        }
+        log.warn("Modification of booking {} rolled back after refund failure", bookingId);
+        bookingOutboxRelay.wake(bookingId);
+    }
+
     /**
      * Cancels a booking.
      * Requires user to own the booking or be an admin.
-     * Enforces 24-hour cancellation policy (using hotel's local timezone) and processes full refund.
+     * Enforces the property's cancellation notice period (in the hotel's local timezone) and processes full refund.
      *
      * @param bookingId the booking ID
      * @return the cancelled booking response
-     * @throws ResponseStatusException if booking not found, already cancelled, or within 24 hours of check-in
+     * @throws ResponseStatusException if booking not found, already cancelled, or inside the notice period
      */
     @PreAuthorize("@bookingSecurity.isOwner(#bookingId)")
     public BookingResponse cancelBooking(String bookingId) {
@@ -358,36 +595,63 @@ public class BookingService {
             );
         }
 
-        // Enforce 24-hour cancellation policy using HOTEL'S local timezone
+        // Enforce the cancellation notice period using the HOTEL'S local timezone
         // This ensures consistent policy enforcement regardless of user's timezone
-        ZonedDateTime nowHotelTime = ZonedDateTime.now(HOTEL_TIMEZONE);
-        ZonedDateTime checkInDateTime = booking.getCheckInDate()
-                .atTime(CHECK_IN_HOUR, 0)
-                .atZone(HOTEL_TIMEZONE);
-        long hoursUntilCheckIn = ChronoUnit.HOURS.between(nowHotelTime, checkInDateTime);
-
-        if (hoursUntilCheckIn < 24) {
+        PropertyPolicy policy = propertyService.policyFor(booking.getPropertyId());
+        if (!policy.acceptsChanges(booking.getCheckInDate())) {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy 'at' h:mm a z");
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
-                    "Cancellations must be made at least 24 hours before check-in time (hotel local time). " +
-                    "Check-in is at " + checkInDateTime.format(formatter)
+                    "Cancellations must be made at least " + policy.changeNoticeHours() +
+                    " hours before check-in time (hotel local time). " +
+                    "Check-in is at " + policy.checkInAt(booking.getCheckInDate()).format(formatter)
             );
         }
 
-        // Process Stripe refund for full remaining paid amount
-        refundPaymentsForBooking(booking, booking.getTotalPrice());
+        // Claim the cancellation before refunding so a concurrent cancel or modify cannot refund twice.
+        // CANCELLING still holds the room (repository checks for PENDING, CONFIRMED or CANCELLING),
+        // so the nights only go back on sale once the refund went through.
+        // The guard pins the stay we read, so the event carries exactly the stay that was cancelled.
+        // If this request never finishes, CancellationSweeper reconciles the booking from cancellingSince on.
+        BookingEvent cancelled = BookingEvent.of(BookingEventType.CANCELLED, booking);
+        Booking cancellingBooking = bookingStateMachine.transition(
+                bookingId,
+                BookingStatus.CONFIRMED,
+                BookingStatus.CANCELLING,
+                bookingValues(booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice()),
+                new Update().set("cancellingSince", LocalDateTime.now())
+        ).orElseThrow(() -> {
+            BookingStatus current = currentStatus(bookingId);
+            return current == BookingStatus.CONFIRMED
+                    ? new ResponseStatusException(
+                            HttpStatus.CONFLICT,
+                            "Booking was changed by another request. Please reload it and try again")
+                    : new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST,
+                            "Only CONFIRMED bookings can be cancelled. Current status: " + current);
+        });
 
-        // Update status to cancelled
-        // Implicitly makes room available for new bookings (repository checks for "PENDING" or "CONFIRMED")
-        booking.setStatus(BookingStatus.CANCELLED);
+        // Process Stripe refund for full remaining paid amount
+        try {
+            refundPaymentsForBooking(cancellingBooking, cancellingBooking.getTotalPrice());
+        } catch (RuntimeException e) {
+            // nothing was released, so the booking simply goes back to CONFIRMED
+            bookingStateMachine.revert(bookingId, BookingStatus.CONFIRMED, BookingStatus.CANCELLING, null,
+                            new Update().unset("cancellingSince"))
+                    .ifPresentOrElse(
+                            restored -> log.warn("Cancellation of booking {} rolled back after refund failure", bookingId),
+                            () -> log.error("Cancellation of booking {} could not be rolled back after refund failure", bookingId));
+            throw e;
+        }
 
-        // Save updated booking
-        Booking cancelledBooking = saveBookingWithRetry(
-                booking,
-                "Refund processed but booking cancellation could not be saved. Please contact support with booking confirmation: " +
-                        booking.getConfirmationNumber()
-        );
+        Booking cancelledBooking = bookingStateMachine.transition(
+                bookingId,
+                BookingStatus.CANCELLING,
+                BookingStatus.CANCELLED,
+                null,
+                new Update().unset("cancellingSince").push("outbox", cancelled)
+        ).orElseThrow(() -> new IllegalStateException("Booking " + bookingId + " left CANCELLING while its refund ran"));
+        bookingOutboxRelay.wake(bookingId);
 
         log.info("Booking {} cancelled successfully. Refund processed: {}",
                 bookingId, booking.getPaymentId() != null);
@@ -395,6 +659,71 @@ public class BookingService {
         return mapToResponse(cancelledBooking);
     }
 
+    /**
+     * Settles a cancellation whose request never did: the instance died while the refund ran, or
+     * the final write failed after Stripe refunded. Stripe's refunds decide the outcome. If none
+     * of the booking's payments was refunded beyond what is already recorded, nothing was given
+     * back and the booking returns to CONFIRMED, as a failed refund would have left it. Otherwise
+     * the recorded refunds are brought up to Stripe's, whatever is still unrefunded is refunded
+     * and the booking becomes CANCELLED with its event.
+     * Called by {@link CancellationSweeper} once it has taken the booking over.
+     *
+     * @param booking a CANCELLING booking as read by the sweeper
+     * @return the status the booking was moved to, or empty if it left CANCELLING meanwhile
+     * @throws com.stripe.exception.StripeException if Stripe's refunds cannot be read
+     */
+    public Optional<BookingStatus> reconcileCancellation(Booking booking) throws com.stripe.exception.StripeException {
+        String bookingId = booking.getId();
+        boolean refundedUnrecorded = false;
+        BigDecimal unrefunded = BigDecimal.ZERO;
+
+        List<Payment> payments = paymentRepository.findByBookingIdOrderByCreatedAtDesc(bookingId);
+        for (Payment payment : payments) {
+            if (payment.getStatus() == PaymentStatus.FAILED) {
+                continue;
+            }
+            BigDecimal recorded = payment.getRefundedAmount() != null ? payment.getRefundedAmount() : BigDecimal.ZERO;
+            BigDecimal onStripe = stripeService.getRefundedAmount(payment.getStripePaymentIntentId());
+            if (onStripe.compareTo(recorded) > 0) {
+                refundedUnrecorded = true;
+                versionedPatcher.patch(Payment.class, payment.getId(), current -> new Update()
+                        .set("refundedAmount", onStripe)
+                        .set("refundedAt", LocalDateTime.now())
+                        .set("status", onStripe.compareTo(current.getAmount()) >= 0
+                                ? PaymentStatus.REFUNDED
+                                : PaymentStatus.PARTIALLY_REFUNDED));
+            }
+            unrefunded = unrefunded.add(payment.getAmount().subtract(onStripe.max(recorded)));
+        }
+        if (payments.isEmpty() && booking.getPaymentId() != null) {
+            // paid before payments were recorded; the intent itself says what was captured
+            BigDecimal onStripe = stripeService.getRefundedAmount(booking.getPaymentId());
+            BigDecimal captured = BigDecimal.valueOf(stripeService.retrievePaymentIntent(booking.getPaymentId()).getAmount(), 2);
+            refundedUnrecorded = onStripe.signum() > 0;
+            unrefunded = captured.subtract(onStripe);
+        }
+
+        if (!refundedUnrecorded) {
+            Optional<Booking> restored = bookingStateMachine.revert(bookingId, BookingStatus.CONFIRMED,
+                    BookingStatus.CANCELLING, null, new Update().unset("cancellingSince"));
+            restored.ifPresent(b -> log.warn("Stuck cancellation of booking {} rolled back; nothing had been refunded", bookingId));
+            return restored.map(Booking::getStatus);
+        }
+
+        refundPaymentsForBooking(booking, unrefunded.min(booking.getTotalPrice()));
+        Optional<Booking> cancelled = bookingStateMachine.transition(
+                bookingId,
+                BookingStatus.CANCELLING,
+                BookingStatus.CANCELLED,
+                null,
+                new Update().unset("cancellingSince").push("outbox", BookingEvent.of(BookingEventType.CANCELLED, booking)));
+        cancelled.ifPresent(b -> {
+            bookingOutboxRelay.wake(bookingId);
+            log.warn("Stuck cancellation of booking {} completed from its Stripe refunds", bookingId);
+        });
+        return cancelled.map(Booking::getStatus);
+    }
+
     /**
      * Creates a PaymentIntent for booking modification if price increases.
      *
@@ -458,6 +787,27 @@ public class BookingService {
                         "Booking not found with ID: " + bookingId
                 ));
 
+        if (booking.getStatus() == BookingStatus.PENDING) {
+            // the guard pins the stay we read, so the event carries exactly the stay that was released
+            Optional<Booking> voided = bookingStateMachine.transition(
+                    bookingId,
+                    BookingStatus.PENDING,
+                    BookingStatus.VOIDED,
+                    bookingValues(booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice()),
+                    new Update().push("outbox", BookingEvent.of(BookingEventType.VOIDED, booking))
+            );
+            if (voided.isPresent()) {
+                bookingOutboxRelay.wake(bookingId);
+                return mapToResponse(voided.get());
+            }
+            booking.setStatus(currentStatus(bookingId));
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Booking was changed by another request. Please reload it and try again");
+            }
+        }
+
         if (booking.getStatus() == BookingStatus.VOIDED) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
@@ -472,17 +822,10 @@ public class BookingService {
             );
         }
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "Only PENDING bookings can be voided. Current status: " + booking.getStatus()
-            );
-        }
-
-        booking.setStatus(BookingStatus.VOIDED);
-        Booking voidedBooking = bookingRepository.save(booking);
-
-        return mapToResponse(voidedBooking);
+        throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Only PENDING bookings can be voided. Current status: " + booking.getStatus()
+        );
     }
 
     /**
@@ -540,41 +883,52 @@ public class BookingService {
             );
         }
 
-        // update status to confirmed and link payment
-        booking.setStatus(BookingStatus.CONFIRMED);
-        booking.setPaymentId(paymentIntentId);
-
-        //Added rewards calculation
-        try {
-            BigDecimal pointsEarned = booking.getTotalPrice()
-                    .divide(new BigDecimal("10"), 0, RoundingMode.FLOOR);
-            
-            userService.addRewardPoints(booking.getUserId(), pointsEarned.intValue());
-            
-            log.info("Awarded {} points to user {} for booking {}", 
-                    pointsEarned, booking.getUserId(), bookingId);
-        } catch (Exception e) {
-            //Logging so that we can see if reward points must be added to a user -- don't fail the whole transaction tho
-            log.error("Failed to award points for booking " + bookingId, e);
-        }
-
-        // save updated booking
-        Booking confirmedBooking = bookingRepository.save(booking);
-
-        if (paymentRepository.findByStripePaymentIntentId(paymentIntentId).isEmpty()) {
-            Payment payment = new Payment();
-            payment.setBookingId(confirmedBooking.getId());
-            payment.setUserId(confirmedBooking.getUserId());
-            payment.setStripePaymentIntentId(paymentIntentId);
-            payment.setAmount(confirmedBooking.getTotalPrice());
-            payment.setCurrency("usd");
-            payment.setStatus(PaymentStatus.COMPLETED);
-            paymentRepository.save(payment);
+        // update status to confirmed and link payment; only one concurrent confirm can win
+        Optional<Booking> confirmed = bookingStateMachine.transition(
+                bookingId,
+                BookingStatus.PENDING,
+                BookingStatus.CONFIRMED,
+                null,
+                new Update()
+                        .set("paymentId", paymentIntentId)
+                        .push("outbox", BookingEvent.of(BookingEventType.CONFIRMED, booking))
+        );
+        if (confirmed.isEmpty()) {
+            Booking current = bookingRepository.findById(bookingId).orElse(booking);
+            if (current.getStatus() == BookingStatus.CONFIRMED && paymentIntentId.equals(current.getPaymentId())) {
+                // a retried confirm for the same payment; the first may have stopped before recording it
+                recordPayment(current, paymentIntentId);
+                return mapToResponse(current);
+            }
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Can only confirm bookings with PENDING status. Current status: " + current.getStatus()
+            );
         }
+        Booking confirmedBooking = confirmed.get();
+
+        // reward points and stats follow from the CONFIRMED event
+        bookingOutboxRelay.wake(bookingId);
+
+        recordPayment(confirmedBooking, paymentIntentId);
 
         return mapToResponse(confirmedBooking);
     }
 
+    /**
+     * Records the completed payment for a confirmed booking, once per payment intent.
+     */
+    private void recordPayment(Booking booking, String paymentIntentId) {
+        Payment payment = new Payment();
+        payment.setBookingId(booking.getId());
+        payment.setUserId(booking.getUserId());
+        payment.setStripePaymentIntentId(paymentIntentId);
+        payment.setAmount(booking.getTotalPrice());
+        payment.setCurrency("usd");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        paymentRepository.insertIfAbsent(payment);
+    }
+
     /**
      * Validates that check-out date is after check-in date.
      *
@@ -611,6 +965,32 @@ public class BookingService {
         return basePrice.multiply(BigDecimal.valueOf(numberOfNights));
     }
 
+    /**
+     * Checks that no other booking holds, and no block covers, the booking's room on any of the new dates.
+     *
+     * @throws ResponseStatusException if the assigned room is taken for the new dates
+     */
+    private void ensureRoomFreeForModification(Booking booking, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (booking.getRoomId() == null) {
+            return;
+        }
+        String propertyId = propertyService.resolveId(booking.getPropertyId());
+        boolean taken = bookingRepository.findOverlappingBookings(
+                        propertyId,
+                        booking.getRoomId(),
+                        checkInDate,
+                        checkOutDate
+                ).stream()
+                .anyMatch(b -> !b.getId().equals(booking.getId())) // the booking may overlap its own old dates
+                || roomBlockRepository.existsOverlapping(propertyId, booking.getRoomId(), checkInDate, checkOutDate);
+        if (taken) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "The assigned room is not available for the new dates"
+            );
+        }
+    }
+
     private BigDecimal calculateNewTotalForModification(
             Booking booking,
             LocalDate checkInDate,
@@ -624,22 +1004,18 @@ public class BookingService {
             );
         }
 
-        // Enforce 24-hour policy using hotel timezone (same as cancel)
-        ZonedDateTime nowHotelTime = ZonedDateTime.now(HOTEL_TIMEZONE);
-        ZonedDateTime checkInDateTime = booking.getCheckInDate()
-                .atTime(CHECK_IN_HOUR, 0)
-                .atZone(HOTEL_TIMEZONE);
-        long hoursUntilCheckIn = ChronoUnit.HOURS.between(nowHotelTime, checkInDateTime);
-
-        if (hoursUntilCheckIn < 24) {
+        // Enforce the notice period using hotel timezone (same as cancel)
+        PropertyPolicy policy = propertyService.policyFor(booking.getPropertyId());
+        if (!policy.acceptsChanges(booking.getCheckInDate())) {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy 'at' h:mm a z");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Modifications must be made at least 24 hours before check-in time (hotel local time). " +
-                            "Check-in is at " + checkInDateTime.format(formatter));
+                    "Modifications must be made at least " + policy.changeNoticeHours() +
+                            " hours before check-in time (hotel local time). " +
+                            "Check-in is at " + policy.checkInAt(booking.getCheckInDate()).format(formatter));
         }
 
         // verify check-in date hasn't passed (can't modify past/current bookings)
-        LocalDate todayHotel = LocalDate.now(HOTEL_TIMEZONE);
+        LocalDate todayHotel = policy.today();
         if (booking.getCheckInDate().isBefore(todayHotel) ||
             booking.getCheckInDate().isEqual(todayHotel)) {
             throw new ResponseStatusException(
@@ -652,25 +1028,7 @@ public class BookingService {
         validateDateRange(checkInDate, checkOutDate);
 
         // check if assigned room is available for new dates
-        if (booking.getRoomId() != null) {
-            List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
-                    booking.getRoomId(),
-                    checkInDate,
-                    checkOutDate
-            );
-
-            // filter out the current booking from overlapping bookings
-            overlappingBookings = overlappingBookings.stream()
-                    .filter(b -> !b.getId().equals(booking.getId()))
-                    .toList();
-
-            if (!overlappingBookings.isEmpty()) {
-                throw new ResponseStatusException(
-                        HttpStatus.CONFLICT,
-                        "The assigned room is not available for the new dates"
-                );
-            }
-        }
+        ensureRoomFreeForModification(booking, checkInDate, checkOutDate);
 
         RoomType roomType = roomTypeService.findRoomTypeById(booking.getRoomTypeId());
 
@@ -692,10 +1050,23 @@ public class BookingService {
         return calculateTotalPrice(roomType.getBasePrice(), checkInDate, checkOutDate);
     }
 
-    private void verifyPaymentIntentAmount(String paymentIntentId, BigDecimal expectedAmount) {
+    /**
+     * Checks that a payment intent was created for this booking, succeeded and captured the expected amount.
+     *
+     * @throws ResponseStatusException 409 if the intent belongs to another booking, 400 if it is not usable
+     */
+    private void verifyPaymentIntentAmount(String paymentIntentId, String bookingId, BigDecimal expectedAmount) {
         try {
             com.stripe.model.PaymentIntent paymentIntent = stripeService.retrievePaymentIntent(paymentIntentId);
 
+            Map<String, String> metadata = paymentIntent.getMetadata();
+            if (metadata == null || !bookingId.equals(metadata.get("bookingId"))) {
+                throw new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "Payment was not made for this booking"
+                );
+            }
+
             if (!"succeeded".equals(paymentIntent.getStatus())) {
                 throw new ResponseStatusException(
                         HttpStatus.BAD_REQUEST,
@@ -718,6 +1089,28 @@ public class BookingService {
         }
     }
 
+    /**
+     * Records the payment for a modification before the new dates are applied; the unique index on
+     * the payment intent lets only one modification ever use it.
+     *
+     * @throws ResponseStatusException 409 if the payment intent was already recorded
+     */
+    private void claimModificationPayment(Booking booking, String paymentIntentId, BigDecimal amount) {
+        Payment payment = new Payment();
+        payment.setBookingId(booking.getId());
+        payment.setUserId(booking.getUserId());
+        payment.setStripePaymentIntentId(paymentIntentId);
+        payment.setAmount(amount);
+        payment.setCurrency("usd");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        if (!paymentRepository.insertIfAbsent(payment)) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "This payment has already been used"
+            );
+        }
+    }
+
     private void refundPaymentsForBooking(Booking booking, BigDecimal refundAmount) {
         if (refundAmount.compareTo(BigDecimal.ZERO) <= 0) {
             return;
@@ -750,6 +1143,7 @@ public class BookingService {
             try {
                 stripeService.createRefund(payment.getStripePaymentIntentId(), refundAmountInCents);
             } catch (com.stripe.exception.StripeException e) {
+                bookingMetrics.refundFailed();
                 log.error("Stripe refund failed for booking {}: {}", booking.getId(), e.getMessage());
                 throw new ResponseStatusException(
                         HttpStatus.INTERNAL_SERVER_ERROR,
@@ -758,15 +1152,19 @@ public class BookingService {
                 );
             }
 
-            BigDecimal newRefundedAmount = refundedAmount.add(refundForPayment);
-            payment.setRefundedAmount(newRefundedAmount);
-            payment.setRefundedAt(LocalDateTime.now());
-            if (newRefundedAmount.compareTo(payment.getAmount()) >= 0) {
-                payment.setStatus(PaymentStatus.REFUNDED);
-            } else {
-                payment.setStatus(PaymentStatus.PARTIALLY_REFUNDED);
-            }
-            paymentRepository.save(payment);
+            // record the refund against the payment as it is now, not as we read it before calling Stripe
+            BigDecimal refunded = refundForPayment;
+            versionedPatcher.patch(Payment.class, payment.getId(), current -> {
+                BigDecimal newRefundedAmount = (current.getRefundedAmount() != null
+                        ? current.getRefundedAmount()
+                        : BigDecimal.ZERO).add(refunded);
+                return new Update()
+                        .set("refundedAmount", newRefundedAmount)
+                        .set("refundedAt", LocalDateTime.now())
+                        .set("status", newRefundedAmount.compareTo(current.getAmount()) >= 0
+                                ? PaymentStatus.REFUNDED
+                                : PaymentStatus.PARTIALLY_REFUNDED);
+            });
 
             remaining = remaining.subtract(refundForPayment);
         }
@@ -778,6 +1176,7 @@ public class BookingService {
                     stripeService.createRefund(booking.getPaymentId(), refundAmountInCents);
                     remaining = BigDecimal.ZERO;
                 } catch (com.stripe.exception.StripeException e) {
+                    bookingMetrics.refundFailed();
                     log.error("Stripe refund failed for booking {}: {}", booking.getId(), e.getMessage());
                     throw new ResponseStatusException(
                             HttpStatus.INTERNAL_SERVER_ERROR,
@@ -797,24 +1196,54 @@ public class BookingService {
         }
     }
 
-    private Booking saveBookingWithRetry(Booking booking, String errorMessage) {
-        int attempts = 0;
-        RuntimeException lastException = null;
+    /**
+     * Guard for a modification, cancellation or void: the booking still has the stay and price it was read with,
+     * so an event snapshot taken from that read describes what the write changed.
+     */
+    static Criteria bookingValues(LocalDate checkInDate, LocalDate checkOutDate, BigDecimal totalPrice) {
+        return Criteria.where("checkInDate").is(checkInDate)
+                .and("checkOutDate").is(checkOutDate)
+                .and("totalPrice").is(totalPrice);
+    }
 
-        while (attempts < 3) {
-            try {
-                return bookingRepository.save(booking);
-            } catch (RuntimeException e) {
-                lastException = e;
-                attempts++;
-            }
-        }
+    /**
+     * Status of a booking after a transition was refused, for the error message.
+     */
+    private BookingStatus currentStatus(String bookingId) {
+        return bookingRepository.findById(bookingId)
+                .map(Booking::getStatus)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Booking not found with ID: " + bookingId
+                ));
+    }
 
-        log.error("Booking save failed after retries for booking {}: {}",
-                booking.getId(),
-                lastException != null ? lastException.getMessage() : "unknown error");
+    /**
+     * The booking document fields a {@code fields=} selection needs: the fields themselves, the
+     * ids the lookups start from, and whatever the sort orders by.
+     */
+    private static Set<String> documentFields(FieldSelection fields, Sort sort) {
+        Set<String> loaded = new HashSet<>();
+        for (String name : fields.topLevel()) {
+            loaded.addAll(DOCUMENT_SOURCES.getOrDefault(name, List.of(name)));
+        }
+        sort.forEach(order -> loaded.add(order.getProperty()));
+        return loaded;
+    }
 
-        throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, errorMessage);
+    /**
+     * Builds an in-memory comparator matching a Spring Data sort over {@link #SORT_KEYS}, used to
+     * merge booking tiers. Missing values sort last in either direction.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Booking> comparatorFor(Sort sort) {
+        Comparator<Booking> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<Booking, Comparable> key = (Function) SORT_KEYS.get(order.getProperty());
+            Comparator<Comparable> direction = order.isDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            comparator = comparator.thenComparing(key, Comparator.nullsLast(direction));
+        }
+        return comparator;
     }
 
     /**
@@ -832,7 +1261,8 @@ public class BookingService {
                     .substring(0, 6)
                     .toUpperCase();
             confirmationNumber = "TIP-" + randomCode;
-        } while (bookingRepository.existsByConfirmationNumber(confirmationNumber));
+        } while (bookingRepository.existsByConfirmationNumber(confirmationNumber)
+                || archivedBookingRepository.existsByConfirmationNumber(confirmationNumber));
 
         return confirmationNumber;
     }
@@ -842,53 +1272,61 @@ public class BookingService {
      * Used for single booking operations (getById, create, etc.)
      */
     private BookingResponse mapToResponse(Booking booking) {
-        return mapToResponse(booking, null);
+        return mapToResponse(booking, null, FieldSelection.all());
     }
 
     /**
      * Optimized mapping - uses provided user object if available.
      * Used for bulk operations to avoid N+1 queries.
+     * User, room type and room lookups are skipped when none of the fields they fill was asked for.
      */
-    private BookingResponse mapToResponse(Booking booking, User preFetchedUser) {
+    private BookingResponse mapToResponse(Booking booking, User preFetchedUser, FieldSelection fields) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setConfirmationNumber(booking.getConfirmationNumber());
         response.setUserId(booking.getUserId());
         
         // --- POPULATE GUEST INFO ---
-        try {
-            User user = (preFetchedUser != null) 
-                ? preFetchedUser 
-                : userService.findUserById(booking.getUserId());
-                
-            if (user != null) {
-                response.setGuestFirstName(user.getFirstName());
-                response.setGuestLastName(user.getLastName());
-                response.setGuestEmail(user.getEmail());
+        if (fields.includesAny(GUEST_FIELDS)) {
+            try {
+                User user = (preFetchedUser != null) 
+                    ? preFetchedUser 
+                    : userService.findUserById(booking.getUserId());
+                    
+                if (user != null) {
+                    response.setGuestFirstName(user.getFirstName());
+                    response.setGuestLastName(user.getLastName());
+                    response.setGuestEmail(user.getEmail());
+                }
+            } catch (Exception e) {
+                response.setGuestFirstName("Unknown");
+                response.setGuestLastName("User");
+                response.setGuestEmail("N/A");
             }
-        } catch (Exception e) {
-            response.setGuestFirstName("Unknown");
-            response.setGuestLastName("User");
-            response.setGuestEmail("N/A");
         }
 
         response.setRoomId(booking.getRoomId());
+        response.setPropertyId(booking.getPropertyId());
         response.setRoomTypeId(booking.getRoomTypeId());
 
-        try {
-            RoomType roomType = roomTypeService.findRoomTypeById(booking.getRoomTypeId());
-            response.setRoomTypeName(roomType.getName());
-            response.setRoomTypeImageUrls(roomType.getImageUrls());
-            response.setRoomTypeMaxOccupancy(roomType.getMaxOccupancy());
-        } catch (Exception e) {
-            response.setRoomTypeName(booking.getRoomTypeId());
+        if (fields.includesAny(ROOM_TYPE_FIELDS)) {
+            try {
+                RoomType roomType = roomTypeService.findRoomTypeById(booking.getRoomTypeId());
+                response.setRoomTypeName(roomType.getName());
+                response.setRoomTypeImageUrls(roomType.getImageUrls());
+                response.setRoomTypeMaxOccupancy(roomType.getMaxOccupancy());
+            } catch (Exception e) {
+                response.setRoomTypeName(booking.getRoomTypeId());
+            }
         }
 
-        try {
-            Room room = roomService.findRoomById(booking.getRoomId());
-            response.setRoomNumber(room.getRoomNumber());
-        } catch (Exception e) {
-            response.setRoomNumber(booking.getRoomId());
+        if (fields.includes("roomNumber")) {
+            try {
+                Room room = roomService.findRoomById(booking.getRoomId());
+                response.setRoomNumber(room.getRoomNumber());
+            } catch (Exception e) {
+                response.setRoomNumber(booking.getRoomId());
+            }
         }
 
         response.setCheckInDate(booking.getCheckInDate());
@@ -897,6 +1335,8 @@ public class BookingService {
         response.setTotalPrice(booking.getTotalPrice());
         response.setStatus(booking.getStatus());
         response.setPaymentId(booking.getPaymentId());
+        response.setHoldExpiresAt(booking.getStatus() == BookingStatus.PENDING ? booking.getHoldExpiresAt() : null);
+        response.setWaitlistEntryId(booking.getWaitlistEntryId());
         response.setCreatedAt(booking.getCreatedAt());
         response.setUpdatedAt(booking.getUpdatedAt());
         return response;
@@ -0,0 +1,102 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Legal booking status transitions, each applied as one conditional {@code findAndModify}.
+ * <p>
+ * A transition only matches while the booking is still in its {@code from} status (plus any
+ * extra guard), so when two requests race for the same transition exactly one gets the
+ * updated booking back and the other gets {@link Optional#empty()}. Callers decide what
+ * losing means; nothing here retries. The write goes through the {@code bookings} bulkhead.
+ * </p>
+ * {@code CONFIRMED -> CONFIRMED} is a modification: it changes dates or price, guarded on the
+ * values the caller read, so two concurrent modifications cannot overwrite each other.
+ * A cancellation goes through {@code CANCELLING}, which still holds the nights, and only
+ * becomes {@code CANCELLED} once the refund went through; one whose request died on the way
+ * is settled by {@link CancellationSweeper}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingStateMachine {
+
+    private static final Map<BookingStatus, Set<BookingStatus>> TRANSITIONS = new EnumMap<>(Map.of(
+            BookingStatus.PENDING, EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.VOIDED),
+            BookingStatus.CONFIRMED, EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.CANCELLING, BookingStatus.COMPLETED),
+            BookingStatus.CANCELLING, EnumSet.of(BookingStatus.CANCELLED)));
+
+    private final MongoTemplate mongoTemplate;
+    private final Bulkheads bulkheads;
+
+    public static boolean isLegal(BookingStatus from, BookingStatus to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Moves a booking from {@code from} to {@code to}.
+     *
+     * @return the updated booking, or empty if it was no longer in {@code from}
+     */
+    public Optional<Booking> transition(String bookingId, BookingStatus from, BookingStatus to) {
+        return transition(bookingId, from, to, null, new Update());
+    }
+
+    /**
+     * Moves a booking from {@code from} to {@code to}, applying {@code changes} in the same write.
+     *
+     * @param guard extra conditions the booking must still meet, or {@code null}
+     * @return the updated booking, or empty if it no longer matched
+     */
+    public Optional<Booking> transition(String bookingId, BookingStatus from, BookingStatus to,
+            Criteria guard, Update changes) {
+        if (!isLegal(from, to)) {
+            throw new IllegalStateException("Illegal booking transition " + from + " -> " + to);
+        }
+        return apply(bookingId, from, to, guard, changes);
+    }
+
+    /**
+     * Undoes a transition whose follow-up work failed (e.g. a refund after a cancellation was
+     * claimed), putting back the given fields. Only matches while the booking is still in the
+     * state the transition left it in.
+     *
+     * @return the restored booking, or empty if something else changed it in the meantime
+     */
+    public Optional<Booking> revert(String bookingId, BookingStatus from, BookingStatus to,
+            Criteria guard, Update restore) {
+        if (!isLegal(from, to)) {
+            throw new IllegalStateException("Cannot revert a transition that is not legal: " + from + " -> " + to);
+        }
+        return apply(bookingId, to, from, guard, restore);
+    }
+
+    private Optional<Booking> apply(String bookingId, BookingStatus current, BookingStatus next,
+            Criteria guard, Update changes) {
+        Criteria criteria = Criteria.where("_id").is(bookingId).and("status").is(current);
+        Query query = Query.query(guard != null ? new Criteria().andOperator(criteria, guard) : criteria);
+
+        // findAndModify bypasses auditing, and updatedAt drives the VOIDED TTL and archive ages
+        changes.set("status", next).set("updatedAt", LocalDateTime.now());
+
+        return Optional.ofNullable(bulkheads.bookings().call(() -> mongoTemplate.findAndModify(query, changes,
+                FindAndModifyOptions.options().returnNew(true), Booking.class)));
+    }
+}
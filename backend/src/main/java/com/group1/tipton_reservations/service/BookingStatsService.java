@@ -0,0 +1,589 @@
+package com.group1.tipton_reservations.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.group1.tipton_reservations.dto.stats.OccupancyStatsResponse;
+import com.group1.tipton_reservations.dto.stats.StatsLine;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.DailyRoomTypeStats;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.model.RoomTypeRoomCount;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
+import com.group1.tipton_reservations.repository.DailyRoomTypeStatsRepository;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains {@code daily_room_type_stats} and answers dashboard queries from it.
+ * <p>
+ * Booking state changes apply {@code $inc} deltas as they happen (confirmed stays add
+ * nights and revenue, cancellations and modifications take them back). They are driven by
+ * booking events, delivered at least once; each row keeps the IDs of the last events it has
+ * taken so a redelivered one is skipped. {@link #rebuild()} recomputes every row from both booking
+ * tiers, one room type per task in parallel, into a staging collection that is then swapped in.
+ * Room inventory is read from {@code room_type_room_counts}, kept up to date as rooms change.
+ * </p>
+ */
+@Service
+@Slf4j
+public class BookingStatsService {
+
+    static final String COLLECTION = "daily_room_type_stats";
+    private static final String STAGING_COLLECTION = COLLECTION + "_rebuild";
+    private static final int MAX_RANGE_DAYS = 3660;
+    private static final String APPLIED_EVENTS = "appliedEvents";
+    static final String REBUILD_LEASE_COLLECTION = "stats_rebuild";
+    private static final String REBUILD_LEASE_ID = "rebuild";
+
+    private final MongoTemplate mongoTemplate;
+    private final DailyRoomTypeStatsRepository statsRepository;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${tipton.stats.rebuild-parallelism:4}")
+    private int rebuildParallelism;
+
+    @Value("${tipton.stats.rebuild-lease-ms:600000}")
+    private long rebuildLeaseMs;
+
+    @Value("${tipton.stats.applied-events-kept:500}")
+    private int appliedEventsKept;
+
+    public BookingStatsService(MongoTemplate mongoTemplate, DailyRoomTypeStatsRepository statsRepository,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.statsRepository = statsRepository;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // ---- incremental updates -------------------------------------------------------------
+
+    /**
+     * Applies a CONFIRMED, CANCELLED or MODIFIED event; other types change nothing.
+     * Applying the same event again changes nothing either.
+     *
+     * @throws IllegalStateException while a rebuild runs; the event is left for redelivery
+     */
+    public void record(BookingEvent event) {
+        Map<LocalDate, Delta> deltas = deltas(event);
+        if (!deltas.isEmpty()) {
+            apply(event.getEventId(), event.getRoomTypeId(), deltas);
+        }
+    }
+
+    // confirmed stays add nights and revenue, cancellations and modifications take them back
+    private static Map<LocalDate, Delta> deltas(BookingEvent event) {
+        Map<LocalDate, Delta> deltas = new TreeMap<>();
+        switch (event.getType()) {
+            case CONFIRMED -> {
+                addStay(deltas, event.getCheckInDate(), event.getCheckOutDate(), event.getTotalPrice(), 1);
+                delta(deltas, dayOf(event.getBookedAt())).bookings += 1;
+            }
+            case CANCELLED -> {
+                addStay(deltas, event.getCheckInDate(), event.getCheckOutDate(), event.getTotalPrice(), -1);
+                delta(deltas, dayOf(event.getOccurredAt())).cancellations += 1;
+            }
+            case MODIFIED -> {
+                addStay(deltas, event.getPreviousCheckInDate(), event.getPreviousCheckOutDate(),
+                        event.getPreviousTotalPrice(), -1);
+                addStay(deltas, event.getCheckInDate(), event.getCheckOutDate(), event.getTotalPrice(), 1);
+            }
+            default -> { }
+        }
+        return deltas;
+    }
+
+    /**
+     * Writes one event's changes, one row at a time. Each row remembers the events it has
+     * taken, and a row that already has this one is left alone, so a redelivered event does
+     * not count twice. While a rebuild holds its lease the event is refused instead: the rows
+     * it would land in are about to be replaced, and the relay delivers it again afterwards.
+     * <p>
+     * A row only keeps its last {@code tipton.stats.applied-events-kept} event IDs. Redelivery
+     * stops once the relay has recorded the event as processed, normally by the next outbox
+     * sweep, and far fewer events land on one night in that time.
+     * </p>
+     */
+    private void apply(String eventId, String roomTypeId, Map<LocalDate, Delta> deltas) {
+        if (rebuildRunning()) {
+            throw new IllegalStateException("Stats rebuild in progress, event " + eventId + " left for redelivery");
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, COLLECTION);
+        deltas.forEach((date, delta) -> {
+            ops.upsert(byId(roomTypeId, date), insertKeys(roomTypeId, date));
+            ops.updateOne(Query.query(Criteria.where("_id").is(DailyRoomTypeStats.idFor(roomTypeId, date))
+                            .and(APPLIED_EVENTS).ne(eventId)),
+                    delta.toUpdate().push(APPLIED_EVENTS).slice(-appliedEventsKept).each(eventId));
+        });
+        ops.execute();
+    }
+
+    private static void addStay(Map<LocalDate, Delta> deltas, LocalDate checkIn, LocalDate checkOut,
+                                BigDecimal totalPrice, int sign) {
+        long[] nightlyCents = nightlyCents(checkIn, checkOut, totalPrice);
+        for (int night = 0; night < nightlyCents.length; night++) {
+            Delta delta = delta(deltas, checkIn.plusDays(night));
+            delta.occupiedNights += sign;
+            delta.revenueCents += sign * nightlyCents[night];
+        }
+    }
+
+    private static Delta delta(Map<LocalDate, Delta> deltas, LocalDate date) {
+        return deltas.computeIfAbsent(date, d -> new Delta());
+    }
+
+    private static Query byId(String roomTypeId, LocalDate date) {
+        return Query.query(Criteria.where("_id").is(DailyRoomTypeStats.idFor(roomTypeId, date)));
+    }
+
+    private static Update insertKeys(String roomTypeId, LocalDate date) {
+        return new Update().setOnInsert("roomTypeId", roomTypeId).setOnInsert("date", date);
+    }
+
+    // one row's share of an event; a modification that keeps a night nets out to zero there
+    private static final class Delta {
+        private long occupiedNights;
+        private long revenueCents;
+        private long bookings;
+        private long cancellations;
+
+        Update toUpdate() {
+            return new Update()
+                    .inc("occupiedNights", occupiedNights)
+                    .inc("revenueCents", revenueCents)
+                    .inc("bookings", bookings)
+                    .inc("cancellations", cancellations);
+        }
+    }
+
+    /**
+     * Splits a stay's total over its nights in whole cents; the remainder goes to the first
+     * nights so the parts always add up to the total.
+     */
+    private static long[] nightlyCents(LocalDate checkIn, LocalDate checkOut, BigDecimal totalPrice) {
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights <= 0) {
+            return new long[0];
+        }
+        long totalCents = totalPrice.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        long[] cents = new long[nights];
+        for (int night = 0; night < nights; night++) {
+            cents[night] = totalCents / nights + (night < totalCents % nights ? 1 : 0);
+        }
+        return cents;
+    }
+
+    private static LocalDate dayOf(LocalDateTime at) {
+        return at != null ? at.toLocalDate() : LocalDate.now();
+    }
+
+    // ---- rebuild ---------------------------------------------------------------------------
+
+    @Scheduled(cron = "${tipton.stats.rebuild-cron:0 0 4 * * SUN}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Starts a rebuild on the application task executor.
+     *
+     * @return false if a rebuild is already running, here or on another instance
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public boolean requestRebuild() {
+        String owner = acquireRebuildLease();
+        if (owner == null) {
+            return false;
+        }
+        try {
+            taskExecutor.execute(() -> rebuild(owner));
+        } catch (RuntimeException e) {
+            releaseRebuildLease(owner);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Recomputes every row from the full booking history (live and archived) and swaps the
+     * result in, unless a rebuild is already running.
+     * <p>
+     * Only one instance rebuilds at a time, holding a lease in {@code stats_rebuild}. Incremental
+     * updates are refused while the lease is held and stay in their bookings' outboxes; events
+     * still there when a booking is read are already reflected in it, so the rebuilt rows list
+     * them as applied and their redelivery after the swap is skipped.
+     * </p>
+     */
+    public void rebuild() {
+        String owner = acquireRebuildLease();
+        if (owner == null) {
+            log.info("Stats rebuild already running, skipping");
+            return;
+        }
+        rebuild(owner);
+    }
+
+    private void rebuild(String owner) {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, rebuildParallelism));
+        try {
+            mongoTemplate.dropCollection(STAGING_COLLECTION);
+
+            Set<String> roomTypeIds = new HashSet<>();
+            for (String collection : List.of(BookingArchiveService.LIVE_COLLECTION, ArchivedBookingRepository.COLLECTION)) {
+                roomTypeIds.addAll(mongoTemplate.findDistinct(new Query(), "roomTypeId", collection, String.class));
+            }
+
+            List<Future<Integer>> tasks = new ArrayList<>();
+            for (String roomTypeId : roomTypeIds) {
+                tasks.add(pool.submit(() -> rebuildRoomType(roomTypeId)));
+            }
+            long rows = 0;
+            for (Future<Integer> task : tasks) {
+                rows += task.get();
+                renewRebuildLease(owner);
+            }
+
+            if (rows > 0) {
+                copyIndexes(COLLECTION, STAGING_COLLECTION);
+                mongoTemplate.getCollection(STAGING_COLLECTION).renameCollection(
+                        mongoTemplate.getCollection(COLLECTION).getNamespace(),
+                        new RenameCollectionOptions().dropTarget(true));
+            } else {
+                mongoTemplate.remove(new Query(), COLLECTION);
+            }
+            log.info("Rebuilt {} daily stats rows for {} room types in {} ms",
+                    rows, roomTypeIds.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Stats rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+            releaseRebuildLease(owner);
+        }
+    }
+
+    private int rebuildRoomType(String roomTypeId) {
+        Map<LocalDate, DailyRoomTypeStats> rows = new TreeMap<>();
+        Query query = Query.query(Criteria.where("roomTypeId").is(roomTypeId)
+                .and("status").in(BookingStatus.CONFIRMED, BookingStatus.CANCELLING, BookingStatus.COMPLETED,
+                        BookingStatus.CANCELLED)); // CANCELLING has not emitted its CANCELLED event yet
+
+        for (String collection : List.of(BookingArchiveService.LIVE_COLLECTION, ArchivedBookingRepository.COLLECTION)) {
+            try (Stream<Booking> bookings = mongoTemplate.stream(query, Booking.class, collection)) {
+                bookings.forEach(booking -> {
+                    accumulate(rows, booking);
+                    markPendingEvents(rows, booking);
+                });
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            mongoTemplate.insert(rows.values(), STAGING_COLLECTION);
+        }
+        return rows.size();
+    }
+
+    // mirrors the incremental rules: a cancelled booking keeps its booking count but not its nights
+    private static void accumulate(Map<LocalDate, DailyRoomTypeStats> rows, Booking booking) {
+        String roomTypeId = booking.getRoomTypeId();
+        DailyRoomTypeStats bookedRow = row(rows, roomTypeId, dayOf(booking.getCreatedAt()));
+        bookedRow.setBookings(bookedRow.getBookings() + 1);
+
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            DailyRoomTypeStats row = row(rows, roomTypeId, dayOf(booking.getUpdatedAt()));
+            row.setCancellations(row.getCancellations() + 1);
+            return;
+        }
+        if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null || booking.getTotalPrice() == null) {
+            return;
+        }
+        long[] nightlyCents = nightlyCents(booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice());
+        for (int night = 0; night < nightlyCents.length; night++) {
+            DailyRoomTypeStats row = row(rows, roomTypeId, booking.getCheckInDate().plusDays(night));
+            row.setOccupiedNights(row.getOccupiedNights() + 1);
+            row.setRevenueCents(row.getRevenueCents() + nightlyCents[night]);
+        }
+    }
+
+    // the booking as read already reflects the events still in its outbox
+    private static void markPendingEvents(Map<LocalDate, DailyRoomTypeStats> rows, Booking booking) {
+        if (booking.getOutbox() == null) {
+            return;
+        }
+        for (BookingEvent event : booking.getOutbox()) {
+            if (!booking.getRoomTypeId().equals(event.getRoomTypeId())) {
+                continue;
+            }
+            for (LocalDate date : deltas(event).keySet()) {
+                DailyRoomTypeStats row = row(rows, booking.getRoomTypeId(), date);
+                if (row.getAppliedEvents() == null) {
+                    row.setAppliedEvents(new ArrayList<>());
+                }
+                if (!row.getAppliedEvents().contains(event.getEventId())) {
+                    row.getAppliedEvents().add(event.getEventId());
+                }
+            }
+        }
+    }
+
+    private static DailyRoomTypeStats row(Map<LocalDate, DailyRoomTypeStats> rows, String roomTypeId, LocalDate date) {
+        return rows.computeIfAbsent(date, d -> new DailyRoomTypeStats(roomTypeId, d));
+    }
+
+    // the index migrations create the live collection's indexes; the rename would drop them with it
+    private void copyIndexes(String from, String to) {
+        IndexOperations target = mongoTemplate.indexOps(to);
+        for (IndexInfo existing : mongoTemplate.indexOps(from).getIndexInfo()) {
+            if ("_id_".equals(existing.getName())) {
+                continue;
+            }
+            Index index = new Index().named(existing.getName());
+            existing.getIndexFields().forEach(field -> index.on(field.getKey(), field.getDirection()));
+            if (existing.isUnique()) {
+                index.unique();
+            }
+            target.createIndex(index);
+        }
+    }
+
+    // a lease that only matches once expired, so a held one makes the upsert collide on _id
+    private String acquireRebuildLease() {
+        String owner = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        try {
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(REBUILD_LEASE_ID).and("expiresAt").lt(new Date(now))),
+                    new Update().set("owner", owner).set("expiresAt", new Date(now + rebuildLeaseMs)),
+                    REBUILD_LEASE_COLLECTION);
+            return owner;
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    private void renewRebuildLease(String owner) {
+        boolean held = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(REBUILD_LEASE_ID).and("owner").is(owner)),
+                new Update().set("expiresAt", new Date(System.currentTimeMillis() + rebuildLeaseMs)),
+                REBUILD_LEASE_COLLECTION).getMatchedCount() > 0;
+        if (!held) {
+            throw new IllegalStateException("Stats rebuild lease expired and was taken over");
+        }
+    }
+
+    private void releaseRebuildLease(String owner) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(REBUILD_LEASE_ID).and("owner").is(owner)),
+                REBUILD_LEASE_COLLECTION);
+    }
+
+    private boolean rebuildRunning() {
+        return mongoTemplate.exists(
+                Query.query(Criteria.where("_id").is(REBUILD_LEASE_ID).and("expiresAt").gt(new Date())),
+                REBUILD_LEASE_COLLECTION);
+    }
+
+    // ---- room inventory ------------------------------------------------------------------
+
+    /**
+     * Records how many rooms a room type has from today on; call after adding, removing or
+     * retyping rooms.
+     */
+    public void roomsChanged(String roomTypeId) {
+        if (roomTypeId != null) {
+            recordRoomCount(roomTypeId, LocalDate.now());
+        }
+    }
+
+    /**
+     * Gives room types whose rooms predate inventory tracking a count that holds for every
+     * earlier night. Safe to run on every instance at every startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordUntrackedRoomCounts() {
+        try {
+            Set<String> tracked = new HashSet<>(
+                    mongoTemplate.findDistinct(new Query(), "roomTypeId", RoomTypeRoomCount.class, String.class));
+            for (String roomTypeId : mongoTemplate.findDistinct(new Query(), "roomTypeId", Room.class, String.class)) {
+                if (!tracked.contains(roomTypeId)) {
+                    recordRoomCount(roomTypeId, LocalDate.EPOCH);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not record room counts: {}", e.getMessage());
+        }
+    }
+
+    private void recordRoomCount(String roomTypeId, LocalDate since) {
+        long rooms = mongoTemplate.count(Query.query(Criteria.where("roomTypeId").is(roomTypeId)), Room.class);
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(RoomTypeRoomCount.idFor(roomTypeId, since))),
+                new Update().set("rooms", rooms).setOnInsert("roomTypeId", roomTypeId).setOnInsert("since", since),
+                RoomTypeRoomCount.class);
+    }
+
+    // ---- queries ---------------------------------------------------------------------------
+
+    /**
+     * Summarizes occupancy and revenue for a date range (both ends inclusive) from the
+     * pre-aggregated rows and the recorded room counts; no booking or room is read.
+     *
+     * @param from first night
+     * @param to last night
+     * @param roomTypeId optional room type filter
+     * @return per room type and per day totals
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public OccupancyStatsResponse getStats(LocalDate from, LocalDate to, String roomTypeId) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be on or after 'from'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        boolean oneType = roomTypeId != null && !roomTypeId.isBlank();
+        List<DailyRoomTypeStats> rows = oneType
+                ? statsRepository.findByRoomTypeIdAndDateRange(roomTypeId, from, to)
+                : statsRepository.findByDateRange(from, to);
+
+        Map<String, Totals> byType = new TreeMap<>();
+        Map<LocalDate, Totals> byDay = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            byDay.put(day, new Totals());
+        }
+        Totals total = new Totals();
+        if (oneType) {
+            byType.put(roomTypeId, new Totals());
+        }
+
+        roomCounts(oneType ? roomTypeId : null, to).forEach((type, counts) -> {
+            long typeNights = 0;
+            for (Map.Entry<LocalDate, Totals> day : byDay.entrySet()) {
+                Map.Entry<LocalDate, Long> count = counts.floorEntry(day.getKey());
+                long rooms = count != null ? count.getValue() : 0L;
+                day.getValue().availableRoomNights += rooms;
+                typeNights += rooms;
+            }
+            if (typeNights > 0) {
+                byType.computeIfAbsent(type, t -> new Totals()).availableRoomNights += typeNights;
+                total.availableRoomNights += typeNights;
+            }
+        });
+        for (DailyRoomTypeStats row : rows) {
+            byType.computeIfAbsent(row.getRoomTypeId(), t -> new Totals()).add(row);
+            byDay.get(row.getDate()).add(row);
+            total.add(row);
+        }
+
+        Map<String, String> typeNames = roomTypeNames(byType.keySet());
+        List<StatsLine> roomTypeLines = byType.entrySet().stream()
+                .map(e -> e.getValue().toLine(e.getKey(), typeNames.get(e.getKey()), null))
+                .sorted(Comparator.comparing(StatsLine::revenue).reversed())
+                .toList();
+        List<StatsLine> dailyLines = byDay.entrySet().stream()
+                .map(e -> e.getValue().toLine(null, null, e.getKey()))
+                .toList();
+
+        return new OccupancyStatsResponse(from, to, total.toLine(null, null, null), roomTypeLines, dailyLines);
+    }
+
+    // each room type's counts up to the last night, keyed by the day they took effect
+    private Map<String, NavigableMap<LocalDate, Long>> roomCounts(String roomTypeId, LocalDate to) {
+        Criteria criteria = Criteria.where("since").lte(to);
+        if (roomTypeId != null) {
+            criteria.and("roomTypeId").is(roomTypeId);
+        }
+        Map<String, NavigableMap<LocalDate, Long>> counts = new HashMap<>();
+        for (RoomTypeRoomCount count : mongoTemplate.find(Query.query(criteria), RoomTypeRoomCount.class)) {
+            counts.computeIfAbsent(count.getRoomTypeId(), t -> new TreeMap<>()).put(count.getSince(), count.getRooms());
+        }
+        return counts;
+    }
+
+    private Map<String, String> roomTypeNames(Set<String> roomTypeIds) {
+        Query query = Query.query(Criteria.where("_id").in(roomTypeIds));
+        query.fields().include("name");
+        Map<String, String> names = new HashMap<>();
+        for (RoomType roomType : mongoTemplate.find(query, RoomType.class)) {
+            names.put(roomType.getId(), roomType.getName());
+        }
+        return names;
+    }
+
+    private static final class Totals {
+        private long availableRoomNights;
+        private long occupiedNights;
+        private long revenueCents;
+        private long bookings;
+        private long cancellations;
+
+        void add(DailyRoomTypeStats row) {
+            occupiedNights += row.getOccupiedNights();
+            revenueCents += row.getRevenueCents();
+            bookings += row.getBookings();
+            cancellations += row.getCancellations();
+        }
+
+        StatsLine toLine(String roomTypeId, String roomTypeName, LocalDate date) {
+            BigDecimal revenue = BigDecimal.valueOf(revenueCents, 2);
+            return new StatsLine(roomTypeId, roomTypeName, date, availableRoomNights, occupiedNights,
+                    ratio(BigDecimal.valueOf(occupiedNights), availableRoomNights, 4),
+                    revenue,
+                    ratio(revenue, occupiedNights, 2),
+                    ratio(revenue, availableRoomNights, 2),
+                    bookings, cancellations);
+        }
+
+        private static BigDecimal ratio(BigDecimal numerator, long denominator, int scale) {
+            return denominator > 0
+                    ? numerator.divide(BigDecimal.valueOf(denominator), scale, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(scale);
+        }
+    }
+}
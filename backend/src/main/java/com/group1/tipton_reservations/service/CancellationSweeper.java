@@ -0,0 +1,85 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Settles bookings left in CANCELLING by a cancellation that never finished, which would
+ * otherwise hold their nights for good and could not be cancelled again.
+ * <p>
+ * A booking is stuck once it has been CANCELLING for {@code tipton.cancellations.stale-minutes},
+ * far longer than a cancel request and its refunds can run. The sweep takes each one over by
+ * moving {@code cancellingSince} forward in a conditional write, so only one instance handles
+ * it, and {@link BookingService#reconcileCancellation} then finishes or rolls it back from
+ * Stripe's refunds. If that fails the booking is picked up again a stale period later.
+ * Bookings that went CANCELLING before {@code cancellingSince} existed count from
+ * {@code updatedAt}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CancellationSweeper {
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingService bookingService;
+
+    @Value("${tipton.cancellations.stale-minutes:15}")
+    private long staleMinutes;
+
+    @Value("${tipton.cancellations.sweep-batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${tipton.cancellations.sweep-interval-ms:60000}")
+    public void reconcileStuckCancellations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusMinutes(staleMinutes);
+        Criteria stuck = new Criteria().andOperator(
+                Criteria.where("status").is(BookingStatus.CANCELLING),
+                new Criteria().orOperator(
+                        Criteria.where("cancellingSince").lt(staleBefore),
+                        Criteria.where("cancellingSince").exists(false).and("updatedAt").lt(staleBefore)));
+
+        Query query = Query.query(stuck).limit(batchSize);
+        query.fields().include("_id");
+
+        int settled = 0;
+        for (Booking candidate : mongoTemplate.find(query, Booking.class)) {
+            Booking booking = mongoTemplate.findAndModify(
+                    Query.query(new Criteria().andOperator(Criteria.where("_id").is(candidate.getId()), stuck)),
+                    new Update().set("cancellingSince", now),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Booking.class);
+            if (booking == null) {
+                continue; // finished meanwhile, or another instance took it
+            }
+            try {
+                Optional<BookingStatus> outcome = bookingService.reconcileCancellation(booking);
+                if (outcome.isPresent()) {
+                    settled++;
+                }
+            } catch (Exception e) {
+                log.warn("Could not settle stuck cancellation of booking {}, retrying in {} minutes: {}",
+                        booking.getId(), staleMinutes, e.getMessage());
+            }
+        }
+        if (settled > 0) {
+            log.info("Settled {} stuck cancellations", settled);
+        }
+    }
+}
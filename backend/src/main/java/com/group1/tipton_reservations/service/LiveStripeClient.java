@@ -0,0 +1,81 @@
+package com.group1.tipton_reservations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Charge;
+import com.stripe.model.ChargeCollection;
+import com.stripe.model.Coupon;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PromotionCode;
+import com.stripe.model.PromotionCodeCollection;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.param.ChargeListParams;
+import com.stripe.param.CouponCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PromotionCodeCreateParams;
+import com.stripe.param.PromotionCodeListParams;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * {@link StripeClient} backed by the static Stripe SDK and the live API.
+ */
+@Component
+@Profile("!loadtest")
+public class LiveStripeClient implements StripeClient {
+
+    @Value("${stripe.api.key}")
+    private String stripeApiKey;
+
+    @PostConstruct
+    public void init() {
+        Stripe.apiKey = stripeApiKey;
+    }
+
+    @Override
+    public PaymentIntent createPaymentIntent(PaymentIntentCreateParams params) throws StripeException {
+        return PaymentIntent.create(params);
+    }
+
+    @Override
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
+        return PaymentIntent.retrieve(paymentIntentId);
+    }
+
+    @Override
+    public ChargeCollection listCharges(ChargeListParams params) throws StripeException {
+        return Charge.list(params);
+    }
+
+    @Override
+    public Refund createRefund(RefundCreateParams params) throws StripeException {
+        return Refund.create(params);
+    }
+
+    @Override
+    public RefundCollection listRefunds(RefundListParams params) throws StripeException {
+        return Refund.list(params);
+    }
+
+    @Override
+    public Coupon createCoupon(CouponCreateParams params) throws StripeException {
+        return Coupon.create(params);
+    }
+
+    @Override
+    public PromotionCode createPromotionCode(PromotionCodeCreateParams params) throws StripeException {
+        return PromotionCode.create(params);
+    }
+
+    @Override
+    public PromotionCodeCollection listPromotionCodes(PromotionCodeListParams params) throws StripeException {
+        return PromotionCode.list(params);
+    }
+}
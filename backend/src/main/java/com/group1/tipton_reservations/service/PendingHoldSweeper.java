@@ -0,0 +1,79 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.events.BookingOutboxRelay;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.BookingEvent;
+import com.group1.tipton_reservations.model.enums.BookingEventType;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Voids PENDING bookings whose hold ran out unpaid, so their rooms go back on sale (and to
+ * the waitlist) instead of staying blocked by abandoned checkouts.
+ * <p>
+ * Each void is the same conditional {@code PENDING -> VOIDED} transition a guest's own void
+ * makes, re-checking the expiry, so it cannot race a confirmation and every instance can run
+ * the sweep. The void is pinned to the stay the sweep read, which its VOIDED event carries.
+ * Bookings from before holds had an expiry time out {@code tipton.holds.pending-minutes}
+ * after they were created.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingHoldSweeper {
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingStateMachine bookingStateMachine;
+    private final BookingOutboxRelay bookingOutboxRelay;
+
+    @Value("${tipton.holds.pending-minutes:30}")
+    private long pendingHoldMinutes;
+
+    @Value("${tipton.holds.sweep-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${tipton.holds.sweep-interval-ms:30000}")
+    public void voidExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria expired = new Criteria().orOperator(
+                Criteria.where("holdExpiresAt").lt(now),
+                Criteria.where("holdExpiresAt").exists(false).and("createdAt").lt(now.minusMinutes(pendingHoldMinutes)));
+
+        Query query = Query.query(new Criteria().andOperator(Criteria.where("status").is(BookingStatus.PENDING), expired))
+                .limit(batchSize);
+        // what the VOIDED event snapshots
+        query.fields().include("_id", "propertyId", "userId", "roomTypeId", "checkInDate", "checkOutDate",
+                "totalPrice", "createdAt");
+
+        int voided = 0;
+        for (Booking booking : mongoTemplate.find(query, Booking.class)) {
+            Criteria sameStay = BookingService.bookingValues(
+                    booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice());
+            if (bookingStateMachine.transition(
+                    booking.getId(),
+                    BookingStatus.PENDING,
+                    BookingStatus.VOIDED,
+                    new Criteria().andOperator(expired, sameStay),
+                    new Update().push("outbox", BookingEvent.of(BookingEventType.VOIDED, booking))).isPresent()) {
+                bookingOutboxRelay.wake(booking.getId());
+                voided++;
+            }
+        }
+        if (voided > 0) {
+            log.info("Voided {} expired PENDING holds", voided);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Booking policy times for one property, all in the property's local timezone.
+ */
+public record PropertyPolicy(String propertyId, ZoneId zone, int checkInHour, int changeNoticeHours) {
+
+    public ZonedDateTime checkInAt(LocalDate checkInDate) {
+        return checkInDate.atTime(checkInHour, 0).atZone(zone);
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * Whether a stay starting on {@code checkInDate} can still be cancelled or modified.
+     */
+    public boolean acceptsChanges(LocalDate checkInDate) {
+        return ChronoUnit.HOURS.between(ZonedDateTime.now(zone), checkInAt(checkInDate)) >= changeNoticeHours;
+    }
+}
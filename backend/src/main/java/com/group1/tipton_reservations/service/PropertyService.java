@@ -0,0 +1,180 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import com.group1.tipton_reservations.model.Property;
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
+import com.group1.tipton_reservations.repository.PropertyRepository;
+import com.group1.tipton_reservations.repository.VersionedPatcher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Properties (hotels) and their booking policy times.
+ * <p>
+ * Data written before properties existed belongs to the default property,
+ * {@code tipton.properties.default-id}. On startup that property is created if it is missing,
+ * with the single-hotel policy the application used to hard-code, and any room type, room or
+ * booking without a {@code propertyId} is assigned to it.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyService {
+
+    private static final List<String> PARTITIONED_COLLECTIONS =
+            List.of("room_types", "rooms", "bookings", ArchivedBookingRepository.COLLECTION);
+
+    private final PropertyRepository propertyRepository;
+    private final MongoTemplate mongoTemplate;
+    private final VersionedPatcher versionedPatcher;
+
+    @Value("${tipton.properties.default-id:tipton}")
+    private String defaultPropertyId;
+
+    @Value("${tipton.properties.default-timezone:America/Los_Angeles}")
+    private String defaultTimezone;
+
+    @Value("${tipton.properties.default-check-in-hour:15}")
+    private int defaultCheckInHour;
+
+    @Value("${tipton.properties.default-change-notice-hours:24}")
+    private int defaultChangeNoticeHours;
+
+    /**
+     * The property a request or document belongs to: the given id, or the default property if none.
+     */
+    public String resolveId(String propertyId) {
+        return propertyId == null || propertyId.isBlank() ? defaultPropertyId : propertyId;
+    }
+
+    public List<Property> findAllProperties() {
+        return propertyRepository.findAll();
+    }
+
+    @Cacheable(cacheNames = "properties", key = "#id")
+    public Property findPropertyById(String id) {
+        return propertyRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Property not found"));
+    }
+
+    /**
+     * Policy times for a property, falling back to the configured defaults for unset fields.
+     *
+     * @throws NoSuchElementException if the property does not exist (other than the default property)
+     */
+    @Cacheable(cacheNames = "propertyPolicies", key = "#root.target.resolveId(#propertyId)")
+    public PropertyPolicy policyFor(String propertyId) {
+        String id = resolveId(propertyId);
+        Property property = propertyRepository.findById(id).orElseGet(() -> {
+            if (!id.equals(defaultPropertyId)) {
+                throw new NoSuchElementException("Property not found");
+            }
+            return new Property(); // not created yet; the configured defaults apply
+        });
+        return new PropertyPolicy(
+                id,
+                ZoneId.of(property.getTimezone() != null ? property.getTimezone() : defaultTimezone),
+                property.getCheckInHour() != null ? property.getCheckInHour() : defaultCheckInHour,
+                property.getChangeNoticeHours() != null ? property.getChangeNoticeHours() : defaultChangeNoticeHours);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public Property createProperty(Property property) {
+        validateProperty(property);
+        if (property.getId() != null && propertyRepository.existsById(property.getId())) {
+            throw new IllegalStateException("Property already exists");
+        }
+        property.setVersion(null); // always an insert, whatever the client sent
+        return propertyRepository.save(property);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "properties", key = "#id"),
+            @CacheEvict(cacheNames = "propertyPolicies", key = "#id")
+    })
+    public Property updateProperty(String id, Property property) {
+        validateProperty(property);
+        return versionedPatcher.patch(Property.class, id, existing -> {
+            Update changes = new Update();
+            VersionedPatcher.setIfChanged(changes, "name", existing.getName(), property.getName());
+            VersionedPatcher.setIfChanged(changes, "timezone", existing.getTimezone(), property.getTimezone());
+            VersionedPatcher.setIfChanged(changes, "checkInHour", existing.getCheckInHour(), property.getCheckInHour());
+            VersionedPatcher.setIfChanged(changes, "changeNoticeHours", existing.getChangeNoticeHours(), property.getChangeNoticeHours());
+            return changes;
+        }).orElseThrow(() -> new NoSuchElementException("Property not found"));
+    }
+
+    /**
+     * Creates the default property if it is missing and assigns unpartitioned documents to it.
+     * Safe to run on every instance at every startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureDefaultProperty() {
+        try {
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(defaultPropertyId)),
+                    new Update()
+                            .setOnInsert("name", "Tipton Hotel")
+                            .setOnInsert("timezone", defaultTimezone)
+                            .setOnInsert("checkInHour", defaultCheckInHour)
+                            .setOnInsert("changeNoticeHours", defaultChangeNoticeHours)
+                            .setOnInsert("version", 0L),
+                    Property.class);
+
+            for (String collection : PARTITIONED_COLLECTIONS) {
+                long assigned = mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("propertyId").exists(false)),
+                        new Update().set("propertyId", defaultPropertyId),
+                        collection).getModifiedCount();
+                if (assigned > 0) {
+                    log.info("Assigned {} documents in {} to property {}", assigned, collection, defaultPropertyId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not assign legacy documents to the default property: {}", e.getMessage());
+        }
+    }
+
+    private void validateProperty(Property property) {
+        if (property == null) {
+            throw new IllegalArgumentException("Property payload is required");
+        }
+        if (property.getName() == null || property.getName().isBlank()) {
+            throw new IllegalArgumentException("Property name is required");
+        }
+        if (property.getTimezone() == null) {
+            throw new IllegalArgumentException("Property timezone is required");
+        }
+        try {
+            ZoneId.of(property.getTimezone());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown timezone: " + property.getTimezone());
+        }
+        if (property.getCheckInHour() == null || property.getCheckInHour() < 0 || property.getCheckInHour() > 23) {
+            throw new IllegalArgumentException("Property checkInHour must be between 0 and 23");
+        }
+        if (property.getChangeNoticeHours() != null && property.getChangeNoticeHours() < 0) {
+            throw new IllegalArgumentException("Property changeNoticeHours cannot be negative");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.group1.tipton_reservations.dto.room.RoomBlockRequest;
+import com.group1.tipton_reservations.dto.room.RoomBlockResult;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomBlock;
+import com.group1.tipton_reservations.repository.BookingRepository;
+import com.group1.tipton_reservations.repository.RoomBlockRepository;
+import com.group1.tipton_reservations.repository.RoomLocks;
+import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.search.AvailabilitySearchCoalescer;
+import com.group1.tipton_reservations.search.RoomBlockIndex;
+import com.group1.tipton_reservations.waitlist.WaitlistMatcher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Taking rooms out of order and putting them back, one room or a whole floor at a time.
+ * <p>
+ * A block is written under the room's lease after checking that no booking holds any of its
+ * nights, the same check-then-write a booking makes, so a block and a booking can never
+ * share a night. Blocking never moves guests: rooms with bookings in the range are skipped
+ * and reported. Every change drops the cached {@link com.group1.tipton_reservations.search.RoomBlockCalendar}
+ * and the coalesced searches over its dates; freed nights are offered to the waitlist.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomBlockService {
+
+    private final RoomBlockRepository roomBlockRepository;
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomLocks roomLocks;
+    private final RoomBlockIndex roomBlockIndex;
+    private final AvailabilitySearchCoalescer availabilitySearchCoalescer;
+    private final WaitlistMatcher waitlistMatcher;
+    private final PropertyService propertyService;
+
+    /**
+     * Blocks of a property that overlap a date range, earliest first.
+     * Admin-only operation.
+     *
+     * @param propertyId the property, or null for the default property
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<RoomBlock> findBlocks(String propertyId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return roomBlockRepository.findByPropertyIdAndStartDateBeforeAndEndDateAfterOrderByStartDate(
+                propertyService.resolveId(propertyId), to, from);
+    }
+
+    /**
+     * Takes one room, or every room on a floor, out of order for a range of nights.
+     * Admin-only operation.
+     *
+     * @return the blocks made and the rooms skipped because bookings hold some of the nights
+     * @throws ResponseStatusException if the request is invalid, the room or floor doesn't exist,
+     *                                 or a single room could not be blocked
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public RoomBlockResult block(RoomBlockRequest request) {
+        validateRange(request.getStartDate(), request.getEndDate());
+        List<Room> rooms = targetRooms(request.getPropertyId(), request.getRoomId(), request.getFloor());
+        String propertyId = propertyService.resolveId(rooms.get(0).getPropertyId());
+
+        List<RoomBlock> blocked = new ArrayList<>();
+        List<Room> skipped = new ArrayList<>();
+        for (Room room : rooms) {
+            RoomBlock block = new RoomBlock();
+            block.setPropertyId(propertyId);
+            block.setRoomId(room.getId());
+            block.setRoomTypeId(room.getRoomTypeId());
+            block.setFloor(room.getFloor());
+            block.setStartDate(request.getStartDate());
+            block.setEndDate(request.getEndDate());
+            block.setReason(request.getReason());
+
+            roomLocks.withRoom(room.getId(), () -> bookingRepository.findOverlappingBookings(
+                            propertyId, room.getId(), block.getStartDate(), block.getEndDate()).isEmpty()
+                        ? Optional.of(roomBlockRepository.insert(block))
+                        : Optional.<RoomBlock>empty())
+                .ifPresentOrElse(blocked::add, () -> skipped.add(room));
+        }
+
+        if (!blocked.isEmpty()) {
+            changed(propertyId, request.getStartDate(), request.getEndDate());
+            log.info("Blocked {} room(s) of property {} from {} to {}, skipped {}",
+                    blocked.size(), propertyId, request.getStartDate(), request.getEndDate(), skipped.size());
+        }
+        if (request.getRoomId() != null && blocked.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The room has bookings during the selected dates");
+        }
+        return new RoomBlockResult(blocked, skipped);
+    }
+
+    /**
+     * Puts one room, or every room on a floor, back in service for a range of nights.
+     * Blocks that reach outside the range keep the nights outside it.
+     * Admin-only operation.
+     *
+     * @param propertyId the property of the floor, or null for the default property; ignored for a single room
+     * @return how many rooms got nights back
+     * @throws ResponseStatusException if the request is invalid or the room or floor doesn't exist
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public int unblock(String propertyId, String roomId, Integer floor, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        List<Room> rooms = targetRooms(propertyId, roomId, floor);
+        String resolvedPropertyId = propertyService.resolveId(rooms.get(0).getPropertyId());
+
+        List<RoomBlock> overlapping = roomBlockRepository.findOverlapping(resolvedPropertyId,
+                rooms.stream().map(Room::getId).toList(), startDate, endDate);
+        for (RoomBlock block : overlapping) {
+            // write what is left first, so no night of it is ever unblocked by mistake
+            if (block.getStartDate().isBefore(startDate)) {
+                roomBlockRepository.insert(remainder(block, block.getStartDate(), startDate));
+            }
+            if (block.getEndDate().isAfter(endDate)) {
+                roomBlockRepository.insert(remainder(block, endDate, block.getEndDate()));
+            }
+            roomBlockRepository.deleteById(block.getId());
+        }
+
+        if (!overlapping.isEmpty()) {
+            changed(resolvedPropertyId, startDate, endDate);
+            released(resolvedPropertyId, overlapping, startDate, endDate);
+        }
+        return (int) overlapping.stream().map(RoomBlock::getRoomId).distinct().count();
+    }
+
+    /**
+     * Removes one block entirely.
+     * Admin-only operation.
+     *
+     * @throws ResponseStatusException if there is no such block
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public void deleteBlock(String id) {
+        RoomBlock block = roomBlockRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room block not found with ID: " + id));
+        roomBlockRepository.deleteById(id);
+        changed(block.getPropertyId(), block.getStartDate(), block.getEndDate());
+        released(block.getPropertyId(), List.of(block), block.getStartDate(), block.getEndDate());
+    }
+
+    private List<Room> targetRooms(String propertyId, String roomId, Integer floor) {
+        if ((roomId == null) == (floor == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Give either a room ID or a floor");
+        }
+        if (roomId != null) {
+            Room room = roomRepository.findById(roomId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found with ID: " + roomId));
+            return List.of(room);
+        }
+
+        List<Room> rooms = roomRepository.findByPropertyId(propertyService.resolveId(propertyId)).stream()
+                .filter(room -> floor.equals(room.getFloor()))
+                .toList();
+        if (rooms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No rooms on floor " + floor);
+        }
+        return rooms;
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Start and end dates are required");
+        }
+        if (!endDate.isAfter(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "End date must be after start date");
+        }
+    }
+
+    private static RoomBlock remainder(RoomBlock block, LocalDate startDate, LocalDate endDate) {
+        RoomBlock rest = new RoomBlock();
+        rest.setPropertyId(block.getPropertyId());
+        rest.setRoomId(block.getRoomId());
+        rest.setRoomTypeId(block.getRoomTypeId());
+        rest.setFloor(block.getFloor());
+        rest.setStartDate(startDate);
+        rest.setEndDate(endDate);
+        rest.setReason(block.getReason());
+        return rest;
+    }
+
+    private void changed(String propertyId, LocalDate startDate, LocalDate endDate) {
+        roomBlockIndex.evict(propertyId);
+        availabilitySearchCoalescer.invalidate(propertyId, startDate, endDate);
+    }
+
+    // offers the freed nights of each room type to its waitlist; a failure only costs those offers
+    private void released(String propertyId, List<RoomBlock> removed, LocalDate startDate, LocalDate endDate) {
+        Map<String, LocalDate[]> freedByType = new HashMap<>();
+        for (RoomBlock block : removed) {
+            if (block.getRoomTypeId() == null) {
+                continue;
+            }
+            LocalDate from = block.getStartDate().isAfter(startDate) ? block.getStartDate() : startDate;
+            LocalDate to = block.getEndDate().isBefore(endDate) ? block.getEndDate() : endDate;
+            freedByType.merge(block.getRoomTypeId(), new LocalDate[] { from, to }, (a, b) -> new LocalDate[] {
+                    a[0].isBefore(b[0]) ? a[0] : b[0], a[1].isAfter(b[1]) ? a[1] : b[1] });
+        }
+        freedByType.forEach((roomTypeId, range) -> {
+            try {
+                waitlistMatcher.released(propertyId, roomTypeId, range[0], range[1]);
+            } catch (RuntimeException e) {
+                log.warn("Could not offer unblocked nights of room type {} to the waitlist: {}", roomTypeId, e.getMessage());
+            }
+        });
+    }
+}
@@ -6,79 +6,136 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
 
 import com.group1.tipton_reservations.model.Booking;
 import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
 import com.group1.tipton_reservations.repository.BookingRepository;
 import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.repository.RoomTypeRepository;
+import com.group1.tipton_reservations.repository.VersionedPatcher;
+import com.group1.tipton_reservations.search.RoomBlockIndex;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
     private final RoomRepository roomRepository;
+    private final RoomTypeRepository roomTypeRepository;
     private final BookingRepository bookingRepository;
+    private final VersionedPatcher versionedPatcher;
+    private final PropertyService propertyService;
+    private final RoomBlockIndex roomBlockIndex;
+    private final BookingStatsService bookingStatsService;
 
 
-    //Select *
-    public List<Room> findAllRooms() {
-        return roomRepository.findAll(); 
+    //Select * for one property (the default property if none is given)
+    public List<Room> findAllRooms(String propertyId) {
+        return roomRepository.findByPropertyId(propertyService.resolveId(propertyId)); 
     }
+    @Cacheable(cacheNames = "rooms", key = "#id")
     public Room findRoomById(String id) {
         return roomRepository.findById(id).orElseThrow(() -> new RuntimeException("Room not found")); 
     }
 
     //Edit room entry
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "rooms", key = "#id"),
+            @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true) })
     public void updateRoom(String id, String roomTypeId, String roomNumber, Integer floor) { 
-        Room r = roomRepository.findById(id).orElseThrow(() -> new RuntimeException("Room not found"));  
-
-        r.setRoomTypeId(roomTypeId); 
-        r.setRoomNumber(roomNumber); 
-        r.setFloor(floor); 
-
-        roomRepository.save(r); 
+        String[] previousType = new String[1];
+        versionedPatcher.patch(Room.class, id, r -> {
+            previousType[0] = r.getRoomTypeId();
+            if (!Objects.equals(r.getRoomTypeId(), roomTypeId)
+                    && !propertyService.resolveId(r.getPropertyId()).equals(propertyOf(roomTypeId))) {
+                throw new RuntimeException("Room type belongs to a different property");
+            }
+
+            Update changes = new Update();
+            VersionedPatcher.setIfChanged(changes, "roomTypeId", r.getRoomTypeId(), roomTypeId);
+            VersionedPatcher.setIfChanged(changes, "roomNumber", r.getRoomNumber(), roomNumber);
+            VersionedPatcher.setIfChanged(changes, "floor", r.getFloor(), floor);
+            return changes;
+        }).orElseThrow(() -> new RuntimeException("Room not found"));
+
+        if (!Objects.equals(previousType[0], roomTypeId)) {
+            bookingStatsService.roomsChanged(previousType[0]);
+            bookingStatsService.roomsChanged(roomTypeId);
+        }
     }
 
 
+    @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true)
     public Room createRoom(Room room) {
+        // a room always lives in the property of its room type
+        room.setPropertyId(propertyOf(room.getRoomTypeId()));
+
         //handle edge casefor not creating dup room numbers
-        if (roomRepository.existsByRoomNumber(room.getRoomNumber())) {
+        if (roomRepository.existsByPropertyIdAndRoomNumber(room.getPropertyId(), room.getRoomNumber())) {
             throw new RuntimeException("Room number already exists"); 
         }
-        return roomRepository.save(room); 
+        room.setVersion(null); // always an insert, whatever the client sent
+        Room saved = roomRepository.save(room);
+        bookingStatsService.roomsChanged(saved.getRoomTypeId());
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "rooms", key = "#id"),
+            @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true) })
     public void deleteRoom(String id) {
+        String roomTypeId = roomRepository.findById(id).map(Room::getRoomTypeId).orElse(null);
         roomRepository.deleteById(id);
+        bookingStatsService.roomsChanged(roomTypeId);
     }
 
     // finds an available room for a given room type and date range.
-    public Room findAvailableRoom(String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+    public Room findAvailableRoom(String propertyId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+        return findAvailableRooms(propertyId, roomTypeId, checkInDate, checkOutDate).stream()
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException(
+                "No rooms available for this type during the selected dates"
+            ));
+    }
+
+    // every room of the type that is free for the whole stay, in the order they should be tried.
+    // advisory: callers that assign one must re-check it under RoomLocks
+    public List<Room> findAvailableRooms(String propertyId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
         // get all rooms of specified type
-        List<Room> allRoomsMatchingType = roomRepository.findByRoomTypeId(roomTypeId);
+        List<Room> allRoomsMatchingType = roomRepository.findByPropertyIdAndRoomTypeId(propertyId, roomTypeId);
 
         // get all bookings that overlap with the requested dates for this room type
         List<Booking> overlappingBookings = bookingRepository.findBookedRoomIdsByRoomTypeAndDateRange(
+            propertyId,
             roomTypeId,
             checkInDate,
             checkOutDate
         );
 
-        // get room ids that are already booked
+        // get room ids that are already booked, plus the ones out of order
         Set<String> bookedRoomIds = overlappingBookings.stream()
             .map(Booking::getRoomId)
             .filter(Objects::nonNull)  // filter out null room ids
             .collect(Collectors.toSet());
+        bookedRoomIds.addAll(roomBlockIndex.forProperty(propertyId).blockedRoomIds(checkInDate, checkOutDate));
 
-        // find first available room (i.e. not booked and in status = "AVAILABLE")
         return allRoomsMatchingType.stream()
-            .filter(room -> !bookedRoomIds.contains(room.getId()))  // excludes rooms already booked
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException(
-                "No rooms available for this type during the selected dates"
-            ));
+            .filter(room -> !bookedRoomIds.contains(room.getId()))  // excludes rooms already booked or blocked
+            .toList();
     }
 
-}
\ No newline at end of file
+    private String propertyOf(String roomTypeId) {
+        if (roomTypeId == null) {
+            throw new RuntimeException("Room type is required");
+        }
+        RoomType roomType = roomTypeRepository.findById(roomTypeId)
+            .orElseThrow(() -> new RuntimeException("Room type not found"));
+        return propertyService.resolveId(roomType.getPropertyId());
+    }
+}
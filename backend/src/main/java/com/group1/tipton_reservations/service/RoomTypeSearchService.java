@@ -0,0 +1,150 @@
+package com.group1.tipton_reservations.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.group1.tipton_reservations.dto.roomType.RoomTypeAvailabilityResponse;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeSearchResponse;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeSearchResponse.AmenityFacet;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeSearchResponse.CapacityFacet;
+import com.group1.tipton_reservations.dto.roomType.RoomTypeSearchResponse.PriceBandFacet;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.repository.BookingRepository;
+import com.group1.tipton_reservations.search.RoomBlockIndex;
+import com.group1.tipton_reservations.search.RoomTypeFacetIndex;
+import com.group1.tipton_reservations.search.RoomTypeFacets;
+import com.group1.tipton_reservations.search.RoomTypeSort;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Faceted room-type search over the cached {@link RoomTypeFacets} bitsets.
+ * <p>
+ * Only availability needs the database: one query for every booked room in the range, merged
+ * with the cached room blocks and turned into a mask of room types with a free room. Everything else (amenities, capacity, price,
+ * facet counts, sort) is bitset intersections over the room types of the property.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class RoomTypeSearchService {
+
+    private final RoomTypeFacetIndex facetIndex;
+    private final RoomBlockIndex roomBlockIndex;
+    private final BookingRepository bookingRepository;
+    private final PropertyService propertyService;
+
+    /**
+     * @param propertyId the property, or null for the default property
+     * @param guests minimum capacity, or null for any
+     * @param amenityIds amenities every result must have, or null
+     * @param minPrice lowest base price, inclusive, or null
+     * @param maxPrice highest base price, inclusive, or null
+     * @param sort price_asc (default), price_desc, capacity_desc or name
+     * @throws IllegalArgumentException for missing or inverted dates, an inverted price range or an unknown sort
+     */
+    public RoomTypeSearchResponse search(String propertyId, LocalDate checkInDate, LocalDate checkOutDate, Integer guests,
+            List<String> amenityIds, BigDecimal minPrice, BigDecimal maxPrice, String sort) {
+        if (checkInDate == null || checkOutDate == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates are required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        RoomTypeSort order = RoomTypeSort.parse(sort);
+        Set<String> selectedAmenities = amenityIds == null ? Set.of() : new HashSet<>(amenityIds);
+
+        String resolvedPropertyId = propertyService.resolveId(propertyId);
+        RoomTypeFacets facets = facetIndex.forProperty(resolvedPropertyId);
+        int[] availableCounts = availableCounts(facets, resolvedPropertyId, checkInDate, checkOutDate);
+
+        BitSet available = new BitSet(facets.size());
+        for (int o = 0; o < availableCounts.length; o++) {
+            if (availableCounts[o] > 0) {
+                available.set(o);
+            }
+        }
+        BitSet amenityMask = facets.withAmenities(selectedAmenities);
+        BitSet capacityMask = facets.capacityMask(guests == null ? 0 : guests);
+        BitSet priceMask = facets.priceMask(minPrice, maxPrice);
+
+        BitSet matches = and(available, amenityMask, capacityMask, priceMask);
+        List<RoomTypeAvailabilityResponse> results = new ArrayList<>(matches.cardinality());
+        for (int ordinal : facets.ordered(matches, order)) {
+            results.add(new RoomTypeAvailabilityResponse(facets.roomType(ordinal), availableCounts[ordinal]));
+        }
+
+        List<AmenityFacet> amenityFacets = new ArrayList<>();
+        for (var amenity : facets.amenities()) {
+            BitSet with = facets.amenityMask(amenity.getId());
+            amenityFacets.add(new AmenityFacet(amenity.getId(), amenity.getName(),
+                    intersectionCount(matches, with), selectedAmenities.contains(amenity.getId())));
+        }
+
+        BitSet withoutPrice = and(available, amenityMask, capacityMask);
+        List<PriceBandFacet> priceFacets = new ArrayList<>();
+        List<BigDecimal> edges = facets.bandEdges();
+        for (int b = 0; b < facets.priceBands(); b++) {
+            priceFacets.add(new PriceBandFacet(b == 0 ? null : edges.get(b - 1), b < edges.size() ? edges.get(b) : null,
+                    intersectionCount(withoutPrice, facets.priceBandMask(b))));
+        }
+
+        BitSet withoutCapacity = and(available, amenityMask, priceMask);
+        List<CapacityFacet> capacityFacets = new ArrayList<>();
+        for (int g = 1; g <= facets.maxCapacity(); g++) {
+            capacityFacets.add(new CapacityFacet(g, intersectionCount(withoutCapacity, facets.capacityMask(g))));
+        }
+
+        return new RoomTypeSearchResponse(results, amenityFacets, priceFacets, capacityFacets);
+    }
+
+    // free rooms per room type ordinal
+    private int[] availableCounts(RoomTypeFacets facets, String propertyId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Map<String, Set<String>> bookedByType = new HashMap<>();
+        for (Booking booking : bookingRepository.searchBookedRoomIdsByDateRange(propertyId, checkInDate, checkOutDate)) {
+            if (booking.getRoomTypeId() != null && booking.getRoomId() != null) {
+                bookedByType.computeIfAbsent(booking.getRoomTypeId(), id -> new HashSet<>()).add(booking.getRoomId());
+            }
+        }
+
+        Set<String> blocked = roomBlockIndex.forProperty(propertyId).blockedRoomIds(checkInDate, checkOutDate);
+        int[] counts = new int[facets.size()];
+        for (int o = 0; o < counts.length; o++) {
+            Set<String> booked = bookedByType.getOrDefault(facets.roomType(o).getId(), Set.of());
+            int free = 0;
+            for (String roomId : facets.roomIds(o)) {
+                if (!booked.contains(roomId) && !blocked.contains(roomId)) {
+                    free++;
+                }
+            }
+            counts[o] = free;
+        }
+        return counts;
+    }
+
+    private static BitSet and(BitSet first, BitSet... rest) {
+        BitSet result = (BitSet) first.clone();
+        for (BitSet mask : rest) {
+            result.and(mask);
+        }
+        return result;
+    }
+
+    private static int intersectionCount(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result.cardinality();
+    }
+}
@@ -4,100 +4,182 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.mongodb.ReadPreference;
+
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
 import com.group1.tipton_reservations.dto.roomType.RoomTypeAvailabilityResponse;
+import com.group1.tipton_reservations.fields.FieldSelection;
+import com.group1.tipton_reservations.images.ImageVariantWorker;
 import com.group1.tipton_reservations.model.Booking;
 import com.group1.tipton_reservations.model.Room;
 import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.reads.ReadTokenFallback;
 import com.group1.tipton_reservations.repository.BookingRepository;
 import com.group1.tipton_reservations.repository.RoomRepository;
 import com.group1.tipton_reservations.repository.RoomTypeRepository;
+import com.group1.tipton_reservations.repository.VersionedPatcher;
+import com.group1.tipton_reservations.search.AvailabilitySearchCoalescer;
+import com.group1.tipton_reservations.search.RoomBlockIndex;
 
 @Service
 public class RoomTypeService {
     private final RoomTypeRepository roomTypeRepository;
     private final RoomRepository roomRepository;
     private final BookingRepository bookingRepository; 
+    private final VersionedPatcher versionedPatcher;
+    private final PropertyService propertyService;
+    private final MongoTemplate mongoTemplate;
+    private final ImageVariantWorker imageVariantWorker;
+    private final AvailabilitySearchCoalescer availabilitySearchCoalescer;
+    private final RoomBlockIndex roomBlockIndex;
+    private final Bulkheads bulkheads;
 
 
-
-    public RoomTypeService(RoomTypeRepository roomTypeRepository, RoomRepository roomRepository, BookingRepository bookingRepository)  {
+    public RoomTypeService(RoomTypeRepository roomTypeRepository, RoomRepository roomRepository, BookingRepository bookingRepository,
+            VersionedPatcher versionedPatcher, PropertyService propertyService, MongoTemplate mongoTemplate,
+            ImageVariantWorker imageVariantWorker, AvailabilitySearchCoalescer availabilitySearchCoalescer,
+            RoomBlockIndex roomBlockIndex, Bulkheads bulkheads)  {
         this.roomTypeRepository = roomTypeRepository;
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
+        this.versionedPatcher = versionedPatcher;
+        this.propertyService = propertyService;
+        this.mongoTemplate = mongoTemplate;
+        this.imageVariantWorker = imageVariantWorker;
+        this.availabilitySearchCoalescer = availabilitySearchCoalescer;
+        this.roomBlockIndex = roomBlockIndex;
+        this.bulkheads = bulkheads;
     }
 
 
-    //Select *
-    public List<RoomType> findAllRoomTypes() {
-        return roomTypeRepository.findAll(); 
+    //Select * for one property (the default property if none is given)
+    public List<RoomType> findAllRoomTypes(String propertyId) {
+        return roomTypeRepository.findByPropertyId(propertyService.resolveId(propertyId)); 
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "roomTypes", key = "#id"),
+            @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true) })
     public RoomType updateRoomType(String id, RoomType roomType) { 
         validateRoomType(roomType);
-        RoomType existing = roomTypeRepository.findById(id)
-            .orElseThrow(() -> new NoSuchElementException("RoomType not found"));
-
         String normalizedName = normalizeName(roomType.getName());
-        if (!normalizedName.equals(existing.getName()) && roomTypeRepository.existsByName(normalizedName)) {
-            throw new IllegalStateException("RoomType name already exists");
-        }
 
-        existing.setName(normalizedName);
-        existing.setDescription(roomType.getDescription());
-        existing.setBasePrice(roomType.getBasePrice());
-        existing.setMaxOccupancy(roomType.getMaxOccupancy());
-        existing.setImageUrls(roomType.getImageUrls());
-        existing.setAmenityIds(roomType.getAmenityIds());
+        // the property is fixed at creation; rooms and bookings are partitioned by it
+        return versionedPatcher.patch(RoomType.class, id, existing -> {
+            if (!normalizedName.equals(existing.getName())
+                    && roomTypeRepository.existsByPropertyIdAndName(propertyService.resolveId(existing.getPropertyId()), normalizedName)) {
+                throw new IllegalStateException("RoomType name already exists");
+            }
 
-        return roomTypeRepository.save(existing);
+            Update changes = new Update();
+            VersionedPatcher.setIfChanged(changes, "name", existing.getName(), normalizedName);
+            VersionedPatcher.setIfChanged(changes, "description", existing.getDescription(), roomType.getDescription());
+            VersionedPatcher.setIfChanged(changes, "basePrice", existing.getBasePrice(), roomType.getBasePrice());
+            VersionedPatcher.setIfChanged(changes, "maxOccupancy", existing.getMaxOccupancy(), roomType.getMaxOccupancy());
+            if (!Objects.equals(existing.getImageUrls(), roomType.getImageUrls())) {
+                changes.set("imageUrls", roomType.getImageUrls()).set("imagesPending", true);
+            }
+            VersionedPatcher.setIfChanged(changes, "amenityIds", existing.getAmenityIds(), roomType.getAmenityIds());
+            return changes;
+        }).map(updated -> {
+            if (Boolean.TRUE.equals(updated.getImagesPending())) {
+                imageVariantWorker.submit(id);
+            }
+            return updated;
+        }).orElseThrow(() -> new NoSuchElementException("RoomType not found"));
     }
+    @Cacheable(cacheNames = "roomTypes", key = "#id")
     public RoomType findRoomTypeById(String id) {
         return roomTypeRepository.findById(id)
             .orElseThrow(() -> new NoSuchElementException("RoomType not found"));
     }
     
+    @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true)
     public RoomType createRoomType(RoomType roomType) {
         validateRoomType(roomType);
         String normalizedName = normalizeName(roomType.getName());
-        if (roomTypeRepository.existsByName(normalizedName)) {
+        String propertyId = propertyService.resolveId(roomType.getPropertyId());
+        try {
+            propertyService.findPropertyById(propertyId);
+        } catch (NoSuchElementException e) {
+            throw new IllegalArgumentException("Property not found: " + propertyId);
+        }
+        if (roomTypeRepository.existsByPropertyIdAndName(propertyId, normalizedName)) {
             throw new IllegalStateException("RoomType name already exists");
         }
+        roomType.setPropertyId(propertyId);
         roomType.setName(normalizedName);
-        return roomTypeRepository.save(roomType); 
+        roomType.setVersion(null); // always an insert, whatever the client sent
+        roomType.setImages(null); // manifests are only ever written by the image pipeline
+        roomType.setImagesPending(roomType.getImageUrls() != null && !roomType.getImageUrls().isEmpty() ? true : null);
+        RoomType saved = roomTypeRepository.save(roomType);
+        if (saved.getImagesPending() != null) {
+            imageVariantWorker.submit(saved.getId());
+        }
+        return saved;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "roomTypes", key = "#id"),
+            @CacheEvict(cacheNames = "roomTypeFacets", allEntries = true) })
     public void deleteRoomType(String id) {
         roomTypeRepository.deleteById(id);
     }
 
     /**
-     * Find all room types that have at least one room available for the specified date range.
+     * Find all room types of a property that have at least one room available for the specified date range.
      *      
+     * @param propertyId the property, or null for the default property
      * @param checkInDate the check-in date
      * @param checkOutDate the check-out date
+     * @param fields the response fields the caller wants; only the room type fields among them are loaded
      * @return list of available room types with availability count
      */
-    public List<RoomTypeAvailabilityResponse> findAvailableRoomTypes(LocalDate checkInDate, LocalDate checkOutDate, Integer guests) {
+    public List<RoomTypeAvailabilityResponse> findAvailableRoomTypes(String propertyId, LocalDate checkInDate, LocalDate checkOutDate, Integer guests,
+            FieldSelection fields) {
         if (checkInDate == null || checkOutDate == null) {
             throw new IllegalArgumentException("Check-in and check-out dates are required");
         }
         if (checkOutDate.isBefore(checkInDate) || checkOutDate.isEqual(checkInDate)) {
             throw new IllegalArgumentException("Check-out date must be after check-in date");
         }
+        if (guests == null) {
+            throw new IllegalArgumentException("Number of guests is required");
+        }
 
-        // Get a list of all room types
-        List<RoomType> allRoomTypes = roomTypeRepository.findAll();
+        // identical concurrent searches share one computation
+        String resolvedPropertyId = propertyService.resolveId(propertyId);
+        return availabilitySearchCoalescer.search(resolvedPropertyId, checkInDate, checkOutDate, guests, fields.key(),
+                () -> computeAvailableRoomTypes(resolvedPropertyId, checkInDate, checkOutDate, guests, fields));
+    }
+
+    private List<RoomTypeAvailabilityResponse> computeAvailableRoomTypes(String resolvedPropertyId, LocalDate checkInDate,
+            LocalDate checkOutDate, int guests, FieldSelection fields) {
+        // Get a list of all room types in the property
+        List<RoomType> allRoomTypes = fields.isAll()
+            ? roomTypeRepository.findByPropertyId(resolvedPropertyId)
+            : findRoomTypesProjected(resolvedPropertyId, fields.includes("roomType") ? fields.children("roomType") : Set.of());
         List<RoomTypeAvailabilityResponse> availableRoomTypes = new ArrayList<>();
+        // rooms out of order count as booked; the calendar is cached, so this is no extra query
+        Set<String> blockedRoomIds = roomBlockIndex.forProperty(resolvedPropertyId).blockedRoomIds(checkInDate, checkOutDate);
 
         // Adding available room types to list
         for (RoomType roomType : allRoomTypes) {
             if (roomType.getMaxOccupancy() >= guests) {
-                int availableCount = countAvailableRooms(roomType.getId(), checkInDate, checkOutDate);
+                int availableCount = countAvailableRooms(resolvedPropertyId, roomType.getId(), checkInDate, checkOutDate, blockedRoomIds);
                 if (availableCount > 0) {
                     availableRoomTypes.add(new RoomTypeAvailabilityResponse(roomType, availableCount));
                 }
@@ -110,18 +192,21 @@ public class RoomTypeService {
     /**
      * Count the number of available rooms for a specific room type within a date range.
      *
+     * @param propertyId the property the room type belongs to
      * @param roomTypeId the room type ID
      * @param checkInDate the check-in date
      * @param checkOutDate the check-out date
+     * @param blockedRoomIds rooms out of order during the stay
      * @return the number of available rooms
      */
-    private int countAvailableRooms(String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+    private int countAvailableRooms(String propertyId, String roomTypeId, LocalDate checkInDate, LocalDate checkOutDate,
+            Set<String> blockedRoomIds) {
         // Get all rooms of this type
-        List<Room> allRooms = roomRepository.findByRoomTypeId(roomTypeId);
+        List<Room> allRooms = roomRepository.findByPropertyIdAndRoomTypeId(propertyId, roomTypeId);
 
         // Get all booked room IDs for this room type and date range
-        List<Booking> bookedRoomBookings = bookingRepository.findBookedRoomIdsByRoomTypeAndDateRange(
-            roomTypeId, checkInDate, checkOutDate
+        List<Booking> bookedRoomBookings = bookingRepository.searchBookedRoomIdsByRoomTypeAndDateRange(
+            propertyId, roomTypeId, checkInDate, checkOutDate
         );
 
         // Extract booked room IDs into a Set
@@ -129,10 +214,10 @@ public class RoomTypeService {
             .map(Booking::getRoomId)
             .collect(Collectors.toSet());
 
-        // Count rooms that are not in the booked set
+        // Count rooms that are neither booked nor blocked
         int availableCount = 0;
         for (Room room : allRooms) {
-            if (!bookedRoomIds.contains(room.getId())) {
+            if (!bookedRoomIds.contains(room.getId()) && !blockedRoomIds.contains(room.getId())) {
                 availableCount++;
             }
         }
@@ -140,6 +225,21 @@ public class RoomTypeService {
         return availableCount;
     }
 
+    /**
+     * Room types of a property with only {@code roomTypeFields} loaded (plus what the availability check needs),
+     * so descriptions and image lists nobody asked for are never read.
+     *
+     * @param roomTypeFields the RoomType properties to load, or null for all of them
+     */
+    private List<RoomType> findRoomTypesProjected(String propertyId, Set<String> roomTypeFields) {
+        Query query = Query.query(Criteria.where("propertyId").is(propertyId));
+        if (roomTypeFields != null) {
+            query.fields().include("maxOccupancy").include(roomTypeFields.toArray(String[]::new));
+        }
+        Query secondary = query.withReadPreference(ReadPreference.secondaryPreferred());
+        return ReadTokenFallback.call(() -> bulkheads.catalog().call(() -> mongoTemplate.find(secondary, RoomType.class)));
+    }
+
     private void validateRoomType(RoomType roomType) {
         if (roomType == null) {
             throw new IllegalArgumentException("RoomType payload is required");
@@ -0,0 +1,44 @@
+package com.group1.tipton_reservations.service;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.ChargeCollection;
+import com.stripe.model.Coupon;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PromotionCode;
+import com.stripe.model.PromotionCodeCollection;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.param.ChargeListParams;
+import com.stripe.param.CouponCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PromotionCodeCreateParams;
+import com.stripe.param.PromotionCodeListParams;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+
+/**
+ * The raw Stripe API calls used by {@link StripeService}.
+ * <p>
+ * {@link LiveStripeClient} talks to the Stripe SDK. The load and stress tests replace it with
+ * an in-memory fake under the {@code loadtest} profile so the booking flow can be driven
+ * without the live API.
+ * </p>
+ */
+public interface StripeClient {
+
+    PaymentIntent createPaymentIntent(PaymentIntentCreateParams params) throws StripeException;
+
+    PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException;
+
+    ChargeCollection listCharges(ChargeListParams params) throws StripeException;
+
+    Refund createRefund(RefundCreateParams params) throws StripeException;
+
+    RefundCollection listRefunds(RefundListParams params) throws StripeException;
+
+    Coupon createCoupon(CouponCreateParams params) throws StripeException;
+
+    PromotionCode createPromotionCode(PromotionCodeCreateParams params) throws StripeException;
+
+    PromotionCodeCollection listPromotionCodes(PromotionCodeListParams params) throws StripeException;
+}
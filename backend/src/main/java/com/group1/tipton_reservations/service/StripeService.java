@@ -1,7 +1,9 @@
 package com.group1.tipton_reservations.service;
 
+import com.group1.tipton_reservations.bulkhead.Bulkhead;
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
+import com.group1.tipton_reservations.metrics.RequestCost;
 import com.group1.tipton_reservations.model.Booking;
-import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.BalanceTransaction;
 import com.stripe.model.Charge;
@@ -10,10 +12,11 @@ import com.stripe.model.Refund;
 import com.stripe.param.ChargeListParams;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.stripe.param.RefundCreateParams;
-import org.springframework.beans.factory.annotation.Value;
+import com.stripe.param.RefundListParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -32,12 +35,14 @@ import com.stripe.param.PromotionCodeListParams;
 @Service
 public class StripeService {
 
-    @Value("${stripe.api.key}")
-    private String stripeApiKey;
+    private final StripeClient stripeClient;
+    private final MeterRegistry meterRegistry;
+    private final Bulkhead bulkhead;
 
-    @PostConstruct
-    public void init() {
-        Stripe.apiKey = stripeApiKey;
+    public StripeService(StripeClient stripeClient, MeterRegistry meterRegistry, Bulkheads bulkheads) {
+        this.stripeClient = stripeClient;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = bulkheads.stripe();
     }
 
     /**
@@ -64,7 +69,7 @@ public class StripeService {
                 )
                 .build();
 
-        return PaymentIntent.create(params);
+        return instrumented("createPaymentIntent", () -> stripeClient.createPaymentIntent(params));
     }
 
     /**
@@ -93,7 +98,7 @@ public class StripeService {
                 )
                 .build();
 
-        return PaymentIntent.create(params);
+        return instrumented("createPaymentIntentForAmount", () -> stripeClient.createPaymentIntent(params));
     }
 
     /**
@@ -104,7 +109,7 @@ public class StripeService {
      * @throws StripeException if retrieval fails
      */
     public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
-        return PaymentIntent.retrieve(paymentIntentId);
+        return instrumented("retrievePaymentIntent", () -> stripeClient.retrievePaymentIntent(paymentIntentId));
     }
 
     /**
@@ -131,7 +136,7 @@ public class StripeService {
 
         long total = 0;
 
-        for (Charge charge : Charge.list(params).getData()) {
+        for (Charge charge : instrumented("listCharges", () -> stripeClient.listCharges(params)).getData()) {
             if (charge.getPaid() && !charge.getRefunded()) {
                 BalanceTransaction bt = charge.getBalanceTransactionObject();
                 total += bt.getNet(); // NET revenue (fees already subtracted)
@@ -162,7 +167,30 @@ public class StripeService {
         }
 
         RefundCreateParams params = paramsBuilder.build();
-        return Refund.create(params);
+        return instrumented("createRefund", () -> stripeClient.createRefund(params));
+    }
+
+    /**
+     * Total refunded against a PaymentIntent according to Stripe, counting refunds that
+     * succeeded or are still pending; failed and canceled ones returned nothing.
+     *
+     * @param paymentIntentId The PaymentIntent ID
+     * @return The refunded amount in dollars
+     * @throws StripeException if the refunds cannot be listed
+     */
+    public BigDecimal getRefundedAmount(String paymentIntentId) throws StripeException {
+        RefundListParams params = RefundListParams.builder()
+                .setPaymentIntent(paymentIntentId)
+                .setLimit(100L) // a booking's payment is refunded a handful of times at most
+                .build();
+
+        long refundedCents = 0;
+        for (Refund refund : instrumented("listRefunds", () -> stripeClient.listRefunds(params)).getData()) {
+            if (!"failed".equals(refund.getStatus()) && !"canceled".equals(refund.getStatus())) {
+                refundedCents += refund.getAmount();
+            }
+        }
+        return BigDecimal.valueOf(refundedCents, 2);
     }
 
     /**
@@ -176,7 +204,7 @@ public class StripeService {
                 .setDuration(CouponCreateParams.Duration.ONCE)
                 .setName("$100 Loyalty Reward")
                 .build();
-        com.stripe.model.Coupon coupon = com.stripe.model.Coupon.create(couponParams);
+        com.stripe.model.Coupon coupon = instrumented("createCoupon", () -> stripeClient.createCoupon(couponParams));
 
         String codeString = "REWARD-" + java.util.UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         
@@ -191,7 +219,8 @@ public class StripeService {
                 .putAllMetadata(java.util.Map.of("userId", userId))
                 .build();
                 
-        com.stripe.model.PromotionCode promo = com.stripe.model.PromotionCode.create(promoParams);
+        com.stripe.model.PromotionCode promo = instrumented("createPromotionCode",
+                () -> stripeClient.createPromotionCode(promoParams));
         return promo.getCode();
 }
 
@@ -205,10 +234,45 @@ public class StripeService {
             .addExpand("data.promotion.coupon") 
             .build();
             
-    var codes = PromotionCode.list(params).getData();
+    var codes = instrumented("listPromotionCodes", () -> stripeClient.listPromotionCodes(params)).getData();
     if (codes.isEmpty()) {
         return null;
     }
     return codes.get(0);
 }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    /**
+     * Runs a Stripe API call under the {@code tipton.stripe.requests} timer and
+     * counts failures in {@code tipton.stripe.errors}, both tagged by operation.
+     * The call goes through the {@code stripe} bulkhead; a refusal there never reaches Stripe and is not timed.
+     */
+    private <T> T instrumented(String operation, StripeCall<T> call) throws StripeException {
+        return bulkhead.call(() -> timed(operation, call));
+    }
+
+    private <T> T timed(String operation, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (StripeException | RuntimeException e) {
+            outcome = "error";
+            meterRegistry.counter("tipton.stripe.errors",
+                    "operation", operation,
+                    "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            long elapsedNanos = sample.stop(Timer.builder("tipton.stripe.requests")
+                    .description("Latency of Stripe API calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            RequestCost.record(RequestCost.Component.STRIPE, elapsedNanos);
+        }
+    }
 }
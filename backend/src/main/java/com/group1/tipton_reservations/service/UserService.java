@@ -1,40 +1,95 @@
 package com.group1.tipton_reservations.service;
 
+import java.util.ArrayList;
 import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import com.group1.tipton_reservations.dto.user.UserDirectoryPage;
+import com.group1.tipton_reservations.model.RewardReceipt;
 import com.group1.tipton_reservations.model.User;
+import com.group1.tipton_reservations.repository.RewardReceiptRepository;
 import com.group1.tipton_reservations.repository.UserRepository;
+import com.group1.tipton_reservations.repository.UserSearchTerms;
+import com.group1.tipton_reservations.repository.VersionedPatcher;
+
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class UserService {
     private final UserRepository userRepository;
+    private final VersionedPatcher versionedPatcher;
+    private final RewardReceiptRepository rewardReceiptRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${tipton.users.directory-page-size:50}")
+    private int directoryPageSize;
 
-    public UserService(UserRepository userRepository) {
+    @Value("${tipton.users.directory-max-page-size:200}")
+    private int directoryMaxPageSize;
+
+    @Value("${tipton.users.id-batch-size:500}")
+    private int idBatchSize;
+
+    public UserService(UserRepository userRepository, VersionedPatcher versionedPatcher,
+                       RewardReceiptRepository rewardReceiptRepository, MongoTemplate mongoTemplate) {
         this.userRepository = userRepository;
+        this.versionedPatcher = versionedPatcher;
+        this.rewardReceiptRepository = rewardReceiptRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
-    public List<User> findAllUsers() {
-        return userRepository.findAll();
+    /**
+     * One page of the user directory without credentials: in email order, or by matching
+     * search term and then email when searching. Admin-only operation.
+     *
+     * @param query matches users whose email, first, last or full name starts with it (case and accents ignored); blank for everyone
+     * @param after the {@code next} cursor of the previous page, from the same query; null for the first page
+     * @param limit page size, capped at {@code tipton.users.directory-max-page-size}; null for the default
+     * @throws IllegalArgumentException if {@code after} is not a cursor from this query
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserDirectoryPage findUsers(String query, String after, Integer limit) {
+        int size = Math.max(1, Math.min(limit != null ? limit : directoryPageSize, directoryMaxPageSize));
+        String prefix = UserSearchTerms.normalize(query);
+        return userRepository.findDirectoryPage(prefix.isEmpty() ? null : prefix, after, size);
     }
 
+    @Cacheable(cacheNames = "users", key = "#id")
     public User findUserById(String id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @CacheEvict(cacheNames = "users", key = "#id")
     public void updateUser(String id, User userDetails) {
-    User u = userRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-
-    if (userDetails.getFirstName() != null) u.setFirstName(userDetails.getFirstName());
-    if (userDetails.getLastName() != null) u.setLastName(userDetails.getLastName());
-    if (userDetails.getPhoneNumber() != null) u.setPhoneNumber(userDetails.getPhoneNumber());
-    
-    u.setActive(userDetails.isActive());
+        versionedPatcher.patch(User.class, id, u -> {
+            Update changes = new Update();
+            if (userDetails.getFirstName() != null) VersionedPatcher.setIfChanged(changes, "firstName", u.getFirstName(), userDetails.getFirstName());
+            if (userDetails.getLastName() != null) VersionedPatcher.setIfChanged(changes, "lastName", u.getLastName(), userDetails.getLastName());
+            if (changes.modifies("firstName") || changes.modifies("lastName")) {
+                VersionedPatcher.setIfChanged(changes, "searchTerms", u.getSearchTerms(), UserSearchTerms.of(u.getEmail(),
+                        userDetails.getFirstName() != null ? userDetails.getFirstName() : u.getFirstName(),
+                        userDetails.getLastName() != null ? userDetails.getLastName() : u.getLastName()));
+            }
+            if (userDetails.getPhoneNumber() != null) VersionedPatcher.setIfChanged(changes, "phoneNumber", u.getPhoneNumber(), userDetails.getPhoneNumber());
 
-    userRepository.save(u);
-}
+            VersionedPatcher.setIfChanged(changes, "isActive", u.isActive(), userDetails.isActive());
+            return changes;
+        }).orElseThrow(() -> new RuntimeException("User not found"));
+    }
 
     public User findUserByEmail(String email) {
         return userRepository.findByEmail(email)
@@ -45,20 +100,109 @@ public class UserService {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
+        user.setVersion(null); // always an insert, whatever the client sent
         return userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = "users", key = "#id")
     public void deleteUser(String id) {
         userRepository.deleteById(id);
     }
 
+    /**
+     * Looks users up by id for display, loading only profile fields (no password or connected accounts).
+     * Large id lists are resolved in {@code $in} batches of {@code tipton.users.id-batch-size}.
+     */
     public List<User> findUsersByIds(List<String> ids) {
-        return userRepository.findAllById(ids);
+        List<String> distinct = ids.stream().distinct().toList();
+        List<User> users = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += idBatchSize) {
+            users.addAll(userRepository.findProfilesByIds(distinct.subList(from, Math.min(from + idBatchSize, distinct.size()))));
+        }
+        return users;
+    }
+
+    /**
+     * Gives users saved before directory search existed their search terms. Safe to run on every
+     * instance at every startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchTerms() {
+        try {
+            int total = 0;
+            for (int updated = userRepository.backfillSearchTerms(idBatchSize); updated > 0;
+                 updated = userRepository.backfillSearchTerms(idBatchSize)) {
+                total += updated;
+            }
+            if (total > 0) {
+                log.info("Added search terms to {} users", total);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not backfill user search terms: {}", e.getMessage());
+        }
     }
 
+    @CacheEvict(cacheNames = "users", key = "#userId")
     public void addRewardPoints(String userId, int points) {
-        User user = findUserById(userId); 
-        user.setRewardsPoints(user.getRewardsPoints() + points);
-        userRepository.save(user);
+        if (!versionedPatcher.increment(User.class, userId, "rewardsPoints", points, null)) {
+            throw new RuntimeException("User not found");
+        }
+    }
+
+    /**
+     * Awards the points earned by a booking, once, recording them in a {@link RewardReceipt}
+     * keyed by the booking.
+     * <p>
+     * The receipt is claimed first. The credit then marks the booking as in flight on the user
+     * in the same write, and is skipped if that mark is already there, so a retry after a
+     * failure between the steps neither loses nor repeats it. Once the receipt is applied the
+     * mark is removed again, so the user document does not grow with every booking.
+     * </p>
+     *
+     * @return false if the booking had already earned its points
+     */
+    @CacheEvict(cacheNames = "users", key = "#userId")
+    public boolean addRewardPoints(String userId, String bookingId, int points) {
+        RewardReceipt receipt = claimRewardReceipt(userId, bookingId, points);
+        boolean credited = false;
+        if (!receipt.isApplied()) {
+            // users rewarded before receipts existed list those bookings in rewardedBookingIds
+            credited = versionedPatcher.increment(User.class, userId, "rewardsPoints", receipt.getPoints(),
+                    Criteria.where("pendingRewardBookingIds").ne(bookingId).and("rewardedBookingIds").ne(bookingId),
+                    new Update().addToSet("pendingRewardBookingIds", bookingId));
+            if (!credited && !userRepository.existsById(userId)) {
+                rewardReceiptRepository.deleteById(bookingId);
+                throw new RuntimeException("User not found");
+            }
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(bookingId)),
+                    new Update().set("applied", true), RewardReceipt.class);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(receipt.getUserId()).and("pendingRewardBookingIds").is(bookingId)),
+                new Update().pull("pendingRewardBookingIds", bookingId), User.class);
+        return credited;
     }
-}
\ No newline at end of file
+
+    private RewardReceipt claimRewardReceipt(String userId, String bookingId, int points) {
+        RewardReceipt receipt = new RewardReceipt();
+        receipt.setBookingId(bookingId);
+        receipt.setUserId(userId);
+        receipt.setPoints(points);
+        try {
+            return rewardReceiptRepository.insert(receipt);
+        } catch (DuplicateKeyException e) {
+            // an earlier delivery claimed it, and may have stopped before applying it
+            return rewardReceiptRepository.findById(bookingId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Takes points off a user's balance only if the balance covers them, in one conditional write.
+     *
+     * @return false if the user does not have enough points
+     */
+    @CacheEvict(cacheNames = "users", key = "#userId")
+    public boolean redeemRewardPoints(String userId, int points) {
+        return versionedPatcher.increment(User.class, userId, "rewardsPoints", -points,
+                Criteria.where("rewardsPoints").gte(points));
+    }
+}
@@ -0,0 +1,127 @@
+package com.group1.tipton_reservations.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.group1.tipton_reservations.bulkhead.Bulkheads;
+import com.group1.tipton_reservations.dto.waitlist.JoinWaitlistRequest;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import com.group1.tipton_reservations.repository.WaitlistRepository;
+import com.group1.tipton_reservations.waitlist.WaitlistIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Guests joining and leaving the waitlist. Offers are made by the
+ * {@link com.group1.tipton_reservations.waitlist.WaitlistMatcher}.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final MongoTemplate mongoTemplate;
+    private final Bulkheads bulkheads;
+    private final RoomTypeService roomTypeService;
+    private final RoomService roomService;
+    private final PropertyService propertyService;
+
+    /**
+     * Puts a guest on the waitlist for a stay that is currently sold out.
+     *
+     * @throws ResponseStatusException if the request is invalid, rooms are available, or the guest is already waiting
+     */
+    public WaitlistEntry join(JoinWaitlistRequest request, String userId) {
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Check-out date must be after check-in date");
+        }
+
+        RoomType roomType;
+        try {
+            roomType = roomTypeService.findRoomTypeById(request.getRoomTypeId());
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Room type not found with ID: " + request.getRoomTypeId());
+        }
+        if (request.getNumberOfGuests() > roomType.getMaxOccupancy()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    String.format("Number of guests (%d) exceeds maximum occupancy (%d) for this room type",
+                            request.getNumberOfGuests(), roomType.getMaxOccupancy()));
+        }
+        String propertyId = propertyService.resolveId(roomType.getPropertyId());
+
+        if (waitlistRepository.existsByUserIdAndRoomTypeIdAndCheckInDateAndCheckOutDateAndStatusIn(
+                userId, roomType.getId(), request.getCheckInDate(), request.getCheckOutDate(),
+                EnumSet.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "You are already on the waitlist for this stay");
+        }
+        if (hasAvailableRoom(propertyId, roomType.getId(), request)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rooms are available for this stay; book it directly");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setPropertyId(propertyId);
+        entry.setRoomTypeId(roomType.getId());
+        entry.setUserId(userId);
+        entry.setCheckInDate(request.getCheckInDate());
+        entry.setCheckOutDate(request.getCheckOutDate());
+        entry.setNumberOfGuests(request.getNumberOfGuests());
+        entry.setStatus(WaitlistStatus.WAITING);
+
+        WaitlistEntry saved = waitlistRepository.save(entry);
+        waitlistIndex.add(saved);
+        return saved;
+    }
+
+    public List<WaitlistEntry> findUserEntries(String userId) {
+        return waitlistRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    /**
+     * Takes a waiting guest off the waitlist. An entry that already has an offer is settled
+     * through its booking (pay or void it) instead.
+     *
+     * @throws ResponseStatusException if the entry is not the caller's or is no longer waiting
+     */
+    public WaitlistEntry leave(String entryId, String userId, boolean admin) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .filter(e -> admin || e.getUserId().equals(userId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Waitlist entry not found with ID: " + entryId));
+
+        // findAndModify bypasses auditing
+        WaitlistEntry cancelled = bulkheads.bookings().call(() -> mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(entryId).and("status").is(WaitlistStatus.WAITING)),
+                new Update().set("status", WaitlistStatus.CANCELLED).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                WaitlistEntry.class));
+        if (cancelled == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Only WAITING entries can be cancelled. Current status: " + waitlistRepository.findById(entryId)
+                            .map(WaitlistEntry::getStatus).orElse(entry.getStatus()));
+        }
+        waitlistIndex.remove(entry);
+        return cancelled;
+    }
+
+    private boolean hasAvailableRoom(String propertyId, String roomTypeId, JoinWaitlistRequest request) {
+        try {
+            roomService.findAvailableRoom(propertyId, roomTypeId, request.getCheckInDate(), request.getCheckOutDate());
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
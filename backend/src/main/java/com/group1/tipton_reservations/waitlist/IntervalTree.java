@@ -0,0 +1,179 @@
+package com.group1.tipton_reservations.waitlist;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Half-open night ranges {@code [start, end)} with overlap lookup in O(log n + k).
+ * <p>
+ * A treap ordered by (start, id) where every node also carries the latest end in its subtree,
+ * so a lookup skips any subtree that ends before the range it is asked about and stops
+ * descending right once starts reach the end of that range. Not thread-safe.
+ * </p>
+ */
+final class IntervalTree<V> {
+
+    private static final class Node<V> {
+        final LocalDate start;
+        final LocalDate end;
+        final String id;
+        final V value;
+        final int priority;
+        LocalDate maxEnd;
+        Node<V> left;
+        Node<V> right;
+
+        Node(LocalDate start, LocalDate end, String id, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<V> root;
+    private int size;
+    private boolean removed;
+
+    /**
+     * Adds a range. Ids must be unique; remove a range before adding it again.
+     */
+    void add(String id, LocalDate start, LocalDate end, V value) {
+        root = insert(root, new Node<>(start, end, id, value, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes the range with this id, which must have been added with this start.
+     *
+     * @return whether it was present
+     */
+    boolean remove(String id, LocalDate start) {
+        removed = false;
+        root = delete(root, start, id);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Values whose range shares at least one night with {@code [from, to)}, in start order.
+     */
+    List<V> overlapping(LocalDate from, LocalDate to) {
+        List<V> found = new ArrayList<>();
+        collect(root, from, to, found);
+        return found;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> delete(Node<V> node, LocalDate start, String id) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c == 0) {
+            removed = true;
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<V> merge(Node<V> a, Node<V> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private void collect(Node<V> node, LocalDate from, LocalDate to, List<V> found) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return; // everything below ends on or before the first night asked about
+        }
+        collect(node.left, from, to, found);
+        if (!node.start.isBefore(to)) {
+            return; // this node and everything right of it starts after the last night
+        }
+        if (node.end.isAfter(from)) {
+            found.add(node.value);
+        }
+        collect(node.right, from, to, found);
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static <V> void update(Node<V> node) {
+        LocalDate maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static <V> int compare(LocalDate start, String id, Node<V> node) {
+        int c = start.compareTo(node.start);
+        return c != 0 ? c : id.compareTo(node.id);
+    }
+}
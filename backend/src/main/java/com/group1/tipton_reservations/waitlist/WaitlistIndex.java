@@ -0,0 +1,105 @@
+package com.group1.tipton_reservations.waitlist;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import com.group1.tipton_reservations.repository.WaitlistRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * This instance's view of the WAITING waitlist entries, one {@link IntervalTree} per
+ * (property, room type).
+ * <p>
+ * Entries can join through any instance, so before every lookup a partition catches up on
+ * entries that joined since its last lookup (re-reading a short overlap to cover clock skew).
+ * Entries that stop waiting elsewhere are not removed here until the matcher fails to claim
+ * them; the database, not this index, decides who gets an offer.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistIndex {
+
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+    private static final Comparator<WaitlistEntry> FIFO =
+            Comparator.comparing(WaitlistEntry::getCreatedAt).thenComparing(WaitlistEntry::getId);
+
+    private final WaitlistRepository waitlistRepository;
+    private final Map<Partition, Shard> shards = new ConcurrentHashMap<>();
+
+    private record Partition(String propertyId, String roomTypeId) {
+    }
+
+    private static final class Shard {
+        final IntervalTree<WaitlistEntry> tree = new IntervalTree<>();
+        final Map<String, WaitlistEntry> entries = new HashMap<>();
+        LocalDateTime caughtUpTo; // null until the first full load
+    }
+
+    /**
+     * Lock serializing offers for one room type on this instance, so two releases handled at
+     * once do not offer the same room twice.
+     */
+    public Object partitionLock(String propertyId, String roomTypeId) {
+        return shard(propertyId, roomTypeId);
+    }
+
+    /**
+     * WAITING entries of a room type whose stay shares a night with {@code [from, to)}, oldest first.
+     */
+    public List<WaitlistEntry> waitingOverlapping(String propertyId, String roomTypeId, LocalDate from, LocalDate to) {
+        Shard shard = shard(propertyId, roomTypeId);
+        synchronized (shard) {
+            catchUp(shard, propertyId, roomTypeId);
+            List<WaitlistEntry> found = shard.tree.overlapping(from, to);
+            found.sort(FIFO);
+            return found;
+        }
+    }
+
+    public void add(WaitlistEntry entry) {
+        Shard shard = shard(entry.getPropertyId(), entry.getRoomTypeId());
+        synchronized (shard) {
+            put(shard, entry);
+        }
+    }
+
+    public void remove(WaitlistEntry entry) {
+        Shard shard = shard(entry.getPropertyId(), entry.getRoomTypeId());
+        synchronized (shard) {
+            if (shard.entries.remove(entry.getId()) != null) {
+                shard.tree.remove(entry.getId(), entry.getCheckInDate());
+            }
+        }
+    }
+
+    private void catchUp(Shard shard, String propertyId, String roomTypeId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = shard.caughtUpTo == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : shard.caughtUpTo.minus(CATCH_UP_OVERLAP);
+        waitlistRepository.findByPropertyIdAndRoomTypeIdAndStatusAndCreatedAtGreaterThanEqual(
+                propertyId, roomTypeId, WaitlistStatus.WAITING, since)
+                .forEach(entry -> put(shard, entry));
+        shard.caughtUpTo = now;
+    }
+
+    private void put(Shard shard, WaitlistEntry entry) {
+        if (shard.entries.putIfAbsent(entry.getId(), entry) == null) {
+            shard.tree.add(entry.getId(), entry.getCheckInDate(), entry.getCheckOutDate(), entry);
+        }
+    }
+
+    private Shard shard(String propertyId, String roomTypeId) {
+        return shards.computeIfAbsent(new Partition(propertyId, roomTypeId), p -> new Shard());
+    }
+}
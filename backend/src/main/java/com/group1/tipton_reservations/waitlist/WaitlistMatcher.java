@@ -0,0 +1,152 @@
+package com.group1.tipton_reservations.waitlist;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.model.WaitlistEntry;
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import com.group1.tipton_reservations.service.BookingService;
+import com.group1.tipton_reservations.service.PropertyService;
+import com.group1.tipton_reservations.service.RoomService;
+import com.group1.tipton_reservations.service.RoomTypeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns released nights into offers for waiting guests.
+ * <p>
+ * Candidates are the WAITING entries of the room type whose stay touches the released
+ * nights, taken oldest first. Each one gets an offer only if a single room of its type is
+ * free for its whole stay; an entry that does not fit yet keeps its place. An offer is
+ * claimed in the database first ({@code WAITING -> OFFERED}, reserving the hold's booking id),
+ * so an entry that left, or was offered a room by another instance, is skipped. If the room's
+ * lease stays busy, the event fails and is redelivered rather than the room counting as taken.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistMatcher {
+
+    static final String COLLECTION = "waitlist";
+
+    private final WaitlistIndex waitlistIndex;
+    private final MongoTemplate mongoTemplate;
+    private final RoomTypeService roomTypeService;
+    private final RoomService roomService;
+    private final PropertyService propertyService;
+    private final ObjectProvider<BookingService> bookingService; // BookingService -> outbox relay -> subscribers -> here
+
+    /**
+     * Offers rooms to waiting guests after nights of a room type were released.
+     *
+     * @param propertyId the property, or null for the default property
+     * @param from first released night
+     * @param to the morning after the last released night
+     * @return how many offers were made
+     */
+    public int released(String propertyId, String roomTypeId, LocalDate from, LocalDate to) {
+        String property = propertyService.resolveId(propertyId);
+        LocalDate today = propertyService.policyFor(property).today();
+        RoomType roomType = null;
+        int offers = 0;
+
+        synchronized (waitlistIndex.partitionLock(property, roomTypeId)) {
+            for (WaitlistEntry entry : waitlistIndex.waitingOverlapping(property, roomTypeId, from, to)) {
+                if (entry.getCheckInDate().isBefore(today)) {
+                    move(entry.getId(), WaitlistStatus.WAITING, WaitlistStatus.EXPIRED, new Update());
+                    waitlistIndex.remove(entry);
+                    continue;
+                }
+
+                Room room;
+                try {
+                    room = roomService.findAvailableRoom(property, roomTypeId, entry.getCheckInDate(), entry.getCheckOutDate());
+                } catch (RuntimeException e) {
+                    continue; // not free for the whole stay yet; keeps its place
+                }
+
+                String holdId = new ObjectId().toHexString();
+                WaitlistEntry claimed = move(entry.getId(), WaitlistStatus.WAITING, WaitlistStatus.OFFERED,
+                        new Update().set("offerBookingId", holdId));
+                waitlistIndex.remove(entry);
+                if (claimed == null) {
+                    continue; // left the waitlist, or another instance got there first
+                }
+
+                try {
+                    if (roomType == null) {
+                        roomType = roomTypeService.findRoomTypeById(roomTypeId);
+                    }
+                    Optional<Booking> hold = bookingService.getObject().createOfferHold(holdId, claimed, roomType, room);
+                    if (hold.isEmpty()) {
+                        // booked by someone else since we looked; keeps its place
+                        move(claimed.getId(), WaitlistStatus.OFFERED, WaitlistStatus.WAITING, new Update().unset("offerBookingId"));
+                        waitlistIndex.add(entry);
+                        continue;
+                    }
+                    offers++;
+                    log.info("Offered room {} to waitlist entry {} as booking {}", room.getRoomNumber(), claimed.getId(), hold.get().getId());
+                } catch (NoSuchElementException e) {
+                    move(claimed.getId(), WaitlistStatus.OFFERED, WaitlistStatus.EXPIRED, new Update());
+                    log.warn("Room type {} no longer exists; expired waitlist entry {}", roomTypeId, claimed.getId());
+                } catch (RuntimeException e) {
+                    // give the place back, in the index too, so the retried event can offer it again
+                    // (this includes a RoomBusyException: the room's lease stayed busy, but the room may well be free)
+                    if (move(claimed.getId(), WaitlistStatus.OFFERED, WaitlistStatus.WAITING,
+                            new Update().unset("offerBookingId")) != null) {
+                        waitlistIndex.add(entry);
+                    }
+                    throw e;
+                }
+            }
+        }
+        return offers;
+    }
+
+    /**
+     * The offer hold was paid for.
+     */
+    public void offerAccepted(String bookingId) {
+        moveOffer(bookingId, WaitlistStatus.ACCEPTED);
+    }
+
+    /**
+     * The offer hold was voided unpaid; the entry does not get another one.
+     */
+    public void offerLapsed(String bookingId) {
+        moveOffer(bookingId, WaitlistStatus.EXPIRED);
+    }
+
+    private void moveOffer(String bookingId, WaitlistStatus to) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("offerBookingId").is(bookingId).and("status").is(WaitlistStatus.OFFERED)),
+                new Update().set("status", to).set("updatedAt", LocalDateTime.now()),
+                WaitlistEntry.class);
+    }
+
+    private WaitlistEntry move(String entryId, WaitlistStatus from, WaitlistStatus to, Update changes) {
+        // findAndModify bypasses auditing
+        changes.set("status", to).set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(entryId).and("status").is(from)),
+                changes,
+                FindAndModifyOptions.options().returnNew(true),
+                WaitlistEntry.class);
+    }
+}
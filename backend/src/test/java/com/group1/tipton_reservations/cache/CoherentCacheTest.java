@@ -0,0 +1,93 @@
+package com.group1.tipton_reservations.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+/**
+ * Runs two {@link CoherentCacheManager} "nodes" on one {@link InMemoryCacheInvalidationBus.Network}:
+ * fills stay local, evictions reach the peer, and a load that overlaps an invalidation is not
+ * stored.
+ */
+class CoherentCacheTest {
+
+    private static final long WINDOW_MILLIS = 1;
+
+    @Test
+    void fillOnOneNodeLeavesThePeersEntryAlone() throws InterruptedException {
+        InMemoryCacheInvalidationBus.Network network = new InMemoryCacheInvalidationBus.Network();
+        Cache a = node(network).getCache("roomTypeFacets");
+        Cache b = node(network).getCache("roomTypeFacets");
+
+        b.put("p1", "b's facets");
+        b.put("p2", "b's facets");
+
+        // a @Cacheable miss on a: get, load, put
+        assertNull(a.get("p1"));
+        a.put("p1", "a's facets");
+        assertNull(a.putIfAbsent("p3", "a's facets"));
+
+        // an eviction published after the fills reaches b only after anything the fills sent
+        a.evict("p2");
+        awaitEvicted(b, "p2");
+
+        assertEquals("b's facets", b.get("p1").get());
+        assertEquals("a's facets", a.get("p1").get());
+        assertEquals("a's facets", a.get("p3").get());
+    }
+
+    @Test
+    void evictionOnOneNodeReachesThePeer() throws InterruptedException {
+        InMemoryCacheInvalidationBus.Network network = new InMemoryCacheInvalidationBus.Network();
+        Cache a = node(network).getCache("users");
+        Cache b = node(network).getCache("users");
+        a.put("u1", "a's user");
+        b.put("u1", "b's user");
+
+        a.evict("u1");
+
+        assertNull(a.get("u1"));
+        awaitEvicted(b, "u1");
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotStored() {
+        CoherentCacheManager manager = node(new InMemoryCacheInvalidationBus.Network());
+        CoherentCache cache = (CoherentCache) manager.getCache("rooms");
+
+        assertNull(cache.get("r1"));
+        // a peer's write lands while this node is still loading
+        cache.apply(new CacheInvalidation("rooms", Set.of("r1"), false, new VersionClock().next(), "peer"));
+        cache.put("r1", "loaded before the write");
+
+        // the next miss starts after the invalidation, so its load is kept
+        assertNull(cache.get("r1"));
+        cache.put("r1", "loaded after the write");
+        assertNotNull(cache.get("r1"));
+
+        assertNull(cache.get("r2"));
+        cache.apply(new CacheInvalidation("rooms", Set.of(), true, new VersionClock().next(), "peer"));
+        assertNull(cache.putIfAbsent("r2", "loaded before the clear"));
+        assertNull(cache.get("r2"));
+    }
+
+    private static CoherentCacheManager node(InMemoryCacheInvalidationBus.Network network) {
+        return new CoherentCacheManager(new InMemoryCacheInvalidationBus(network, WINDOW_MILLIS),
+                100, Duration.ofMinutes(10));
+    }
+
+    private static void awaitEvicted(Cache cache, String key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cache.get(key) != null) {
+            assertTrue(System.nanoTime() < deadline, key + " was never evicted");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.group1.tipton_reservations.fields;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks how {@link FieldSelection} parses {@code fields=} against a schema and what it
+ * reports as included.
+ */
+class FieldSelectionTest {
+
+    private static final FieldSchema SCHEMA = new FieldSchema(
+            "rootFields",
+            Map.of("roomType", "roomTypeFields"),
+            Set.of("id", "name", "total", "roomType", "roomType.id", "roomType.name", "roomType.basePrice"),
+            Set.of("id", "roomType.id"));
+
+    @Test
+    void blankMeansEverything() {
+        assertSame(FieldSelection.all(), FieldSelection.parse(null, SCHEMA));
+        assertSame(FieldSelection.all(), FieldSelection.parse(" ", SCHEMA));
+        assertSame(FieldSelection.all(), FieldSelection.parse(" , ,", SCHEMA));
+
+        FieldSelection all = FieldSelection.all();
+        assertTrue(all.isAll());
+        assertTrue(all.includes("roomType.basePrice"));
+        assertNull(all.children("roomType"));
+        assertEquals("*", all.key());
+    }
+
+    @Test
+    void unknownPathIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("name,password", SCHEMA));
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse("roomType.secret", SCHEMA));
+    }
+
+    @Test
+    void topLevelFieldsKeepTheIdButNotUnselectedObjects() {
+        FieldSelection selection = FieldSelection.parse("name", SCHEMA);
+
+        assertFalse(selection.isAll());
+        assertTrue(selection.includes("name"));
+        assertTrue(selection.includes("id"));
+        assertFalse(selection.includes("total"));
+        assertFalse(selection.includes("roomType"));
+        assertFalse(selection.includes("roomType.id"));
+        assertEquals(Set.of("id", "name"), selection.topLevel());
+    }
+
+    @Test
+    void nestedPropertySelectsItsParentAndTheNestedId() {
+        FieldSelection selection = FieldSelection.parse("roomType.name", SCHEMA);
+
+        assertTrue(selection.includes("roomType"));
+        assertTrue(selection.includes("roomType.name"));
+        assertTrue(selection.includes("roomType.id"));
+        assertFalse(selection.includes("roomType.basePrice"));
+        assertFalse(selection.includes("room"));
+        assertEquals(Set.of("id", "name"), selection.children("roomType"));
+        assertEquals(Set.of("id", "roomType"), selection.topLevel());
+        assertTrue(selection.includesAny("total", "roomType.name"));
+        assertFalse(selection.includesAny("total", "name"));
+    }
+
+    @Test
+    void wholeObjectIncludesEveryNestedProperty() {
+        FieldSelection selection = FieldSelection.parse("roomType", SCHEMA);
+
+        assertTrue(selection.includes("roomType.basePrice"));
+        assertNull(selection.children("roomType"));
+    }
+
+    @Test
+    void keyIsTheSameHoweverTheSelectionIsWritten() {
+        String key = FieldSelection.parse("name,roomType.name", SCHEMA).key();
+
+        assertEquals(key, FieldSelection.parse(" roomType.name , name,name ", SCHEMA).key());
+        assertEquals(key, FieldSelection.parse("id,roomType.id,name,roomType.name", SCHEMA).key());
+        assertTrue(key.startsWith("rootFields:"));
+        assertFalse(key.equals(FieldSelection.parse("name", SCHEMA).key()));
+    }
+}
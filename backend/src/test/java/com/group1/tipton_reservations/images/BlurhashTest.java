@@ -0,0 +1,99 @@
+package com.group1.tipton_reservations.images;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link Blurhash} output by decoding its fields back: the size flag, the average
+ * colour and the quantised AC components.
+ */
+class BlurhashTest {
+
+    private static final String DIGITS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    @Test
+    void lengthAndSizeFlagFollowComponents() {
+        BufferedImage image = solid(16, 12, 0x336699);
+        for (int x = 1; x <= 9; x += 4) {
+            for (int y = 1; y <= 9; y += 4) {
+                String hash = Blurhash.encode(image, x, y);
+                assertEquals(4 + 2 * x * y, hash.length(), x + "x" + y);
+                assertEquals((x - 1) + (y - 1) * 9, decode83(hash, 0, 1));
+            }
+        }
+    }
+
+    @Test
+    void solidImageKeepsItsColour() {
+        for (int rgb : new int[] { 0x000000, 0xffffff, 0xff0000, 0x123456, 0x7f7f80 }) {
+            String hash = Blurhash.encode(solid(8, 8, rgb), 4, 3);
+            assertEquals(rgb, decode83(hash, 2, 4), "average colour for " + Integer.toHexString(rgb));
+        }
+    }
+
+    @Test
+    void blackImageHasNoDetail() {
+        String hash = Blurhash.encode(solid(8, 8, 0x000000), 4, 3);
+        assertEquals(0, decode83(hash, 1, 1));
+        for (int ac = 6; ac < hash.length(); ac += 2) {
+            assertEquals(9 * 19 * 19 + 9 * 19 + 9, decode83(hash, ac, 2), "AC at " + ac);
+        }
+    }
+
+    @Test
+    void darkLeftHalfGivesNegativeFirstHorizontalComponent() {
+        BufferedImage image = solid(16, 16, 0xffffff);
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 8; x++) {
+                image.setRGB(x, y, 0x000000);
+            }
+        }
+        String hash = Blurhash.encode(image, 2, 1);
+
+        int ac = decode83(hash, 6, 2);
+        int r = ac / (19 * 19);
+        int g = (ac / 19) % 19;
+        int b = ac % 19;
+        assertTrue(r < 9 && g < 9 && b < 9, "quantised AC " + r + "," + g + "," + b);
+        assertEquals(r, g);
+        assertEquals(g, b);
+    }
+
+    @Test
+    void sameImageSameHash() {
+        BufferedImage image = solid(10, 10, 0x204060);
+        image.setRGB(3, 7, 0xffcc00);
+        assertEquals(Blurhash.encode(image, 4, 3), Blurhash.encode(image, 4, 3));
+    }
+
+    @Test
+    void rejectsComponentsOutsideOneToNine() {
+        BufferedImage image = solid(4, 4, 0);
+        assertThrows(IllegalArgumentException.class, () -> Blurhash.encode(image, 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> Blurhash.encode(image, 4, 10));
+    }
+
+    private static BufferedImage solid(int width, int height, int rgb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+
+    private static int decode83(String hash, int from, int length) {
+        int value = 0;
+        for (int i = from; i < from + length; i++) {
+            value = value * 83 + DIGITS.indexOf(hash.charAt(i));
+        }
+        return value;
+    }
+}
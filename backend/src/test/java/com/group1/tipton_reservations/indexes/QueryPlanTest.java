@@ -0,0 +1,275 @@
+package com.group1.tipton_reservations.indexes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.model.enums.WaitlistStatus;
+import com.group1.tipton_reservations.repository.ArchivedBookingRepository;
+import com.group1.tipton_reservations.repository.BookingRepository;
+import com.group1.tipton_reservations.repository.BookingRepositoryCustom;
+import com.group1.tipton_reservations.repository.DailyRoomTypeStatsRepository;
+import com.group1.tipton_reservations.repository.PaymentRepository;
+import com.group1.tipton_reservations.repository.RoomBlockRepository;
+import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.repository.RoomTypeRepository;
+import com.group1.tipton_reservations.repository.UserDirectoryCursor;
+import com.group1.tipton_reservations.repository.UserRepository;
+import com.group1.tipton_reservations.repository.UserRepositoryCustom;
+import com.group1.tipton_reservations.repository.WaitlistRepository;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Runs every repository query against a real MongoDB, explains each command it sends and fails
+ * on any {@code COLLSCAN}, so a query added or changed without an index is caught before deploy.
+ * <p>
+ * Indexes come from what the application creates on startup, which is all in
+ * {@link IndexMigrations} (applied by {@link IndexMigrationRunner}), so this also checks the
+ * migrations. The in-process stand-in used by
+ * the load test has no query planner; run with
+ * {@code mvn -Pqueryplans test -Dqueryplans.mongodb.uri=mongodb://localhost:27017/tipton-queryplans}
+ * against a scratch database.
+ * </p>
+ * Every query method declared on a repository must appear in {@link #queries()} or, with a
+ * reason, in {@link #FULL_SCANS}; the coverage test fails otherwise.
+ */
+@Tag("queryplans")
+@ActiveProfiles("loadtest")
+@SpringBootTest
+class QueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            BookingRepository.class, BookingRepositoryCustom.class, ArchivedBookingRepository.class,
+            DailyRoomTypeStatsRepository.class, PaymentRepository.class, RoomBlockRepository.class, RoomRepository.class,
+            RoomTypeRepository.class, UserRepository.class, UserRepositoryCustom.class, WaitlistRepository.class);
+
+    // reads that are meant to touch every document
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "BookingRepositoryCustom.findAll", "admin listing of all bookings",
+            "ArchivedBookingRepository.findAll", "admin listing of all archived bookings",
+            "UserRepository.findByIsActive", "boolean flag on a small collection; an index would not narrow it",
+            "UserRepositoryCustom.backfillSearchTerms", "startup backfill of users saved before search terms existed");
+
+    private static final Set<String> QUERY_COMMANDS = Set.of(
+            "find", "count", "aggregate", "distinct", "update", "delete", "findAndModify");
+
+    // session and routing fields the driver adds; explain takes the bare command
+    private static final Set<String> ENVELOPE_FIELDS = Set.of(
+            "$db", "$clusterTime", "$readPreference", "lsid", "txnNumber", "autocommit", "startTransaction");
+
+    private static final Pattern COLLSCAN = Pattern.compile("\"stage\"\\s*:\\s*\"COLLSCAN\"");
+    private static final Pattern SORT = Pattern.compile("\"stage\"\\s*:\\s*\"SORT\"");
+
+    // paged listings that must come off an index in order; a blocking sort reads every match for each page
+    private static final Set<String> INDEX_ORDERED = Set.of("UserRepositoryCustom.findDirectoryPage");
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 6, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    private static final ThreadLocal<List<BsonDocument>> CAPTURED = new ThreadLocal<>();
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> System.getProperty("queryplans.mongodb.uri", "mongodb://localhost:27017/tipton-queryplans"));
+    }
+
+    @TestConfiguration
+    static class CaptureCommands {
+
+        // the sync driver notifies on the calling thread, so only the test thread's commands are kept
+        @Bean
+        MongoClientSettingsBuilderCustomizer captureQueryCommands() {
+            return settings -> settings.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    List<BsonDocument> captured = CAPTURED.get();
+                    if (captured != null && QUERY_COMMANDS.contains(event.getCommandName())) {
+                        captured.add(event.getCommand().clone());
+                    }
+                }
+            });
+        }
+    }
+
+    @Autowired private MongoTemplate mongoTemplate;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired private DailyRoomTypeStatsRepository statsRepository;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private RoomBlockRepository roomBlockRepository;
+    @Autowired private RoomRepository roomRepository;
+    @Autowired private RoomTypeRepository roomTypeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private WaitlistRepository waitlistRepository;
+
+    private Map<String, Runnable> queries() {
+        PageRequest newestFirst = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("BookingRepository.findByConfirmationNumber", () -> bookingRepository.findByConfirmationNumber("TIP-0"));
+        queries.put("BookingRepository.findByUserId", () -> bookingRepository.findByUserId("user", newestFirst));
+        queries.put("BookingRepositoryCustom.findByUserId",
+                () -> bookingRepository.findByUserId("user", newestFirst, List.of("status", "checkInDate")));
+        queries.put("BookingRepository.findOverlappingBookings",
+                () -> bookingRepository.findOverlappingBookings("tipton", "room", CHECK_IN, CHECK_OUT));
+        queries.put("BookingRepository.findBookedRoomIdsByRoomTypeAndDateRange",
+                () -> bookingRepository.findBookedRoomIdsByRoomTypeAndDateRange("tipton", "type", CHECK_IN, CHECK_OUT));
+        queries.put("BookingRepository.searchBookedRoomIdsByRoomTypeAndDateRange",
+                () -> bookingRepository.searchBookedRoomIdsByRoomTypeAndDateRange("tipton", "type", CHECK_IN, CHECK_OUT));
+        queries.put("BookingRepository.searchBookedRoomIdsByDateRange",
+                () -> bookingRepository.searchBookedRoomIdsByDateRange("tipton", CHECK_IN, CHECK_OUT));
+        queries.put("BookingRepository.existsByConfirmationNumber", () -> bookingRepository.existsByConfirmationNumber("TIP-0"));
+        queries.put("BookingRepository.countByStatus", () -> bookingRepository.countByStatus(BookingStatus.PENDING));
+
+        queries.put("ArchivedBookingRepository.findById", () -> archivedBookingRepository.findById("id"));
+        queries.put("ArchivedBookingRepository.findByConfirmationNumber",
+                () -> archivedBookingRepository.findByConfirmationNumber("TIP-0"));
+        queries.put("ArchivedBookingRepository.existsByConfirmationNumber",
+                () -> archivedBookingRepository.existsByConfirmationNumber("TIP-0"));
+        queries.put("ArchivedBookingRepository.findByUserId", () -> {
+            archivedBookingRepository.findByUserId("user", Sort.by(Sort.Direction.DESC, "createdAt"), 10);
+            archivedBookingRepository.findByUserId("user", Sort.by(Sort.Direction.DESC, "createdAt"), 10, List.of("status"));
+        });
+        queries.put("ArchivedBookingRepository.countByUserId", () -> archivedBookingRepository.countByUserId("user"));
+
+        queries.put("DailyRoomTypeStatsRepository.findByDateRange", () -> statsRepository.findByDateRange(CHECK_IN, CHECK_OUT));
+        queries.put("DailyRoomTypeStatsRepository.findByRoomTypeIdAndDateRange",
+                () -> statsRepository.findByRoomTypeIdAndDateRange("type", CHECK_IN, CHECK_OUT));
+
+        queries.put("PaymentRepository.findByBookingIdOrderByCreatedAtDesc",
+                () -> paymentRepository.findByBookingIdOrderByCreatedAtDesc("booking"));
+        queries.put("PaymentRepository.findByStripePaymentIntentId", () -> paymentRepository.findByStripePaymentIntentId("pi_0"));
+
+        queries.put("RoomBlockRepository.findByPropertyIdAndEndDateAfter",
+                () -> roomBlockRepository.findByPropertyIdAndEndDateAfter("tipton", CHECK_IN));
+        queries.put("RoomBlockRepository.findByPropertyIdAndStartDateBeforeAndEndDateAfterOrderByStartDate",
+                () -> roomBlockRepository.findByPropertyIdAndStartDateBeforeAndEndDateAfterOrderByStartDate("tipton", CHECK_OUT, CHECK_IN));
+        queries.put("RoomBlockRepository.existsOverlapping",
+                () -> roomBlockRepository.existsOverlapping("tipton", "room", CHECK_IN, CHECK_OUT));
+        queries.put("RoomBlockRepository.findOverlapping",
+                () -> roomBlockRepository.findOverlapping("tipton", List.of("room"), CHECK_IN, CHECK_OUT));
+
+        queries.put("RoomRepository.existsByPropertyIdAndRoomNumber", () -> roomRepository.existsByPropertyIdAndRoomNumber("tipton", "101"));
+        queries.put("RoomRepository.findByPropertyId", () -> roomRepository.findByPropertyId("tipton"));
+        queries.put("RoomRepository.findByPropertyIdAndRoomTypeId", () -> roomRepository.findByPropertyIdAndRoomTypeId("tipton", "type"));
+
+        queries.put("RoomTypeRepository.existsByPropertyIdAndName", () -> roomTypeRepository.existsByPropertyIdAndName("tipton", "Suite"));
+        queries.put("RoomTypeRepository.findByPropertyId", () -> roomTypeRepository.findByPropertyId("tipton"));
+
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("guest@example.com"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("guest@example.com"));
+        queries.put("UserRepository.findByRolesContains", () -> userRepository.findByRolesContains("ROLE_ADMIN"));
+        queries.put("UserRepository.findByProviderAndId", () -> userRepository.findByProviderAndId("google", "123"));
+        queries.put("UserRepositoryCustom.findDirectoryPage", () -> {
+            userRepository.findDirectoryPage(null, new UserDirectoryCursor("", "guest@example.com").encode(), 50);
+            userRepository.findDirectoryPage("smi", null, 50);
+            userRepository.findDirectoryPage("smi", new UserDirectoryCursor("smith", "guest@example.com").encode(), 50);
+        });
+        queries.put("UserRepositoryCustom.findProfilesByIds", () -> userRepository.findProfilesByIds(List.of("a", "b")));
+
+        queries.put("WaitlistRepository.findByUserIdOrderByCreatedAtDesc", () -> waitlistRepository.findByUserIdOrderByCreatedAtDesc("user"));
+        queries.put("WaitlistRepository.existsByUserIdAndRoomTypeIdAndCheckInDateAndCheckOutDateAndStatusIn",
+                () -> waitlistRepository.existsByUserIdAndRoomTypeIdAndCheckInDateAndCheckOutDateAndStatusIn(
+                        "user", "type", CHECK_IN, CHECK_OUT, List.of(WaitlistStatus.WAITING)));
+        queries.put("WaitlistRepository.findByPropertyIdAndRoomTypeIdAndStatusAndCreatedAtGreaterThanEqual",
+                () -> waitlistRepository.findByPropertyIdAndRoomTypeIdAndStatusAndCreatedAtGreaterThanEqual(
+                        "tipton", "type", WaitlistStatus.WAITING, LocalDateTime.now().minusDays(1)));
+        return queries;
+    }
+
+    @Test
+    void everyRepositoryQueryIsCovered() {
+        Set<String> missing = new TreeSet<>();
+        Set<String> covered = queries().keySet();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()
+                        && !covered.contains(name) && !FULL_SCANS.containsKey(name)) {
+                    missing.add(name);
+                }
+            }
+        }
+        assertThat(missing).as("repository queries with no plan check").isEmpty();
+    }
+
+    @Test
+    void noRepositoryQueryScansItsCollection() {
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, Runnable> query : queries().entrySet()) {
+            for (BsonDocument command : capture(query.getValue())) {
+                if (COLLSCAN.matcher(explain(command).toJson()).find()) {
+                    scans.add(query.getKey() + ": " + bare(command).toJson());
+                }
+            }
+        }
+        assertThat(scans).as("queries planned as COLLSCAN").isEmpty();
+    }
+
+    @Test
+    void pagedListingsNeedNoSort() {
+        List<String> sorts = new ArrayList<>();
+        for (String name : INDEX_ORDERED) {
+            for (BsonDocument command : capture(queries().get(name))) {
+                if (SORT.matcher(explain(command).toJson()).find()) {
+                    sorts.add(name + ": " + bare(command).toJson());
+                }
+            }
+        }
+        assertThat(sorts).as("paged listings planned with a blocking SORT").isEmpty();
+    }
+
+    private static List<BsonDocument> capture(Runnable query) {
+        List<BsonDocument> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            query.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        assertThat(captured).as("commands sent").isNotEmpty();
+        return captured;
+    }
+
+    private Document explain(BsonDocument command) {
+        return mongoTemplate.getDb().runCommand(new Document("explain", bare(command)).append("verbosity", "queryPlanner"));
+    }
+
+    private static BsonDocument bare(BsonDocument command) {
+        BsonDocument bare = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!ENVELOPE_FIELDS.contains(key)) {
+                bare.append(key, value);
+            }
+        });
+        return bare;
+    }
+}
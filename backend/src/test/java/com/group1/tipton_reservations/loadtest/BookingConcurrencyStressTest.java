@@ -0,0 +1,483 @@
+package com.group1.tipton_reservations.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.group1.tipton_reservations.controller.RewardController;
+import com.group1.tipton_reservations.dto.booking.CreateBookingRequest;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.model.User;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.repository.BookingRepository;
+import com.group1.tipton_reservations.repository.PaymentRepository;
+import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.repository.RoomTypeRepository;
+import com.group1.tipton_reservations.repository.UserRepository;
+import com.group1.tipton_reservations.security.HotelUserPrincipal;
+import com.group1.tipton_reservations.service.BookingService;
+import com.group1.tipton_reservations.service.PropertyService;
+import com.group1.tipton_reservations.service.StripeService;
+import com.stripe.exception.StripeException;
+
+/**
+ * Concurrency stress suite: boots the application without a web server under the
+ * {@code loadtest} profile (fake Stripe, in-process Mongo) and fires rounds of overlapping
+ * service calls from many threads at once, then checks the invariants that must hold whatever
+ * the interleaving: no room night held twice, reward points awarded once per confirmed booking,
+ * and never more refunded than was paid. A share of refunds fails on purpose, so cancellations
+ * that have to be rolled back race the creates for their nights too. Throughput is reported alongside.
+ * <p>
+ * Each round is two waves. In the first, every thread books a few stays on a handful of rooms
+ * while bookings confirmed in the previous round are cancelled and reward points redeemed; in
+ * the second, the new bookings are confirmed. Cancels, confirms and redeems for the same
+ * booking or user are handed to {@code stress.duplicates} threads so they race each other.
+ * Every thread's work is planned from a seeded {@link Random} and each wave starts behind a
+ * barrier, so a run is reproducible up to scheduling.
+ * </p>
+ * Run with {@code mvn -Pstress test}. Tunables (system properties): {@code stress.threads},
+ * {@code stress.rounds}, {@code stress.createsPerThread}, {@code stress.users},
+ * {@code stress.roomTypes}, {@code stress.roomsPerType}, {@code stress.horizonDays},
+ * {@code stress.maxNights}, {@code stress.duplicates}, {@code stress.cancelRatio},
+ * {@code stress.seed}, {@code stress.stripeLatencyMs}, {@code stress.stripeJitterMs},
+ * {@code stress.refundFailureRate}.
+ */
+@Tag("stress")
+@ActiveProfiles("loadtest")
+@SpringBootTest(properties = {
+        "tipton.loadtest.stripe.latency-ms=${stress.stripeLatencyMs:0}",
+        "tipton.loadtest.stripe.jitter-ms=${stress.stripeJitterMs:2}",
+        "tipton.loadtest.stripe.refund-failure-rate=${stress.refundFailureRate:0.2}" })
+class BookingConcurrencyStressTest {
+
+    private static final String[] STEPS = { "create", "confirm", "cancel", "redeem" };
+
+    private final int threads = Integer.getInteger("stress.threads", 32);
+    private final int rounds = Integer.getInteger("stress.rounds", 20);
+    private final int createsPerThread = Integer.getInteger("stress.createsPerThread", 2);
+    private final int users = Integer.getInteger("stress.users", 16);
+    private final int roomTypes = Integer.getInteger("stress.roomTypes", 2);
+    private final int roomsPerType = Integer.getInteger("stress.roomsPerType", 3);
+    private final int horizonDays = Integer.getInteger("stress.horizonDays", 30);
+    private final int maxNights = Integer.getInteger("stress.maxNights", 3);
+    private final int duplicates = Integer.getInteger("stress.duplicates", 3);
+    private final double cancelRatio = Double.parseDouble(System.getProperty("stress.cancelRatio", "0.4"));
+    private final long seed = Long.getLong("stress.seed", 7L);
+
+    private enum Outcome { OK, REFUSED, REJECTED, ERROR }
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<Outcome, AtomicLong> outcomes = new EnumMap<>(Outcome.class);
+    private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> codesIssued = new ConcurrentHashMap<>();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RewardController rewardController;
+
+    @Autowired
+    private StripeService stripeService;
+
+    @Autowired
+    private FakeStripeClient fakeStripe;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> InMemoryMongo.connectionString("tipton-stress"));
+    }
+
+    @Test
+    void concurrentBookingOperations() throws Exception {
+        mongoTemplate.getDb().drop();
+        List<String> roomTypeIds = seedCatalog();
+        List<User> guests = seedGuests();
+        Map<String, User> guestsById = new ConcurrentHashMap<>();
+        guests.forEach(guest -> guestsById.put(guest.getId(), guest));
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new AtomicLong());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            long busyNanos = 0;
+            List<String> confirmedLastRound = List.of();
+            for (int round = 0; round < rounds; round++) {
+                List<String> toCancel = sample(confirmedLastRound, new Random(seed * 31 + round));
+                Queue<String> created = new ConcurrentLinkedQueue<>();
+
+                // wave 1: creates race for the same nights while earlier stays are cancelled and points redeemed
+                busyNanos += runWave(pool, seed + 2L * round, (worker, random) -> {
+                    List<Runnable> ops = new ArrayList<>();
+                    for (int c = 0; c < createsPerThread; c++) {
+                        User guest = guests.get(random.nextInt(guests.size()));
+                        CreateBookingRequest request = new CreateBookingRequest();
+                        request.setRoomTypeId(roomTypeIds.get(random.nextInt(roomTypeIds.size())));
+                        request.setCheckInDate(LocalDate.now().plusDays(2 + random.nextInt(horizonDays)));
+                        request.setCheckOutDate(request.getCheckInDate().plusDays(1 + random.nextInt(maxNights)));
+                        request.setNumberOfGuests(1 + random.nextInt(2));
+                        ops.add(() -> call("create", guest,
+                                () -> created.add(bookingService.createBooking(request, guest.getId()).getId())));
+                    }
+                    for (String bookingId : assignedTo(worker, toCancel)) {
+                        User owner = guestsById.get(ownerOf(bookingId));
+                        ops.add(() -> call("cancel", owner, () -> bookingService.cancelBooking(bookingId)));
+                    }
+                    for (User guest : assignedTo(worker, guests)) {
+                        ops.add(() -> call("redeem", guest, () -> redeem(guest)));
+                    }
+                    Collections.shuffle(ops, random);
+                    return ops;
+                });
+
+                // paying is the client's side of the flow, so it happens between the waves
+                List<String> newBookings = new ArrayList<>(created);
+                Collections.sort(newBookings);
+                Map<String, String> paymentIntents = new ConcurrentHashMap<>();
+                for (String bookingId : newBookings) {
+                    Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+                    paymentIntents.put(bookingId, stripeService.createPaymentIntent(booking, "usd").getId());
+                }
+
+                // wave 2: every new booking is confirmed by several threads with the same payment
+                busyNanos += runWave(pool, seed + 2L * round + 1, (worker, random) -> {
+                    List<Runnable> ops = new ArrayList<>();
+                    for (String bookingId : assignedTo(worker, newBookings)) {
+                        User owner = guestsById.get(ownerOf(bookingId));
+                        ops.add(() -> call("confirm", owner,
+                                () -> bookingService.confirmBooking(bookingId, paymentIntents.get(bookingId))));
+                    }
+                    Collections.shuffle(ops, random);
+                    return ops;
+                });
+                confirmedLastRound = newBookings;
+            }
+            double seconds = busyNanos / 1_000_000_000.0;
+
+            boolean drained = awaitOutboxDrained();
+            List<Booking> bookings = bookingRepository.findAll();
+            List<String> doubleBookings = BookingInvariants.doubleBookings(bookings);
+            List<String> pointViolations = BookingInvariants.rewardPointViolations(
+                    bookings, userRepository.findAllById(guestsById.keySet()), codesIssued);
+            List<String> refundViolations = BookingInvariants.refundViolations(
+                    bookings, paymentRepository.findAll(), fakeStripe);
+
+            System.out.printf("%n=== booking concurrency stress test ===%n");
+            System.out.printf("threads=%d rounds=%d users=%d rooms=%d (%d types) duplicates=%d seed=%d%n",
+                    threads, rounds, users, roomTypes * roomsPerType, roomTypes, duplicates, seed);
+            System.out.printf("throughput: %d operations in %.2fs = %.1f ops/s (ok=%d refused=%d rejected=%d errors=%d)%n",
+                    recorder.totalRequests(), seconds, recorder.totalRequests() / seconds,
+                    outcomes.get(Outcome.OK).get(), outcomes.get(Outcome.REFUSED).get(),
+                    outcomes.get(Outcome.REJECTED).get(), outcomes.get(Outcome.ERROR).get());
+            System.out.print(recorder.report(STEPS));
+            errorSamples.stream().limit(10).forEach(e -> System.out.println("  error: " + e));
+            report("double-booking", doubleBookings);
+            report("reward point", pointViolations);
+            report("refund", refundViolations);
+
+            assertThat(drained).as("booking outboxes drained").isTrue();
+            assertThat(doubleBookings).as("double bookings").isEmpty();
+            assertThat(pointViolations).as("reward point balances").isEmpty();
+            assertThat(refundViolations).as("refunds").isEmpty();
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Every refund fails after a delay while other guests keep trying to book the nights being
+     * cancelled. The nights must stay held until the cancellation is rolled back, so the creates
+     * all lose and each cancelled booking ends up CONFIRMED and alone on its nights.
+     */
+    @Test
+    void failedRefundsNeverReleaseNights() throws Exception {
+        mongoTemplate.getDb().drop();
+        String propertyId = propertyService.resolveId(null);
+        RoomType roomType = new RoomType();
+        roomType.setPropertyId(propertyId);
+        roomType.setName("Stress Test Single Room");
+        roomType.setDescription("Seeded by BookingConcurrencyStressTest");
+        roomType.setBasePrice(BigDecimal.valueOf(150));
+        roomType.setMaxOccupancy(2);
+        roomType.setImageUrls(List.of());
+        roomType.setAmenityIds(List.of());
+        String roomTypeId = roomTypeRepository.save(roomType).getId();
+        Room room = new Room(roomTypeId, "901", 9);
+        room.setPropertyId(propertyId);
+        roomRepository.save(room);
+        List<User> guests = seedGuests();
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new AtomicLong());
+        }
+
+        // one confirmed night per booking, every other night, so each cancel frees exactly its own
+        List<String> confirmed = new ArrayList<>();
+        List<CreateBookingRequest> stays = new ArrayList<>();
+        for (int b = 0; b < Math.max(1, threads / (duplicates + 1)); b++) {
+            CreateBookingRequest request = new CreateBookingRequest();
+            request.setRoomTypeId(roomTypeId);
+            request.setCheckInDate(LocalDate.now().plusDays(7 + 2L * b));
+            request.setCheckOutDate(request.getCheckInDate().plusDays(1));
+            request.setNumberOfGuests(1);
+            User owner = guests.get(b % guests.size());
+            call("create", owner, () -> {
+                String bookingId = bookingService.createBooking(request, owner.getId()).getId();
+                Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+                try {
+                    bookingService.confirmBooking(bookingId, stripeService.createPaymentIntent(booking, "usd").getId());
+                } catch (StripeException e) {
+                    throw new IllegalStateException(e);
+                }
+                confirmed.add(bookingId);
+            });
+            stays.add(request);
+        }
+        assertThat(confirmed).as("seeded bookings").hasSize(stays.size());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        fakeStripe.failRefundsAfter(50);
+        try {
+            runWave(pool, seed, (worker, random) -> {
+                List<Runnable> ops = new ArrayList<>();
+                int stay = worker % (duplicates + 1);
+                int b = worker / (duplicates + 1);
+                if (b >= confirmed.size()) {
+                    return ops;
+                }
+                String bookingId = confirmed.get(b);
+                if (stay == 0) {
+                    User owner = guests.get(b % guests.size());
+                    ops.add(() -> call("cancel", owner, () -> bookingService.cancelBooking(bookingId)));
+                } else {
+                    // keep asking for the night for as long as the failing refund could hold it open
+                    User guest = guests.get((b + stay) % guests.size());
+                    ops.add(() -> {
+                        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(150);
+                        while (System.nanoTime() < deadline) {
+                            call("create", guest, () -> bookingService.createBooking(stays.get(b), guest.getId()));
+                        }
+                    });
+                }
+                return ops;
+            });
+        } finally {
+            fakeStripe.failRefundsAfter(-1);
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        List<Booking> bookings = bookingRepository.findAll();
+        List<String> doubleBookings = BookingInvariants.doubleBookings(bookings);
+        List<String> notRestored = bookings.stream()
+                .filter(booking -> confirmed.contains(booking.getId()))
+                .filter(booking -> booking.getStatus() != BookingStatus.CONFIRMED)
+                .map(booking -> booking.getConfirmationNumber() + " " + booking.getStatus())
+                .toList();
+
+        System.out.printf("%n=== failed refund stress test ===%n");
+        System.out.printf("bookings=%d racing creates per booking=%d (ok=%d refused=%d errors=%d)%n",
+                confirmed.size(), duplicates, outcomes.get(Outcome.OK).get(),
+                outcomes.get(Outcome.REFUSED).get(), outcomes.get(Outcome.ERROR).get());
+        report("double-booking", doubleBookings);
+        report("rollback", notRestored);
+
+        assertThat(doubleBookings).as("double bookings").isEmpty();
+        assertThat(notRestored).as("cancellations rolled back").isEmpty();
+    }
+
+    /**
+     * Runs one wave: each worker plans its operations up front from its own seeded random, then
+     * all of them start together.
+     *
+     * @return how long the wave took, in nanos
+     */
+    private long runWave(ExecutorService pool, long waveSeed,
+                         BiFunction<Integer, Random, List<Runnable>> planner) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<List<Runnable>> plans = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            plans.add(planner.apply(worker, new Random(waveSeed * 1_000_003L + worker)));
+        }
+
+        long began = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (List<Runnable> plan : plans) {
+            running.add(pool.submit(() -> {
+                start.await();
+                plan.forEach(Runnable::run);
+                return null;
+            }));
+        }
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        return System.nanoTime() - began;
+    }
+
+    /**
+     * The items a worker handles: item {@code i} goes to workers {@code i .. i + duplicates - 1}.
+     */
+    private <T> List<T> assignedTo(int worker, List<T> items) {
+        List<T> assigned = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (Math.floorMod(worker - i, threads) < Math.min(duplicates, threads)) {
+                assigned.add(items.get(i));
+            }
+        }
+        return assigned;
+    }
+
+    private List<String> sample(List<String> bookingIds, Random random) {
+        return bookingIds.stream().filter(id -> random.nextDouble() < cancelRatio).toList();
+    }
+
+    private String ownerOf(String bookingId) {
+        return bookingRepository.findById(bookingId).map(Booking::getUserId).orElseThrow();
+    }
+
+    private void call(String step, User actor, Runnable action) {
+        HotelUserPrincipal principal = new HotelUserPrincipal(actor);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        long began = System.nanoTime();
+        Outcome outcome;
+        try {
+            action.run();
+            outcome = Outcome.OK;
+        } catch (ResponseStatusException e) {
+            // refusals (sold out, already confirmed, already cancelled) are the expected losers of a race
+            outcome = e.getStatusCode().value() == 503 ? Outcome.REJECTED
+                    : e.getStatusCode().is4xxClientError() ? Outcome.REFUSED
+                    : Outcome.ERROR;
+            if (outcome == Outcome.ERROR) {
+                errorSamples.add(step + ": " + e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            outcome = Outcome.ERROR;
+            errorSamples.add(step + ": " + e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        recorder.record(step, System.nanoTime() - began, outcome != Outcome.ERROR);
+        outcomes.get(outcome).incrementAndGet();
+    }
+
+    private void redeem(User guest) {
+        ResponseEntity<?> response = rewardController.redeemPoints(new HotelUserPrincipal(guest));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            codesIssued.merge(guest.getId(), 1, Integer::sum);
+        } else if (response.getStatusCode() == HttpStatus.BAD_REQUEST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "insufficient points");
+        } else {
+            throw new IllegalStateException("redeem returned " + response.getStatusCode() + ": " + response.getBody());
+        }
+    }
+
+    private boolean awaitOutboxDrained() throws InterruptedException {
+        Query pending = Query.query(Criteria.where("outbox.0").exists(true));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (mongoTemplate.exists(pending, Booking.class)) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(100);
+        }
+        return true;
+    }
+
+    private static void report(String invariant, List<String> violations) {
+        System.out.printf("%s violations: %d%n", invariant, violations.size());
+        violations.stream().limit(20).forEach(v -> System.out.println("  " + v));
+    }
+
+    private List<String> seedCatalog() {
+        String propertyId = propertyService.resolveId(null);
+        List<String> roomTypeIds = new ArrayList<>();
+        for (int t = 0; t < roomTypes; t++) {
+            RoomType roomType = new RoomType();
+            roomType.setPropertyId(propertyId);
+            roomType.setName("Stress Test Type " + t);
+            roomType.setDescription("Seeded by BookingConcurrencyStressTest");
+            roomType.setBasePrice(BigDecimal.valueOf(120 + 15L * t));
+            roomType.setMaxOccupancy(2);
+            roomType.setImageUrls(List.of());
+            roomType.setAmenityIds(List.of());
+            RoomType saved = roomTypeRepository.save(roomType);
+            roomTypeIds.add(saved.getId());
+
+            for (int r = 0; r < roomsPerType; r++) {
+                int floor = 1 + t;
+                Room room = new Room(saved.getId(), String.format("%d%02d", floor, r), floor);
+                room.setPropertyId(propertyId);
+                roomRepository.save(room);
+            }
+        }
+        return roomTypeIds;
+    }
+
+    private List<User> seedGuests() {
+        List<User> guests = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            guests.add(userRepository.save(new User("stress" + u + "@tipton.test", "unused")));
+        }
+        return guests;
+    }
+}
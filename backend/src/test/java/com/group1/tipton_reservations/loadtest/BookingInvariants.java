@@ -0,0 +1,122 @@
+package com.group1.tipton_reservations.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.Payment;
+import com.group1.tipton_reservations.model.User;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+
+/**
+ * Invariant checks run over the bookings left behind by a load or stress run.
+ */
+final class BookingInvariants {
+
+    private BookingInvariants() {
+    }
+
+    /**
+     * Finds rooms holding two PENDING/CONFIRMED/CANCELLING bookings for the same night.
+     *
+     * @return one description per overlapping pair, empty when the run was clean
+     */
+    static List<String> doubleBookings(List<Booking> bookings) {
+        Map<String, List<Booking>> holdsByRoom = bookings.stream()
+                .filter(b -> b.getRoomId() != null)
+                .filter(b -> b.getStatus() == BookingStatus.PENDING || b.getStatus() == BookingStatus.CONFIRMED
+                        || b.getStatus() == BookingStatus.CANCELLING)
+                .collect(Collectors.groupingBy(Booking::getRoomId));
+
+        List<String> violations = new ArrayList<>();
+        holdsByRoom.forEach((roomId, holds) -> {
+            holds.sort(Comparator.comparing(Booking::getCheckInDate));
+            Booking latest = null;
+            LocalDate occupiedUntil = LocalDate.MIN;
+            for (Booking hold : holds) {
+                if (hold.getCheckInDate().isBefore(occupiedUntil)) {
+                    violations.add(String.format("room %s: %s [%s..%s) overlaps %s [%s..%s)",
+                            roomId,
+                            hold.getConfirmationNumber(), hold.getCheckInDate(), hold.getCheckOutDate(),
+                            latest.getConfirmationNumber(), latest.getCheckInDate(), latest.getCheckOutDate()));
+                }
+                if (hold.getCheckOutDate().isAfter(occupiedUntil)) {
+                    occupiedUntil = hold.getCheckOutDate();
+                    latest = hold;
+                }
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Checks every paid booking against what the Stripe stand-in captured and refunded: never more
+     * refunded than paid, cancelled bookings refunded in full, live ones not at all, no payment
+     * recorded twice and no cancellation left half done. Assumes no modifications, whose partial refunds this does not model.
+     *
+     * @return one description per violation, empty when the run was clean
+     */
+    static List<String> refundViolations(List<Booking> bookings, List<Payment> payments, FakeStripeClient stripe) {
+        Map<String, Long> paymentsByBooking = payments.stream()
+                .collect(Collectors.groupingBy(Payment::getBookingId, Collectors.counting()));
+
+        List<String> violations = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == BookingStatus.CANCELLING) {
+                violations.add(String.format("booking %s: still CANCELLING", booking.getConfirmationNumber()));
+            }
+            if (booking.getPaymentId() == null) {
+                continue;
+            }
+            long captured = stripe.capturedCents(booking.getPaymentId());
+            long refunded = stripe.refundedCents(booking.getPaymentId());
+            long expected = booking.getStatus() == BookingStatus.CANCELLED ? captured : 0L;
+            if (refunded > captured || refunded != expected) {
+                violations.add(String.format("booking %s (%s): refunded %d of %d cents, expected %d",
+                        booking.getConfirmationNumber(), booking.getStatus(), refunded, captured, expected));
+            }
+            long recorded = paymentsByBooking.getOrDefault(booking.getId(), 0L);
+            if (recorded > 1) {
+                violations.add(String.format("booking %s: payment recorded %d times",
+                        booking.getConfirmationNumber(), recorded));
+            }
+        }
+        for (Payment payment : payments) {
+            if (payment.getRefundedAmount() != null && payment.getRefundedAmount().compareTo(payment.getAmount()) > 0) {
+                violations.add(String.format("payment %s: refunded %s of %s",
+                        payment.getStripePaymentIntentId(), payment.getRefundedAmount(), payment.getAmount()));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Compares each user's balance with one award (a point per $10) for every booking that was
+     * confirmed, less 100 points per reward code issued.
+     *
+     * @param codesIssued reward codes handed out per user id
+     * @return one description per user whose balance is off, empty when the run was clean
+     */
+    static List<String> rewardPointViolations(List<Booking> bookings, List<User> users, Map<String, Integer> codesIssued) {
+        Map<String, Integer> earned = bookings.stream()
+                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.CANCELLED)
+                .collect(Collectors.groupingBy(Booking::getUserId, Collectors.summingInt(b ->
+                        b.getTotalPrice().divide(BigDecimal.TEN, 0, RoundingMode.FLOOR).intValue())));
+
+        List<String> violations = new ArrayList<>();
+        for (User user : users) {
+            int expected = earned.getOrDefault(user.getId(), 0) - 100 * codesIssued.getOrDefault(user.getId(), 0);
+            if (user.getRewardsPoints() != expected) {
+                violations.add(String.format("user %s: %d points, expected %d",
+                        user.getEmail(), user.getRewardsPoints(), expected));
+            }
+        }
+        return violations;
+    }
+}
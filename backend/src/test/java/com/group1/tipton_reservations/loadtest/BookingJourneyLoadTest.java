@@ -0,0 +1,271 @@
+package com.group1.tipton_reservations.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.repository.BookingRepository;
+import com.group1.tipton_reservations.repository.RoomRepository;
+import com.group1.tipton_reservations.repository.RoomTypeRepository;
+import com.group1.tipton_reservations.service.PropertyService;
+
+/**
+ * In-JVM load test: boots the full application on a random port under the {@code loadtest}
+ * profile (fake Stripe, in-process Mongo) and drives scripted
+ * search &rarr; create &rarr; pay &rarr; confirm &rarr; cancel journeys over HTTP.
+ * <p>
+ * Run with {@code mvn -Ploadtest test}. Tunables (system properties):
+ * {@code loadtest.concurrency}, {@code loadtest.journeys}, {@code loadtest.users},
+ * {@code loadtest.roomTypes}, {@code loadtest.roomsPerType}, {@code loadtest.horizonDays},
+ * {@code loadtest.maxNights}, {@code loadtest.cancelRatio}, {@code loadtest.seed},
+ * {@code loadtest.failOnViolations} (on by default; {@code false} only reports). Stripe latency and failure injection are set through
+ * {@code tipton.loadtest.stripe.*}.
+ * </p>
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingJourneyLoadTest {
+
+    private static final String[] STEPS = { "search", "create", "pay", "confirm", "cancel" };
+
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+    private final int journeys = Integer.getInteger("loadtest.journeys", 500);
+    private final int users = Integer.getInteger("loadtest.users", 40);
+    private final int roomTypes = Integer.getInteger("loadtest.roomTypes", 6);
+    private final int roomsPerType = Integer.getInteger("loadtest.roomsPerType", 8);
+    private final int horizonDays = Integer.getInteger("loadtest.horizonDays", 45);
+    private final int maxNights = Integer.getInteger("loadtest.maxNights", 5);
+    private final double cancelRatio = Double.parseDouble(System.getProperty("loadtest.cancelRatio", "0.3"));
+    private final long seed = Long.getLong("loadtest.seed", 42L);
+    private final boolean failOnViolations = Boolean.parseBoolean(System.getProperty("loadtest.failOnViolations", "true"));
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> InMemoryMongo.connectionString("tipton-loadtest"));
+    }
+
+    @Test
+    void bookingJourneys() throws Exception {
+        mongoTemplate.getDb().drop();
+        seedCatalog();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<String> tokens = registerUsers(pool);
+
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger soldOut = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+
+            long start = System.nanoTime();
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < journeys; i++) {
+                Random random = new Random(seed + i);
+                String token = tokens.get(i % tokens.size());
+                runs.add(pool.submit(() -> {
+                    switch (runJourney(token, random)) {
+                        case COMPLETED -> completed.incrementAndGet();
+                        case SOLD_OUT -> soldOut.incrementAndGet();
+                        case FAILED -> failed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            List<String> violations = BookingInvariants.doubleBookings(bookingRepository.findAll());
+
+            System.out.printf("%n=== booking journey load test ===%n");
+            System.out.printf("concurrency=%d journeys=%d users=%d rooms=%d (%d types) seed=%d%n",
+                    concurrency, journeys, tokens.size(), roomTypes * roomsPerType, roomTypes, seed);
+            System.out.printf("completed=%d soldOut=%d failed=%d in %.2fs%n",
+                    completed.get(), soldOut.get(), failed.get(), seconds);
+            System.out.printf("throughput: %.1f journeys/s, %.1f requests/s (%d request errors)%n",
+                    journeys / seconds, recorder.totalRequests() / seconds, recorder.totalErrors());
+            System.out.print(recorder.report(STEPS));
+            System.out.printf("double-booking violations: %d%n", violations.size());
+            violations.stream().limit(20).forEach(v -> System.out.println("  " + v));
+
+            if (failOnViolations) {
+                assertThat(violations).isEmpty();
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private enum Outcome { COMPLETED, SOLD_OUT, FAILED }
+
+    private Outcome runJourney(String token, Random random) throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(2 + random.nextInt(horizonDays));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(maxNights));
+        int guests = 1 + random.nextInt(2);
+
+        HttpResponse<String> search = send("search", token, get(
+                "/room-types/available?checkInDate=" + checkIn + "&checkOutDate=" + checkOut + "&guests=" + guests));
+        if (search.statusCode() != 200) {
+            return Outcome.FAILED;
+        }
+        JsonNode available = mapper.readTree(search.body());
+        if (available.isEmpty()) {
+            return Outcome.SOLD_OUT;
+        }
+        String roomTypeId = available.get(random.nextInt(available.size())).path("roomType").path("id").asText();
+
+        HttpResponse<String> create = send("create", token, post("/bookings", Map.of(
+                "roomTypeId", roomTypeId,
+                "checkInDate", checkIn.toString(),
+                "checkOutDate", checkOut.toString(),
+                "numberOfGuests", guests)));
+        if (create.statusCode() == 409) {
+            return Outcome.SOLD_OUT;
+        }
+        if (create.statusCode() != 201) {
+            return Outcome.FAILED;
+        }
+        String bookingId = mapper.readTree(create.body()).path("id").asText();
+
+        HttpResponse<String> pay = send("pay", token,
+                post("/payments/create-payment-intent", Map.of("bookingId", bookingId)));
+        if (pay.statusCode() != 200) {
+            return Outcome.FAILED;
+        }
+        String clientSecret = mapper.readTree(pay.body()).path("clientSecret").asText();
+        String paymentIntentId = clientSecret.substring(0, clientSecret.indexOf("_secret_"));
+
+        HttpResponse<String> confirm = send("confirm", token,
+                post("/bookings/" + bookingId + "/confirm", Map.of("paymentIntentId", paymentIntentId)));
+        if (confirm.statusCode() != 200) {
+            return Outcome.FAILED;
+        }
+
+        if (random.nextDouble() < cancelRatio) {
+            HttpResponse<String> cancel = send("cancel", token, request("/bookings/" + bookingId).DELETE());
+            if (cancel.statusCode() != 200) {
+                return Outcome.FAILED;
+            }
+        }
+        return Outcome.COMPLETED;
+    }
+
+    private void seedCatalog() {
+        String propertyId = propertyService.resolveId(null);
+        for (int t = 0; t < roomTypes; t++) {
+            RoomType roomType = new RoomType();
+            roomType.setPropertyId(propertyId);
+            roomType.setName("Load Test Type " + t);
+            roomType.setDescription("Seeded by BookingJourneyLoadTest");
+            roomType.setBasePrice(BigDecimal.valueOf(120 + 15L * t));
+            roomType.setMaxOccupancy(2 + t % 3);
+            roomType.setImageUrls(List.of());
+            roomType.setAmenityIds(List.of());
+            RoomType saved = roomTypeRepository.save(roomType);
+
+            for (int r = 0; r < roomsPerType; r++) {
+                int floor = 1 + t;
+                Room room = new Room(saved.getId(), String.format("%d%02d", floor, r), floor);
+                room.setPropertyId(propertyId);
+                roomRepository.save(room);
+            }
+        }
+    }
+
+    private List<String> registerUsers(ExecutorService pool) throws Exception {
+        List<Future<String>> logins = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            Map<String, String> credentials = Map.of("email", "load" + u + "@tipton.test", "password", "load-test-" + u);
+            logins.add(pool.submit(() -> {
+                send("register", null, post("/auth/register", credentials));
+                HttpResponse<String> login = send("login", null, post("/auth/login", credentials));
+                assertThat(login.statusCode()).isEqualTo(200);
+                return login.body();
+            }));
+        }
+        List<String> tokens = new ArrayList<>();
+        for (Future<String> login : logins) {
+            tokens.add(login.get());
+        }
+        return tokens;
+    }
+
+    private HttpResponse<String> send(String step, String token, HttpRequest.Builder builder) throws Exception {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        // sold out is an expected business outcome, not a request error
+        recorder.record(step, System.nanoTime() - start, status < 400 || (step.equals("create") && status == 409));
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, ?> body) throws Exception {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)));
+    }
+}
@@ -0,0 +1,250 @@
+package com.group1.tipton_reservations.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.group1.tipton_reservations.service.StripeClient;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.ChargeCollection;
+import com.stripe.model.Coupon;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PromotionCode;
+import com.stripe.model.PromotionCodeCollection;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.param.ChargeListParams;
+import com.stripe.param.CouponCreateParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.PromotionCodeCreateParams;
+import com.stripe.param.PromotionCodeListParams;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory Stripe stand-in for the {@code loadtest} profile; it only exists on the test
+ * classpath, so a packaged build always talks to the live API.
+ * <p>
+ * Payment intents are created already {@code succeeded} (the browser-side card step is
+ * skipped), refunds are checked against the captured amount, and every call can be slowed
+ * down or failed on purpose via {@code tipton.loadtest.stripe.*}.
+ * </p>
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class FakeStripeClient implements StripeClient {
+
+    private final Map<String, PaymentIntent> paymentIntents = new ConcurrentHashMap<>();
+    private final Map<String, Long> refundedCents = new ConcurrentHashMap<>();
+    private final Map<String, PromotionCode> promotionCodes = new ConcurrentHashMap<>();
+
+    @Value("${tipton.loadtest.stripe.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${tipton.loadtest.stripe.jitter-ms:0}")
+    private long jitterMs;
+
+    @Value("${tipton.loadtest.stripe.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${tipton.loadtest.stripe.refund-failure-rate:0.0}")
+    private double refundFailureRate;
+
+    private volatile long failRefundsAfterMs = -1;
+
+    @Override
+    public PaymentIntent createPaymentIntent(PaymentIntentCreateParams params) throws StripeException {
+        simulateNetwork("createPaymentIntent");
+        String id = "pi_fake_" + randomId();
+        PaymentIntent intent = new PaymentIntent();
+        intent.setId(id);
+        intent.setAmount(params.getAmount());
+        intent.setCurrency(params.getCurrency());
+        intent.setMetadata(params.getMetadata());
+        intent.setStatus("succeeded");
+        intent.setClientSecret(id + "_secret_" + randomId());
+        paymentIntents.put(id, intent);
+        return intent;
+    }
+
+    @Override
+    public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
+        simulateNetwork("retrievePaymentIntent");
+        return findPaymentIntent(paymentIntentId);
+    }
+
+    @Override
+    public ChargeCollection listCharges(ChargeListParams params) throws StripeException {
+        simulateNetwork("listCharges");
+        ChargeCollection charges = new ChargeCollection();
+        charges.setData(new ArrayList<>());
+        charges.setHasMore(false);
+        return charges;
+    }
+
+    @Override
+    public Refund createRefund(RefundCreateParams params) throws StripeException {
+        simulateNetwork("createRefund");
+        long failAfter = failRefundsAfterMs;
+        if (failAfter >= 0) {
+            sleep(failAfter);
+            throw new ApiException("Injected failure for createRefund", null, "fake_failure", 503, null);
+        }
+        if (refundFailureRate > 0 && ThreadLocalRandom.current().nextDouble() < refundFailureRate) {
+            log.debug("Injecting Stripe refund failure");
+            throw new ApiException("Injected failure for createRefund", null, "fake_failure", 503, null);
+        }
+        PaymentIntent intent = findPaymentIntent(params.getPaymentIntent());
+        long requested = params.getAmount() != null ? params.getAmount() : intent.getAmount();
+
+        // check-and-add atomically so concurrent refunds cannot overdraw the intent
+        long[] refundedAfter = new long[1];
+        refundedCents.compute(intent.getId(), (id, alreadyRefunded) -> {
+            long current = alreadyRefunded != null ? alreadyRefunded : 0L;
+            refundedAfter[0] = current + requested;
+            return refundedAfter[0] <= intent.getAmount() ? refundedAfter[0] : current;
+        });
+        if (refundedAfter[0] > intent.getAmount()) {
+            throw new InvalidRequestException("Refund amount exceeds the remaining charge for " + intent.getId(),
+                    "amount", null, "amount_too_large", 400, null);
+        }
+
+        Refund refund = new Refund();
+        refund.setId("re_fake_" + randomId());
+        refund.setPaymentIntent(intent.getId());
+        refund.setAmount(requested);
+        refund.setStatus("succeeded");
+        return refund;
+    }
+
+    @Override
+    public RefundCollection listRefunds(RefundListParams params) throws StripeException {
+        simulateNetwork("listRefunds");
+        PaymentIntent intent = findPaymentIntent(params.getPaymentIntent());
+        // refunds are only kept as a running total, which comes back as one refund
+        List<Refund> refunds = new ArrayList<>();
+        long refunded = refundedCents(intent.getId());
+        if (refunded > 0) {
+            Refund refund = new Refund();
+            refund.setId("re_fake_total_" + intent.getId());
+            refund.setPaymentIntent(intent.getId());
+            refund.setAmount(refunded);
+            refund.setStatus("succeeded");
+            refunds.add(refund);
+        }
+        RefundCollection collection = new RefundCollection();
+        collection.setData(refunds);
+        collection.setHasMore(false);
+        return collection;
+    }
+
+    @Override
+    public Coupon createCoupon(CouponCreateParams params) throws StripeException {
+        simulateNetwork("createCoupon");
+        Coupon coupon = new Coupon();
+        coupon.setId("co_fake_" + randomId());
+        coupon.setAmountOff(params.getAmountOff());
+        coupon.setCurrency(params.getCurrency());
+        coupon.setName(params.getName());
+        coupon.setValid(true);
+        return coupon;
+    }
+
+    @Override
+    public PromotionCode createPromotionCode(PromotionCodeCreateParams params) throws StripeException {
+        simulateNetwork("createPromotionCode");
+        // the fake only issues the fixed $100 reward coupon, so rebuild it rather than keep a coupon store
+        Coupon coupon = new Coupon();
+        coupon.setId(params.getPromotion().getCoupon());
+        coupon.setAmountOff(10000L);
+        coupon.setCurrency("usd");
+        coupon.setValid(true);
+
+        PromotionCode.Promotion promotion = new PromotionCode.Promotion();
+        promotion.setCouponObject(coupon);
+
+        PromotionCode promo = new PromotionCode();
+        promo.setId("promo_fake_" + randomId());
+        promo.setCode(params.getCode());
+        promo.setActive(true);
+        promo.setPromotion(promotion);
+        promotionCodes.put(params.getCode(), promo);
+        return promo;
+    }
+
+    @Override
+    public PromotionCodeCollection listPromotionCodes(PromotionCodeListParams params) throws StripeException {
+        simulateNetwork("listPromotionCodes");
+        PromotionCode promo = promotionCodes.get(params.getCode());
+        PromotionCodeCollection codes = new PromotionCodeCollection();
+        codes.setData(promo != null ? new ArrayList<>(List.of(promo)) : new ArrayList<>());
+        codes.setHasMore(false);
+        return codes;
+    }
+
+    /**
+     * Makes every refund from now on fail after {@code delayMs}, as a timed-out call would;
+     * a negative delay goes back to normal refunds.
+     */
+    public void failRefundsAfter(long delayMs) {
+        this.failRefundsAfterMs = delayMs;
+    }
+
+    /**
+     * Total refunded so far against a payment intent, in cents.
+     */
+    public long refundedCents(String paymentIntentId) {
+        return refundedCents.getOrDefault(paymentIntentId, 0L);
+    }
+
+    /**
+     * Amount captured by a payment intent, in cents, or 0 if unknown.
+     */
+    public long capturedCents(String paymentIntentId) {
+        PaymentIntent intent = paymentIntents.get(paymentIntentId);
+        return intent != null ? intent.getAmount() : 0L;
+    }
+
+    private PaymentIntent findPaymentIntent(String paymentIntentId) throws StripeException {
+        PaymentIntent intent = paymentIntentId != null ? paymentIntents.get(paymentIntentId) : null;
+        if (intent == null) {
+            throw new InvalidRequestException("No such payment_intent: " + paymentIntentId,
+                    "intent", null, "resource_missing", 404, null);
+        }
+        return intent;
+    }
+
+    private void simulateNetwork(String operation) throws StripeException {
+        sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            log.debug("Injecting Stripe failure for {}", operation);
+            throw new ApiException("Injected failure for " + operation, null, "fake_failure", 503, null);
+        }
+    }
+
+    private static void sleep(long delayMs) {
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String randomId() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
+}
@@ -0,0 +1,35 @@
+package com.group1.tipton_reservations.loadtest;
+
+import java.net.InetSocketAddress;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * In-process MongoDB stand-in (mongo-java-server) shared by the load and stress suites.
+ * Speaks the wire protocol, so the application runs its normal driver and repositories against it.
+ */
+public final class InMemoryMongo {
+
+    private static MongoServer server;
+
+    private InMemoryMongo() {
+    }
+
+    /**
+     * Starts the server on first use and returns a connection string for the given database.
+     */
+    public static synchronized String connectionString(String database) {
+        if (server == null) {
+            server = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = server.bind();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::shutdownNow));
+            return uri(address, database);
+        }
+        return uri(server.getLocalAddress(), database);
+    }
+
+    private static String uri(InetSocketAddress address, String database) {
+        return "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + database;
+    }
+}
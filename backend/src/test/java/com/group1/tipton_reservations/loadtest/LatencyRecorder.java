@@ -0,0 +1,62 @@
+package com.group1.tipton_reservations.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects per-step latencies and error counts from many threads and renders a percentile table.
+ */
+class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    void record(String step, long nanos, boolean success) {
+        samples.computeIfAbsent(step, s -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(step, s -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    long totalRequests() {
+        return samples.values().stream().mapToLong(ConcurrentLinkedQueue::size).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    String report(String... stepOrder) {
+        StringBuilder out = new StringBuilder(String.format("%-10s %8s %7s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)"));
+        for (String step : stepOrder) {
+            ConcurrentLinkedQueue<Long> queue = samples.get(step);
+            if (queue == null || queue.isEmpty()) {
+                continue;
+            }
+            long[] sorted = queue.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            out.append(String.format("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    step,
+                    sorted.length,
+                    errors.getOrDefault(step, new AtomicLong()).get(),
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted[sorted.length - 1])));
+        }
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
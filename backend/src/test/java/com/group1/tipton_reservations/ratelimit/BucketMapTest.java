@@ -0,0 +1,74 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link BucketMap} on a virtual clock: one bucket per key, eviction of full buckets
+ * only, and keys let through untracked when a stripe is full of active buckets.
+ */
+class BucketMapTest {
+
+    private static final RateLimit TWO_PER_SECOND = new RateLimit(2, Duration.ofSeconds(1));
+    private static final long T0 = TimeUnit.SECONDS.toNanos(1_000);
+    private static final long LATER = T0 + TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        BucketMap buckets = new BucketMap(4, 100);
+
+        assertEquals(0, buckets.tryAcquire("a", TWO_PER_SECOND, T0));
+        assertEquals(0, buckets.tryAcquire("a", TWO_PER_SECOND, T0));
+        assertTrue(buckets.tryAcquire("a", TWO_PER_SECOND, T0) > 0);
+
+        assertEquals(0, buckets.tryAcquire("b", TWO_PER_SECOND, T0));
+        assertEquals(2, buckets.size());
+    }
+
+    @Test
+    void fullStripeEvictsFullBucketsBeforeRefusingToTrack() {
+        BucketMap buckets = new BucketMap(1, 2);
+        buckets.tryAcquire("a", TWO_PER_SECOND, T0);
+        buckets.tryAcquire("b", TWO_PER_SECOND, T0);
+
+        // both still hold someone back, so a third key goes untracked rather than push one out
+        assertEquals(-1, buckets.tryAcquire("c", TWO_PER_SECOND, T0));
+        assertEquals(2, buckets.size());
+
+        // once they have refilled they are as good as missing and make room
+        assertEquals(0, buckets.tryAcquire("c", TWO_PER_SECOND, LATER));
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    void evictionNeverForgivesAnActiveBucket() {
+        BucketMap buckets = new BucketMap(1, 2);
+        buckets.tryAcquire("a", TWO_PER_SECOND, T0);
+        buckets.tryAcquire("a", TWO_PER_SECOND, T0);
+        buckets.tryAcquire("b", TWO_PER_SECOND, T0 - TimeUnit.SECONDS.toNanos(5)); // full again by T0
+
+        assertEquals(0, buckets.tryAcquire("c", TWO_PER_SECOND, T0));
+        assertTrue(buckets.tryAcquire("a", TWO_PER_SECOND, T0) > 0);
+    }
+
+    @Test
+    void periodicSweepDropsFullBuckets() {
+        BucketMap buckets = new BucketMap(1, 10_000);
+        for (int k = 0; k < 100; k++) {
+            buckets.tryAcquire("idle-" + k, TWO_PER_SECOND, T0);
+        }
+        assertEquals(100, buckets.size());
+
+        // one busy key is enough to trigger the sweep of the (only) stripe
+        RateLimit generous = new RateLimit(10_000, Duration.ofSeconds(1));
+        for (int i = 0; i < 1024; i++) {
+            buckets.tryAcquire("busy", generous, LATER);
+        }
+        assertEquals(1, buckets.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.group1.tipton_reservations.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link TokenBucket} on a virtual clock: the burst, the refill rate, the wait it
+ * reports, and that concurrent takers never get more than the burst.
+ */
+class TokenBucketTest {
+
+    private static final RateLimit FIVE_PER_SECOND = new RateLimit(5, Duration.ofSeconds(1));
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long T0 = TimeUnit.SECONDS.toNanos(1_000);
+
+    @Test
+    void newBucketAllowsAFullBurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(T0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(T0, FIVE_PER_SECOND), "token " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(T0, FIVE_PER_SECOND));
+        assertEquals(INTERVAL - 50, bucket.tryAcquire(T0 + 50, FIVE_PER_SECOND));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(T0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(T0, FIVE_PER_SECOND);
+        }
+
+        assertEquals(0, bucket.tryAcquire(T0 + INTERVAL, FIVE_PER_SECOND));
+        assertTrue(bucket.tryAcquire(T0 + INTERVAL, FIVE_PER_SECOND) > 0);
+
+        // a long pause refills to the burst, never beyond it
+        long later = T0 + TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(later, FIVE_PER_SECOND), "token " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(later, FIVE_PER_SECOND));
+    }
+
+    @Test
+    void isFullOnlyOnceEveryTokenIsBack() {
+        TokenBucket bucket = new TokenBucket(T0);
+        assertTrue(bucket.isFull(T0));
+
+        bucket.tryAcquire(T0, FIVE_PER_SECOND);
+        bucket.tryAcquire(T0, FIVE_PER_SECOND);
+        assertFalse(bucket.isFull(T0 + INTERVAL));
+        assertTrue(bucket.isFull(T0 + 2 * INTERVAL));
+    }
+
+    @Test
+    void concurrentTakersShareTheBurst() throws Exception {
+        int threads = 8;
+        RateLimit limit = new RateLimit(100, Duration.ofHours(1));
+        TokenBucket bucket = new TokenBucket(T0);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> taken = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                taken.add(pool.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryAcquire(T0, limit) == 0) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> count : taken) {
+                total += count.get();
+            }
+            assertEquals(100, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
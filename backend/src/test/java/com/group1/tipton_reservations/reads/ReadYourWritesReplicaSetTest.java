@@ -0,0 +1,150 @@
+package com.group1.tipton_reservations.reads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.group1.tipton_reservations.model.Amenity;
+import com.mongodb.client.MongoClient;
+
+/**
+ * Drives {@link ReadYourWritesFilter} against a real single-node replica set, where sessions,
+ * {@code afterClusterTime} and server time limits behave as in production. The in-process
+ * stand-in used by the other suites has no sessions, so the filter turns itself off there.
+ * <p>
+ * Run with {@code mvn -Preplicaset test}; needs Docker. Server-side failures are injected with
+ * the {@code failCommand} fail point, limited to this application's connections, and the
+ * background sweeps are slowed down so they do not trip it first.
+ * </p>
+ */
+@Tag("replicaset")
+@Testcontainers
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReadYourWritesReplicaSetTest {
+
+    private static final String APP_NAME = "tipton-replicaset-test";
+    private static final long READ_TIMEOUT_MS = 500;
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0")
+            .withCommand("--replSet", "docker-rs", "--setParameter", "enableTestCommands=1");
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri",
+                () -> MONGO.getReplicaSetUrl("tipton-replicaset") + "?appName=" + APP_NAME);
+        registry.add("tipton.cache.bus", () -> "mongo"); // a replica set has change streams
+        registry.add("tipton.reads.causal-read-timeout-ms", () -> READ_TIMEOUT_MS);
+        for (String sweep : new String[] { "events", "holds", "cancellations", "images" }) {
+            registry.add("tipton." + sweep + ".sweep-interval-ms", () -> 3_600_000);
+        }
+        registry.add("tipton.metrics.pending-refresh-ms", () -> 3_600_000);
+    }
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void clearFailPoint() {
+        mongoClient.getDatabase("admin").runCommand(new Document("configureFailPoint", "failCommand").append("mode", "off"));
+    }
+
+    @Test
+    void tokenIssuedByTheClusterIsHonoured() throws Exception {
+        String token = readToken(getAmenities("1"));
+        Amenity amenity = new Amenity();
+        amenity.setName("Rooftop pool");
+        mongoTemplate.insert(amenity);
+
+        HttpResponse<String> response = getAmenities(token);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("Rooftop pool");
+        assertThat(Long.parseUnsignedLong(readToken(response), 16)).isGreaterThanOrEqualTo(Long.parseUnsignedLong(token, 16));
+    }
+
+    @Test
+    void tokenAheadOfTheClusterIsIgnored() throws Exception {
+        String forged = "7fffffff00000001";
+
+        HttpResponse<String> response = getAmenities(forged);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(Long.parseUnsignedLong(readToken(response), 16)).isLessThan(Long.parseUnsignedLong(forged, 16));
+    }
+
+    @Test
+    void readThatRunsOutOfTimeUnderATokenIsRetriedWithoutIt() throws Exception {
+        String token = readToken(getAmenities("1"));
+        failNextFind(new Document("blockConnection", true).append("blockTimeMS", READ_TIMEOUT_MS * 4));
+
+        HttpResponse<String> response = getAmenities(token);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(ReadYourWritesFilter.READ_TOKEN_HEADER)).isPresent();
+    }
+
+    @Test
+    void readRefusedByTheServerUnderATokenIsRetriedWithoutIt() throws Exception {
+        String token = readToken(getAmenities("1"));
+        failNextFind(new Document("errorCode", 50)); // MaxTimeMSExpired
+
+        assertThat(getAmenities(token).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void readWithoutATokenIsNotRetried() throws Exception {
+        failNextFind(new Document("errorCode", 50));
+
+        assertThat(getAmenities(null).statusCode()).isEqualTo(500);
+    }
+
+    private void failNextFind(Document failure) {
+        Document data = new Document("failCommands", List.of("find")).append("appName", APP_NAME);
+        data.putAll(failure);
+        mongoClient.getDatabase("admin").runCommand(new Document("configureFailPoint", "failCommand")
+                .append("mode", new Document("times", 1))
+                .append("data", data));
+    }
+
+    private HttpResponse<String> getAmenities(String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/amenities")).GET();
+        if (token != null) {
+            request.header(ReadYourWritesFilter.READ_TOKEN_HEADER, token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String readToken(HttpResponse<String> response) {
+        return response.headers().firstValue(ReadYourWritesFilter.READ_TOKEN_HEADER).orElseThrow();
+    }
+}
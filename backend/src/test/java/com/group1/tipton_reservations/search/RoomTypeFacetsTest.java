@@ -0,0 +1,174 @@
+package com.group1.tipton_reservations.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import com.group1.tipton_reservations.model.Amenity;
+import com.group1.tipton_reservations.model.RoomType;
+
+/**
+ * Checks the {@link RoomTypeFacets} masks against a linear scan over the same room types,
+ * plus the edges of price bands and price bounds.
+ */
+class RoomTypeFacetsTest {
+
+    private static final List<String> AMENITY_IDS = List.of("wifi", "pool", "spa", "gym", "parking");
+    private static final List<BigDecimal> BAND_EDGES = List.of(new BigDecimal("100"), new BigDecimal("200"));
+
+    @Test
+    void facetCountsMatchLinearScan() {
+        Random random = new Random(42);
+        List<RoomType> roomTypes = new ArrayList<>();
+        for (int o = 0; o < 60; o++) {
+            List<String> amenities = AMENITY_IDS.stream().filter(a -> random.nextBoolean()).toList();
+            roomTypes.add(roomType("rt" + o, BigDecimal.valueOf(50 + random.nextInt(250)), 1 + random.nextInt(6), amenities));
+        }
+        RoomTypeFacets facets = facets(roomTypes);
+
+        for (int query = 0; query < 500; query++) {
+            List<String> amenities = AMENITY_IDS.stream().filter(a -> random.nextInt(4) == 0).toList();
+            int guests = random.nextInt(8);
+            BigDecimal min = random.nextBoolean() ? BigDecimal.valueOf(40 + random.nextInt(270)) : null;
+            BigDecimal max = random.nextBoolean() ? BigDecimal.valueOf(40 + random.nextInt(270)) : null;
+
+            BitSet mask = facets.withAmenities(amenities);
+            mask.and(facets.capacityMask(guests));
+            mask.and(facets.priceMask(min, max));
+
+            Predicate<RoomType> expected = rt -> rt.getAmenityIds().containsAll(amenities)
+                    && rt.getMaxOccupancy() >= guests
+                    && (min == null || rt.getBasePrice().compareTo(min) >= 0)
+                    && (max == null || rt.getBasePrice().compareTo(max) <= 0);
+            assertEquals(scan(roomTypes, expected), mask, "amenities=" + amenities + " guests=" + guests
+                    + " min=" + min + " max=" + max);
+
+            // per-band counts add up to the filtered total
+            int inBands = 0;
+            for (int band = 0; band < facets.priceBands(); band++) {
+                BitSet inBand = (BitSet) mask.clone();
+                inBand.and(facets.priceBandMask(band));
+                inBands += inBand.cardinality();
+            }
+            assertEquals(mask.cardinality(), inBands);
+        }
+    }
+
+    @Test
+    void priceBandEdgeBelongsToTheUpperBand() {
+        RoomTypeFacets facets = facets(List.of(
+                roomType("a", new BigDecimal("99.99"), 2, List.of()),
+                roomType("b", new BigDecimal("100"), 2, List.of()),
+                roomType("c", new BigDecimal("199.99"), 2, List.of()),
+                roomType("d", new BigDecimal("200"), 2, List.of())));
+
+        assertEquals(3, facets.priceBands());
+        assertEquals(bits(0), facets.priceBandMask(0));
+        assertEquals(bits(1, 2), facets.priceBandMask(1));
+        assertEquals(bits(3), facets.priceBandMask(2));
+    }
+
+    @Test
+    void priceBoundsAreInclusiveAndOptional() {
+        RoomTypeFacets facets = facets(List.of(
+                roomType("a", new BigDecimal("80"), 2, List.of()),
+                roomType("b", new BigDecimal("120"), 2, List.of()),
+                roomType("c", new BigDecimal("120"), 2, List.of()),
+                roomType("d", new BigDecimal("250"), 2, List.of())));
+
+        assertEquals(bits(1, 2), facets.priceMask(new BigDecimal("120"), new BigDecimal("120")));
+        assertEquals(bits(0, 1, 2), facets.priceMask(null, new BigDecimal("120")));
+        assertEquals(bits(1, 2, 3), facets.priceMask(new BigDecimal("120"), null));
+        assertEquals(bits(0, 1, 2, 3), facets.priceMask(null, null));
+        assertEquals(bits(), facets.priceMask(new BigDecimal("121"), new BigDecimal("249")));
+        assertEquals(bits(), facets.priceMask(new BigDecimal("200"), new BigDecimal("100")));
+        assertEquals(bits(3), facets.priceMask(new BigDecimal("250"), new BigDecimal("1000")));
+    }
+
+    @Test
+    void onlyAmenitiesSomeRoomTypeHasAreFacets() {
+        RoomTypeFacets facets = facets(List.of(
+                roomType("a", BigDecimal.TEN, 2, List.of("pool")),
+                roomType("b", BigDecimal.TEN, 4, List.of("pool", "wifi"))));
+
+        assertEquals(List.of("wifi", "pool"), facets.amenities().stream().map(Amenity::getId).toList());
+        assertEquals(bits(0, 1), facets.withAmenities(List.of("pool")));
+        assertEquals(bits(), facets.withAmenities(List.of("pool", "spa")));
+        assertEquals(bits(1), facets.capacityMask(3));
+        assertEquals(bits(), facets.capacityMask(5));
+        assertEquals(bits(0, 1), facets.capacityMask(0));
+        assertEquals(4, facets.maxCapacity());
+    }
+
+    @Test
+    void orderedFollowsTheSort() {
+        List<RoomType> roomTypes = List.of(
+                roomType("a", new BigDecimal("150"), 2, List.of()),
+                roomType("b", new BigDecimal("90"), 4, List.of()),
+                roomType("c", new BigDecimal("300"), 3, List.of()),
+                roomType("d", new BigDecimal("120"), 1, List.of()));
+        RoomTypeFacets facets = facets(roomTypes);
+        BitSet mask = bits(0, 1, 2);
+
+        assertEquals(List.of(1, 0, 2), facets.ordered(mask, RoomTypeSort.PRICE_ASC));
+        assertEquals(List.of(2, 0, 1), facets.ordered(mask, RoomTypeSort.PRICE_DESC));
+        assertEquals(List.of(1, 2, 0), facets.ordered(mask, RoomTypeSort.CAPACITY_DESC));
+        assertEquals(List.of(0, 1, 2), facets.ordered(mask, RoomTypeSort.NAME));
+
+        List<Integer> all = facets.ordered(facets.all(), RoomTypeSort.PRICE_ASC);
+        List<Integer> byPrice = new ArrayList<>(all);
+        byPrice.sort(Comparator.comparing(o -> roomTypes.get(o).getBasePrice()));
+        assertEquals(byPrice, all);
+        assertEquals(roomTypes.size(), facets.all().cardinality());
+    }
+
+    private static RoomTypeFacets facets(List<RoomType> roomTypes) {
+        List<Set<String>> roomIds = roomTypes.stream().map(rt -> Set.of(rt.getId() + "-101")).toList();
+        List<Amenity> amenities = AMENITY_IDS.stream().map(RoomTypeFacetsTest::amenity).toList();
+        return new RoomTypeFacets(roomTypes, roomIds, amenities, BAND_EDGES);
+    }
+
+    private static RoomType roomType(String id, BigDecimal price, int maxOccupancy, List<String> amenityIds) {
+        RoomType roomType = new RoomType();
+        roomType.setId(id);
+        roomType.setName(id);
+        roomType.setBasePrice(price);
+        roomType.setMaxOccupancy(maxOccupancy);
+        roomType.setAmenityIds(amenityIds);
+        return roomType;
+    }
+
+    private static Amenity amenity(String id) {
+        Amenity amenity = new Amenity();
+        amenity.setId(id);
+        amenity.setName(id);
+        return amenity;
+    }
+
+    private static BitSet scan(List<RoomType> roomTypes, Predicate<RoomType> matches) {
+        BitSet expected = new BitSet();
+        for (int o = 0; o < roomTypes.size(); o++) {
+            if (matches.test(roomTypes.get(o))) {
+                expected.set(o);
+            }
+        }
+        return expected;
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
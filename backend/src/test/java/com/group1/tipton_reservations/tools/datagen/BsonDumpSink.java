@@ -0,0 +1,70 @@
+package com.group1.tipton_reservations.tools.datagen;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+/**
+ * Writes {@code <dir>/<database>/<collection>.bson} files in the layout {@code mongorestore} reads,
+ * streaming one document at a time so output size is bounded only by disk.
+ */
+class BsonDumpSink implements DatasetSink {
+
+    private final Path databaseDir;
+    private final Map<String, OutputStream> streams = new HashMap<>();
+    private final DocumentCodec codec = new DocumentCodec();
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer(1024);
+
+    BsonDumpSink(Path outputDir, String database) {
+        this.databaseDir = outputDir.resolve(database);
+        try {
+            Files.createDirectories(databaseDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create " + databaseDir, e);
+        }
+    }
+
+    @Override
+    public void write(String collection, Document document) {
+        buffer.truncateToPosition(0);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, document, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        try {
+            buffer.pipe(streams.computeIfAbsent(collection, this::open));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to " + collection + ".bson", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (OutputStream stream : streams.values()) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        streams.clear();
+    }
+
+    private OutputStream open(String collection) {
+        try {
+            return new BufferedOutputStream(Files.newOutputStream(databaseDir.resolve(collection + ".bson")), 1 << 20);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + collection + ".bson", e);
+        }
+    }
+}
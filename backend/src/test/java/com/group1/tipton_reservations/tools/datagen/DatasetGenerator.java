@@ -0,0 +1,519 @@
+package com.group1.tipton_reservations.tools.datagen;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import com.group1.tipton_reservations.model.Amenity;
+import com.group1.tipton_reservations.model.Booking;
+import com.group1.tipton_reservations.model.Payment;
+import com.group1.tipton_reservations.model.Room;
+import com.group1.tipton_reservations.model.RoomType;
+import com.group1.tipton_reservations.model.User;
+import com.group1.tipton_reservations.model.enums.BookingStatus;
+import com.group1.tipton_reservations.model.enums.PaymentStatus;
+
+/**
+ * Generates a synthetic, seeded hotel dataset for benchmarks, load tests and capacity planning.
+ * <p>
+ * Output is either a {@code mongorestore}-ready BSON dump or unordered bulk inserts into a live
+ * database. The same arguments always produce byte-identical data (ids included), so runs can
+ * be compared. Documents use the field layout Spring Data writes for the model classes
+ * ({@code _class}, BigDecimal as string, dates in the JVM default zone).
+ * </p>
+ * <p>
+ * Each room gets its own non-overlapping stay timeline: lengths of stay follow a leisure-hotel
+ * mix (mostly 1-3 nights with a long tail to two weeks), vacancies between stays target ~70%
+ * occupancy, and lead times mix walk-ins with an exponential tail. Roughly 80% of every timeline
+ * lies before the anchor date, so history, in-house and future bookings are all present.
+ * </p>
+ * Usage:
+ * <pre>
+ * mvn -Pdatagen test-compile exec:java -Dexec.args="--bookings 1000000 --out bson:target/dataset"
+ * mvn -Pdatagen test-compile exec:java -Dexec.args="--bookings 50000 --out mongodb://localhost:27017 --drop"
+ * </pre>
+ * Options: {@code --bookings N} (1000), {@code --rooms N}, {@code --room-types N}, {@code --users N},
+ * {@code --seed N} (42), {@code --anchor yyyy-MM-dd} (today), {@code --db name} (tipton),
+ * {@code --batch N} (10000), {@code --property id} (tipton), {@code --drop}, {@code --admin}.
+ * Every generated user is a customer sharing one well-known password; {@code --admin} makes the
+ * first one ROLE_ADMIN with a random password of its own, printed once at the end of the run.
+ * Everything generated belongs to one property; the application creates the default property
+ * on startup, any other one has to be created through {@code POST /properties} first.
+ */
+public class DatasetGenerator {
+
+    static final List<String> COLLECTIONS = List.of("amenities", "room_types", "rooms", "bookings", "payments", "users");
+
+    private static final String DEFAULT_PASSWORD = "Password123!";
+    private static final int ROOMS_PER_FLOOR = 40;
+    private static final double TARGET_OCCUPANCY = 0.70;
+    private static final double HISTORY_FRACTION = 0.80;
+
+    // nights -> relative weight
+    private static final double[] STAY_LENGTH_WEIGHTS = {
+            0, 22, 26, 18, 11, 8, 5, 5, 1, 1, 1, 0.5, 0.5, 0.5, 0.5 };
+
+    private static final String[][] AMENITIES = {
+            { "WiFi", "wifi" }, { "Air Conditioning", "ac_unit" }, { "Television", "tv" },
+            { "Mini Bar", "local_bar" }, { "Coffee Maker", "coffee" }, { "Room Safe", "lock" },
+            { "Bathtub", "bathtub" }, { "Balcony", "balcony" }, { "Kitchenette", "kitchen" },
+            { "Workspace", "desk" }, { "Pet Friendly", "pets" }, { "Accessible", "accessible" },
+            { "Ocean View", "waves" }, { "Room Service", "room_service" } };
+
+    private static final String[] TIERS = {
+            "Standard", "Superior", "Deluxe", "Premier", "Executive", "Junior Suite", "Suite", "Penthouse" };
+    private static final double[] TIER_PRICES = { 109, 139, 169, 209, 249, 319, 449, 899 };
+    private static final String[] BEDS = { "Queen", "King", "Double Queen", "Twin", "Single" };
+    private static final int[] BED_OCCUPANCY = { 2, 2, 4, 2, 1 };
+    private static final String[] VIEWS = { "City View", "Garden View", "Courtyard", "Ocean View" };
+    private static final double[] VIEW_MULTIPLIERS = { 1.0, 1.05, 0.95, 1.35 };
+
+    private static final String[] FIRST_NAMES = {
+            "Olivia", "Liam", "Emma", "Noah", "Ava", "Elijah", "Sophia", "Mateo", "Mia", "Lucas",
+            "Isabella", "Levi", "Amelia", "Ezra", "Harper", "Asher", "Evelyn", "James", "Luna", "Leo",
+            "Camila", "Aiden", "Priya", "Wei", "Fatima", "Kenji", "Aaliyah", "Diego", "Sofia", "Omar" };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez",
+            "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore",
+            "Nguyen", "Kim", "Patel", "Chen", "Singh", "Okafor", "Tanaka", "Rossi", "Cohen", "Silva" };
+
+    private final Options options;
+    private final SplittableRandom random;
+    private final ZoneId zone = ZoneId.systemDefault(); // Spring Data's java.time converters use the default zone
+    private final int idSalt;
+    private int idSequence;
+
+    private final List<ObjectId> amenityIds = new ArrayList<>();
+    private final List<RoomTypeSpec> roomTypes = new ArrayList<>();
+    private final Map<BookingStatus, Long> statusCounts = new HashMap<>();
+    private ObjectId[] userIds;
+    private int[] userPoints;
+    private long payments;
+
+    DatasetGenerator(Options options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed);
+        this.idSalt = (int) (options.seed * 0x9E3779B97F4A7C15L >>> 32);
+    }
+
+    public static void main(String[] args) {
+        Options options = Options.parse(args);
+        System.out.printf("Generating %,d bookings over %,d rooms / %d room types / %,d users (seed=%d, anchor=%s) -> %s%n",
+                options.bookings, options.rooms, options.roomTypes, options.users, options.seed, options.anchor, options.out);
+
+        long start = System.nanoTime();
+        try (DatasetSink sink = options.openSink()) {
+            new DatasetGenerator(options).generate(sink);
+        }
+        System.out.printf("Done in %.1fs%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    void generate(DatasetSink sink) {
+        writeAmenities(sink);
+        writeRoomTypes(sink);
+        int[] roomTypeOfRoom = assignRoomTypes();
+        ObjectId[] roomIds = writeRooms(sink, roomTypeOfRoom);
+
+        userIds = new ObjectId[options.users];
+        userPoints = new int[options.users];
+        LocalDateTime signUpBase = options.anchor.minusYears(3).atStartOfDay();
+        for (int u = 0; u < options.users; u++) {
+            userIds[u] = nextId(signUpBase.plusMinutes(random.nextLong(3L * 365 * 24 * 60)));
+        }
+
+        writeBookings(sink, roomIds, roomTypeOfRoom);
+        writeUsers(sink);
+
+        System.out.printf("bookings by status: %s, payments: %,d%n", statusCounts, payments);
+    }
+
+    private void writeAmenities(DatasetSink sink) {
+        for (String[] amenity : AMENITIES) {
+            ObjectId id = nextId(options.anchor.minusYears(3).atStartOfDay());
+            amenityIds.add(id);
+            sink.write("amenities", new Document("_id", id)
+                    .append("name", amenity[0])
+                    .append("iconCode", amenity[1])
+                    .append("description", amenity[0] + " in room")
+                    .append("_class", Amenity.class.getName()));
+        }
+    }
+
+    private void writeRoomTypes(DatasetSink sink) {
+        // every tier/bed/view combination, shuffled deterministically, first N kept
+        List<int[]> combinations = new ArrayList<>();
+        for (int t = 0; t < TIERS.length; t++) {
+            for (int b = 0; b < BEDS.length; b++) {
+                for (int v = 0; v < VIEWS.length; v++) {
+                    combinations.add(new int[] { t, b, v });
+                }
+            }
+        }
+        for (int i = combinations.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int[] swap = combinations.get(i);
+            combinations.set(i, combinations.get(j));
+            combinations.set(j, swap);
+        }
+
+        for (int i = 0; i < options.roomTypes; i++) {
+            int[] combo = combinations.get(i % combinations.size());
+            int tier = combo[0];
+            String name = TIERS[tier] + " " + BEDS[combo[1]] + " - " + VIEWS[combo[2]]
+                    + (i >= combinations.size() ? " " + (i / combinations.size() + 1) : "");
+            BigDecimal basePrice = BigDecimal.valueOf(Math.round(TIER_PRICES[tier] * VIEW_MULTIPLIERS[combo[2]]))
+                    .setScale(2);
+            int maxOccupancy = BED_OCCUPANCY[combo[1]] + (tier >= 5 ? 2 : 0);
+
+            List<ObjectId> roomAmenities = new ArrayList<>();
+            for (ObjectId amenityId : amenityIds) {
+                if (random.nextDouble() < 0.35 + 0.07 * tier) {
+                    roomAmenities.add(amenityId);
+                }
+            }
+
+            RoomTypeSpec spec = new RoomTypeSpec(nextId(options.anchor.minusYears(3).atStartOfDay()),
+                    basePrice, maxOccupancy, 1.0 / (tier + 1));
+            roomTypes.add(spec);
+            sink.write("room_types", new Document("_id", spec.id)
+                    .append("propertyId", options.property)
+                    .append("name", name)
+                    .append("description", "A " + name.toLowerCase() + " room sleeping up to " + maxOccupancy + ".")
+                    .append("basePrice", basePrice.toPlainString())
+                    .append("maxOccupancy", maxOccupancy)
+                    .append("imageUrls", List.of())
+                    .append("amenityIds", roomAmenities.stream().map(ObjectId::toHexString).toList())
+                    .append("_class", RoomType.class.getName()));
+        }
+    }
+
+    private int[] assignRoomTypes() {
+        // cheaper tiers get more rooms; every type gets at least one
+        double totalWeight = roomTypes.stream().mapToDouble(RoomTypeSpec::weight).sum();
+        int[] roomTypeOfRoom = new int[options.rooms];
+        for (int r = 0; r < options.rooms; r++) {
+            if (r < roomTypes.size()) {
+                roomTypeOfRoom[r] = r;
+                continue;
+            }
+            double pick = random.nextDouble() * totalWeight;
+            int type = 0;
+            while (type < roomTypes.size() - 1 && (pick -= roomTypes.get(type).weight) > 0) {
+                type++;
+            }
+            roomTypeOfRoom[r] = type;
+        }
+        return roomTypeOfRoom;
+    }
+
+    private ObjectId[] writeRooms(DatasetSink sink, int[] roomTypeOfRoom) {
+        ObjectId[] roomIds = new ObjectId[options.rooms];
+        for (int r = 0; r < options.rooms; r++) {
+            int floor = r / ROOMS_PER_FLOOR + 1;
+            roomIds[r] = nextId(options.anchor.minusYears(3).atStartOfDay());
+            sink.write("rooms", new Document("_id", roomIds[r])
+                    .append("propertyId", options.property)
+                    .append("roomTypeId", roomTypes.get(roomTypeOfRoom[r]).id.toHexString())
+                    .append("roomNumber", String.valueOf(floor * 100 + r % ROOMS_PER_FLOOR + 1))
+                    .append("floor", floor)
+                    .append("_class", Room.class.getName()));
+        }
+        return roomIds;
+    }
+
+    private void writeBookings(DatasetSink sink, ObjectId[] roomIds, int[] roomTypeOfRoom) {
+        double meanStay = meanStayLength();
+        double meanGap = meanStay * (1 - TARGET_OCCUPANCY) / TARGET_OCCUPANCY;
+        LocalDateTime now = options.anchor.atTime(12, 0);
+
+        long written = 0;
+        long progressStep = Math.max(1, options.bookings / 10);
+        for (int r = 0; r < options.rooms; r++) {
+            long bookingsForRoom = options.bookings / options.rooms + (r < options.bookings % options.rooms ? 1 : 0);
+            long span = Math.round(bookingsForRoom * (meanStay + meanGap));
+            LocalDate night = options.anchor.minusDays(Math.round(span * HISTORY_FRACTION) - random.nextInt(7));
+            RoomTypeSpec roomType = roomTypes.get(roomTypeOfRoom[r]);
+
+            for (long b = 0; b < bookingsForRoom; b++) {
+                LocalDate checkIn = night.plusDays(sampleGap(meanGap));
+                LocalDate checkOut = checkIn.plusDays(sampleStayLength());
+                night = checkOut;
+                writeBooking(sink, written, roomIds[r], roomType, checkIn, checkOut, now);
+
+                if (++written % progressStep == 0) {
+                    System.out.printf("  %,d / %,d bookings%n", written, options.bookings);
+                }
+            }
+        }
+    }
+
+    private void writeBooking(DatasetSink sink, long sequence, ObjectId roomId, RoomTypeSpec roomType,
+                              LocalDate checkIn, LocalDate checkOut, LocalDateTime now) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        BigDecimal totalPrice = roomType.basePrice.multiply(BigDecimal.valueOf(nights));
+        int user = (int) (options.users * Math.pow(random.nextDouble(), 1.6)); // repeat guests are common
+        double roll = random.nextDouble();
+
+        BookingStatus status;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        if (!checkOut.isAfter(options.anchor)) {
+            status = roll < 0.08 ? BookingStatus.CANCELLED : roll < 0.11 ? BookingStatus.VOIDED : BookingStatus.COMPLETED;
+            createdAt = checkIn.minusDays(sampleLeadDays()).atStartOfDay().plusSeconds(random.nextInt(86_400));
+        } else if (!checkIn.isAfter(options.anchor)) {
+            status = BookingStatus.CONFIRMED; // in house
+            createdAt = checkIn.minusDays(sampleLeadDays()).atStartOfDay().plusSeconds(random.nextInt(86_400));
+        } else {
+            status = roll < 0.06 ? BookingStatus.CANCELLED
+                    : roll < 0.08 ? BookingStatus.PENDING
+                    : roll < 0.10 ? BookingStatus.VOIDED
+                    : BookingStatus.CONFIRMED;
+            createdAt = status == BookingStatus.PENDING
+                    ? now.minusMinutes(random.nextInt(60))
+                    : now.minusDays(sampleLeadDays()).minusSeconds(random.nextInt(86_400));
+        }
+        if (createdAt.isAfter(now)) {
+            createdAt = now.minusMinutes(random.nextInt(60));
+        }
+
+        updatedAt = switch (status) {
+            case COMPLETED -> checkOut.atTime(11, 0);
+            case CANCELLED -> createdAt.plusMinutes(random.nextLong(Math.max(1,
+                    ChronoUnit.MINUTES.between(createdAt, min(checkIn.minusDays(1).atTime(15, 0), now)))));
+            case VOIDED -> createdAt.plusMinutes(30);
+            default -> createdAt.plusMinutes(2);
+        };
+
+        boolean paid = status == BookingStatus.CONFIRMED || status == BookingStatus.COMPLETED
+                || status == BookingStatus.CANCELLED;
+        ObjectId bookingId = nextId(createdAt);
+        String paymentIntentId = paid ? "pi_gen_" + Long.toHexString(random.nextLong()) : null;
+
+        sink.write("bookings", new Document("_id", bookingId)
+                .append("confirmationNumber", confirmationNumber(sequence))
+                .append("propertyId", options.property)
+                .append("userId", userIds[user].toHexString())
+                .append("roomId", roomId.toHexString())
+                .append("roomTypeId", roomType.id.toHexString())
+                .append("checkInDate", toDate(checkIn))
+                .append("checkOutDate", toDate(checkOut))
+                .append("totalPrice", totalPrice.toPlainString())
+                .append("paymentId", paymentIntentId)
+                .append("status", status.name())
+                .append("numberOfGuests", 1 + (int) Math.min(roomType.maxOccupancy - 1, Math.abs(random.nextGaussian()) * 1.2))
+                .append("createdAt", toDate(createdAt))
+                .append("updatedAt", toDate(updatedAt))
+                .append("_class", Booking.class.getName()));
+        statusCounts.merge(status, 1L, Long::sum);
+
+        if (paid) {
+            userPoints[user] += totalPrice.intValue() / 10; // points are awarded on confirm and never clawed back
+            boolean refunded = status == BookingStatus.CANCELLED;
+            payments++;
+            sink.write("payments", new Document("_id", nextId(createdAt))
+                    .append("bookingId", bookingId.toHexString())
+                    .append("userId", userIds[user].toHexString())
+                    .append("stripePaymentIntentId", paymentIntentId)
+                    .append("amount", totalPrice.toPlainString())
+                    .append("currency", "usd")
+                    .append("status", (refunded ? PaymentStatus.REFUNDED : PaymentStatus.COMPLETED).name())
+                    .append("refundedAmount", refunded ? totalPrice.toPlainString() : null)
+                    .append("refundedAt", refunded ? toDate(updatedAt) : null)
+                    .append("createdAt", toDate(createdAt.plusMinutes(1)))
+                    .append("updatedAt", toDate(updatedAt))
+                    .append("_class", Payment.class.getName()));
+        }
+    }
+
+    private void writeUsers(DatasetSink sink) {
+        String passwordHash = BCrypt.hashpw(DEFAULT_PASSWORD, BCrypt.gensalt(10, seededSaltSource()));
+        String adminPassword = options.admin ? randomPassword() : null;
+        for (int u = 0; u < options.users; u++) {
+            boolean admin = adminPassword != null && u == 0;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            sink.write("users", new Document("_id", userIds[u])
+                    .append("email", (firstName + "." + lastName + "." + u + "@example.com").toLowerCase())
+                    .append("firstName", firstName)
+                    .append("lastName", lastName)
+                    .append("phoneNumber", String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10_000)))
+                    .append("password", admin ? BCrypt.hashpw(adminPassword, BCrypt.gensalt(10)) : passwordHash)
+                    .append("connectedAccounts", List.of())
+                    .append("roles", List.of(admin ? "ROLE_ADMIN" : "ROLE_CUSTOMER"))
+                    .append("isActive", true)
+                    .append("rewardsPoints", userPoints[u])
+                    .append("_class", User.class.getName()));
+        }
+        System.out.printf("users: %,d (customers share password %s)%n", options.users, DEFAULT_PASSWORD);
+        if (adminPassword != null) {
+            System.out.printf("admin: the first user is ROLE_ADMIN with password %s%n", adminPassword);
+        }
+    }
+
+    // unseeded on purpose: a dataset must never ship with a guessable admin login
+    private static String randomPassword() {
+        byte[] bytes = new byte[18];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // a random BCrypt salt would make users.bson differ between otherwise identical runs
+    private SecureRandom seededSaltSource() {
+        try {
+            SecureRandom saltSource = SecureRandom.getInstance("SHA1PRNG");
+            saltSource.setSeed(options.seed);
+            return saltSource;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int sampleStayLength() {
+        double total = 0;
+        for (double weight : STAY_LENGTH_WEIGHTS) {
+            total += weight;
+        }
+        double pick = random.nextDouble() * total;
+        for (int nights = 1; nights < STAY_LENGTH_WEIGHTS.length; nights++) {
+            pick -= STAY_LENGTH_WEIGHTS[nights];
+            if (pick <= 0) {
+                return nights;
+            }
+        }
+        return STAY_LENGTH_WEIGHTS.length - 1;
+    }
+
+    private double meanStayLength() {
+        double total = 0;
+        double weighted = 0;
+        for (int nights = 1; nights < STAY_LENGTH_WEIGHTS.length; nights++) {
+            total += STAY_LENGTH_WEIGHTS[nights];
+            weighted += nights * STAY_LENGTH_WEIGHTS[nights];
+        }
+        return weighted / total;
+    }
+
+    // geometric number of empty nights with the given mean
+    private int sampleGap(double meanGap) {
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(meanGap / (1 + meanGap)));
+    }
+
+    // 15% book within two days of arrival, the rest follow an exponential tail (mean 28 days, capped)
+    private int sampleLeadDays() {
+        if (random.nextDouble() < 0.15) {
+            return random.nextInt(3);
+        }
+        return (int) Math.min(330, -28 * Math.log(1 - random.nextDouble()));
+    }
+
+    // bijective scramble of the sequence into 6 base-36 characters, so numbers are unique up to 36^6 bookings
+    private String confirmationNumber(long sequence) {
+        long space = 2_176_782_336L; // 36^6
+        long scrambled = Math.floorMod(sequence * 1_000_000_007L + options.seed, space);
+        String code = Long.toString(scrambled, 36).toUpperCase();
+        return "TIP-" + "0".repeat(6 - code.length()) + code;
+    }
+
+    private ObjectId nextId(LocalDateTime timestamp) {
+        ByteBuffer bytes = ByteBuffer.allocate(12);
+        bytes.putInt((int) timestamp.atZone(zone).toEpochSecond());
+        bytes.putInt(idSalt);
+        bytes.putInt(idSequence++);
+        return new ObjectId(bytes.array());
+    }
+
+    private Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(zone).toInstant());
+    }
+
+    private Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(zone).toInstant());
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record RoomTypeSpec(ObjectId id, BigDecimal basePrice, int maxOccupancy, double weight) {
+    }
+
+    record Options(long bookings, int rooms, int roomTypes, int users, long seed, LocalDate anchor,
+                   String out, String database, int batchSize, String property, boolean drop, boolean admin) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            boolean drop = false;
+            boolean admin = false;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--drop")) {
+                    drop = true;
+                } else if (args[i].equals("--admin")) {
+                    admin = true;
+                } else if (args[i].startsWith("--") && i + 1 < args.length) {
+                    values.put(args[i].substring(2), args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+            }
+
+            long bookings = Long.parseLong(values.getOrDefault("bookings", "1000"));
+            if (bookings < 1 || bookings > 2_000_000_000L) {
+                throw new IllegalArgumentException("--bookings must be between 1 and 2,000,000,000");
+            }
+            int rooms = Integer.parseInt(values.getOrDefault("rooms",
+                    String.valueOf(clamp(bookings / 250, 40, 5_000))));
+            int roomTypes = Integer.parseInt(values.getOrDefault("room-types",
+                    String.valueOf(clamp(rooms / 60, 6, 48))));
+            int users = Integer.parseInt(values.getOrDefault("users",
+                    String.valueOf(clamp(bookings / 4, 100, 2_000_000))));
+            if (roomTypes < 1 || rooms < roomTypes || users < 1) {
+                throw new IllegalArgumentException("Need at least one room per room type and at least one user");
+            }
+
+            return new Options(
+                    bookings,
+                    rooms,
+                    roomTypes,
+                    users,
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    LocalDate.parse(values.getOrDefault("anchor", LocalDate.now().toString())),
+                    values.getOrDefault("out", "bson:target/dataset"),
+                    values.getOrDefault("db", "tipton"),
+                    Integer.parseInt(values.getOrDefault("batch", "10000")),
+                    values.getOrDefault("property", "tipton"),
+                    drop,
+                    admin);
+        }
+
+        DatasetSink openSink() {
+            if (out.startsWith("bson:")) {
+                return new BsonDumpSink(Path.of(out.substring("bson:".length())), database);
+            }
+            if (out.startsWith("mongodb://") || out.startsWith("mongodb+srv://")) {
+                return new MongoBulkSink(out, database, batchSize, drop);
+            }
+            throw new IllegalArgumentException("--out must be bson:<dir> or a mongodb:// connection string");
+        }
+
+        private static int clamp(long value, int min, int max) {
+            return (int) Math.max(min, Math.min(max, value));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.group1.tipton_reservations.tools.datagen;
+
+import org.bson.Document;
+
+/**
+ * Destination for generated documents, one collection at a time.
+ */
+interface DatasetSink extends AutoCloseable {
+
+    void write(String collection, Document document);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,59 @@
+package com.group1.tipton_reservations.tools.datagen;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Loads documents straight into MongoDB with unordered {@code insertMany} batches.
+ */
+class MongoBulkSink implements DatasetSink {
+
+    private final MongoClient client;
+    private final MongoDatabase database;
+    private final int batchSize;
+    private final Map<String, List<Document>> pending = new HashMap<>();
+
+    MongoBulkSink(String uri, String databaseName, int batchSize, boolean drop) {
+        this.client = MongoClients.create(uri);
+        this.database = client.getDatabase(databaseName);
+        this.batchSize = batchSize;
+        if (drop) {
+            for (String collection : DatasetGenerator.COLLECTIONS) {
+                database.getCollection(collection).drop();
+            }
+        }
+    }
+
+    @Override
+    public void write(String collection, Document document) {
+        List<Document> batch = pending.computeIfAbsent(collection, c -> new ArrayList<>(batchSize));
+        batch.add(document);
+        if (batch.size() >= batchSize) {
+            flush(collection, batch);
+        }
+    }
+
+    @Override
+    public void close() {
+        pending.forEach(this::flush);
+        pending.clear();
+        client.close();
+    }
+
+    private void flush(String collection, List<Document> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        database.getCollection(collection).insertMany(batch, new InsertManyOptions().ordered(false));
+        batch.clear();
+    }
+}
@@ -0,0 +1,141 @@
+package com.group1.tipton_reservations.tools.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-first-request: from launching the application jar to the first HTTP response
+ * it serves, which is what an autoscaling group waits on. Each variant is a set of JVM options,
+ * so a plain start can be compared with the AOT + AppCDS build from the {@code startup} profile.
+ * <p>
+ * The application runs with this process's environment, so {@code MONGODB_URI},
+ * {@code JWT_SECRET} and friends must be set and Mongo reachable; the default probe
+ * ({@code GET /api/room-types}) includes the first Mongo query. Any response below 500 counts
+ * as served. Each run's output goes to {@code <variant>-<run>.log} next to the jar.
+ * </p>
+ * Usage:
+ * <pre>
+ * mvn -Pstartup package -DskipTests
+ * mvn -Pstartupbench test-compile exec:java -Dexec.args="--runs 5 --variant plain=
+ *     --variant aot-cds=-XX:SharedArchiveFile=application.jsa,-Dspring.aot.enabled=true"
+ * </pre>
+ * Options: {@code --jar path} (target/startup/tipton-reservations-0.0.1-SNAPSHOT.jar),
+ * {@code --url url} (http://localhost:5000/api/room-types), {@code --runs N} (5),
+ * {@code --timeout-s N} (120), {@code --profile name} (prod), {@code --variant name=opt,opt} (repeatable; default plain).
+ */
+public class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        System.out.printf("%s, %d runs per variant, probing %s%n", options.jar(), options.runs(), options.url());
+
+        for (Map.Entry<String, List<String>> variant : options.variants().entrySet()) {
+            long[] millis = new long[options.runs()];
+            for (int run = 0; run < options.runs(); run++) {
+                millis[run] = timeToFirstRequest(options, http, variant.getKey(), variant.getValue(), run);
+                System.out.printf("  %s run %d: %,d ms%n", variant.getKey(), run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%s: min %,d ms, median %,d ms, max %,d ms%n", variant.getKey(),
+                    millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+        }
+    }
+
+    private static long timeToFirstRequest(Options options, HttpClient http, String variant, List<String> jvmOptions, int run)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-Dspring.profiles.active=" + options.profile());
+        command.add("-jar");
+        command.add(options.jar().getFileName().toString());
+
+        Path directory = options.jar().toAbsolutePath().getParent();
+        Path log = directory.resolve(variant + "-" + (run + 1) + ".log");
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(options.url())).timeout(Duration.ofSeconds(5)).GET().build();
+
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command).directory(directory.toFile())
+                .redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + options.timeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!app.isAlive()) {
+                    throw new IllegalStateException(variant + " exited with " + app.exitValue() + ", see " + log);
+                }
+                try {
+                    if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(variant + " served nothing within " + options.timeout() + ", see " + log);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    record Options(Path jar, String url, int runs, Duration timeout, String profile, Map<String, List<String>> variants) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            Map<String, List<String>> variants = new LinkedHashMap<>();
+            for (int i = 0; i < args.length; i++) {
+                if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+                String name = args[i].substring(2);
+                String value = args[++i];
+                if (name.equals("variant")) {
+                    int eq = value.indexOf('=');
+                    if (eq <= 0) {
+                        throw new IllegalArgumentException("--variant must look like name=opt,opt: " + value);
+                    }
+                    String opts = value.substring(eq + 1);
+                    variants.put(value.substring(0, eq), opts.isBlank() ? List.of() : List.of(opts.split(",")));
+                } else {
+                    values.put(name, value);
+                }
+            }
+            if (variants.isEmpty()) {
+                variants.put("plain", List.of());
+            }
+
+            Path jar = Path.of(values.getOrDefault("jar", "target/startup/tipton-reservations-0.0.1-SNAPSHOT.jar"));
+            if (!Files.isRegularFile(jar)) {
+                throw new IllegalArgumentException("No jar at " + jar + "; build it with mvn -Pstartup package");
+            }
+            int runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+            if (runs < 1) {
+                throw new IllegalArgumentException("--runs must be at least 1");
+            }
+            return new Options(jar,
+                    values.getOrDefault("url", "http://localhost:5000/api/room-types"),
+                    runs,
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("timeout-s", "120"))),
+                    values.getOrDefault("profile", "prod"),
+                    variants);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.group1.tipton_reservations.waitlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link IntervalTree} against a linear scan over the same ranges, through random
+ * sequences of adds and removes.
+ */
+class IntervalTreeTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private record Range(String id, LocalDate start, LocalDate end) {
+    }
+
+    @Test
+    void overlappingMatchesLinearScan() {
+        Random random = new Random(42);
+        IntervalTree<Range> tree = new IntervalTree<>();
+        List<Range> ranges = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (ranges.isEmpty() || random.nextInt(3) > 0) {
+                LocalDate start = BASE.plusDays(random.nextInt(120));
+                Range range = new Range("r" + step, start, start.plusDays(1 + random.nextInt(14)));
+                tree.add(range.id(), range.start(), range.end(), range);
+                ranges.add(range);
+            } else {
+                Range range = ranges.remove(random.nextInt(ranges.size()));
+                assertTrue(tree.remove(range.id(), range.start()));
+            }
+            assertEquals(ranges.size(), tree.size());
+
+            LocalDate from = BASE.plusDays(random.nextInt(130) - 5);
+            LocalDate to = from.plusDays(1 + random.nextInt(20));
+            assertEquals(scan(ranges, from, to), tree.overlapping(from, to), "overlapping " + from + " to " + to);
+        }
+    }
+
+    @Test
+    void rangesAreHalfOpen() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add("a", BASE, BASE.plusDays(2), "a");
+
+        assertEquals(List.of(), tree.overlapping(BASE.plusDays(2), BASE.plusDays(4)), "checkout morning is free");
+        assertEquals(List.of(), tree.overlapping(BASE.minusDays(2), BASE), "night before check-in is free");
+        assertEquals(List.of("a"), tree.overlapping(BASE.plusDays(1), BASE.plusDays(2)));
+    }
+
+    @Test
+    void rangesWithTheSameStartAreKeptApartById() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add("a", BASE, BASE.plusDays(1), "a");
+        tree.add("b", BASE, BASE.plusDays(3), "b");
+
+        assertTrue(tree.remove("a", BASE));
+        assertFalse(tree.remove("a", BASE));
+        assertFalse(tree.remove("b", BASE.plusDays(1)), "wrong start");
+        assertEquals(List.of("b"), tree.overlapping(BASE, BASE.plusDays(1)));
+        assertEquals(1, tree.size());
+    }
+
+    // what the tree returns: every range sharing a night with [from, to), in (start, id) order
+    private static List<Range> scan(List<Range> ranges, LocalDate from, LocalDate to) {
+        return ranges.stream()
+                .filter(range -> range.start().isBefore(to) && range.end().isAfter(from))
+                .sorted(Comparator.comparing(Range::start).thenComparing(Range::id))
+                .toList();
+    }
+}
@@ -1,4 +1,5 @@
 import axios from "axios";
+import { installReadToken } from "../utils/readToken";
 
 const client = axios.create({
   baseURL:
@@ -21,4 +22,6 @@ client.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+installReadToken(client);
+
 export default client;
@@ -15,8 +15,44 @@ export type RoomFormData = {
   roomId?: string | number;
 };
 
+export type RoomBlock = {
+  id: string;
+  propertyId: string;
+  roomId: string;
+  roomTypeId?: string;
+  floor?: number | null;
+  startDate: string;
+  endDate: string; // the morning after the last blocked night
+  reason?: string | null;
+  createdAt?: string;
+};
+
+export type RoomBlockRequest = {
+  propertyId?: string;
+  roomId?: string;
+  floor?: number;
+  startDate: string;
+  endDate: string;
+  reason?: string;
+};
+
+export type RoomBlockResult = {
+  blocked: RoomBlock[];
+  skipped: Room[]; // rooms with bookings during the dates
+};
+
 export function createRoom(formData: RoomFormData): Promise<Room>;
 export function getRooms(): Promise<Room[]>;
 export function setRoomStatus(status: string, id: string | number): Promise<Room>;
 export function editRoom(formData: RoomFormData): Promise<Room>;
 export function deleteRoom(id: string | number): Promise<any>;
+export function getRoomBlocks(from: string, to: string, propertyId?: string): Promise<RoomBlock[]>;
+export function blockRooms(block: RoomBlockRequest): Promise<RoomBlockResult>;
+export function unblockRooms(range: {
+  propertyId?: string;
+  roomId?: string;
+  floor?: number;
+  from: string;
+  to: string;
+}): Promise<{ roomsUnblocked: number }>;
+export function deleteRoomBlock(id: string): Promise<void>;
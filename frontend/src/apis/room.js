@@ -1,4 +1,5 @@
 import axios from "axios";
+import client from "./client";
 
 const baseURL = import.meta.env.VITE_API_BASE_URL || "http://localhost:8080";
 
@@ -44,3 +45,23 @@ export const deleteRoom = async (id) => {
   const { data } = await axios.delete(`${baseURL}/rooms/${id}`);
   return data;
 };
+
+// maintenance blocks; pass either roomId or floor
+export const getRoomBlocks = async (from, to, propertyId) => {
+  const { data } = await client.get("/room-blocks", { params: { propertyId, from, to } });
+  return data;
+};
+
+export const blockRooms = async (block) => {
+  const { data } = await client.post("/room-blocks", block);
+  return data;
+};
+
+export const unblockRooms = async ({ propertyId, roomId, floor, from, to }) => {
+  const { data } = await client.delete("/room-blocks", { params: { propertyId, roomId, floor, from, to } });
+  return data;
+};
+
+export const deleteRoomBlock = async (id) => {
+  await client.delete(`/room-blocks/${id}`);
+};
@@ -1,3 +1,19 @@
+export type ImageVariant = {
+  width: number;
+  height: number;
+  url: string;
+  contentType: string;
+};
+
+// built by the server after upload, one per imageUrls entry
+export type ImageManifest = {
+  originalUrl: string;
+  width?: number;
+  height?: number;
+  blurhash?: string;
+  variants: ImageVariant[];
+};
+
 export type RoomType = {
   id?: string | number;
   name: string;
@@ -7,6 +23,7 @@ export type RoomType = {
   imageUrl?: string;
   imageUrls?: string[];
   amenityIds?: Array<string | number>;
+  images?: ImageManifest[];
 };
 
 export type RoomTypeFormData = {
@@ -20,6 +37,23 @@ export type RoomTypeFormData = {
   roomId?: string | number;
 };
 
+export type RoomTypeSearchParams = {
+  checkInDate: string;
+  checkOutDate: string;
+  guests?: number;
+  amenityIds?: Array<string | number>;
+  minPrice?: number;
+  maxPrice?: number;
+  sort?: "price_asc" | "price_desc" | "capacity_desc" | "name";
+};
+
+export type RoomTypeSearchResponse = {
+  results: Array<{ roomType: RoomType; availableCount: number }>;
+  amenities: Array<{ amenityId: string; name?: string; count: number; selected: boolean }>;
+  priceBands: Array<{ min: number | null; max: number | null; count: number }>;
+  capacities: Array<{ guests: number; count: number }>;
+};
+
 export function createRoomType(formData: RoomTypeFormData): Promise<RoomType>;
 export function getRoomTypes(): Promise<RoomType[]>;
 export function deleteRoomType(id: string | number): Promise<any>;
@@ -28,4 +62,5 @@ export function getRoomTypesByDateAndGuests(
   checkOutDate: string,
   guests: number
 ): Promise<RoomType[]>;
+export function searchRoomTypes(params: RoomTypeSearchParams): Promise<RoomTypeSearchResponse>;
 export function editRoomType(formData: RoomTypeFormData): Promise<RoomType>;
@@ -41,6 +41,30 @@ export const getRoomTypesByDateAndGuests = async (
   console.log(roomTypes);
   return roomTypes;
 };
+// Faceted search: results are already filtered and sorted by the server,
+// facets carry a count per amenity, price band and capacity.
+export const searchRoomTypes = async ({
+  checkInDate,
+  checkOutDate,
+  guests,
+  amenityIds,
+  minPrice,
+  maxPrice,
+  sort,
+}) => {
+  const { data } = await axios.get(`${baseURL}/room-types/search`, {
+    params: {
+      checkInDate,
+      checkOutDate,
+      guests,
+      amenityIds: amenityIds?.length ? amenityIds.join(",") : undefined,
+      minPrice,
+      maxPrice,
+      sort,
+    },
+  });
+  return data;
+};
 export const editRoomType = async (formData) => {
   const { data } = await axios.put(
     `${baseURL}/room-types/${formData.roomId}`,
@@ -1,6 +1,5 @@
 /**
- * User summary with role information
- * Returned by getUsers() API - filtered to customers only
+ * User summary with role information, as listed by the user directory
  */
 export type UserSummary = {
   id: string;
@@ -9,9 +8,19 @@ export type UserSummary = {
   lastName?: string;
   phoneNumber?: string;
   roles: string[]; // Array of role strings like "ROLE_CUSTOMER", "ROLE_ADMIN"
+  isActive?: boolean;
+  rewardsPoints?: number;
 };
 
 /**
- * Fetch all users with ROLE_CUSTOMER from backend
+ * One page of the user directory, in email order
  */
-export function getUsers(): Promise<UserSummary[]>;
+export type UserDirectoryPage = {
+  users: UserSummary[];
+  next: string | null; // pass as `after` for the following page
+};
+
+/**
+ * One page of users whose email or name starts with `q` (case and accents ignored)
+ */
+export function searchUsers(q?: string, after?: string, limit?: number): Promise<UserDirectoryPage>;
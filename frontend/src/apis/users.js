@@ -1,11 +1,6 @@
 import client from "./client";
 
-export const getUsers = async () => {
-  const { data } = await client.get("/users");
-
-  const customers = data.filter((user) => {
-    return user.roles.includes("ROLE_CUSTOMER");
-  });
-  console.log(customers);
-  return customers;
+export const searchUsers = async (q, after, limit) => {
+  const { data } = await client.get("/users", { params: { q, after, limit } });
+  return data;
 };
@@ -20,6 +20,8 @@ type Amenity = {
 type CustomerFilterProps = {
   amenities: Amenity[];
   maxPrice: number;
+  // available room types per amenity for the current search, when known
+  amenityCounts?: Record<string, number>;
   onChange?: (filters: {
     maxPrice: number;
     amenityIds: Array<string | number>;
@@ -29,6 +31,7 @@ type CustomerFilterProps = {
 const CustomerFilterComponent = ({
   amenities,
   maxPrice,
+  amenityCounts,
   onChange,
 }: CustomerFilterProps) => {
   const safeMaxPrice = Number.isFinite(maxPrice) ? Math.max(0, maxPrice) : 0;
@@ -125,6 +128,8 @@ const CustomerFilterComponent = ({
                   const isChecked = selectedAmenityIds.some(
                     (selectedId) => String(selectedId) === amenity.key
                   );
+                  const count = amenityCounts?.[amenity.key] ?? (amenityCounts ? 0 : undefined);
+                  const name = amenity.name ?? `Amenity ${amenity.id}`;
                   return (
                     <FormControlLabel
                       key={amenity.key}
@@ -132,9 +137,10 @@ const CustomerFilterComponent = ({
                         <Checkbox
                           checked={isChecked}
                           onChange={() => handleAmenityToggle(amenity.id)}
+                          disabled={!isChecked && count === 0}
                         />
                       }
-                      label={amenity.name ?? `Amenity ${amenity.id}`}
+                      label={count === undefined ? name : `${name} (${count})`}
                     />
                   );
                 })}
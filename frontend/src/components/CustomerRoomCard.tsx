@@ -14,6 +14,7 @@ import { Person } from "@mui/icons-material";
 import ArrowBackIosNewIcon from "@mui/icons-material/ArrowBackIosNew";
 import ArrowForwardIosIcon from "@mui/icons-material/ArrowForwardIos";
 import { resolveAmenityIconName } from "../utils/amenityIcons";
+import type { ImageManifest } from "../apis/roomtype";
 
 type RoomProps = {
   roomTypeId: string;
@@ -21,6 +22,7 @@ type RoomProps = {
   basePrice: string | number;
   maxOccupancy: string | number;
   imageUrls?: string[];
+  images?: ImageManifest[];
   description: string;
   amenities: Array<{
     id: string | number;
@@ -36,6 +38,7 @@ function CustomerRoomCard({
   basePrice,
   maxOccupancy,
   imageUrls,
+  images: manifests,
   description,
   amenities = [],
   onBookNow,
@@ -43,6 +46,14 @@ function CustomerRoomCard({
   const images = imageUrls ?? [];
   const [currentImageIndex, setCurrentImageIndex] = useState(0);
 
+  // resized copies let the browser fetch the smallest one that fills the card
+  const currentManifest = manifests?.find(
+    (manifest) => manifest.originalUrl === images[currentImageIndex]
+  );
+  const srcSet = currentManifest?.variants?.length
+    ? currentManifest.variants.map((variant) => `${variant.url} ${variant.width}w`).join(", ")
+    : undefined;
+
   useEffect(() => {
     if (images.length === 0) {
       setCurrentImageIndex(0);
@@ -66,6 +77,9 @@ function CustomerRoomCard({
           <Box
             component="img"
             src={images[currentImageIndex]}
+            srcSet={srcSet}
+            sizes={srcSet ? "(max-width: 640px) 100vw, 640px" : undefined}
+            loading="lazy"
             alt={`${name} image ${currentImageIndex + 1}`}
             sx={{ width: "100%", height: "100%", objectFit: "cover" }}
           />
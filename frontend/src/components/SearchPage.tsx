@@ -17,7 +17,8 @@ import { useSearchParams, useNavigate } from "react-router-dom";
 import { getAmenities } from "../apis/amenities";
 import type { BookingFormState } from "../types/booking";
 import { useEffect, useMemo, useState } from "react";
-import { getRoomTypes, getRoomTypesByDateAndGuests } from "../apis/roomtype";
+import { getRoomTypes, searchRoomTypes } from "../apis/roomtype";
+import type { ImageManifest } from "../apis/roomtype";
 import SearchIcon from '@mui/icons-material/Search';
 import HotelIcon from '@mui/icons-material/Hotel';
 import { format, addDays } from "date-fns";
@@ -39,6 +40,7 @@ type RoomType = {
   imageUrl?: string;
   amenityIds?: Array<string | number>;
   amenities?: Amenity[];
+  images?: ImageManifest[];
 };
 
 function SearchPage() {
@@ -49,6 +51,9 @@ function SearchPage() {
   const [roomTypes, setRoomTypes] = useState<RoomType[]>([]);
   const [amenities, setAmenities] = useState<Amenity[]>([]);
   const [loading, setLoading] = useState(true);
+  // slider range: the highest price for the dates before any filter is applied
+  const [priceCeiling, setPriceCeiling] = useState(0);
+  const [amenityCounts, setAmenityCounts] = useState<Record<string, number> | undefined>();
   const [filters, setFilters] = useState({
     maxPrice: 0,
     amenityIds: [] as Array<string | number>,
@@ -135,23 +140,21 @@ function SearchPage() {
         const [amenitiesRes, roomTypesRes] = await Promise.all([
           getAmenities(),
           searchCriteriaValid
-            ? await getRoomTypesByDateAndGuests(urlCheckIn, urlCheckOut, Number(urlGuests))
-            : await getRoomTypes(),
+            ? searchRoomTypes({
+                checkInDate: urlCheckIn,
+                checkOutDate: urlCheckOut,
+                guests: Number(urlGuests),
+              }).then((res) => res.results.map((result) => result.roomType))
+            : getRoomTypes(),
         ]);
-
-        const amenitiesById = new Map(
-          amenitiesRes.map((amenity: Amenity) => [String(amenity.id), amenity])
-        );
-        
-        const enrichedRoomTypes = (Array.isArray(roomTypesRes) ? roomTypesRes : []).map((roomType: RoomType) => ({
-          ...roomType,
-          amenities: (roomType.amenityIds ?? [])
-            .map((id) => amenitiesById.get(String(id)))
-            .filter((amenity): amenity is Amenity => amenity !== undefined),
-        }));
+        const allRoomTypes: RoomType[] = Array.isArray(roomTypesRes) ? roomTypesRes : [];
 
         setAmenities(amenitiesRes);
-        setRoomTypes(enrichedRoomTypes);
+        setRoomTypes(allRoomTypes);
+        setAmenityCounts(undefined);
+        setPriceCeiling(
+          allRoomTypes.reduce((maxValue, roomType) => Math.max(maxValue, Number(roomType.basePrice) || 0), 0)
+        );
       } catch (err) {
         console.error("Failed to load search data", err);
       } finally {
@@ -162,40 +165,77 @@ function SearchPage() {
     loadData();
   }, [urlCheckIn, urlCheckOut, urlGuests, searchCriteriaValid]);
 
-  // --- FILTERING ---
-  const maxBasePrice = useMemo(() => {
-    if (roomTypes.length === 0) return 0;
-    return roomTypes.reduce((maxValue, roomType) => {
-      const numericPrice = Number(roomType.basePrice) || 0;
-      return Math.max(maxValue, numericPrice);
-    }, 0);
-  }, [roomTypes]);
+  // With dates, filters are applied server side against the facet index; debounced so
+  // dragging the price slider doesn't send a request per step.
+  useEffect(() => {
+    if (!searchCriteriaValid || priceCeiling === 0) return;
+    const hasPriceFilter = filters.maxPrice > 0 && filters.maxPrice < priceCeiling;
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const res = await searchRoomTypes({
+          checkInDate: urlCheckIn,
+          checkOutDate: urlCheckOut,
+          guests: Number(urlGuests),
+          amenityIds: filters.amenityIds,
+          maxPrice: hasPriceFilter ? filters.maxPrice : undefined,
+        });
+        if (cancelled) return;
+        setRoomTypes(res.results.map((result) => result.roomType));
+        setAmenityCounts(
+          Object.fromEntries(res.amenities.map((facet) => [facet.amenityId, facet.count]))
+        );
+      } catch (err) {
+        console.error("Failed to apply filters", err);
+      }
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [filters, priceCeiling, urlCheckIn, urlCheckOut, urlGuests, searchCriteriaValid]);
 
+  // --- FILTERING ---
   useEffect(() => {
-    if (maxBasePrice === 0) return;
+    if (priceCeiling === 0) return;
     setFilters((prev) => {
-      if (prev.maxPrice === 0 || prev.maxPrice > maxBasePrice) {
-        return { ...prev, maxPrice: maxBasePrice };
+      if (prev.maxPrice === 0 || prev.maxPrice > priceCeiling) {
+        return { ...prev, maxPrice: priceCeiling };
       }
       return prev;
     });
-  }, [maxBasePrice]);
+  }, [priceCeiling]);
+
+  const amenitiesById = useMemo(
+    () => new Map(amenities.map((amenity) => [String(amenity.id), amenity])),
+    [amenities]
+  );
 
   const filteredRoomTypes = useMemo(() => {
     const hasPriceFilter = filters.maxPrice > 0;
     const selectedAmenityIds = filters.amenityIds.map(String);
-    
-    return roomTypes.filter((roomType) => {
-      const numericPrice = Number(roomType.basePrice) || 0;
-      if (hasPriceFilter && numericPrice > filters.maxPrice) return false;
-      if (selectedAmenityIds.length > 0) {
-        const roomAmenityIds = (roomType.amenityIds ?? []).map(String);
-        const hasAll = selectedAmenityIds.every((id) => roomAmenityIds.includes(id));
-        if (!hasAll) return false;
-      }
-      return true;
-    });
-  }, [roomTypes, filters]);
+
+    // server-filtered when searching by dates; the plain catalog is still filtered here
+    const visible = searchCriteriaValid
+      ? roomTypes
+      : roomTypes.filter((roomType) => {
+          const numericPrice = Number(roomType.basePrice) || 0;
+          if (hasPriceFilter && numericPrice > filters.maxPrice) return false;
+          if (selectedAmenityIds.length > 0) {
+            const roomAmenityIds = (roomType.amenityIds ?? []).map(String);
+            const hasAll = selectedAmenityIds.every((id) => roomAmenityIds.includes(id));
+            if (!hasAll) return false;
+          }
+          return true;
+        });
+
+    return visible.map((roomType) => ({
+      ...roomType,
+      amenities: (roomType.amenityIds ?? [])
+        .map((id) => amenitiesById.get(String(id)))
+        .filter((amenity): amenity is Amenity => amenity !== undefined),
+    }));
+  }, [roomTypes, filters, searchCriteriaValid, amenitiesById]);
 
   // --- RENDER ---
   return (
@@ -268,7 +308,8 @@ function SearchPage() {
           <Paper elevation={0} sx={{ p: 2, borderRadius: 2, border: '1px solid', borderColor: 'divider' }}>
              <CustomerFilterComponent
                 amenities={amenities}
-                maxPrice={maxBasePrice}
+                maxPrice={priceCeiling}
+                amenityCounts={searchCriteriaValid ? amenityCounts : undefined}
                 onChange={setFilters}
               />
           </Paper>
@@ -314,6 +355,7 @@ function SearchPage() {
                     basePrice={roomType.basePrice ?? "0"}
                     maxOccupancy={roomType.maxOccupancy ?? 1}
                     imageUrls={imageList}
+                    images={roomType.images}
                     description={roomType.description ?? ""}
                     amenities={roomType?.amenities ?? []}
                     onBookNow={searchCriteriaValid ? () => handleBookNow(roomType) : undefined}
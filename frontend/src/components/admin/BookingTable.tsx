@@ -1,4 +1,4 @@
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import {
   Box,
   Button,
@@ -16,13 +16,8 @@ import {
 import BasicModal from "../Modal/BasicModal";
 import type { BookingResponse, BookingStatus } from "../../types/booking";
 import { formatDate } from "../../util/helper";
-
-export type UserSummary = {
-  id: string | number;
-  firstName?: string;
-  lastName?: string;
-  phoneNumber?: string;
-};
+import { searchUsers } from "../../apis/users";
+import type { UserSummary } from "../../apis/users";
 
 export type RoomTypeSummary = {
   id?: string | number;
@@ -34,8 +29,6 @@ export type RoomTypeSummary = {
 
 type BookingTableProps = {
   bookings: BookingResponse[];
-  userNameById: Map<string, string>;
-  userById: Map<string, UserSummary>;
   roomTypeById: Map<string, RoomTypeSummary>;
   onCancelBooking: (bookingId?: string) => void;
 };
@@ -47,10 +40,14 @@ const detailGridSx = {
   rowGap: 1,
 };
 
+const guestName = (booking: BookingResponse) =>
+  `${booking.guestFirstName ?? ""} ${booking.guestLastName ?? ""}`.trim();
+
 const getStatusChip = (status: BookingStatus) => {
   const statusConfig = {
     CONFIRMED: { color: "success" as const, label: "Confirmed" },
     PENDING: { color: "warning" as const, label: "Pending" },
+    CANCELLING: { color: "warning" as const, label: "Cancelling" },
     CANCELLED: { color: "error" as const, label: "Cancelled" },
     COMPLETED: { color: "info" as const, label: "Completed" },
     VOIDED: { color: "default" as const, label: "Voided" },
@@ -62,8 +59,6 @@ const getStatusChip = (status: BookingStatus) => {
 
 const BookingTable = ({
   bookings,
-  userNameById,
-  userById,
   roomTypeById,
   onCancelBooking,
 }: BookingTableProps) => {
@@ -74,9 +69,31 @@ const BookingTable = ({
   const selectedRoomType = selectedBooking
     ? roomTypeById.get(String(selectedBooking.roomTypeId))
     : undefined;
-  const selectedUser = selectedBooking
-    ? userById.get(String(selectedBooking.userId))
-    : undefined;
+  const [selectedUser, setSelectedUser] = useState<UserSummary | null>(null);
+
+  // only the phone number is not on the booking; look the guest up when the details open
+  useEffect(() => {
+    setSelectedUser(null);
+    const email = selectedBooking?.guestEmail;
+    const userId = String(selectedBooking?.userId);
+    if (!email) {
+      return;
+    }
+    let mounted = true;
+    searchUsers(email, undefined, 1)
+      .then((page) => {
+        const user = page.users.find(
+          (candidate) => String(candidate.id) === userId
+        );
+        if (mounted && user) {
+          setSelectedUser(user);
+        }
+      })
+      .catch((error) => console.error("Error looking up guest:", error));
+    return () => {
+      mounted = false;
+    };
+  }, [selectedBooking]);
 
   const handleOpenViewModal = (booking: BookingResponse) => {
     setSelectedBooking(booking);
@@ -136,7 +153,7 @@ const BookingTable = ({
                 <TableRow key={booking.id} hover>
                   <TableCell>{booking.confirmationNumber}</TableCell>
                   <TableCell sx={{ overflowWrap: "anywhere" }}>
-                    {userNameById.get(String(booking.userId)) || "Unknown"}
+                    {guestName(booking) || "Unknown"}
                   </TableCell>
                   <TableCell sx={{ overflowWrap: "anywhere" }}>
                     {booking.roomTypeName}
@@ -255,11 +272,7 @@ const BookingTable = ({
                   Name
                 </Typography>
                 <Typography variant="body2">
-                  {selectedUser
-                    ? `${selectedUser.firstName ?? ""} ${
-                        selectedUser.lastName ?? ""
-                      }`.trim() || "-"
-                    : "-"}
+                  {guestName(selectedBooking) || "-"}
                 </Typography>
                 <Typography variant="caption" color="text.secondary">
                   Phone
@@ -7,6 +7,10 @@ import './index.css'
 import App from './App.tsx'
 import { ThemeProvider, CssBaseline } from '@mui/material';
 import { theme } from './theme';
+import { installReadToken } from './utils/readToken';
+
+// direct axios calls (catalog, search) carry the read token too
+installReadToken();
 
 createRoot(document.getElementById('root')!).render(
   <StrictMode>
@@ -9,18 +9,13 @@ import {
   Typography,
 } from "@mui/material";
 import BookingTable from "../../components/admin/BookingTable";
-import type {
-  RoomTypeSummary,
-  UserSummary,
-} from "../../components/admin/BookingTable";
+import type { RoomTypeSummary } from "../../components/admin/BookingTable";
 import { cancelBooking, getBookings } from "../../apis/booking";
 import { getRoomTypes } from "../../apis/roomtype";
-import { getUsers } from "../../apis/users";
 import type { BookingResponse } from "../../types/booking";
 
 const AdminBookings = () => {
   const [bookings, setBookings] = useState<BookingResponse[]>([]);
-  const [users, setUsers] = useState<UserSummary[] | undefined>(undefined);
   const [roomTypes, setRoomTypes] = useState<RoomTypeSummary[]>([]);
   const [isLoading, setIsLoading] = useState(true);
   const [errorMessage, setErrorMessage] = useState<string | null>(null);
@@ -31,16 +26,12 @@ const AdminBookings = () => {
     let mounted = true;
     const fetchData = async () => {
       try {
-        const [bks, usrs, rts] = await Promise.all([
-          getBookings(),
-          getUsers(),
-          getRoomTypes(),
-        ]);
+        // guest names come with each booking; no need for the user directory
+        const [bks, rts] = await Promise.all([getBookings(), getRoomTypes()]);
         if (!mounted) {
           return;
         }
         setBookings(Array.isArray(bks) ? bks : []);
-        setUsers(Array.isArray(usrs) ? usrs : []);
         setRoomTypes(Array.isArray(rts) ? rts : []);
         setIsLoading(false);
       } catch (error) {
@@ -56,15 +47,6 @@ const AdminBookings = () => {
     };
   }, []);
 
-  const userNameById = new Map(
-    (Array.isArray(users) ? users : []).map((user) => [
-      String(user.id),
-      `${user.firstName ?? ""} ${user.lastName ?? ""}`.trim(),
-    ])
-  );
-  const userById = new Map(
-    (Array.isArray(users) ? users : []).map((user) => [String(user.id), user])
-  );
   const roomTypeById = new Map(
     roomTypes.map((roomType) => [String(roomType.id), roomType])
   );
@@ -131,8 +113,6 @@ const AdminBookings = () => {
           <>
             <BookingTable
               bookings={pagedBookings}
-              userNameById={userNameById}
-              userById={userById}
               roomTypeById={roomTypeById}
               onCancelBooking={handleCancelBooking}
             />
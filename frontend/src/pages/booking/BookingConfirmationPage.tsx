@@ -116,6 +116,11 @@ function BookingConfirmationPage() {
       message:
         "Your booking is pending payment confirmation. Please check your email or payment status.",
     },
+    CANCELLING: {
+      severity: "info",
+      title: "Cancellation In Progress",
+      message: "Your cancellation is being processed and your refund is on its way.",
+    },
     CANCELLED: {
       severity: "warning",
       title: "Booking Cancelled",
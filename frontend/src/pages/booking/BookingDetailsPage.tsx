@@ -62,6 +62,7 @@ function BookingDetailsPage() {
     const statusConfig = {
       CONFIRMED: { color: "success" as const, label: "Confirmed" },
       PENDING: { color: "warning" as const, label: "Pending" },
+      CANCELLING: { color: "warning" as const, label: "Cancelling" },
       CANCELLED: { color: "error" as const, label: "Cancelled" },
       COMPLETED: { color: "info" as const, label: "Completed" },
       VOIDED: { color: "default" as const, label: "Voided" },
@@ -1,5 +1,7 @@
 import { createApi, fetchBaseQuery } from '@reduxjs/toolkit/query/react';
+import type { BaseQueryFn, FetchArgs, FetchBaseQueryError } from '@reduxjs/toolkit/query';
 import type { BookingResponse } from '../../types/booking';
+import { rememberReadToken, withReadToken } from '../../utils/readToken';
 
 // Request types for booking operations
 export interface CreateBookingRequest {
@@ -39,18 +41,27 @@ export interface PageResponse<T> {
   last: boolean;
 }
 
+const rawBaseQuery = fetchBaseQuery({
+  baseUrl: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080',
+  prepareHeaders: (headers) => {
+    const token = localStorage.getItem('token');
+    if (token) {
+      headers.set('Authorization', `Bearer ${token}`);
+    }
+    return withReadToken(headers);
+  },
+});
+
+// keeps the read-your-writes token fresh from every booking response
+const baseQuery: BaseQueryFn<string | FetchArgs, unknown, FetchBaseQueryError> = async (args, api, extraOptions) => {
+  const result = await rawBaseQuery(args, api, extraOptions);
+  rememberReadToken(result.meta?.response?.headers.get('X-Read-Token'));
+  return result;
+};
+
 export const bookingApi = createApi({
   reducerPath: 'bookingApi',
-  baseQuery: fetchBaseQuery({
-    baseUrl: import.meta.env.VITE_API_BASE_URL || 'http://localhost:8080',
-    prepareHeaders: (headers) => {
-      const token = localStorage.getItem('token');
-      if (token) {
-        headers.set('Authorization', `Bearer ${token}`);
-      }
-      return headers;
-    },
-  }),
+  baseQuery,
   tagTypes: ['Booking'],
   endpoints: (builder) => ({
     // Get paginated bookings for current user
@@ -6,6 +6,7 @@
 export type BookingStatus =
   | "PENDING"
   | "CONFIRMED"
+  | "CANCELLING"
   | "CANCELLED"
   | "COMPLETED"
   | "VOIDED";
@@ -0,0 +1,45 @@
+import axios, { type AxiosInstance } from "axios";
+
+/**
+ * Read-your-writes token issued by the backend (X-Read-Token). Sending back the latest one
+ * makes reads served by a Mongo secondary wait until they include this browser's own writes.
+ */
+const HEADER = "X-Read-Token";
+const STORAGE_KEY = "readToken";
+
+export const getReadToken = (): string | null => localStorage.getItem(STORAGE_KEY);
+
+export const rememberReadToken = (token: unknown) => {
+  if (typeof token === "string" && token) {
+    localStorage.setItem(STORAGE_KEY, token);
+  }
+};
+
+export const withReadToken = (headers: Headers) => {
+  const token = getReadToken();
+  if (token) {
+    headers.set(HEADER, token);
+  }
+  return headers;
+};
+
+/** Sends and refreshes the token on every request made through an axios instance. */
+export const installReadToken = (instance: AxiosInstance = axios) => {
+  instance.interceptors.request.use((config) => {
+    const token = getReadToken();
+    if (token && config.headers) {
+      config.headers[HEADER] = token;
+    }
+    return config;
+  });
+  instance.interceptors.response.use(
+    (response) => {
+      rememberReadToken(response.headers[HEADER.toLowerCase()]);
+      return response;
+    },
+    (error) => {
+      rememberReadToken(error.response?.headers?.[HEADER.toLowerCase()]);
+      return Promise.reject(error);
+    }
+  );
+};